@@ -0,0 +1,44 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分析准入控制配置（按估算内存限制同时进行的分析）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.analysis-admission")
+public class AnalysisAdmissionConfig {
+    
+    /**
+     * 是否启用准入控制
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 同时进行的分析可使用的内存总量（MB），不大于 0 时取最大堆的 memoryBudgetPercent
+     */
+    private long memoryBudgetMb = 0;
+    
+    /**
+     * 未显式配置内存总量时，占最大堆的百分比
+     */
+    private int memoryBudgetPercent = 60;
+    
+    /**
+     * 等待准入的分析数上限，超出时直接拒绝
+     */
+    private int maxQueued = 16;
+    
+    /**
+     * 同步分析接口在请求线程中等待准入的最长时间（秒），超时后拒绝
+     */
+    private int maxWaitSeconds = 120;
+    
+    /**
+     * 拒绝时建议客户端重试的间隔（秒，Retry-After 响应头）
+     */
+    private int retryAfterSeconds = 30;
+}
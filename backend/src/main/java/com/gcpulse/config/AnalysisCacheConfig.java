@@ -0,0 +1,39 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分析结果缓存配置（按日志内容的 SHA-256 缓存解析结果）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.analysis-cache")
+public class AnalysisCacheConfig {
+    
+    /**
+     * 是否启用分析结果缓存
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 内存中缓存结果的总权重上限（MB，按事件列存储和时间序列的估算大小计算）
+     */
+    private long maxWeightMb = 512;
+    
+    /**
+     * 淘汰的结果是否写入磁盘（gzip JSON），再次命中时从磁盘读回
+     */
+    private boolean spillEnabled = false;
+    
+    /**
+     * 磁盘缓存目录
+     */
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/gcpulse-cache";
+    
+    /**
+     * 磁盘上最多保留的结果数，超出时删除最早写入的
+     */
+    private int spillMaxEntries = 32;
+}
@@ -0,0 +1,24 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 异步分析任务配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.analysis-job")
+public class AnalysisJobConfig {
+    
+    /**
+     * 已结束的任务保留时间（分钟），超时后不再能查询
+     */
+    private int retentionMinutes = 30;
+    
+    /**
+     * 上传文件在任务执行前的暂存目录
+     */
+    private String uploadDirectory = System.getProperty("java.io.tmpdir") + "/gcpulse-jobs";
+}
@@ -0,0 +1,19 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分析会话配置（服务端保留的分析结果）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.analysis-session")
+public class AnalysisSessionConfig {
+    
+    /**
+     * 最多保留的分析结果数，超出时淘汰最久未访问的
+     */
+    private int maxSessions = 8;
+}
@@ -0,0 +1,39 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分析结果持久化配置（每次分析的事件列、摘要和诊断写入本地目录，重启后仍可按分析ID重新打开）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.analysis-store")
+public class AnalysisStoreConfig {
+    
+    /**
+     * 是否持久化分析结果
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 存储目录（每个分析一个子目录）
+     */
+    private String directory = System.getProperty("user.home") + "/.gcpulse/analyses";
+    
+    /**
+     * 保留天数，超过后删除（0 表示不按时间清理）
+     */
+    private int retentionDays = 30;
+    
+    /**
+     * 最多保留的分析数，超出时删除最早的
+     */
+    private int maxAnalyses = 100;
+    
+    /**
+     * 占用磁盘空间上限（MB），超出时删除最早的
+     */
+    private long maxTotalMb = 4096;
+}
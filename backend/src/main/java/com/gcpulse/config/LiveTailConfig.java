@@ -0,0 +1,49 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 实时跟踪日志配置（跟踪的文件同样须在本地文件分析的白名单目录内）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.live-tail")
+public class LiveTailConfig {
+    
+    /**
+     * 同时跟踪的最大连接数
+     */
+    private int maxSessions = 4;
+    
+    /**
+     * 检查文件追加内容的间隔（毫秒）
+     */
+    private long pollIntervalMs = 1000;
+    
+    /**
+     * 单次检查最多读取的字节数（KB），从头跟踪较大的文件时分多次读完
+     */
+    private int maxReadKbPerPoll = 8192;
+    
+    /**
+     * 保留的最近事件数（时间序列和诊断按该窗口计算）
+     */
+    private int windowEvents = 50000;
+    
+    /**
+     * 推送的每条时间序列的目标点数
+     */
+    private int timeSeriesPoints = 1000;
+    
+    /**
+     * 没有新事件时发送心跳的间隔（秒），用于发现已断开的连接
+     */
+    private int heartbeatSeconds = 15;
+    
+    /**
+     * 单个连接的最长跟踪时间（分钟），0 表示不限制
+     */
+    private int maxSessionMinutes = 60;
+}
@@ -0,0 +1,27 @@
+package com.gcpulse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 服务器本地文件分析配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gc.local-analysis")
+public class LocalAnalysisConfig {
+    
+    /**
+     * 是否启用服务器本地文件分析
+     */
+    private boolean enabled = false;
+    
+    /**
+     * 允许读取的目录白名单（包含子目录）
+     */
+    private List<String> allowedDirectories = new ArrayList<>();
+}
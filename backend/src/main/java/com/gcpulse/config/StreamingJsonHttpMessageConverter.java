@@ -0,0 +1,45 @@
+package com.gcpulse.config;
+
+import com.gcpulse.service.AnalysisResultWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 流式JSON响应体的消息转换器
+ * 控制器返回 AnalysisResultWriter.Body 时直接写入响应输出流（分块传输，不计算 Content-Length），
+ * Spring Boot 会把容器中的 HttpMessageConverter Bean 加到默认转换器之前
+ */
+@Component
+public class StreamingJsonHttpMessageConverter extends AbstractHttpMessageConverter<AnalysisResultWriter.Body> {
+    
+    public StreamingJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AnalysisResultWriter.Body.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected AnalysisResultWriter.Body readInternal(Class<? extends AnalysisResultWriter.Body> clazz, 
+                                                     HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("不支持读取流式响应体", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(AnalysisResultWriter.Body body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -5,11 +5,13 @@ import com.gcpulse.model.AIDiagnosisResponse;
 import com.gcpulse.model.GCPulseResult;
 import com.gcpulse.model.OptimizationContext;
 import com.gcpulse.service.AIDiagnosisService;
+import com.gcpulse.service.AnalysisSessionService;
 import com.gcpulse.service.DiagnosisExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,6 +39,9 @@ public class AIDiagnosisController {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private AnalysisSessionService analysisSessionService;
+    
     /**
      * 执行AI诊断（基于原始日志）
      */
@@ -78,7 +83,7 @@ public class AIDiagnosisController {
             
             // 执行诊断
             return aiDiagnosisService.diagnose(request);
-            
+        
         } catch (Exception e) {
             e.printStackTrace();
             return AIDiagnosisResponse.builder()
@@ -91,19 +96,32 @@ public class AIDiagnosisController {
     
     /**
      * 智能优化建议（基于结构化分析结果） - 新增端点
+     * 带 analysisId 时只使用服务端保留的完整分析结果（请求体只是不带事件的摘要），找不到时返回 410
      */
     @PostMapping("/optimize")
-    public AIDiagnosisResponse getOptimizationSuggestions(
+    public ResponseEntity<AIDiagnosisResponse> getOptimizationSuggestions(
             @RequestParam(value = "apiUrl", required = false) String apiUrl,
             @RequestParam(value = "apiKey", required = false) String apiKey,
             @RequestParam(value = "model", required = false) String model,
-            @RequestBody String analysisResultJson) {
+            @RequestParam(value = "analysisId", required = false) String analysisId,
+            @RequestBody(required = false) String analysisResultJson) {
         
         try {
             log.info("收到AI优化建议请求（结构化数据模式）");
             
-            // 解析GCPulseResult
-            GCPulseResult analysisResult = objectMapper.readValue(analysisResultJson, GCPulseResult.class);
+            // 优先使用服务端保留的完整分析结果（包含全部事件），否则解析请求体中的GCPulseResult
+            GCPulseResult analysisResult;
+            if (analysisId != null) {
+                analysisResult = analysisSessionService.find(analysisId).orElse(null);
+                if (analysisResult == null) {
+                    log.warn("AI优化建议的分析结果不存在或已过期: {}", analysisId);
+                    return optimizationFailed(HttpStatus.GONE, "分析已过期，请重新分析");
+                }
+            } else if (analysisResultJson != null && !analysisResultJson.isBlank()) {
+                analysisResult = objectMapper.readValue(analysisResultJson, GCPulseResult.class);
+            } else {
+                return optimizationFailed(HttpStatus.BAD_REQUEST, "缺少分析结果");
+            }
             
             // 构建优化上下文
             OptimizationContext context = OptimizationContext.fromGCPulseResult(analysisResult);
@@ -131,18 +149,26 @@ public class AIDiagnosisController {
                     .build();
             
             // 执行诊断
-            return aiDiagnosisService.diagnose(request);
-            
+            return ResponseEntity.ok(aiDiagnosisService.diagnose(request));
+        
         } catch (Exception e) {
             log.error("AI优化建议失败: {}", e.getMessage(), e);
-            return AIDiagnosisResponse.builder()
+            return ResponseEntity.ok(AIDiagnosisResponse.builder()
                     .success(false)
                     .error("优化建议生成失败: " + e.getMessage())
                     .processTime(0)
-                    .build();
+                    .build());
         }
     }
     
+    private static ResponseEntity<AIDiagnosisResponse> optimizationFailed(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(AIDiagnosisResponse.builder()
+                .success(false)
+                .error(message)
+                .processTime(0)
+                .build());
+    }
+    
     /**
      * 导出诊断报告为HTML格式
      */
@@ -168,7 +194,7 @@ public class AIDiagnosisController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(htmlBytes);
-                    
+        
         } catch (Exception e) {
             log.error("导出HTML失败: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -199,7 +225,7 @@ public class AIDiagnosisController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(markdownBytes);
-                    
+        
         } catch (Exception e) {
             log.error("导出Markdown失败: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
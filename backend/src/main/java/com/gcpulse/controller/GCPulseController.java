@@ -1,8 +1,19 @@
 package com.gcpulse.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.model.AnalysisJob;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventQuery;
 import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.TimeSeriesData;
+import com.gcpulse.service.AnalysisJobService;
+import com.gcpulse.service.AnalysisRejectedException;
+import com.gcpulse.service.AnalysisResultWriter;
+import com.gcpulse.service.AnalysisSessionService;
+import com.gcpulse.service.ColumnarWireWriter;
 import com.gcpulse.service.GCPulseService;
 import com.gcpulse.service.DiagnosisExportService;
+import com.gcpulse.service.LiveTailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -11,7 +22,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -26,34 +40,77 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GCPulseController {
     
+    // 每条时间序列的默认目标点数（与 GCLogParser.DEFAULT_TIME_SERIES_POINTS 一致，注解参数需要字符串常量）
+    private static final String DEFAULT_MAX_POINTS = "2000";
+    
+    // 分析接口默认只返回摘要，view=full 时返回包含全部事件的完整结果
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String VIEW_FULL = "full";
+    
+    // 事件内存变化的派生值（回收量、使用率）默认不输出，derived=true 时输出
+    private static final String DERIVED_PARAM = "derived";
+    
     private final GCPulseService gcPulseService;
+    private final AnalysisSessionService analysisSessionService;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisResultWriter resultWriter;
+    private final ColumnarWireWriter columnarWriter;
     private final DiagnosisExportService exportService;
+    private final LiveTailService liveTailService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 上传并分析GC日志
      */
     @PostMapping("/analyze")
-    public ResponseEntity<?> analyzeGCLog(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> analyzeGCLog(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints,
+                                          @RequestParam(value = "view", defaultValue = VIEW_SUMMARY) String view,
+                                          @RequestParam(value = DERIVED_PARAM, defaultValue = "false") boolean derived) {
         try {
             log.info("接收到GC日志上传请求: {}", file.getOriginalFilename());
             
             // 验证文件
-            if (!gcPulseService.isValidGCLogFile(file)) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("无效的文件格式，请上传GC日志文件（.log或.txt）"));
-            }
-            
-            // 检查文件大小（最大500MB）
-            if (file.getSize() > 500 * 1024 * 1024) {
+            String invalid = validateUpload(file);
+            if (invalid != null) {
                 return ResponseEntity.badRequest()
-                        .body(createErrorResponse("文件大小超过限制（最大500MB）"));
+                        .body(createErrorResponse(invalid));
             }
             
             // 分析GC日志
-            GCPulseResult result = gcPulseService.analyzeGCLog(file);
+            GCPulseResult result = gcPulseService.analyzeGCLog(file, maxPoints);
+            
+            return ResponseEntity.ok(present(result, view, derived));
+        
+        } catch (AnalysisRejectedException e) {
+            return analysisRejected(e);
+        } catch (Exception e) {
+            log.error("GC日志分析失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("分析失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 分析服务器本地GC日志文件（路径须在白名单目录内）
+     */
+    @PostMapping("/analyze/local")
+    public ResponseEntity<?> analyzeLocalGCLog(@RequestParam("path") String path,
+                                               @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints,
+                                               @RequestParam(value = "view", defaultValue = VIEW_SUMMARY) String view,
+                                               @RequestParam(value = DERIVED_PARAM, defaultValue = "false") boolean derived) {
+        try {
+            log.info("接收到服务器本地GC日志分析请求: {}", path);
             
-            return ResponseEntity.ok(createSuccessResponse(result));
+            GCPulseResult result = gcPulseService.analyzeLocalGCLog(path, maxPoints);
             
+            return ResponseEntity.ok(present(result, view, derived));
+        
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (AnalysisRejectedException e) {
+            return analysisRejected(e);
         } catch (Exception e) {
             log.error("GC日志分析失败", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -61,6 +118,259 @@ public class GCPulseController {
         }
     }
     
+    /**
+     * 提交上传文件的异步分析任务，立即返回任务ID（通过 /jobs/{jobId} 轮询进度）
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitAnalysisJob(@RequestParam("file") MultipartFile file,
+                                               @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints) {
+        String invalid = validateUpload(file);
+        if (invalid != null) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(invalid));
+        }
+        try {
+            log.info("接收到GC日志异步分析请求: {}", file.getOriginalFilename());
+            AnalysisJob job = analysisJobService.submitUpload(file, maxPoints);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(createSuccessResponse(job));
+        } catch (AnalysisRejectedException e) {
+            return analysisRejected(e);
+        } catch (Exception e) {
+            log.error("提交分析任务失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("提交分析任务失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 提交服务器本地GC日志文件的异步分析任务
+     */
+    @PostMapping("/jobs/local")
+    public ResponseEntity<?> submitLocalAnalysisJob(@RequestParam("path") String path,
+                                                    @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints) {
+        try {
+            log.info("接收到服务器本地GC日志异步分析请求: {}", path);
+            AnalysisJob job = analysisJobService.submitLocal(path, maxPoints);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(createSuccessResponse(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (AnalysisRejectedException e) {
+            return analysisRejected(e);
+        } catch (Exception e) {
+            log.error("提交分析任务失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("提交分析任务失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 查询分析任务的状态和进度
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getAnalysisJob(@PathVariable String jobId) {
+        return analysisJobService.find(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(createSuccessResponse(job)))
+                .orElseGet(() -> jobNotFound(jobId));
+    }
+    
+    /**
+     * 获取已完成任务的分析结果（未完成时返回 409 和任务状态）
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<?> getAnalysisJobResult(@PathVariable String jobId,
+                                                  @RequestParam(value = "view", defaultValue = VIEW_SUMMARY) String view,
+                                                  @RequestParam(value = DERIVED_PARAM, defaultValue = "false") boolean derived) {
+        AnalysisJob job = analysisJobService.find(jobId).orElse(null);
+        if (job == null) {
+            return jobNotFound(jobId);
+        }
+        if (job.getStatus() != AnalysisJob.Status.COMPLETED) {
+            Map<String, Object> response = createErrorResponse(job.getStatus() == AnalysisJob.Status.FAILED ? 
+                    "分析失败: " + job.getError() : "分析任务尚未完成: " + job.getStatus());
+            response.put("data", job);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        return getAnalysis(job.getAnalysisId(), view, derived);
+    }
+    
+    /**
+     * 取消分析任务
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<?> cancelAnalysisJob(@PathVariable String jobId) {
+        return analysisJobService.cancel(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(createSuccessResponse(job)))
+                .orElseGet(() -> jobNotFound(jobId));
+    }
+    
+    /**
+     * 获取分析结果摘要
+     */
+    @GetMapping("/analysis/{analysisId}")
+    public ResponseEntity<?> getAnalysis(@PathVariable String analysisId,
+                                         @RequestParam(value = "view", defaultValue = VIEW_SUMMARY) String view,
+                                         @RequestParam(value = DERIVED_PARAM, defaultValue = "false") boolean derived) {
+        return analysisSessionService.find(analysisId)
+                .<ResponseEntity<?>>map(result -> ResponseEntity.ok(present(result, view, derived)))
+                .orElseGet(() -> analysisNotFound(analysisId));
+    }
+    
+    /**
+     * 分页获取分析结果中的GC事件（按时间范围、事件类型、GC原因、暂停时间阈值、是否 Full GC 过滤）
+     */
+    @GetMapping("/analysis/{analysisId}/events")
+    public ResponseEntity<?> getEvents(@PathVariable String analysisId,
+                                       @RequestParam(value = "from", required = false) Long from,
+                                       @RequestParam(value = "to", required = false) Long to,
+                                       @RequestParam(value = "type", required = false) String eventType,
+                                       @RequestParam(value = "cause", required = false) String gcCause,
+                                       @RequestParam(value = "minPause", required = false) Double minPauseTime,
+                                       @RequestParam(value = "fullGC", required = false) Boolean fullGC,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "limit", defaultValue = "0") int limit,
+                                       @RequestParam(value = DERIVED_PARAM, defaultValue = "false") boolean derived) {
+        if (analysisSessionService.find(analysisId).isEmpty()) {
+            return analysisNotFound(analysisId);
+        }
+        try {
+            GCEventQuery query = GCEventQuery.builder()
+                    .from(from)
+                    .to(to)
+                    .eventType(eventType)
+                    .gcCause(gcCause)
+                    .minPauseTime(minPauseTime)
+                    .fullGC(fullGC)
+                    .build();
+            GCEventPage page = analysisSessionService.getEvents(analysisId, query, cursor, limit);
+            return ResponseEntity.ok(resultWriter.eventPage(page, derived));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 分页获取GC事件的列式二进制格式（请求头 Accept 为列式格式时代替 JSON 返回，出错时仍返回 JSON 错误体）
+     */
+    @GetMapping(value = "/analysis/{analysisId}/events", produces = ColumnarWireWriter.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getEventsColumnar(@PathVariable String analysisId,
+                                                                   @RequestParam(value = "from", required = false) Long from,
+                                                                   @RequestParam(value = "to", required = false) Long to,
+                                                                   @RequestParam(value = "type", required = false) String eventType,
+                                                                   @RequestParam(value = "cause", required = false) String gcCause,
+                                                                   @RequestParam(value = "minPause", required = false) Double minPauseTime,
+                                                                   @RequestParam(value = "fullGC", required = false) Boolean fullGC,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @RequestParam(value = "limit", defaultValue = "0") int limit) {
+        if (analysisSessionService.find(analysisId).isEmpty()) {
+            return columnarError(HttpStatus.NOT_FOUND, "分析结果不存在或已过期: " + analysisId);
+        }
+        try {
+            GCEventQuery query = GCEventQuery.builder()
+                    .from(from)
+                    .to(to)
+                    .eventType(eventType)
+                    .gcCause(gcCause)
+                    .minPauseTime(minPauseTime)
+                    .fullGC(fullGC)
+                    .build();
+            GCEventPage page = analysisSessionService.getEvents(analysisId, query, cursor, limit);
+            return columnar(columnarWriter.eventPage(page));
+        } catch (IllegalArgumentException e) {
+            return columnarError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取分析结果在指定时间范围内的时间序列（图表缩放后按可见范围重新请求）
+     */
+    @GetMapping("/analysis/{analysisId}/timeseries")
+    public ResponseEntity<?> getTimeSeries(@PathVariable String analysisId,
+                                           @RequestParam(value = "from", required = false) Long from,
+                                           @RequestParam(value = "to", required = false) Long to,
+                                           @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints) {
+        if (analysisSessionService.find(analysisId).isEmpty()) {
+            return analysisNotFound(analysisId);
+        }
+        TimeSeriesData timeSeries = gcPulseService.getTimeSeries(analysisId, from, to, maxPoints);
+        return ResponseEntity.ok(resultWriter.timeSeries(timeSeries));
+    }
+    
+    /**
+     * 时间序列的列式二进制格式（请求头 Accept 为列式格式时代替 JSON 返回，出错时仍返回 JSON 错误体）
+     */
+    @GetMapping(value = "/analysis/{analysisId}/timeseries", produces = ColumnarWireWriter.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTimeSeriesColumnar(@PathVariable String analysisId,
+                                                                       @RequestParam(value = "from", required = false) Long from,
+                                                                       @RequestParam(value = "to", required = false) Long to,
+                                                                       @RequestParam(value = "maxPoints", defaultValue = DEFAULT_MAX_POINTS) int maxPoints) {
+        if (analysisSessionService.find(analysisId).isEmpty()) {
+            return columnarError(HttpStatus.NOT_FOUND, "分析结果不存在或已过期: " + analysisId);
+        }
+        TimeSeriesData timeSeries = gcPulseService.getTimeSeries(analysisId, from, to, maxPoints);
+        return columnar(columnarWriter.timeSeries(timeSeries));
+    }
+    
+    /**
+     * 实时跟踪服务器本地GC日志文件（路径须在白名单目录内，支持 -Xlog 文件滚动）
+     * 以 Server-Sent Events 推送：update 为 KPI、时间序列和诊断的增量更新；
+     * failed 为无法跟踪的原因（路径不合法、连接数已达上限、读取失败），随后关闭连接
+     */
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailLocalGCLog(@RequestParam("path") String path) {
+        try {
+            log.info("接收到实时跟踪GC日志请求: {}", path);
+            return liveTailService.follow(path);
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            log.warn("无法实时跟踪GC日志: {}", e.getMessage());
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name(LiveTailService.EVENT_FAILED)
+                        .data(createErrorResponse(e.getMessage()), MediaType.APPLICATION_JSON));
+            } catch (IOException ignored) {
+                // 尚未建立连接时只缓存待发送的事件，不会失败
+            }
+            emitter.complete();
+            return emitter;
+        }
+    }
+    
+    /**
+     * 已持久化的分析列表（最近的在前），按分析ID可重新打开，不需要重新上传日志
+     */
+    @GetMapping("/analyses")
+    public ResponseEntity<?> listAnalyses() {
+        return ResponseEntity.ok(createSuccessResponse(gcPulseService.listStoredAnalyses()));
+    }
+    
+    /**
+     * 删除已持久化的分析
+     */
+    @DeleteMapping("/analyses/{analysisId}")
+    public ResponseEntity<?> deleteAnalysis(@PathVariable String analysisId) {
+        if (!gcPulseService.deleteStoredAnalysis(analysisId)) {
+            return analysisNotFound(analysisId);
+        }
+        return ResponseEntity.ok(createSuccessResponse(analysisId));
+    }
+    
+    /**
+     * 分析结果缓存统计（命中/未命中/淘汰次数、内存占用）
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(createSuccessResponse(gcPulseService.getCacheStats()));
+    }
+    
+    /**
+     * 分析准入控制统计（内存预算与占用、运行中和排队的分析数、等待时间）
+     */
+    @GetMapping("/admission/stats")
+    public ResponseEntity<?> getAdmissionStats() {
+        return ResponseEntity.ok(createSuccessResponse(gcPulseService.getAdmissionStats()));
+    }
+    
     /**
      * 健康检查
      */
@@ -115,13 +425,70 @@ public class GCPulseController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(htmlBytes);
-                    
+        
         } catch (Exception e) {
             log.error("导出分析结果HTML失败: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    private ResponseEntity<StreamingResponseBody> columnar(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarWireWriter.MEDIA_TYPE_VALUE))
+                .body(body);
+    }
+    
+    /**
+     * 列式接口的错误响应：与 JSON 接口相同的错误体，显式指定 JSON 类型（不按 Accept 协商为列式格式）
+     * 返回类型须保持 StreamingResponseBody，错误体也直接写出
+     */
+    private ResponseEntity<StreamingResponseBody> columnarError(HttpStatus status, String message) {
+        Map<String, Object> error = createErrorResponse(message);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
+    
+    /**
+     * 按 view 选择完整结果或摘要，流式写出
+     */
+    private AnalysisResultWriter.Body present(GCPulseResult result, String view, boolean derived) {
+        return resultWriter.result(VIEW_FULL.equalsIgnoreCase(view) ? result : result.toSummary(), derived);
+    }
+    
+    /**
+     * 校验上传的文件，不合法时返回错误信息
+     */
+    private String validateUpload(MultipartFile file) {
+        if (!gcPulseService.isValidGCLogFile(file)) {
+            return "无效的文件格式，请上传GC日志文件（.log、.txt或.gz/.zip/.tar.gz压缩包）";
+        }
+        // 检查文件大小（最大500MB）
+        if (file.getSize() > 500 * 1024 * 1024) {
+            return "文件大小超过限制（最大500MB）";
+        }
+        return null;
+    }
+    
+    private ResponseEntity<?> jobNotFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(createErrorResponse("分析任务不存在或已过期: " + jobId));
+    }
+    
+    /**
+     * 未获准入：503，Retry-After 给出建议的重试间隔
+     */
+    private ResponseEntity<?> analysisRejected(AnalysisRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(createErrorResponse(e.getMessage()));
+    }
+    
+    private ResponseEntity<?> analysisNotFound(String analysisId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(createErrorResponse("分析结果不存在或已过期: " + analysisId));
+    }
+    
     private Map<String, Object> createSuccessResponse(Object data) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -0,0 +1,26 @@
+package com.gcpulse.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分析准入控制统计
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStats {
+    
+    private long memoryBudgetBytes;       // 可分配的内存总量
+    private long memoryInUseBytes;        // 正在进行的分析占用的估算内存
+    private int running;                  // 正在进行的分析数
+    private int queued;                   // 等待准入的分析数
+    private int maxQueued;                // 等待数上限
+    private long admitted;                // 累计准入次数
+    private long rejected;                // 累计拒绝次数（排队已满或等待超时）
+    private double averageWaitMs;         // 平均等待时间（ms）
+    private double maxWaitMs;             // 最长等待时间（ms）
+}
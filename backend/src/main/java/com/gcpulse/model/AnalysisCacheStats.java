@@ -0,0 +1,30 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 分析结果缓存统计
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCacheStats {
+    
+    private long hits;                // 内存命中次数
+    private long spillHits;           // 磁盘命中次数
+    private long misses;              // 未命中次数（需要重新解析）
+    private long evictions;           // 内存淘汰次数
+    private long spills;              // 写入磁盘次数
+    private int entries;              // 内存中的结果数
+    private long weightBytes;         // 内存中结果的估算总大小（字节）
+    private long maxWeightBytes;      // 内存权重上限（字节）
+    
+    public double getHitRate() {
+        long total = hits + spillHits + misses;
+        return total > 0 ? (hits + spillHits) * 100.0 / total : 0;
+    }
+}
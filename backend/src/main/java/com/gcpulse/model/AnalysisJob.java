@@ -0,0 +1,42 @@
+package com.gcpulse.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 异步分析任务状态（查询时的快照）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJob {
+    
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+    
+    private String jobId;
+    private String fileName;
+    private long fileSize;                // 文件大小（bytes）
+    private Status status;
+    private String stage;                 // 当前阶段：QUEUED/DETECTING/PARSING/AGGREGATING/DONE
+    private long bytesRead;               // 当前阶段已读取的字节数
+    private long linesRead;               // 已解析的行数
+    private long eventsParsed;            // 已识别的GC事件数
+    private double progress;              // 进度百分比（按已读字节估算，结束时为100）
+    private String analysisId;            // 完成后的分析ID，结果通过分析接口获取
+    private String error;                 // 失败原因
+    private long submittedAt;             // 提交时间（ms）
+    private Long startedAt;               // 开始执行时间（ms）
+    private Long finishedAt;              // 结束时间（ms）
+}
@@ -0,0 +1,25 @@
+package com.gcpulse.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 已持久化的分析结果（列表展示用的元数据）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisRecord {
+    
+    private String analysisId;
+    private String fileName;
+    private long fileSize;                // 日志文件大小（bytes）
+    private String collectorType;
+    private int eventCount;
+    private long createdAt;               // 分析完成时间（ms）
+    private long storedBytes;             // 持久化数据占用的磁盘空间（bytes）
+    private String contentKey;            // 日志内容的 SHA-256（与分析结果缓存的键相同），未计算时为空
+}
@@ -0,0 +1,27 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.Map;
+
+/**
+ * 收集器类型检测结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectorDetection {
+    
+    private String collectorType;           // 检测出的收集器类型，无法识别时为 "Unknown"
+    private String logFormat;               // "Unified Logging"、"JDK 8" 或 "Unknown"
+    private double confidence;              // 置信度（0~1）
+    private Map<String, Long> scores;       // 各收集器的特征得分
+    
+    // 检测范围
+    private int scannedLines;
+    private long scannedBytes;
+    private boolean earlyStopped;           // 是否在读完检测前缀之前就已确定
+}
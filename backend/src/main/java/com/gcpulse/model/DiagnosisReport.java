@@ -2,13 +2,15 @@ package com.gcpulse.model;
 
 import lombok.Data;
 import lombok.Builder;
+import lombok.extern.jackson.Jacksonized;
 import java.util.List;
 
 /**
  * 诊断报告
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class DiagnosisReport {
     
     // 内存泄漏检测
@@ -29,8 +31,30 @@ public class DiagnosisReport {
     // 优化建议
     private List<Recommendation> recommendations;
     
+    /**
+     * 去掉 Full GC、长暂停和连续 Full GC 序列中的事件列表（次数、阈值、起止时间等保留）
+     */
+    public DiagnosisReport withoutEvents() {
+        DiagnosisReportBuilder builder = toBuilder();
+        if (fullGCInfo != null) {
+            builder.fullGCInfo(fullGCInfo.toBuilder().fullGCEvents(null).build());
+        }
+        if (longPauseInfo != null) {
+            builder.longPauseInfo(longPauseInfo.toBuilder().longPauseEvents(null).build());
+        }
+        if (consecutiveFullGCInfo != null && consecutiveFullGCInfo.getSequences() != null) {
+            builder.consecutiveFullGCInfo(consecutiveFullGCInfo.toBuilder()
+                    .sequences(consecutiveFullGCInfo.getSequences().stream()
+                            .map(sequence -> sequence.toBuilder().events(null).build())
+                            .toList())
+                    .build());
+        }
+        return builder.build();
+    }
+    
     @Data
     @Builder
+    @Jacksonized
     public static class MemoryLeakInfo {
         private boolean hasMemoryLeak;
         private String description;
@@ -38,7 +62,8 @@ public class DiagnosisReport {
     }
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
+    @Jacksonized
     public static class FullGCInfo {
         private int count;
         private boolean hasFullGC;
@@ -46,7 +71,8 @@ public class DiagnosisReport {
     }
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
+    @Jacksonized
     public static class LongPauseInfo {
         private int count;
         private boolean hasLongPause;
@@ -55,7 +81,8 @@ public class DiagnosisReport {
     }
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
+    @Jacksonized
     public static class ConsecutiveFullGCInfo {
         private boolean hasConsecutiveFullGC;
         private int maxConsecutiveCount;    // 最大连续次数
@@ -63,7 +90,8 @@ public class DiagnosisReport {
         private String severity;            // 严重程度 (LOW, MEDIUM, HIGH, CRITICAL)
         
         @Data
-        @Builder
+        @Builder(toBuilder = true)
+        @Jacksonized
         public static class ConsecutiveFullGCSequence {
             private int count;              // 连续次数
             private long startTimestamp;    // 开始时间戳
@@ -75,6 +103,7 @@ public class DiagnosisReport {
     
     @Data
     @Builder
+    @Jacksonized
     public static class SafePointInfo {
         private long totalTime;           // 总时间（ms）
         private double avgTime;           // 平均时间（ms）
@@ -83,6 +112,7 @@ public class DiagnosisReport {
     
     @Data
     @Builder
+    @Jacksonized
     public static class Recommendation {
         private String category;          // 类别（内存、GC配置、性能等）
         private String level;             // 级别（INFO, WARNING, CRITICAL）
@@ -0,0 +1,85 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * G1并发周期、疏散失败、大对象Region、Region占用与 IHOP 统计（Unified Logging）
+ * 并发标记周期从 Concurrent Start 暂停开始，经 Remark、Cleanup 暂停结束，之后的 Mixed GC 计入该周期
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class G1CycleStatistics {
+    
+    // 并发标记周期
+    private long concurrentStartCount;              // Concurrent Start 暂停次数
+    private long concurrentCycleCount;              // 完成的并发标记周期数
+    private long abortedCycleCount;                 // 中止的并发标记周期数（Concurrent Mark Abort）
+    private long undoCycleCount;                    // Concurrent Undo Cycle 次数（JDK 16+，大对象回收后撤销标记）
+    private Double avgMarkDuration;                 // 并发标记周期平均耗时（ms）
+    private Double maxMarkDuration;                 // 并发标记周期最大耗时（ms）
+    private List<TimeSeriesData.DataPoint> markDurationTrend;   // 每个周期结束时的周期耗时（ms）
+    
+    // Remark / Cleanup 暂停
+    private PauseSummary remark;
+    private PauseSummary cleanup;
+    
+    // 混合回收
+    private long prepareMixedCount;                 // Prepare Mixed 暂停次数
+    private long mixedGCCount;                      // Mixed 暂停次数
+    private Double avgMixedGCsPerCycle;             // 每个完成的周期之后的平均 Mixed GC 次数
+    private List<TimeSeriesData.DataPoint> mixedGCsPerCycleTrend;   // 每个周期之后的 Mixed GC 次数（时间为周期结束时间）
+    
+    // 疏散失败
+    private long evacuationFailureCount;            // 发生疏散失败的暂停次数
+    private long toSpaceExhaustedCount;             // To-space exhausted 次数
+    private List<TimeSeriesData.DataPoint> evacuationFailureTrend;  // 每次疏散失败暂停的耗时（ms）
+    
+    // 大对象（Humongous）Region
+    private Integer maxHumongousRegions;            // GC 前大对象 Region 数的最大值
+    private long humongousRegionsAllocated;         // 两次 GC 之间新分配的大对象 Region 总数
+    private long humongousRegionsReclaimed;         // GC 回收的大对象 Region 总数
+    private List<TimeSeriesData.DataPoint> humongousRegionsTrend;      // 每次 GC 后的大对象 Region 数
+    private List<TimeSeriesData.DataPoint> humongousAllocatedTrend;    // 距上次 GC 新分配的大对象 Region 数
+    private List<TimeSeriesData.DataPoint> humongousReclaimedTrend;    // 每次 GC 回收的大对象 Region 数
+    
+    // Region 占用时间线（每次 GC）
+    private Long regionSize;                        // Region 大小（bytes），来自 Heap Region Size
+    private List<TimeSeriesData.DataPoint> edenRegionsTrend;       // GC 前 Eden Region 数
+    private List<TimeSeriesData.DataPoint> survivorRegionsTrend;   // GC 后 Survivor Region 数
+    private List<TimeSeriesData.DataPoint> oldRegionsTrend;        // GC 后 Old Region 数
+    
+    // IHOP（[gc,ihop] debug 级别）
+    private long ihopUpdateCount;                   // 阈值更新次数
+    private Boolean adaptiveIhopActive;             // 自适应 IHOP 预测是否已生效（无 Adaptive IHOP 信息时为空）
+    private Double lastIhopThresholdPercent;        // 最近一次阈值占目标占用的百分比
+    private List<TimeSeriesData.DataPoint> ihopThresholdTrend;         // 阈值占目标占用的百分比
+    private List<TimeSeriesData.DataPoint> ihopTargetOccupancyTrend;   // 目标占用（MB）
+    
+    // 并发周期启动时机
+    private List<TimeSeriesData.DataPoint> cycleStartOccupancyTrend;   // Concurrent Start 时老年代+大对象占用（占目标占用的百分比）
+    private List<TimeSeriesData.DataPoint> cycleStartMarginTrend;      // 启动时占用减去 IHOP 阈值（百分点），越大说明启动越晚
+    private Double avgCycleStartMargin;             // 平均启动偏差（百分点）
+    private List<TimeSeriesData.DataPoint> markingHeadroomTrend;       // 标记期间GC前堆剩余空间的最小值（占堆容量的百分比）
+    private Double minMarkingHeadroom;              // 所有周期中标记期间剩余空间的最小值（%）
+    private long lateCycleStartCount;               // 标记完成前发生疏散失败的周期数（启动过晚）
+    
+    /**
+     * 暂停汇总
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PauseSummary {
+        private long count;
+        private double avgTime;     // ms
+        private double maxTime;     // ms
+        private double totalTime;   // ms
+    }
+}
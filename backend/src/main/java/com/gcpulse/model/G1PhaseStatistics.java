@@ -0,0 +1,50 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * G1暂停阶段明细
+ * 每次暂停的各阶段耗时（JDK 8 -XX:+PrintGCDetails 的 Parallel Time、Object Copy 等，
+ * Unified Logging gc+phases 的 Pre/Post Evacuate Collection Set、Object Copy 等），按阶段汇总并给出趋势，
+ * 另给出并行阶段的线程不均衡度，用于判断 ParallelGCThreads 或任务窃取是否限制了暂停时间
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class G1PhaseStatistics {
+    
+    private long pauseCount;                                        // 带阶段明细的暂停次数
+    private Integer gcWorkers;                                      // 并行GC线程数（最近一次暂停）
+    private Map<String, PhaseSummary> phases;                       // 阶段名 -> 汇总（按日志中出现的顺序）
+    private Map<String, List<TimeSeriesData.DataPoint>> phaseTrends; // 阶段名 -> 每次暂停的阶段耗时（ms）
+    
+    // 线程不均衡
+    private List<TimeSeriesData.DataPoint> workerImbalanceTrend;    // 每次暂停 Object Copy 线程耗时最大值与最小值之差（ms）
+    private List<TimeSeriesData.DataPoint> terminationShareTrend;   // 每次暂停 Termination 占并行阶段耗时的百分比
+    private Double avgTerminationShare;                             // Termination 平均占比（%）
+    
+    /**
+     * 单个阶段的汇总
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhaseSummary {
+        private long count;             // 出现该阶段的暂停次数
+        private double avgTime;         // 平均耗时（ms，多线程阶段取各线程的平均值）
+        private double maxTime;         // 最大耗时（ms）
+        private double totalTime;       // 总耗时（ms）
+        
+        // 多线程阶段：各次暂停中线程耗时的最小值、最大值及两者之差的平均（ms），单线程阶段为空
+        private Double avgWorkerMin;
+        private Double avgWorkerMax;
+        private Double avgWorkerDiff;
+    }
+}
@@ -21,6 +21,7 @@ public class GCCause {
     private double minTime;         // 最小时间 (ms)
     private double totalTime;       // 总时间 (ms)
     private double percentage;      // 占总GC时间的百分比
+    private PauseTimePercentiles percentiles; // 暂停时间分位数
     
     public String getAvgTimeFormatted() {
         return String.format("%.3f ms", avgTime);
@@ -1,13 +1,16 @@
 package com.gcpulse.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.Builder;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * GC事件
  */
 @Data
 @Builder
+@Jacksonized
 public class GCEvent {
     
     private long timestamp;           // 时间戳（相对于JVM启动）
@@ -22,14 +25,17 @@ public class GCEvent {
     private MemoryChange oldGen;
     private MemoryChange metaspace;
     
-    // 是否为Full GC
+    // 是否为Full GC（getter 为 isFullGC()，JSON 属性名为 fullGC）
+    @JsonProperty("fullGC")
     private boolean isFullGC;
     
     // 是否为长暂停
+    @JsonProperty("longPause")
     private boolean isLongPause;
     
     @Data
     @Builder
+    @Jacksonized
     public static class MemoryChange {
         private long before;          // GC前内存大小（字节）
         private long after;           // GC后内存大小（字节）
@@ -0,0 +1,21 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * GC事件分页结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GCEventPage {
+    
+    private List<GCEvent> events;     // 本页事件（按日志顺序，分页查询返回列存储）
+    private String nextCursor;        // 下一页游标，没有更多事件时为 null
+    private boolean hasMore;          // 是否还有更多事件
+}
@@ -0,0 +1,46 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * GC事件查询条件（分页获取事件时使用），为空的条件不参与过滤
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GCEventQuery {
+    
+    private Long from;                // 起始时间戳（ms，含）
+    private Long to;                  // 结束时间戳（ms，含）
+    private String eventType;         // 事件类型（完全匹配）
+    private String gcCause;           // GC原因（完全匹配）
+    private Double minPauseTime;      // 最小暂停时间（ms，含）
+    private Boolean fullGC;           // 是否只要（或排除）Full GC
+    
+    /**
+     * 第 index 个事件是否满足查询条件（直接读取列式存储）
+     */
+    public boolean matches(GCEventStore events, int index) {
+        long timestamp = events.timestamp(index);
+        if (from != null && timestamp < from) {
+            return false;
+        }
+        if (to != null && timestamp > to) {
+            return false;
+        }
+        if (minPauseTime != null && events.pauseTime(index) < minPauseTime) {
+            return false;
+        }
+        if (fullGC != null && events.isFullGC(index) != fullGC) {
+            return false;
+        }
+        if (eventType != null && !eventType.equals(events.eventType(index))) {
+            return false;
+        }
+        return gcCause == null || gcCause.equals(events.gcCause(index));
+    }
+}
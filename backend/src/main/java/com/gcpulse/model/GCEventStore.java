@@ -0,0 +1,656 @@
+package com.gcpulse.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+
+/**
+ * GC事件列式存储
+ * 按列保存事件字段（时间戳、暂停时间、各内存区域的 before/after/total 都是基本类型数组），
+ * 事件类型和GC原因按字典编码；几百万个事件时不再持有 GCEvent + MemoryChange 对象图
+ *
+ * 统计代码按下标直接读取各列；作为 List&lt;GCEvent&gt; 使用时（JSON序列化、导出、AI上下文）
+ * get 按需构造只读的 GCEvent 视图，列表本身不支持 add/set/remove，只能通过 append 追加
+ *
+ * writeTo / read 按列整块写出和读回（分析结果持久化时使用），读回时不需要逐个事件解析
+ * 追加时顺带维护时间戳的最小值、最大值和是否有序，按时间范围统计时不必先扫描时间戳列
+ */
+public final class GCEventStore extends AbstractList<GCEvent> implements RandomAccess {
+    
+    /**
+     * 内存区域，对应 GCEvent 中的四个 MemoryChange
+     */
+    public enum Region {
+        HEAP, YOUNG, OLD, METASPACE
+    }
+    
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int NO_VALUE = -1;
+    
+    // flags 的低4位为各内存区域是否存在，其后为 Full GC 和长暂停标记
+    private static final int FULL_GC_FLAG = 1 << 4;
+    private static final int LONG_PAUSE_FLAG = 1 << 5;
+    
+    // 段文件头：'GCPS' + 版本
+    private static final int SEGMENT_MAGIC = 0x47435053;
+    private static final int SEGMENT_VERSION = 1;
+    
+    private int size;
+    private long[] timestamps;
+    private double[] pauseTimes;
+    private double[] concurrentTimes;
+    private int[] eventTypeCodes;
+    private int[] gcCauseCodes;
+    private byte[] flags;
+    
+    // 时间戳边界，追加时维护
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private boolean sortedByTimestamp = true;
+    
+    // 按 Region 下标
+    private final long[][] before = new long[Region.values().length][];
+    private final long[][] after = new long[Region.values().length][];
+    private final long[][] total = new long[Region.values().length][];
+    
+    // 事件类型和GC原因共用一个字典
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+    
+    public GCEventStore() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public GCEventStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        timestamps = new long[capacity];
+        pauseTimes = new double[capacity];
+        concurrentTimes = new double[capacity];
+        eventTypeCodes = new int[capacity];
+        gcCauseCodes = new int[capacity];
+        flags = new byte[capacity];
+        for (int r = 0; r < before.length; r++) {
+            before[r] = new long[capacity];
+            after[r] = new long[capacity];
+            total[r] = new long[capacity];
+        }
+    }
+    
+    /**
+     * 转换为列式存储（已经是列式存储时直接返回）
+     */
+    public static GCEventStore copyOf(List<GCEvent> events) {
+        if (events instanceof GCEventStore) {
+            return (GCEventStore) events;
+        }
+        GCEventStore store = new GCEventStore(events.size());
+        for (GCEvent event : events) {
+            store.append(event);
+        }
+        return store;
+    }
+    
+    /**
+     * 追加一个事件（拆分到各列，调用方不必保留 GCEvent 对象）
+     */
+    public void append(GCEvent event) {
+        ensureCapacity(size + 1);
+        int i = size;
+        timestamps[i] = event.getTimestamp();
+        trackTimestamps(i, i + 1);
+        pauseTimes[i] = event.getPauseTime();
+        concurrentTimes[i] = event.getConcurrentTime();
+        eventTypeCodes[i] = encode(event.getEventType());
+        gcCauseCodes[i] = encode(event.getGcCause());
+        
+        int f = 0;
+        f |= setMemory(Region.HEAP, i, event.getHeapMemory());
+        f |= setMemory(Region.YOUNG, i, event.getYoungGen());
+        f |= setMemory(Region.OLD, i, event.getOldGen());
+        f |= setMemory(Region.METASPACE, i, event.getMetaspace());
+        if (event.isFullGC()) {
+            f |= FULL_GC_FLAG;
+        }
+        if (event.isLongPause()) {
+            f |= LONG_PAUSE_FLAG;
+        }
+        flags[i] = (byte) f;
+        size++;
+    }
+    
+    /**
+     * 追加另一个存储中的全部事件（分块解析合并时使用，字典编码按本存储重新映射）
+     */
+    public void appendAll(GCEventStore other) {
+        ensureCapacity(size + other.size);
+        int[] codeMap = new int[other.dictionary.size()];
+        for (int c = 0; c < codeMap.length; c++) {
+            codeMap[c] = encode(other.dictionary.get(c));
+        }
+        
+        System.arraycopy(other.timestamps, 0, timestamps, size, other.size);
+        if (other.size > 0) {
+            sortedByTimestamp &= other.sortedByTimestamp && (size == 0 || timestamps[size - 1] <= other.timestamps[0]);
+            minTimestamp = Math.min(minTimestamp, other.minTimestamp);
+            maxTimestamp = Math.max(maxTimestamp, other.maxTimestamp);
+        }
+        System.arraycopy(other.pauseTimes, 0, pauseTimes, size, other.size);
+        System.arraycopy(other.concurrentTimes, 0, concurrentTimes, size, other.size);
+        System.arraycopy(other.flags, 0, flags, size, other.size);
+        for (int r = 0; r < before.length; r++) {
+            System.arraycopy(other.before[r], 0, before[r], size, other.size);
+            System.arraycopy(other.after[r], 0, after[r], size, other.size);
+            System.arraycopy(other.total[r], 0, total[r], size, other.size);
+        }
+        for (int i = 0; i < other.size; i++) {
+            int typeCode = other.eventTypeCodes[i];
+            int causeCode = other.gcCauseCodes[i];
+            eventTypeCodes[size + i] = typeCode == NO_VALUE ? NO_VALUE : codeMap[typeCode];
+            gcCauseCodes[size + i] = causeCode == NO_VALUE ? NO_VALUE : codeMap[causeCode];
+        }
+        size += other.size;
+    }
+    
+    /**
+     * 按下标选取事件组成新的存储（分页、过滤结果使用）：逐列按下标复制，不构造 GCEvent 对象，
+     * 字典只包含选中的事件用到的值
+     *
+     * @param indexes 前 count 个为选中事件的下标
+     */
+    public GCEventStore select(int[] indexes, int count) {
+        GCEventStore selected = new GCEventStore(count);
+        int[] codeMap = new int[dictionary.size()];
+        Arrays.fill(codeMap, NO_VALUE - 1);
+        for (int n = 0; n < count; n++) {
+            int i = indexes[n];
+            checkIndex(i);
+            selected.timestamps[n] = timestamps[i];
+            selected.pauseTimes[n] = pauseTimes[i];
+            selected.concurrentTimes[n] = concurrentTimes[i];
+            selected.eventTypeCodes[n] = selected.remap(eventTypeCodes[i], this, codeMap);
+            selected.gcCauseCodes[n] = selected.remap(gcCauseCodes[i], this, codeMap);
+            selected.flags[n] = flags[i];
+            for (int r = 0; r < before.length; r++) {
+                selected.before[r][n] = before[r][i];
+                selected.after[r][n] = after[r][i];
+                selected.total[r][n] = total[r][i];
+            }
+        }
+        selected.trackTimestamps(0, count);
+        selected.size = count;
+        return selected;
+    }
+    
+    // source 的字典编码转换为本存储的编码，codeMap 缓存已转换的编码（NO_VALUE - 1 为尚未转换）
+    private int remap(int code, GCEventStore source, int[] codeMap) {
+        if (code == NO_VALUE) {
+            return NO_VALUE;
+        }
+        if (codeMap[code] == NO_VALUE - 1) {
+            codeMap[code] = encode(source.dictionary.get(code));
+        }
+        return codeMap[code];
+    }
+    
+    /**
+     * 丢弃最早追加的 count 个事件（实时跟踪裁剪窗口时使用）：各列整块前移，容量不变，不构造 GCEvent 对象
+     */
+    public void discardFirst(int count) {
+        int discarded = Math.min(Math.max(count, 0), size);
+        if (discarded == 0) {
+            return;
+        }
+        int remaining = size - discarded;
+        System.arraycopy(timestamps, discarded, timestamps, 0, remaining);
+        System.arraycopy(pauseTimes, discarded, pauseTimes, 0, remaining);
+        System.arraycopy(concurrentTimes, discarded, concurrentTimes, 0, remaining);
+        System.arraycopy(eventTypeCodes, discarded, eventTypeCodes, 0, remaining);
+        System.arraycopy(gcCauseCodes, discarded, gcCauseCodes, 0, remaining);
+        System.arraycopy(flags, discarded, flags, 0, remaining);
+        for (int r = 0; r < before.length; r++) {
+            System.arraycopy(before[r], discarded, before[r], 0, remaining);
+            System.arraycopy(after[r], discarded, after[r], 0, remaining);
+            System.arraycopy(total[r], discarded, total[r], 0, remaining);
+        }
+        size = remaining;
+        
+        // 时间戳边界按剩余的事件重新计算
+        minTimestamp = Long.MAX_VALUE;
+        maxTimestamp = Long.MIN_VALUE;
+        sortedByTimestamp = true;
+        trackTimestamps(0, size);
+    }
+    
+    /**
+     * 按时间戳稳定排序（时间戳相同的事件保持原顺序），已有序时不做任何事
+     * 先对下标排列排序，再按排列重排各列，不构造 GCEvent 对象
+     */
+    public void sortByTimestamp() {
+        if (sortedByTimestamp) {
+            return;
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        sortIndexes(order, new int[size], 0, size);
+        
+        timestamps = permute(timestamps, order);
+        pauseTimes = permute(pauseTimes, order);
+        concurrentTimes = permute(concurrentTimes, order);
+        eventTypeCodes = permute(eventTypeCodes, order);
+        gcCauseCodes = permute(gcCauseCodes, order);
+        flags = permute(flags, order);
+        for (int r = 0; r < before.length; r++) {
+            before[r] = permute(before[r], order);
+            after[r] = permute(after[r], order);
+            total[r] = permute(total[r], order);
+        }
+        sortedByTimestamp = true;
+    }
+    
+    /**
+     * 对 order[from, to) 按时间戳归并排序（稳定）；两半已经首尾有序时跳过合并，日志中局部乱序的情况接近线性
+     */
+    private void sortIndexes(int[] order, int[] buffer, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= from && timestamps[order[j]] > timestamps[index]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortIndexes(order, buffer, from, mid);
+        sortIndexes(order, buffer, mid, to);
+        if (timestamps[order[mid - 1]] <= timestamps[order[mid]]) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && timestamps[buffer[left]] <= timestamps[buffer[right]])) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+    
+    // 按排列重排一列（只取前 size 个，保留原容量以便继续追加）
+    private static long[] permute(long[] column, int[] order) {
+        long[] result = new long[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+    
+    private static double[] permute(double[] column, int[] order) {
+        double[] result = new double[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+    
+    private static int[] permute(int[] column, int[] order) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+    
+    private static byte[] permute(byte[] column, int[] order) {
+        byte[] result = new byte[column.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+    
+    /**
+     * 按列写出全部事件（大端序：文件头、字典、各列依次连续存放）
+     */
+    public void writeTo(OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(SEGMENT_MAGIC);
+        out.writeInt(SEGMENT_VERSION);
+        out.writeInt(size);
+        out.writeInt(dictionary.size());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(timestamps[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeDouble(pauseTimes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeDouble(concurrentTimes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(eventTypeCodes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(gcCauseCodes[i]);
+        }
+        out.write(flags, 0, size);
+        for (long[][] column : new long[][][]{before, after, total}) {
+            for (long[] region : column) {
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(region[i]);
+                }
+            }
+        }
+        out.flush();
+    }
+    
+    /**
+     * 从 writeTo 写出的数据读回（通常是内存映射的段文件，各列整块复制，不逐个构造事件）
+     *
+     * @throws IllegalArgumentException 数据不是事件段或已损坏
+     */
+    public static GCEventStore read(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate();
+        try {
+            if (buffer.getInt() != SEGMENT_MAGIC || buffer.getInt() != SEGMENT_VERSION) {
+                throw new IllegalArgumentException("不是GC事件段数据");
+            }
+            int count = buffer.getInt();
+            GCEventStore store = new GCEventStore(count);
+            int dictionarySize = buffer.getInt();
+            for (int c = 0; c < dictionarySize; c++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                store.encode(new String(bytes, StandardCharsets.UTF_8));
+            }
+            readLongs(buffer, store.timestamps, count);
+            store.trackTimestamps(0, count);
+            buffer.asDoubleBuffer().get(store.pauseTimes, 0, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            buffer.asDoubleBuffer().get(store.concurrentTimes, 0, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            buffer.asIntBuffer().get(store.eventTypeCodes, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            buffer.asIntBuffer().get(store.gcCauseCodes, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            buffer.get(store.flags, 0, count);
+            for (long[][] column : new long[][][]{store.before, store.after, store.total}) {
+                for (long[] region : column) {
+                    readLongs(buffer, region, count);
+                }
+            }
+            store.size = count;
+            return store;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("GC事件段数据不完整", e);
+        }
+    }
+    
+    private static void readLongs(ByteBuffer buffer, long[] target, int count) {
+        buffer.asLongBuffer().get(target, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+    }
+    
+    /**
+     * 把 [start, end) 的时间戳计入边界（前面的事件已计入）
+     */
+    private void trackTimestamps(int start, int end) {
+        for (int i = start; i < end; i++) {
+            long timestamp = timestamps[i];
+            if (i > 0 && timestamp < timestamps[i - 1]) {
+                sortedByTimestamp = false;
+            }
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+    }
+    
+    private int setMemory(Region region, int i, GCEvent.MemoryChange change) {
+        if (change == null) {
+            return 0;
+        }
+        int r = region.ordinal();
+        before[r][i] = change.getBefore();
+        after[r][i] = change.getAfter();
+        total[r][i] = change.getTotal();
+        return 1 << r;
+    }
+    
+    private int encode(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        Integer code = dictionaryCodes.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryCodes.put(value, code);
+        }
+        return code;
+    }
+    
+    private void ensureCapacity(int required) {
+        int capacity = timestamps.length;
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity + (capacity >> 1));
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        pauseTimes = Arrays.copyOf(pauseTimes, newCapacity);
+        concurrentTimes = Arrays.copyOf(concurrentTimes, newCapacity);
+        eventTypeCodes = Arrays.copyOf(eventTypeCodes, newCapacity);
+        gcCauseCodes = Arrays.copyOf(gcCauseCodes, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        for (int r = 0; r < before.length; r++) {
+            before[r] = Arrays.copyOf(before[r], newCapacity);
+            after[r] = Arrays.copyOf(after[r], newCapacity);
+            total[r] = Arrays.copyOf(total[r], newCapacity);
+        }
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 列数据占用的内存估算（字节，按已分配容量计算，不含字典）
+     */
+    public long estimatedBytes() {
+        long perEvent = Long.BYTES + Double.BYTES * 2 + Integer.BYTES * 2 + Byte.BYTES
+                + (long) Long.BYTES * 3 * before.length;
+        return perEvent * timestamps.length;
+    }
+    
+    /**
+     * 构造第 index 个事件的只读视图（每次调用都会创建新对象，统计代码应直接读取各列）
+     */
+    @Override
+    public GCEvent get(int index) {
+        checkIndex(index);
+        return GCEvent.builder()
+                .timestamp(timestamps[index])
+                .eventType(eventType(index))
+                .gcCause(gcCause(index))
+                .pauseTime(pauseTimes[index])
+                .concurrentTime(concurrentTimes[index])
+                .heapMemory(memory(Region.HEAP, index))
+                .youngGen(memory(Region.YOUNG, index))
+                .oldGen(memory(Region.OLD, index))
+                .metaspace(memory(Region.METASPACE, index))
+                .isFullGC(isFullGC(index))
+                .isLongPause(isLongPause(index))
+                .build();
+    }
+    
+    private GCEvent.MemoryChange memory(Region region, int index) {
+        if (!hasMemory(region, index)) {
+            return null;
+        }
+        int r = region.ordinal();
+        return GCEvent.MemoryChange.builder()
+                .before(before[r][index])
+                .after(after[r][index])
+                .total(total[r][index])
+                .build();
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    
+    // ========== 按列读取 ==========
+    
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+    
+    /**
+     * 最早的时间戳，没有事件时为 Long.MAX_VALUE
+     */
+    public long minTimestamp() {
+        return minTimestamp;
+    }
+    
+    /**
+     * 最晚的时间戳，没有事件时为 Long.MIN_VALUE
+     */
+    public long maxTimestamp() {
+        return maxTimestamp;
+    }
+    
+    /**
+     * 事件是否按时间戳非递减排列（此时可以二分查找时间范围）
+     */
+    public boolean isSortedByTimestamp() {
+        return sortedByTimestamp;
+    }
+    
+    /**
+     * 第一个时间戳不小于 timestamp 的事件下标，都小于时返回 size（要求 isSortedByTimestamp）
+     */
+    public int indexOfTimestamp(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    public double pauseTime(int index) {
+        return pauseTimes[index];
+    }
+    
+    /**
+     * 暂停时间列（按事件顺序）
+     */
+    public DoubleStream pauseTimes() {
+        return Arrays.stream(pauseTimes, 0, size);
+    }
+    
+    public double concurrentTime(int index) {
+        return concurrentTimes[index];
+    }
+    
+    public String eventType(int index) {
+        return decode(eventTypeCodes[index]);
+    }
+    
+    public String gcCause(int index) {
+        return decode(gcCauseCodes[index]);
+    }
+    
+    /**
+     * 事件类型的字典编码，没有时为 -1
+     */
+    public int eventTypeCode(int index) {
+        return eventTypeCodes[index];
+    }
+    
+    /**
+     * GC原因的字典编码，没有时为 -1
+     */
+    public int gcCauseCode(int index) {
+        return gcCauseCodes[index];
+    }
+    
+    /**
+     * 字典编码对应的文本，-1 对应 null
+     */
+    public String decode(int code) {
+        return code == NO_VALUE ? null : dictionary.get(code);
+    }
+    
+    /**
+     * 字典大小（编码取值范围为 [0, dictionarySize)）
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+    
+    public boolean isFullGC(int index) {
+        return (flags[index] & FULL_GC_FLAG) != 0;
+    }
+    
+    public boolean isLongPause(int index) {
+        return (flags[index] & LONG_PAUSE_FLAG) != 0;
+    }
+    
+    /**
+     * 事件是否记录了该内存区域的变化（对应 GCEvent 中的 MemoryChange 不为 null）
+     */
+    public boolean hasMemory(Region region, int index) {
+        return (flags[index] & (1 << region.ordinal())) != 0;
+    }
+    
+    public long before(Region region, int index) {
+        return before[region.ordinal()][index];
+    }
+    
+    public long after(Region region, int index) {
+        return after[region.ordinal()][index];
+    }
+    
+    public long total(Region region, int index) {
+        return total[region.ordinal()][index];
+    }
+    
+    /**
+     * 回收量（before - after），与 MemoryChange.getReclaimed 一致
+     */
+    public long reclaimed(Region region, int index) {
+        int r = region.ordinal();
+        return before[r][index] - after[r][index];
+    }
+}
@@ -2,6 +2,7 @@ package com.gcpulse.model;
 
 import lombok.Data;
 import lombok.Builder;
+import lombok.extern.jackson.Jacksonized;
 import java.util.List;
 import java.util.Map;
 
@@ -9,13 +10,18 @@ import java.util.Map;
  * GC分析结果主数据模型
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class GCPulseResult {
     
+    // 分析ID（服务端保留的分析会话，用于后续按需获取数据）
+    private String analysisId;
+    
     // 文件基本信息
     private String fileName;
     private long fileSize;
     private String collectorType;
+    private CollectorDetection detection;           // 收集器类型检测详情（置信度、日志格式等）
     
     // JVM内存大小
     private MemorySize memorySize;
@@ -23,12 +29,16 @@ public class GCPulseResult {
     // 关键性能指标
     private KPIMetrics kpiMetrics;
     
-    // GC事件列表
+    // GC事件列表（摘要中不包含，通过分析会话分页获取）
     private List<GCEvent> gcEvents;
+    private int eventCount;
     
     // GC阶段统计
     private Map<String, PhaseStatistics> phaseStatistics;
     
+    // 按 GC 类型分类的暂停统计（键为 GCTypeStatistics.TOTAL 等）
+    private Map<String, GCTypeStatistics> gcTypeStatistics;
+    
     // 对象统计
     private ObjectStats objectStats;
     
@@ -54,5 +64,19 @@ public class GCPulseResult {
     // ZGC特定信息
     private ZGCInitConfig zgcInitConfig;            // ZGC 初始化配置
     private ZGCStatistics zgcStatistics;            // ZGC 统计信息
+    
+    // G1特定信息
+    private G1PhaseStatistics g1PhaseStatistics;    // G1 暂停阶段明细
+    private G1CycleStatistics g1CycleStatistics;    // G1 并发周期、疏散失败与大对象Region
+    
+    /**
+     * 摘要：去掉事件列表以及诊断报告中重复引用的事件，只保留统计结果
+     * 事件按分析ID分页获取（Full GC、长暂停、连续 Full GC 序列分别对应 fullGC、minPauseTime、时间范围条件）
+     */
+    public GCPulseResult toSummary() {
+        return toBuilder()
+                .gcEvents(null)
+                .diagnosisReport(diagnosisReport != null ? diagnosisReport.withoutEvents() : null)
+                .build();
+    }
 }
-
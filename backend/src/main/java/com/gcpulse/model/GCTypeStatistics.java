@@ -0,0 +1,32 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 按 GC 类型（全部、Young、Mixed、Full、CMS）分类的暂停统计
+ * 详细GC统计卡片和统计图表直接使用，前端不再需要加载全部事件
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GCTypeStatistics {
+    
+    public static final String TOTAL = "total";
+    public static final String YOUNG = "young";      // Young GC（ZGC 日志中为全部 ZGC 周期）
+    public static final String MIXED = "mixed";
+    public static final String FULL = "full";
+    public static final String CMS = "cms";          // CMS 相关的暂停（ParNew、Initial Mark、Remark 等）
+    
+    private int count;                // 发生次数
+    private double totalTime;         // 总暂停时间（ms）
+    private double avgTime;           // 平均暂停时间（ms）
+    private double stdDevTime;        // 暂停时间标准差（ms）
+    private double minTime;           // 最小暂停时间（ms）
+    private double maxTime;           // 最大暂停时间（ms）
+    private long reclaimedBytes;      // 堆回收的字节数
+    private double avgInterval;       // 相邻两次的平均间隔（ms），少于两次时为 0
+}
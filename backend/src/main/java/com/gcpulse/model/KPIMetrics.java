@@ -2,12 +2,14 @@ package com.gcpulse.model;
 
 import lombok.Data;
 import lombok.Builder;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * 关键性能指标
  */
 @Data
 @Builder
+@Jacksonized
 public class KPIMetrics {
     
     // 吞吐量（应用运行时间占比）
@@ -21,15 +23,18 @@ public class KPIMetrics {
     
     @Data
     @Builder
+    @Jacksonized
     public static class LatencyMetrics {
         private double avgPauseTime;      // 平均暂停时间（ms）
         private double maxPauseTime;      // 最大暂停时间（ms）
         private double minPauseTime;      // 最小暂停时间（ms）
         private double stdDevPauseTime;   // 暂停时间标准差（ms）
+        private PauseTimePercentiles percentiles; // 暂停时间分位数（只统计暂停时间 > 0 的事件）
     }
     
     @Data
     @Builder
+    @Jacksonized
     public static class ConcurrentTimeMetrics {
         private long totalTime;           // 总时间（ms）
         private double avgTime;           // 平均时间（ms）
@@ -0,0 +1,30 @@
+package com.gcpulse.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 实时跟踪日志时推送的增量更新
+ * KPI 按跟踪开始以来的全部事件统计，时间序列和诊断按最近的事件窗口计算
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveTailUpdate {
+    
+    private String path;
+    private String collectorType;
+    private long bytesRead;               // 累计读取的字节数（含已滚动的文件）
+    private long linesRead;
+    private int rotations;                // 已发现的文件滚动次数
+    private long eventCount;              // 累计解析的事件数
+    private int newEvents;                // 本次更新新增的事件数
+    private int windowEventCount;         // 窗口内的事件数
+    private KPIMetrics kpiMetrics;
+    private TimeSeriesData timeSeriesData;
+    private DiagnosisReport diagnosisReport;
+    private long timestamp;
+}
@@ -2,12 +2,14 @@ package com.gcpulse.model;
 
 import lombok.Data;
 import lombok.Builder;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * JVM内存大小信息
  */
 @Data
 @Builder
+@Jacksonized
 public class MemorySize {
     
     // 堆内存
@@ -21,6 +23,7 @@ public class MemorySize {
     
     @Data
     @Builder
+    @Jacksonized
     public static class MemoryRegion {
         private long allocated;     // 分配的内存（字节）
         private long peak;          // 峰值使用（字节）
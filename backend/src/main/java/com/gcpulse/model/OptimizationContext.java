@@ -246,26 +246,25 @@ public class OptimizationContext {
     
     private static PerformanceMetrics buildPerformanceMetrics(GCPulseResult result) {
         KPIMetrics kpi = result.getKpiMetrics();
-        List<GCEvent> events = result.getGcEvents();
+        List<GCEvent> events = eventsOf(result);
+        int totalGCCount = events.isEmpty() ? result.getEventCount() : events.size();
         
-        // 计算P95和P99暂停时间
-        List<Double> pauseTimes = events.stream()
-                .map(GCEvent::getPauseTime)
-                .filter(d -> d != null && d > 0)
-                .sorted()
-                .toList();
+        // P95和P99暂停时间取解析时流式统计的分位数，不再排序全部暂停时间
+        PauseTimePercentiles percentiles = kpi != null && kpi.getLatency() != null
+                ? kpi.getLatency().getPercentiles() : null;
+        double p95 = percentiles != null ? percentiles.getP95() : 0.0;
+        double p99 = percentiles != null ? percentiles.getP99() : 0.0;
         
-        double p95 = calculatePercentile(pauseTimes, 0.95);
-        double p99 = calculatePercentile(pauseTimes, 0.99);
-        
-        // 计算GC频率（假设日志时间跨度）
+        // 计算GC频率（假设日志时间跨度）；没有事件时取暂停时间序列首尾的时间
         double gcFrequency = 0.0;
-        if (!events.isEmpty() && events.size() > 1) {
-            long firstTime = events.get(0).getTimestamp();
-            long lastTime = events.get(events.size() - 1).getTimestamp();
+        List<TimeSeriesData.DataPoint> pauseTrend = series(result, TimeSeriesData::getPauseTimeTrend);
+        if (totalGCCount > 1 && (!events.isEmpty() || !pauseTrend.isEmpty())) {
+            long firstTime = !events.isEmpty() ? events.get(0).getTimestamp() : pauseTrend.get(0).getTimestamp();
+            long lastTime = !events.isEmpty() ? events.get(events.size() - 1).getTimestamp()
+                    : pauseTrend.get(pauseTrend.size() - 1).getTimestamp();
             if (lastTime > firstTime) {
                 double durationMinutes = (lastTime - firstTime) / 60000.0;
-                gcFrequency = events.size() / durationMinutes;
+                gcFrequency = totalGCCount / durationMinutes;
             }
         }
         
@@ -279,15 +278,16 @@ public class OptimizationContext {
                 .p95PauseTime(p95)
                 .p99PauseTime(p99)
                 .gcFrequency(gcFrequency)
-                .totalGCCount(events.size())
+                .totalGCCount(totalGCCount)
                 .performanceRating(rating)
                 .build();
     }
     
     private static MemoryAnalysis buildMemoryAnalysis(GCPulseResult result) {
-        List<GCEvent> events = result.getGcEvents();
-        MemorySize memSize = result.getMemorySize();
-        DiagnosisReport diagnosis = result.getDiagnosisReport();
+        List<GCEvent> events = eventsOf(result);
+        if (events.isEmpty()) {
+            return buildMemoryAnalysisFromTimeSeries(result);
+        }
         
         // 计算平均堆使用率
         double avgHeapUsage = events.stream()
@@ -315,6 +315,34 @@ public class OptimizationContext {
                 })
                 .average().orElse(0.0);
         
+        return buildMemoryAnalysis(result, avgHeapUsage, maxHeapUsage, avgHeapAfter, avgReclamationRate);
+    }
+    
+    /**
+     * 没有事件时（请求体只带摘要）按GC前后堆大小的时间序列（MB）估算，使用率相对于堆的分配大小
+     */
+    private static MemoryAnalysis buildMemoryAnalysisFromTimeSeries(GCPulseResult result) {
+        MemorySize memSize = result.getMemorySize();
+        long heapAllocated = memSize != null && memSize.getHeap() != null ? memSize.getHeap().getAllocated() : 0;
+        double mb = 1024.0 * 1024;
+        
+        List<Double> heapAfter = values(series(result, TimeSeriesData::getHeapUsageTrend));
+        List<Double> heapBefore = values(series(result, TimeSeriesData::getHeapBeforeGCTrend));
+        double avgAfterMB = heapAfter.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        double maxAfterMB = heapAfter.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+        double avgBeforeMB = heapBefore.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        
+        double avgHeapUsage = heapAllocated > 0 ? avgAfterMB * mb * 100.0 / heapAllocated : 0.0;
+        double maxHeapUsage = heapAllocated > 0 ? maxAfterMB * mb * 100.0 / heapAllocated : 0.0;
+        double avgReclamationRate = avgBeforeMB > avgAfterMB ? (avgBeforeMB - avgAfterMB) * 100.0 / avgBeforeMB : 0.0;
+        return buildMemoryAnalysis(result, avgHeapUsage, maxHeapUsage, (long) (avgAfterMB * mb), avgReclamationRate);
+    }
+    
+    private static MemoryAnalysis buildMemoryAnalysis(GCPulseResult result, double avgHeapUsage, double maxHeapUsage,
+                                                      long avgHeapAfter, double avgReclamationRate) {
+        MemorySize memSize = result.getMemorySize();
+        DiagnosisReport diagnosis = result.getDiagnosisReport();
+        
         // 内存泄漏检测
         boolean memoryLeakRisk = diagnosis != null && 
                 diagnosis.getMemoryLeakInfo() != null && 
@@ -343,17 +371,21 @@ public class OptimizationContext {
     }
     
     private static GCBehaviorPattern buildGCBehaviorPattern(GCPulseResult result) {
-        List<GCEvent> events = result.getGcEvents();
+        List<GCEvent> events = eventsOf(result);
         Map<String, GCCause> gcCauses = result.getGcCauses();
         DiagnosisReport diagnosis = result.getDiagnosisReport();
         TenuringSummary tenuring = result.getTenuringSummary();
         
-        // 统计GC类型
+        // 统计GC类型（没有事件时取解析时的按类型统计）
         Map<String, Integer> gcTypeDistribution = new java.util.HashMap<>();
         events.forEach(e -> {
             String type = e.getEventType() != null ? e.getEventType() : "Unknown";
             gcTypeDistribution.merge(type, 1, Integer::sum);
         });
+        if (events.isEmpty() && result.getGcTypeStatistics() != null) {
+            result.getGcTypeStatistics().forEach((type, statistics) -> 
+                    gcTypeDistribution.put(type, statistics.getCount()));
+        }
         
         // GC原因分布
         Map<String, Integer> gcCauseDistribution = new java.util.HashMap<>();
@@ -434,17 +466,19 @@ public class OptimizationContext {
     }
     
     private static TrendAnalysis buildTrendAnalysis(GCPulseResult result) {
-        List<GCEvent> events = result.getGcEvents();
+        List<GCEvent> events = eventsOf(result);
         
-        // 简单的趋势分析
-        String heapUsageTrend = analyzeTrend(events, e -> {
-            if (e.getHeapMemory() != null && e.getHeapMemory().getTotal() > 0) {
-                return (e.getHeapMemory().getAfter() * 100.0) / e.getHeapMemory().getTotal();
-            }
-            return null;
-        });
+        // 简单的趋势分析；没有事件时按时间序列（GC 后堆大小、暂停时间）判断
+        List<Double> heapUsage = events.isEmpty() ? values(series(result, TimeSeriesData::getHeapUsageTrend)) 
+                : events.stream()
+                        .filter(e -> e.getHeapMemory() != null && e.getHeapMemory().getTotal() > 0)
+                        .map(e -> (e.getHeapMemory().getAfter() * 100.0) / e.getHeapMemory().getTotal())
+                        .toList();
+        List<Double> pauseTimes = events.isEmpty() ? values(series(result, TimeSeriesData::getPauseTimeTrend)) 
+                : events.stream().map(GCEvent::getPauseTime).toList();
         
-        String pauseTimeTrend = analyzeTrend(events, GCEvent::getPauseTime);
+        String heapUsageTrend = analyzeTrend(heapUsage);
+        String pauseTimeTrend = analyzeTrend(pauseTimes);
         
         return TrendAnalysis.builder()
                 .heapUsageTrend(heapUsageTrend)
@@ -458,6 +492,24 @@ public class OptimizationContext {
     
     // ========== 辅助方法 ==========
     
+    /**
+     * GC事件；请求体中的摘要不带事件，此时为空列表，各项统计改用事件数、按类型统计和时间序列
+     */
+    private static List<GCEvent> eventsOf(GCPulseResult result) {
+        return result.getGcEvents() != null ? result.getGcEvents() : List.of();
+    }
+    
+    private static List<TimeSeriesData.DataPoint> series(GCPulseResult result, 
+            java.util.function.Function<TimeSeriesData, List<TimeSeriesData.DataPoint>> trend) {
+        TimeSeriesData timeSeries = result.getTimeSeriesData();
+        List<TimeSeriesData.DataPoint> points = timeSeries != null ? trend.apply(timeSeries) : null;
+        return points != null ? points : List.of();
+    }
+    
+    private static List<Double> values(List<TimeSeriesData.DataPoint> points) {
+        return points.stream().map(TimeSeriesData.DataPoint::getValue).toList();
+    }
+    
     private static String formatBytes(Long bytes) {
         if (bytes == null || bytes == 0) return "未知";
         if (bytes >= 1024 * 1024 * 1024) {
@@ -470,13 +522,6 @@ public class OptimizationContext {
         return bytes + " B";
     }
     
-    private static double calculatePercentile(List<Double> sortedValues, double percentile) {
-        if (sortedValues.isEmpty()) return 0.0;
-        int index = (int) Math.ceil(sortedValues.size() * percentile) - 1;
-        index = Math.max(0, Math.min(index, sortedValues.size() - 1));
-        return sortedValues.get(index);
-    }
-    
     private static String calculatePerformanceRating(KPIMetrics kpi, double p99) {
         if (kpi == null) return "UNKNOWN";
         
@@ -497,15 +542,7 @@ public class OptimizationContext {
         return "LOW";
     }
     
-    private static <T> String analyzeTrend(List<GCEvent> events, java.util.function.Function<GCEvent, T> extractor) {
-        if (events.size() < 10) return "INSUFFICIENT_DATA";
-        
-        List<Double> values = events.stream()
-                .map(extractor)
-                .filter(v -> v instanceof Number)
-                .map(v -> ((Number) v).doubleValue())
-                .toList();
-        
+    private static String analyzeTrend(List<Double> values) {
         if (values.size() < 10) return "INSUFFICIENT_DATA";
         
         // 简单线性趋势分析
@@ -0,0 +1,23 @@
+package com.gcpulse.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 暂停时间分位数（由直方图估算，相对误差 &lt; 1%）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PauseTimePercentiles {
+    
+    private double p50;               // 中位数（ms）
+    private double p90;               // P90（ms）
+    private double p95;               // P95（ms）
+    private double p99;               // P99（ms）
+    private double p999;              // P99.9（ms）
+    private double p9999;             // P99.99（ms）
+}
@@ -21,6 +21,7 @@ public class PhaseStatistics {
     private double minTime;           // 最小时间（ms）
     private double stdDevTime;        // 标准差（ms）
     private int count;                // 执行次数
+    private PauseTimePercentiles percentiles; // 暂停时间分位数
     
     // 计算百分比
     public double getPercentage(long totalDuration) {
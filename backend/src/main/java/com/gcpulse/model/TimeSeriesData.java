@@ -48,6 +48,9 @@ public class TimeSeriesData {
     // 对象创建速率趋势
     private List<DataPoint> allocationRateTrend;
     
+    // 是否经过降采样（事件数超过目标点数时，每条序列按时间分桶只保留桶内最小值和最大值）
+    private boolean downsampled;
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -2,6 +2,8 @@ package com.gcpulse.parser;
 
 import com.gcpulse.model.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,20 +27,131 @@ public abstract class AbstractGCLogParser {
      */
     public abstract String getGCType();
     
+    // 收集器特征得分：明确特征（启动参数、初始化日志）可直接确定收集器类型，强特征为该收集器独有的事件格式，弱特征可能与其他收集器混淆
+    public static final int SIGNATURE_DEFINITIVE = 100;
+    public static final int SIGNATURE_STRONG = 10;
+    public static final int SIGNATURE_WEAK = 1;
+    
+    /**
+     * 计算单行日志体现的当前收集器特征得分，不带特征时返回0
+     */
+    public abstract int scoreSignature(String line);
+    
+    /**
+     * 检测单行日志是否带有当前解析器支持的格式特征
+     */
+    public boolean matchesSignature(String line) {
+        return scoreSignature(line) > 0;
+    }
+    
+    /**
+     * 创建增量事件解析器（由子类实现具体格式），每个GC事件解析完整后推送给 sink
+     * 
+     * @param continuation 解析的日志可能不从日志开头开始（分块、滚动文件），只在日志开头输出一次的配置
+     *                     （如G1 Region大小）要等到合并后才能确定，依赖它的事件暂缓推送
+     */
+    public abstract IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation);
+    
+    /**
+     * 创建从日志开头解析的增量事件解析器（上传、本地文件、实时跟踪）
+     */
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink) {
+        return newIncrementalParser(sink, false);
+    }
+    
+    /**
+     * 创建GC事件收集器：逐行交给增量解析器，结束时产出GC事件列表
+     */
+    public LogLineCollector<List<GCEvent>> newEventCollector() {
+        return new EventCollector(sink -> newIncrementalParser(sink, false));
+    }
+    
+    /**
+     * 创建需要按顺序合并的事件收集器（滚动日志包中的各个文件），解析的日志可能不从日志开头开始
+     */
+    public LogLineCollector<List<GCEvent>> newMergeableEventCollector() {
+        return new EventCollector(sink -> newIncrementalParser(sink, true));
+    }
+    
+    /**
+     * 解析时每字节日志大约需要的堆内存（字节），用于分析前按文件大小估算内存、做准入控制
+     * 默认值按事件数据随行解析、随时写入列存储的格式估计（实测 G1 Unified Logging 约 0.55）
+     */
+    public double estimatedHeapPerLogByte() {
+        return 0.75;
+    }
+    
+    /**
+     * 是否支持按行对齐分块并行解析
+     * 只有事件能按GC ID跨块合并的格式（如Unified Logging）才支持，默认不支持
+     * 
+     * @param headLines 收集器类型检测时读取的日志头部行
+     */
+    public boolean supportsChunkedParsing(List<String> headLines) {
+        return false;
+    }
+    
+    /**
+     * 创建分块解析使用的事件收集器，各块的收集器按文件顺序通过merge合并
+     */
+    public LogLineCollector<List<GCEvent>> newChunkEventCollector() {
+        throw new UnsupportedOperationException(getGCType() + " 不支持分块并行解析");
+    }
+    
     /**
      * 检测是否是当前解析器支持的日志格式
      */
-    public abstract boolean canParse(List<String> lines);
+    public boolean canParse(List<String> lines) {
+        for (String line : lines) {
+            if (matchesSignature(line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 解析GC事件
+     */
+    public List<GCEvent> parseGCEvents(List<String> lines) {
+        return LogLineCollector.collect(newEventCollector(), lines);
+    }
+    
+    /**
+     * 创建逐行独立解析的增量解析器（适用于每个GC事件只占一行的日志格式）
+     */
+    protected IncrementalEventParser newSingleLineParser(Consumer<GCEvent> sink, Function<String, GCEvent> lineParser) {
+        return new SingleLineEventParser(sink, lineParser);
+    }
     
     /**
-     * 解析GC事件（由子类实现具体逻辑）
+     * 每行独立解析为事件，没有跨行状态
      */
-    public abstract List<GCEvent> parseGCEvents(List<String> lines);
+    private static class SingleLineEventParser extends IncrementalEventParser {
+        private final Function<String, GCEvent> lineParser;
+        
+        SingleLineEventParser(Consumer<GCEvent> sink, Function<String, GCEvent> lineParser) {
+            super(sink);
+            this.lineParser = lineParser;
+        }
+        
+        @Override
+        public void feed(String line) {
+            GCEvent event;
+            try {
+                event = lineParser.apply(line);
+            } catch (Exception e) {
+                // 忽略无法解析的行
+                return;
+            }
+            emit(event);
+        }
+    }
     
     /**
      * 解析内存单位并转换为字节
      */
-    protected double parseMemoryUnit(String value, String unit) {
+    protected static double parseMemoryUnit(String value, String unit) {
         double val = Double.parseDouble(value);
         return switch (unit) {
             case "B" -> val;
@@ -88,18 +201,12 @@ public abstract class AbstractGCLogParser {
     }
     
     /**
-     * 解析绝对时间戳（ISO 8601格式）
+     * 解析绝对时间戳（ISO 8601格式），解析失败返回0
      * 例如：2025-08-05T13:23:18.409+0800
      */
     protected long parseAbsoluteTimestamp(String timestampStr) {
-        try {
-            java.time.format.DateTimeFormatter formatter = 
-                java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXX");
-            java.time.ZonedDateTime zonedDateTime = java.time.ZonedDateTime.parse(timestampStr, formatter);
-            return zonedDateTime.toInstant().toEpochMilli();
-        } catch (Exception e) {
-            return 0;
-        }
+        long millis = TimestampDecoder.parseDateTime(timestampStr, 0, timestampStr.length());
+        return Math.max(millis, 0);
     }
     
     /**
@@ -131,54 +238,116 @@ public abstract class AbstractGCLogParser {
      * 解析JVM启动参数
      * 支持ZGC日志格式: jvm_args: -XX:+UseZGC -Xmx4g ...
      * 也支持传统GC日志格式中的CommandLine flags
+     * 找到第一处参数定义后即停止解析
+     */
+    protected LogLineCollector<JVMArguments> newJVMArgumentsCollector() {
+        return new JVMArgumentsCollector();
+    }
+    
+    /**
+     * JVM 参数收集器：以日志中第一次出现的参数行为准
      */
-    protected JVMArguments parseJVMArguments(List<String> lines) {
-        List<String> allArgs = new ArrayList<>();
-        List<String> gcArgs = new ArrayList<>();
-        List<String> memoryArgs = new ArrayList<>();
-        List<String> performanceArgs = new ArrayList<>();
-        List<String> otherArgs = new ArrayList<>();
+    protected class JVMArgumentsCollector implements LogLineCollector<JVMArguments> {
+        private final List<String> allArgs = new ArrayList<>();
+        private final List<String> gcArgs = new ArrayList<>();
+        private final List<String> memoryArgs = new ArrayList<>();
+        private final List<String> performanceArgs = new ArrayList<>();
+        private final List<String> otherArgs = new ArrayList<>();
+        private boolean found = false;
+        // 等待下一行确认的 VM Arguments 行（参数可能在下一行的 jvm_args 中）
+        private String pendingVmArgumentsLine;
+        // 收到的第一行，分块合并时用来确认上一分块末尾的 VM Arguments 行
+        private String firstLine;
         
-        // 查找JVM参数行
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
+        @Override
+        public void accept(String line) {
+            if (firstLine == null) {
+                firstLine = line;
+            }
+            if (found) {
+                return;
+            }
+            
+            if (pendingVmArgumentsLine != null) {
+                String argsString;
+                if (line.contains("jvm_args:")) {
+                    argsString = line.substring(line.indexOf("jvm_args:") + 9).trim();
+                } else {
+                    // 单行VM Arguments格式
+                    argsString = pendingVmArgumentsLine.substring(pendingVmArgumentsLine.indexOf("VM Arguments:") + 13).trim();
+                }
+                parse(argsString);
+                return;
+            }
             
             // ZGC日志格式: [timestamp][info][arguments] jvm_args: ...
             if (line.contains("[arguments]") && line.contains("jvm_args:")) {
                 String argsString = line.substring(line.indexOf("jvm_args:") + 9).trim();
                 // 处理参数，需要考虑带等号的参数（如 -Dkey=value）
-                parseArgumentsString(argsString, allArgs, gcArgs, memoryArgs, performanceArgs, otherArgs);
-                break;
+                parse(argsString);
             }
             // 传统格式: CommandLine flags: ...
             else if (line.contains("CommandLine flags:")) {
                 String argsString = line.substring(line.indexOf("CommandLine flags:") + 18).trim();
-                parseArgumentsString(argsString, allArgs, gcArgs, memoryArgs, performanceArgs, otherArgs);
-                break;
+                parse(argsString);
             }
-            // VM Arguments格式（可能跨多行）
-            else if (line.contains("VM Arguments:") || line.contains("[arguments]") && line.contains("VM Arguments:")) {
-                // 检查下一行是否有jvm_args
-                if (i + 1 < lines.size() && lines.get(i + 1).contains("jvm_args:")) {
-                    String argsString = lines.get(i + 1).substring(lines.get(i + 1).indexOf("jvm_args:") + 9).trim();
-                    parseArgumentsString(argsString, allArgs, gcArgs, memoryArgs, performanceArgs, otherArgs);
-                    break;
-                } else {
-                    // 单行VM Arguments格式
-                    String argsString = line.substring(line.indexOf("VM Arguments:") + 13).trim();
-                    parseArgumentsString(argsString, allArgs, gcArgs, memoryArgs, performanceArgs, otherArgs);
-                    break;
-                }
+            // VM Arguments格式（可能跨多行），需要检查下一行是否有jvm_args
+            else if (line.contains("VM Arguments:")) {
+                pendingVmArgumentsLine = line;
             }
         }
         
-        return JVMArguments.builder()
-                .allArguments(allArgs)
-                .gcArguments(gcArgs)
-                .memoryArguments(memoryArgs)
-                .performanceArguments(performanceArgs)
-                .otherArguments(otherArgs)
-                .build();
+        @Override
+        public void merge(LogLineCollector<JVMArguments> next) {
+            JVMArgumentsCollector other = (JVMArgumentsCollector) next;
+            if (other.firstLine == null) {
+                // 空分块，等待的 VM Arguments 行留给后面的分块确认
+                return;
+            }
+            if (firstLine == null) {
+                firstLine = other.firstLine;
+            }
+            if (!found && pendingVmArgumentsLine != null) {
+                // 分块末尾的 VM Arguments 行由下一分块的第一行确认
+                accept(other.firstLine);
+            }
+            if (found) {
+                return;
+            }
+            allArgs.addAll(other.allArgs);
+            gcArgs.addAll(other.gcArgs);
+            memoryArgs.addAll(other.memoryArgs);
+            performanceArgs.addAll(other.performanceArgs);
+            otherArgs.addAll(other.otherArgs);
+            found = other.found;
+            pendingVmArgumentsLine = other.pendingVmArgumentsLine;
+        }
+        
+        @Override
+        public JVMArguments finish() {
+            resolvePending();
+            return JVMArguments.builder()
+                    .allArguments(allArgs)
+                    .gcArguments(gcArgs)
+                    .memoryArguments(memoryArgs)
+                    .performanceArguments(performanceArgs)
+                    .otherArguments(otherArgs)
+                    .build();
+        }
+        
+        /**
+         * 没有等到下一行时，按单行VM Arguments格式处理
+         */
+        private void resolvePending() {
+            if (!found && pendingVmArgumentsLine != null) {
+                parse(pendingVmArgumentsLine.substring(pendingVmArgumentsLine.indexOf("VM Arguments:") + 13).trim());
+            }
+        }
+        
+        private void parse(String argsString) {
+            parseArgumentsString(argsString, allArgs, gcArgs, memoryArgs, performanceArgs, otherArgs);
+            found = true;
+        }
     }
     
     /**
@@ -4,6 +4,7 @@ import com.gcpulse.model.GCEvent;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,34 +40,25 @@ public class CmsLogParser extends AbstractGCLogParser {
     }
     
     @Override
-    public boolean canParse(List<String> lines) {
-        for (String line : lines) {
-            if (line.contains("UseConcMarkSweepGC") || 
-                line.contains("UseCMSInitiatingOccupancyOnly") ||
-                line.contains("CMS") || 
-                line.contains("ParNew")) {
-                return true;
-            }
+    public int scoreSignature(String line) {
+        if (line.contains("-XX:+UseConcMarkSweepGC") || line.contains("Using Concurrent Mark Sweep")) {
+            return SIGNATURE_DEFINITIVE;
+        }
+        if (line.contains("[ParNew") || line.contains("[CMS") || line.contains("CMS-initial-mark") || 
+            line.contains("CMS-remark") || line.contains("CMSInitiatingOccupancy") || 
+            line.contains("-XX:+UseParNewGC") || line.contains("concurrent mode failure")) {
+            return SIGNATURE_STRONG;
         }
-        return false;
+        // 单独的 "CMS"/"ParNew" 可能出现在其他收集器的日志文本中
+        if (line.contains("CMS") || line.contains("ParNew")) {
+            return SIGNATURE_WEAK;
+        }
+        return 0;
     }
     
     @Override
-    public List<GCEvent> parseGCEvents(List<String> lines) {
-        List<GCEvent> events = new ArrayList<>();
-        
-        for (String line : lines) {
-            try {
-                GCEvent event = parseCMSEvent(line);
-                if (event != null) {
-                    events.add(event);
-                }
-            } catch (Exception e) {
-                // 忽略无法解析的行
-            }
-        }
-        
-        return events;
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation) {
+        return newSingleLineParser(sink, this::parseCMSEvent);
     }
     
     /**
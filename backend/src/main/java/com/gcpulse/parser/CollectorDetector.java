@@ -0,0 +1,155 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.CollectorDetection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 收集器类型检测器
+ * 只读取日志开头的有限前缀（外加紧随其后的 [gc,init] / CommandLine flags 头部），
+ * 单遍为所有收集器累计特征得分，同时识别日志格式；结论确定后立即停止读取
+ */
+final class CollectorDetector {
+    
+    // 检测前缀大小，以及包含头部在内最多读取的行数
+    static final long DETECTION_PREFIX_BYTES = 512L * 1024;
+    static final int DETECTION_MAX_LINES = 100_000;
+    
+    // 置信度达到该值且日志格式已知时提前结束检测
+    static final double CERTAIN_CONFIDENCE = 0.95;
+    
+    static final String FORMAT_UNIFIED = "Unified Logging";
+    static final String FORMAT_JDK8 = "JDK 8";
+    static final String FORMAT_UNKNOWN = "Unknown";
+    
+    // JDK 8 的 [日期: ]运行时长: [ 前缀（Unified Logging 行由装饰符词法分析器识别）
+    private static final Pattern JDK8_LINE_PATTERN = Pattern.compile("^(?:\\d{4}-\\d{2}-\\d{2}T\\S+: )?\\d+[.,]\\d+: \\[");
+    
+    private final List<AbstractGCLogParser> parsers;
+    private final long[] scores;
+    private final UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+    
+    private int unifiedLines = 0;
+    private int jdk8Lines = 0;
+    private int scannedLines = 0;
+    private long scannedBytes = 0;
+    private boolean complete = false;
+    private boolean earlyStopped = false;
+    
+    CollectorDetector(List<AbstractGCLogParser> parsers) {
+        this.parsers = parsers;
+        this.scores = new long[parsers.size()];
+    }
+    
+    /**
+     * 接收一行日志
+     *
+     * @return 检测是否已经完成（完成后不再需要更多的行）
+     */
+    boolean accept(String line) {
+        if (complete) {
+            return true;
+        }
+        scannedLines++;
+        scannedBytes += line.length() + 1;
+        
+        boolean scored = false;
+        for (int i = 0; i < parsers.size(); i++) {
+            int score = parsers.get(i).scoreSignature(line);
+            if (score > 0) {
+                scores[i] += score;
+                scored = true;
+            }
+        }
+        
+        if (decorations.parse(line)) {
+            unifiedLines++;
+        } else if (line.startsWith("CommandLine flags:") || JDK8_LINE_PATTERN.matcher(line).find()) {
+            jdk8Lines++;
+        }
+        
+        if (scored && confidence() >= CERTAIN_CONFIDENCE && unifiedLines + jdk8Lines > 0) {
+            complete = true;
+            earlyStopped = true;
+        } else if (scannedLines >= DETECTION_MAX_LINES
+                || (scannedBytes >= DETECTION_PREFIX_BYTES && !isHeaderLine(line))) {
+            complete = true;
+        }
+        return complete;
+    }
+    
+    /**
+     * 日志头部行（超出检测前缀后仍继续读取）
+     */
+    private static boolean isHeaderLine(String line) {
+        return line.contains("[gc,init") || line.startsWith("CommandLine flags:");
+    }
+    
+    boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+     * 得分最高的解析器，所有收集器都没有特征得分时返回null（得分相同时按解析器注册顺序）
+     */
+    AbstractGCLogParser selectedParser() {
+        int best = bestIndex();
+        return best >= 0 ? parsers.get(best) : null;
+    }
+    
+    /**
+     * 置信度 = 领先幅度 × 证据充分度
+     * 领先幅度为最高分与次高分之差占最高分的比例，证据充分度在最高分达到一个明确特征的分值时饱和
+     */
+    double confidence() {
+        int best = bestIndex();
+        if (best < 0) {
+            return 0;
+        }
+        long runnerUp = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (i != best) {
+                runnerUp = Math.max(runnerUp, scores[i]);
+            }
+        }
+        double margin = (double) (scores[best] - runnerUp) / scores[best];
+        double evidence = Math.min(1.0, (double) scores[best] / AbstractGCLogParser.SIGNATURE_DEFINITIVE);
+        return margin * evidence;
+    }
+    
+    String logFormat() {
+        if (unifiedLines == 0 && jdk8Lines == 0) {
+            return FORMAT_UNKNOWN;
+        }
+        return unifiedLines >= jdk8Lines ? FORMAT_UNIFIED : FORMAT_JDK8;
+    }
+    
+    private int bestIndex() {
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0 && (best < 0 || scores[i] > scores[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    CollectorDetection result() {
+        Map<String, Long> scoreMap = new LinkedHashMap<>();
+        for (int i = 0; i < parsers.size(); i++) {
+            scoreMap.put(parsers.get(i).getGCType(), scores[i]);
+        }
+        AbstractGCLogParser selected = selectedParser();
+        return CollectorDetection.builder()
+                .collectorType(selected != null ? selected.getGCType() : "Unknown")
+                .logFormat(logFormat())
+                .confidence(Math.round(confidence() * 1000) / 1000.0)
+                .scores(scoreMap)
+                .scannedLines(scannedLines)
+                .scannedBytes(scannedBytes)
+                .earlyStopped(earlyStopped)
+                .build();
+    }
+}
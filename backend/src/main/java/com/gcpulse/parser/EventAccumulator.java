@@ -0,0 +1,37 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.GCEventStore;
+
+import java.util.List;
+
+/**
+ * GC事件累加器
+ * 统计指标不再各自遍历事件列表：所有累加器挂在同一遍扫描上，按下标逐个接收事件，结束时产出统计结果
+ *
+ * @param <T> 统计结果类型
+ */
+public interface EventAccumulator<T> {
+    
+    /**
+     * 接收第 index 个事件（直接读取列式存储中的各列）
+     */
+    void accept(GCEventStore events, int index);
+    
+    /**
+     * 所有事件接收完毕，产出统计结果
+     */
+    T finish();
+    
+    /**
+     * 单遍扫描全部事件，依次交给每个累加器
+     */
+    static void aggregate(GCEventStore events, List<? extends EventAccumulator<?>> accumulators) {
+        int size = events.size();
+        int count = accumulators.size();
+        for (int i = 0; i < size; i++) {
+            for (int a = 0; a < count; a++) {
+                accumulators.get(a).accept(events, i);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventStore;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 批量解析使用的事件收集器：增量解析器推送的事件写入列存储，结束时产出全部事件
+ * 分块、多文件合并时先合并解析器的中间状态（跨越边界的GC），再接上后一段已推送的事件
+ */
+final class EventCollector implements LogLineCollector<List<GCEvent>> {
+    
+    private final GCEventStore events = new GCEventStore();
+    private final IncrementalEventParser parser;
+    
+    EventCollector(Function<Consumer<GCEvent>, IncrementalEventParser> parserFactory) {
+        this.parser = parserFactory.apply(event -> events.append(event));
+    }
+    
+    @Override
+    public void accept(String line) {
+        parser.feed(line);
+    }
+    
+    /**
+     * 已推送的事件数加上尚未结束的GC数
+     */
+    @Override
+    public long collectedCount() {
+        return parser.emittedCount() + parser.pendingCount();
+    }
+    
+    @Override
+    public void merge(LogLineCollector<List<GCEvent>> next) {
+        EventCollector other = (EventCollector) next;
+        parser.merge(other.parser);
+        events.appendAll(other.events);
+    }
+    
+    @Override
+    public List<GCEvent> finish() {
+        parser.flush();
+        if (parser.sortsByTimestamp()) {
+            events.sortByTimestamp();
+        }
+        return events;
+    }
+}
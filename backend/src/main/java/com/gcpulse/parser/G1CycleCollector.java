@@ -0,0 +1,715 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.G1CycleStatistics;
+import com.gcpulse.model.TimeSeriesData;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * G1并发周期收集器（由 G1LogParser.newCycleCollector 创建，Unified Logging 格式，支持分块合并）
+ * [gc] 行：各类暂停的结束行（Concurrent Start / Prepare Mixed / Mixed / Remark / Cleanup）、
+ * Concurrent Mark Cycle / Concurrent Undo Cycle 的开始和结束、To-space exhausted；
+ * [gc,marking] Concurrent Mark Abort；[gc,phases] Evacuation Failure；[gc,heap] Eden/Survivor/Old/Humongous regions；
+ * [gc,init] Heap Region Size；[gc,ihop] IHOP 阈值更新；[gc,ergo,ihop] 请求启动并发周期
+ *
+ * 逐行解析时只把每次暂停、周期开始/中止/结束、IHOP 更新记为一条定长记录；
+ * 周期之后的 Mixed GC 计数、大对象Region的增量、周期启动时机都依赖先后顺序，合并记录后在 finish 中按顺序统计
+ */
+final class G1CycleCollector implements LogLineCollector<G1CycleStatistics> {
+    
+    private static final Pattern HEAP_CHANGE_PATTERN = Pattern.compile("(\\d+)([BKMG])->(\\d+)([BKMG])\\((\\d+)([BKMG])\\)");
+    private static final Pattern IHOP_PATTERN = Pattern.compile("threshold: (\\d+)B \\(([\\d.]+)\\), target occupancy: (\\d+)B");
+    private static final Pattern IHOP_REQUEST_PATTERN = Pattern.compile("occupancy: (\\d+)B allocation request: (\\d+)B threshold: (\\d+)B");
+    
+    // 记录类型：暂停（Normal 及 Full 等其他暂停记为 YOUNG_PAUSE）
+    private static final byte YOUNG_PAUSE = 0;
+    private static final byte CONCURRENT_START_PAUSE = 1;
+    private static final byte PREPARE_MIXED_PAUSE = 2;
+    private static final byte MIXED_PAUSE = 3;
+    private static final byte REMARK_PAUSE = 4;
+    private static final byte CLEANUP_PAUSE = 5;
+    // 记录类型：并发周期与 IHOP
+    private static final byte CYCLE_START = 6;
+    private static final byte CYCLE_ABORT = 7;
+    private static final byte CYCLE_END = 8;
+    private static final byte UNDO_CYCLE_END = 9;
+    private static final byte IHOP_UPDATE = 10;
+    private static final byte ADAPTIVE_IHOP = 11;
+    private static final byte IHOP_REQUEST = 12;
+    
+    // 每条记录的 Region 数列：Eden 取GC前（GC后恒为0），Survivor 取GC后，Old / Humongous 取GC前后
+    private static final int EDEN_BEFORE = 0;
+    private static final int SURVIVOR_AFTER = 1;
+    private static final int OLD_BEFORE = 2;
+    private static final int OLD_AFTER = 3;
+    private static final int HUMONGOUS_BEFORE = 4;
+    private static final int HUMONGOUS_AFTER = 5;
+    private static final int REGION_COLUMNS = 6;
+    
+    private final Matcher edenMatcher = G1LogParser.G1GC_UNIFIED_HEAP_REGIONS_PATTERN.matcher("");
+    private final Matcher survivorMatcher = G1LogParser.G1GC_UNIFIED_SURVIVOR_PATTERN.matcher("");
+    private final Matcher oldMatcher = G1LogParser.G1GC_UNIFIED_OLD_PATTERN.matcher("");
+    private final Matcher humongousMatcher = G1LogParser.G1GC_UNIFIED_HUMONGOUS_PATTERN.matcher("");
+    private final Matcher regionSizeMatcher = G1LogParser.G1GC_UNIFIED_REGION_SIZE_PATTERN.matcher("");
+    private final Matcher heapChangeMatcher = HEAP_CHANGE_PATTERN.matcher("");
+    private final Matcher ihopMatcher = IHOP_PATTERN.matcher("");
+    private final Matcher ihopRequestMatcher = IHOP_REQUEST_PATTERN.matcher("");
+    private final TimestampDecoder timestampDecoder = new TimestampDecoder();
+    private final UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+            .on("gc", this::handleGc)
+            .on("gc,heap", this::handleHeap)
+            .on("gc,marking", this::handleMarking)
+            .on("gc,phases", this::handlePhases)
+            .on("gc,init", this::handleInit)
+            .on("gc,ihop", this::handleIhop)
+            .on("gc,ergo,ihop", this::handleIhopRequest);
+    
+    private final int maxPoints;
+    
+    // 按日志顺序的记录（列式存储，约每次GC一条）
+    private byte[] types = new byte[256];
+    private long[] timestamps = new long[256];
+    private int[] gcIds = new int[256];
+    // 暂停时间 / 周期耗时（ms）、IHOP 阈值百分比、自适应 IHOP 是否生效（1/0）
+    private double[] values = new double[256];
+    // 每条两个（bytes）：GC前堆占用与堆容量 / IHOP 阈值与目标占用 / 请求启动时的占用与阈值，-1 表示未知
+    private long[] sizes = new long[512];
+    // 每条 REGION_COLUMNS 个，-1 表示未出现
+    private int[] regions = new int[256 * REGION_COLUMNS];
+    private boolean[] failures = new boolean[256];
+    private int count;
+    
+    // 尚未输出结束行的GC：已输出的 Region 数与疏散失败（同一GC的这些行先于暂停结束行输出）
+    private int pendingGcId = -1;
+    private final int[] pendingRegions = new int[REGION_COLUMNS];
+    private boolean pendingFailed;
+    
+    private long toSpaceExhaustedCount;
+    private long regionSize;
+    
+    G1CycleCollector(int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.startsWith("[")) {
+            dispatcher.dispatch(line);
+        }
+    }
+    
+    /**
+     * 合并后一段日志：跨越边界的GC把前一段已输出的 Region 数与疏散失败补到后一段的结束记录上
+     * （后一段仍未结束时并入其未结束部分），其余记录依次接上
+     */
+    @Override
+    public void merge(LogLineCollector<G1CycleStatistics> next) {
+        G1CycleCollector other = (G1CycleCollector) next;
+        if (regionSize == 0) {
+            regionSize = other.regionSize;
+        }
+        toSpaceExhaustedCount += other.toSpaceExhaustedCount;
+        
+        if (pendingGcId >= 0) {
+            int first = other.firstPause();
+            if (first >= 0) {
+                if (other.gcIds[first] == pendingGcId) {
+                    fill(other.regions, first * REGION_COLUMNS, pendingRegions);
+                    other.failures[first] |= pendingFailed;
+                }
+            } else if (other.pendingGcId == pendingGcId) {
+                fill(other.pendingRegions, 0, pendingRegions);
+                other.pendingFailed |= pendingFailed;
+            } else if (other.pendingGcId < 0) {
+                other.pendingGcId = pendingGcId;
+                System.arraycopy(pendingRegions, 0, other.pendingRegions, 0, REGION_COLUMNS);
+                other.pendingFailed = pendingFailed;
+            }
+        }
+        pendingGcId = other.pendingGcId;
+        System.arraycopy(other.pendingRegions, 0, pendingRegions, 0, REGION_COLUMNS);
+        pendingFailed = other.pendingFailed;
+        
+        ensureCapacity(count + other.count);
+        System.arraycopy(other.types, 0, types, count, other.count);
+        System.arraycopy(other.timestamps, 0, timestamps, count, other.count);
+        System.arraycopy(other.gcIds, 0, gcIds, count, other.count);
+        System.arraycopy(other.values, 0, values, count, other.count);
+        System.arraycopy(other.sizes, 0, sizes, count * 2, other.count * 2);
+        System.arraycopy(other.regions, 0, regions, count * REGION_COLUMNS, other.count * REGION_COLUMNS);
+        System.arraycopy(other.failures, 0, failures, count, other.count);
+        count += other.count;
+    }
+    
+    @Override
+    public G1CycleStatistics finish() {
+        return new CycleAnalysis().run();
+    }
+    
+    // [gc]：暂停结束行、并发周期、To-space exhausted
+    private void handleGc(UnifiedLogDecorations decorations) {
+        if (!decorations.hasGcId()) {
+            return;
+        }
+        int gcId = decorations.getGcId();
+        String line = decorations.getLine();
+        if (decorations.messageStartsWith("Pause ")) {
+            if (line.endsWith("ms") && decorations.messageIndexOf("->") > 0) {
+                handlePauseEnd(decorations, gcId);
+            }
+        } else if (decorations.messageStartsWith("Concurrent Mark Cycle")) {
+            long timestamp = decorations.timestampMillis(timestampDecoder);
+            if (line.endsWith("ms")) {
+                append(CYCLE_END, timestamp, gcId, trailingMillis(line));
+            } else if (timestamp >= 0) {
+                // 没有时间装饰符的行与暂停结束行一样不记录
+                append(CYCLE_START, timestamp, gcId, 0);
+            }
+        } else if (decorations.messageStartsWith("Concurrent Undo Cycle")) {
+            if (line.endsWith("ms")) {
+                append(UNDO_CYCLE_END, -1, gcId, 0);
+            }
+        } else if (decorations.messageStartsWith("To-space exhausted")) {
+            toSpaceExhaustedCount++;
+            pending(gcId);
+            pendingFailed = true;
+        }
+    }
+    
+    // [gc,marking] Concurrent Mark Abort
+    private void handleMarking(UnifiedLogDecorations decorations) {
+        if (decorations.hasGcId() && decorations.messageIndexOf("Abort") >= 0) {
+            append(CYCLE_ABORT, -1, decorations.getGcId(), 0);
+        }
+    }
+    
+    // [gc,phases] Evacuation Failure（只在发生疏散失败时输出）
+    private void handlePhases(UnifiedLogDecorations decorations) {
+        if (decorations.hasGcId() && decorations.messageIndexOf("Evacuation Failure") >= 0) {
+            pending(decorations.getGcId());
+            pendingFailed = true;
+        }
+    }
+    
+    // [gc,init] Heap Region Size: 1M
+    private void handleInit(UnifiedLogDecorations decorations) {
+        if (decorations.lookingAt(regionSizeMatcher)) {
+            regionSize = (long) AbstractGCLogParser.parseMemoryUnit(regionSizeMatcher.group(1), regionSizeMatcher.group(2));
+        }
+    }
+    
+    // [gc,heap] Eden regions: 8->0(9) / Survivor regions: 1->1(2) / Old regions: 20->22 / Humongous regions: 4->2
+    private void handleHeap(UnifiedLogDecorations decorations) {
+        if (!decorations.hasGcId() || decorations.messageIndexOf(" regions:") < 0) {
+            return;
+        }
+        pending(decorations.getGcId());
+        if (decorations.lookingAt(edenMatcher)) {
+            pendingRegions[EDEN_BEFORE] = Integer.parseInt(edenMatcher.group(1));
+        } else if (decorations.lookingAt(survivorMatcher)) {
+            pendingRegions[SURVIVOR_AFTER] = Integer.parseInt(survivorMatcher.group(2));
+        } else if (decorations.lookingAt(oldMatcher)) {
+            pendingRegions[OLD_BEFORE] = Integer.parseInt(oldMatcher.group(1));
+            pendingRegions[OLD_AFTER] = Integer.parseInt(oldMatcher.group(2));
+        } else if (decorations.lookingAt(humongousMatcher)) {
+            pendingRegions[HUMONGOUS_BEFORE] = Integer.parseInt(humongousMatcher.group(1));
+            pendingRegions[HUMONGOUS_AFTER] = Integer.parseInt(humongousMatcher.group(2));
+        }
+    }
+    
+    // [gc,ihop] Basic information (value update), threshold: 121762037B (45.00), target occupancy: 270582989B, ...
+    // [gc,ihop] Adaptive IHOP information (value update), threshold: ..., prediction active: true
+    private void handleIhop(UnifiedLogDecorations decorations) {
+        if (decorations.messageStartsWith("Basic information")) {
+            ihopMatcher.reset(decorations.getLine());
+            long timestamp = decorations.timestampMillis(timestampDecoder);
+            if (timestamp < 0 || !ihopMatcher.find(decorations.getMessageStart())) {
+                return;
+            }
+            int index = append(IHOP_UPDATE, timestamp, -1, Double.parseDouble(ihopMatcher.group(2)));
+            sizes[index * 2] = Long.parseLong(ihopMatcher.group(1));
+            sizes[index * 2 + 1] = Long.parseLong(ihopMatcher.group(3));
+        } else if (decorations.messageStartsWith("Adaptive IHOP information")) {
+            append(ADAPTIVE_IHOP, -1, -1, decorations.messageIndexOf("prediction active: true") >= 0 ? 1 : 0);
+        }
+    }
+    
+    // [gc,ergo,ihop] Request concurrent cycle initiation (occupancy higher than threshold) occupancy: ...B allocation request: ...B threshold: ...B (45.00) source: end of GC
+    private void handleIhopRequest(UnifiedLogDecorations decorations) {
+        if (!decorations.messageStartsWith("Request concurrent cycle initiation")) {
+            return;
+        }
+        ihopRequestMatcher.reset(decorations.getLine());
+        if (ihopRequestMatcher.find(decorations.getMessageStart())) {
+            int index = append(IHOP_REQUEST, -1, -1, 0);
+            sizes[index * 2] = Long.parseLong(ihopRequestMatcher.group(1)) + Long.parseLong(ihopRequestMatcher.group(2));
+            sizes[index * 2 + 1] = Long.parseLong(ihopRequestMatcher.group(3));
+        }
+    }
+    
+    private void handlePauseEnd(UnifiedLogDecorations decorations, int gcId) {
+        long timestamp = decorations.timestampMillis(timestampDecoder);
+        String line = decorations.getLine();
+        double pauseTime = trailingMillis(line);
+        if (timestamp < 0 || pauseTime < 0) {
+            return;
+        }
+        int index = append(pauseType(line, decorations.getMessageStart() + "Pause ".length()), timestamp, gcId, pauseTime);
+        
+        // 堆容量与GC前占用：before->after(capacity)
+        heapChangeMatcher.reset(line);
+        if (heapChangeMatcher.find(decorations.getMessageStart())) {
+            sizes[index * 2] = (long) AbstractGCLogParser.parseMemoryUnit(heapChangeMatcher.group(1), heapChangeMatcher.group(2));
+            sizes[index * 2 + 1] = (long) AbstractGCLogParser.parseMemoryUnit(heapChangeMatcher.group(5), heapChangeMatcher.group(6));
+        }
+        
+        // JDK 20+ 在结束行标注 (Evacuation Failure)，更早的版本单独输出 To-space exhausted / Evacuation Failure 阶段
+        failures[index] = decorations.messageIndexOf("(Evacuation Failure") >= 0;
+        if (pendingGcId == gcId) {
+            System.arraycopy(pendingRegions, 0, regions, index * REGION_COLUMNS, REGION_COLUMNS);
+            failures[index] |= pendingFailed;
+            pendingGcId = -1;
+        }
+    }
+    
+    private static byte pauseType(String line, int kind) {
+        if (line.startsWith("Young", kind)) {
+            int open = line.indexOf('(', kind);
+            if (line.startsWith("(Concurrent Start)", open)) {
+                return CONCURRENT_START_PAUSE;
+            } else if (line.startsWith("(Prepare Mixed)", open)) {
+                return PREPARE_MIXED_PAUSE;
+            } else if (line.startsWith("(Mixed)", open)) {
+                return MIXED_PAUSE;
+            }
+        } else if (line.startsWith("Initial Mark", kind)) {
+            // JDK 9/10
+            return CONCURRENT_START_PAUSE;
+        } else if (line.startsWith("Mixed", kind)) {
+            return MIXED_PAUSE;
+        } else if (line.startsWith("Remark", kind)) {
+            return REMARK_PAUSE;
+        } else if (line.startsWith("Cleanup", kind)) {
+            return CLEANUP_PAUSE;
+        }
+        return YOUNG_PAUSE;
+    }
+    
+    private void pending(int gcId) {
+        if (pendingGcId != gcId) {
+            pendingGcId = gcId;
+            Arrays.fill(pendingRegions, -1);
+            pendingFailed = false;
+        }
+    }
+    
+    private int append(byte type, long timestamp, int gcId, double value) {
+        ensureCapacity(count + 1);
+        int index = count++;
+        types[index] = type;
+        timestamps[index] = timestamp;
+        gcIds[index] = gcId;
+        values[index] = value;
+        sizes[index * 2] = -1;
+        sizes[index * 2 + 1] = -1;
+        Arrays.fill(regions, index * REGION_COLUMNS, (index + 1) * REGION_COLUMNS, -1);
+        failures[index] = false;
+        return index;
+    }
+    
+    private int firstPause() {
+        for (int i = 0; i < count; i++) {
+            if (types[i] <= CLEANUP_PAUSE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 只补上后一段未出现的 Region 数（同一GC的行被切分到两段，彼此不重叠）
+     */
+    private static void fill(int[] target, int offset, int[] source) {
+        for (int k = 0; k < REGION_COLUMNS; k++) {
+            if (target[offset + k] < 0) {
+                target[offset + k] = source[k];
+            }
+        }
+    }
+    
+    private void ensureCapacity(int size) {
+        if (size <= types.length) {
+            return;
+        }
+        int capacity = Math.max(size, types.length * 2);
+        types = Arrays.copyOf(types, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        gcIds = Arrays.copyOf(gcIds, capacity);
+        values = Arrays.copyOf(values, capacity);
+        sizes = Arrays.copyOf(sizes, capacity * 2);
+        regions = Arrays.copyOf(regions, capacity * REGION_COLUMNS);
+        failures = Arrays.copyOf(failures, capacity);
+    }
+    
+    /**
+     * 行尾的毫秒数，如 "... 12.345ms"；无法解析时返回 -1
+     */
+    private static double trailingMillis(String line) {
+        int end = line.length() - 2;
+        int start = line.lastIndexOf(' ', end - 1) + 1;
+        try {
+            return Double.parseDouble(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static G1CycleStatistics.PauseSummary pauseSummary(RunningStats stats) {
+        if (stats.count() == 0) {
+            return null;
+        }
+        return G1CycleStatistics.PauseSummary.builder()
+                .count(stats.count())
+                .avgTime(stats.average())
+                .maxTime(stats.max())
+                .totalTime(stats.sum())
+                .build();
+    }
+    
+    /**
+     * 按顺序遍历全部记录，统计并发周期、Mixed GC、疏散失败、Region 与 IHOP
+     */
+    private final class CycleAnalysis {
+        private long pauseCount;
+        
+        // 并发标记周期（同一时间最多一个）
+        private int cycleGcId = -1;
+        private boolean cycleAborted;
+        private long concurrentStartCount;
+        private long concurrentCycleCount;
+        private long abortedCycleCount;
+        private long undoCycleCount;
+        private final RunningStats markDurations = new RunningStats();
+        private final SeriesBuffer markDurationSeries = new SeriesBuffer();
+        
+        // Remark / Cleanup
+        private final RunningStats remarkPauses = new RunningStats();
+        private final RunningStats cleanupPauses = new RunningStats();
+        
+        // 最近完成的周期之后的 Mixed GC
+        private boolean countingMixed;
+        private long mixedCycleEnd;
+        private int mixedInCycle;
+        private long prepareMixedCount;
+        private long mixedGCCount;
+        private final RunningStats mixedPerCycle = new RunningStats();
+        private final SeriesBuffer mixedPerCycleSeries = new SeriesBuffer();
+        
+        // 疏散失败
+        private long evacuationFailureCount;
+        private final SeriesBuffer evacuationFailureSeries = new SeriesBuffer();
+        
+        // Region 数
+        private final SeriesBuffer edenSeries = new SeriesBuffer();
+        private final SeriesBuffer survivorSeries = new SeriesBuffer();
+        private final SeriesBuffer oldSeries = new SeriesBuffer();
+        
+        // 大对象Region
+        private int lastHumongousAfter = -1;
+        private int maxHumongousRegions = -1;
+        private long humongousAllocated;
+        private long humongousReclaimed;
+        private final SeriesBuffer humongousSeries = new SeriesBuffer();
+        private final SeriesBuffer humongousAllocatedSeries = new SeriesBuffer();
+        private final SeriesBuffer humongousReclaimedSeries = new SeriesBuffer();
+        
+        // IHOP（debug 级别输出）
+        private long ihopUpdateCount;
+        private Boolean adaptiveIhopActive;
+        private long ihopThreshold = -1;
+        private long ihopTarget = -1;
+        private double lastIhopThresholdPercent = Double.NaN;
+        private final SeriesBuffer ihopThresholdSeries = new SeriesBuffer();
+        private final SeriesBuffer ihopTargetSeries = new SeriesBuffer();
+        
+        // 周期启动时机：最近一次请求启动并发周期时的占用与阈值；标记期间的最小剩余空间与是否疏散失败
+        private long requestOccupancy = -1;
+        private long requestThreshold = -1;
+        private boolean marking;
+        private boolean markingFailed;
+        private double markingHeadroom;
+        private long lateCycleStartCount;
+        private final RunningStats cycleStartMargins = new RunningStats();
+        private final RunningStats markingHeadrooms = new RunningStats();
+        private final SeriesBuffer cycleStartOccupancySeries = new SeriesBuffer();
+        private final SeriesBuffer cycleStartMarginSeries = new SeriesBuffer();
+        private final SeriesBuffer markingHeadroomSeries = new SeriesBuffer();
+        
+        G1CycleStatistics run() {
+            for (int i = 0; i < count; i++) {
+                switch (types[i]) {
+                    case CYCLE_START -> {
+                        cycleGcId = gcIds[i];
+                        cycleAborted = false;
+                    }
+                    case CYCLE_ABORT -> {
+                        cycleGcId = gcIds[i];
+                        cycleAborted = true;
+                    }
+                    case CYCLE_END -> cycleEnd(i);
+                    case UNDO_CYCLE_END -> {
+                        // 撤销的周期没有真正完成标记，不参与启动时机统计
+                        undoCycleCount++;
+                        marking = false;
+                    }
+                    case IHOP_UPDATE -> ihopUpdate(i);
+                    case ADAPTIVE_IHOP -> adaptiveIhopActive = values[i] != 0;
+                    case IHOP_REQUEST -> {
+                        requestOccupancy = sizes[i * 2];
+                        requestThreshold = sizes[i * 2 + 1];
+                    }
+                    default -> pause(i);
+                }
+            }
+            closeMixedPhase();
+            if (pauseCount == 0 && concurrentCycleCount + abortedCycleCount + undoCycleCount == 0) {
+                return null;
+            }
+            
+            return G1CycleStatistics.builder()
+                    .concurrentStartCount(concurrentStartCount)
+                    .concurrentCycleCount(concurrentCycleCount)
+                    .abortedCycleCount(abortedCycleCount)
+                    .undoCycleCount(undoCycleCount)
+                    .avgMarkDuration(markDurations.count() > 0 ? markDurations.average() : null)
+                    .maxMarkDuration(markDurations.count() > 0 ? markDurations.max() : null)
+                    .markDurationTrend(markDurationSeries.downsample(maxPoints))
+                    .remark(pauseSummary(remarkPauses))
+                    .cleanup(pauseSummary(cleanupPauses))
+                    .prepareMixedCount(prepareMixedCount)
+                    .mixedGCCount(mixedGCCount)
+                    .avgMixedGCsPerCycle(mixedPerCycle.count() > 0 ? mixedPerCycle.average() : null)
+                    .mixedGCsPerCycleTrend(mixedPerCycleSeries.downsample(maxPoints))
+                    .evacuationFailureCount(evacuationFailureCount)
+                    .toSpaceExhaustedCount(toSpaceExhaustedCount)
+                    .evacuationFailureTrend(evacuationFailureSeries.downsample(maxPoints))
+                    .maxHumongousRegions(maxHumongousRegions >= 0 ? maxHumongousRegions : null)
+                    .humongousRegionsAllocated(humongousAllocated)
+                    .humongousRegionsReclaimed(humongousReclaimed)
+                    .humongousRegionsTrend(humongousSeries.downsample(maxPoints))
+                    .humongousAllocatedTrend(humongousAllocatedSeries.downsample(maxPoints))
+                    .humongousReclaimedTrend(humongousReclaimedSeries.downsample(maxPoints))
+                    .regionSize(regionSize > 0 ? regionSize : null)
+                    .edenRegionsTrend(edenSeries.downsample(maxPoints))
+                    .survivorRegionsTrend(survivorSeries.downsample(maxPoints))
+                    .oldRegionsTrend(oldSeries.downsample(maxPoints))
+                    .ihopUpdateCount(ihopUpdateCount)
+                    .adaptiveIhopActive(adaptiveIhopActive)
+                    .lastIhopThresholdPercent(Double.isNaN(lastIhopThresholdPercent) ? null : lastIhopThresholdPercent)
+                    .ihopThresholdTrend(ihopThresholdSeries.downsample(maxPoints))
+                    .ihopTargetOccupancyTrend(ihopTargetSeries.downsample(maxPoints))
+                    .cycleStartOccupancyTrend(cycleStartOccupancySeries.downsample(maxPoints))
+                    .cycleStartMarginTrend(cycleStartMarginSeries.downsample(maxPoints))
+                    .avgCycleStartMargin(cycleStartMargins.count() > 0 ? cycleStartMargins.average() : null)
+                    .markingHeadroomTrend(markingHeadroomSeries.downsample(maxPoints))
+                    .minMarkingHeadroom(markingHeadrooms.count() > 0 ? markingHeadrooms.min() : null)
+                    .lateCycleStartCount(lateCycleStartCount)
+                    .build();
+        }
+        
+        private void pause(int i) {
+            long timestamp = timestamps[i];
+            double pauseTime = values[i];
+            pauseCount++;
+            
+            if (failures[i]) {
+                evacuationFailureCount++;
+                evacuationFailureSeries.add(timestamp, pauseTime);
+                markingFailed |= marking;
+            }
+            int offset = i * REGION_COLUMNS;
+            boolean regionsLogged = false;
+            for (int k = 0; k < REGION_COLUMNS; k++) {
+                regionsLogged |= regions[offset + k] >= 0;
+            }
+            if (regionsLogged) {
+                recordRegions(timestamp, offset);
+            }
+            
+            switch (types[i]) {
+                case CONCURRENT_START_PAUSE -> concurrentStart(i, regionsLogged);
+                case PREPARE_MIXED_PAUSE -> prepareMixedCount++;
+                case MIXED_PAUSE -> {
+                    mixedGCCount++;
+                    if (countingMixed) {
+                        mixedInCycle++;
+                    }
+                }
+                case REMARK_PAUSE -> remarkPauses.add(pauseTime);
+                case CLEANUP_PAUSE -> cleanupPauses.add(pauseTime);
+                default -> {
+                }
+            }
+            
+            long heapBefore = sizes[i * 2];
+            long heapCapacity = sizes[i * 2 + 1];
+            if (marking && heapCapacity > 0) {
+                markingHeadroom = Math.min(markingHeadroom, (heapCapacity - heapBefore) * 100.0 / heapCapacity);
+            }
+        }
+        
+        /**
+         * Concurrent Start：结束上一周期的 Mixed 阶段，记录启动时的老年代占用与 IHOP 阈值
+         * 占用优先取本次GC前的 Old + Humongous Region，其次取 [gc,ergo,ihop] 请求启动时的占用；
+         * 以 IHOP 目标占用（无 IHOP 信息时为堆容量）为基准换算成百分比，与阈值相减得到启动偏晚的幅度
+         */
+        private void concurrentStart(int i, boolean regionsLogged) {
+            concurrentStartCount++;
+            closeMixedPhase();
+            
+            int oldBefore = regions[i * REGION_COLUMNS + OLD_BEFORE];
+            int humongousBefore = regions[i * REGION_COLUMNS + HUMONGOUS_BEFORE];
+            long occupancy = -1;
+            if (regionsLogged && regionSize > 0 && oldBefore >= 0) {
+                occupancy = (oldBefore + Math.max(0, humongousBefore)) * regionSize;
+            } else if (requestOccupancy >= 0) {
+                occupancy = requestOccupancy;
+            }
+            long threshold = ihopThreshold >= 0 ? ihopThreshold : requestThreshold;
+            long base = ihopTarget > 0 ? ihopTarget : sizes[i * 2 + 1];
+            if (occupancy >= 0 && base > 0) {
+                double occupancyPercent = occupancy * 100.0 / base;
+                cycleStartOccupancySeries.add(timestamps[i], occupancyPercent);
+                if (threshold >= 0) {
+                    double margin = occupancyPercent - threshold * 100.0 / base;
+                    cycleStartMargins.add(margin);
+                    cycleStartMarginSeries.add(timestamps[i], margin);
+                }
+            }
+            requestOccupancy = -1;
+            requestThreshold = -1;
+            
+            marking = true;
+            markingFailed = false;
+            markingHeadroom = 100.0;
+        }
+        
+        /**
+         * 周期结束：正常完成的周期记录耗时，并开始统计之后的 Mixed GC；
+         * 标记期间的最小剩余空间，标记期间发生疏散失败说明周期启动偏晚
+         */
+        private void cycleEnd(int i) {
+            long timestamp = timestamps[i];
+            double duration = values[i];
+            boolean aborted = cycleAborted && cycleGcId == gcIds[i];
+            cycleGcId = -1;
+            cycleAborted = false;
+            if (timestamp < 0 || duration < 0) {
+                return;
+            }
+            // 中止的周期没有完成标记，耗时不计入标记耗时
+            if (!aborted) {
+                markDurations.add(duration);
+                markDurationSeries.add(timestamp, duration);
+            }
+            if (marking) {
+                markingHeadrooms.add(markingHeadroom);
+                markingHeadroomSeries.add(timestamp, markingHeadroom);
+                if (markingFailed) {
+                    lateCycleStartCount++;
+                }
+                marking = false;
+            }
+            if (aborted) {
+                abortedCycleCount++;
+                return;
+            }
+            concurrentCycleCount++;
+            closeMixedPhase();
+            countingMixed = true;
+            mixedCycleEnd = timestamp;
+            mixedInCycle = 0;
+        }
+        
+        private void closeMixedPhase() {
+            if (countingMixed) {
+                mixedPerCycle.add(mixedInCycle);
+                mixedPerCycleSeries.add(mixedCycleEnd, mixedInCycle);
+                countingMixed = false;
+            }
+        }
+        
+        private void ihopUpdate(int i) {
+            ihopUpdateCount++;
+            ihopThreshold = sizes[i * 2];
+            ihopTarget = sizes[i * 2 + 1];
+            lastIhopThresholdPercent = values[i];
+            ihopThresholdSeries.add(timestamps[i], lastIhopThresholdPercent);
+            ihopTargetSeries.add(timestamps[i], ihopTarget / (1024.0 * 1024.0));
+        }
+        
+        /**
+         * 每次GC的 Region 数；大对象Region另计新分配与回收
+         */
+        private void recordRegions(long timestamp, int offset) {
+            if (regions[offset + EDEN_BEFORE] >= 0) {
+                edenSeries.add(timestamp, regions[offset + EDEN_BEFORE]);
+            }
+            if (regions[offset + SURVIVOR_AFTER] >= 0) {
+                survivorSeries.add(timestamp, regions[offset + SURVIVOR_AFTER]);
+            }
+            if (regions[offset + OLD_AFTER] >= 0) {
+                oldSeries.add(timestamp, regions[offset + OLD_AFTER]);
+            }
+            int humongousBefore = regions[offset + HUMONGOUS_BEFORE];
+            int humongousAfter = regions[offset + HUMONGOUS_AFTER];
+            if (humongousAfter < 0) {
+                return;
+            }
+            maxHumongousRegions = Math.max(maxHumongousRegions, humongousBefore);
+            humongousSeries.add(timestamp, humongousAfter);
+            if (lastHumongousAfter >= 0) {
+                int allocated = Math.max(0, humongousBefore - lastHumongousAfter);
+                humongousAllocated += allocated;
+                humongousAllocatedSeries.add(timestamp, allocated);
+            }
+            int reclaimed = Math.max(0, humongousBefore - humongousAfter);
+            humongousReclaimed += reclaimed;
+            humongousReclaimedSeries.add(timestamp, reclaimed);
+            lastHumongousAfter = humongousAfter;
+        }
+    }
+    
+    /**
+     * 按时间顺序追加的数据点，结束时再按实际时间范围降采样
+     */
+    private static final class SeriesBuffer {
+        private long[] timestamps = new long[64];
+        private double[] values = new double[64];
+        private int size;
+        
+        void add(long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+        
+        List<TimeSeriesData.DataPoint> downsample(int maxPoints) {
+            if (size == 0) {
+                return null;
+            }
+            TimeSeriesDownsampler downsampler = new TimeSeriesDownsampler(timestamps[0], timestamps[size - 1], maxPoints);
+            for (int i = 0; i < size; i++) {
+                downsampler.add(timestamps[i], values[i]);
+            }
+            return downsampler.finish();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.gcpulse.parser;
 
+import com.gcpulse.model.G1CycleStatistics;
+import com.gcpulse.model.G1PhaseStatistics;
 import com.gcpulse.model.GCEvent;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,17 +26,28 @@ public class G1LogParser extends AbstractGCLogParser {
     }
     
     // JDK 8 G1GC Pattern
-    private static final Pattern G1GC_JDK8_PAUSE_PATTERN = Pattern.compile("(?:\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4}:\\s*)?(\\d+\\.\\d+):\\s*\\[GC pause\\s+((?:\\([^)]+\\)\\s*)+)");
+    static final Pattern G1GC_JDK8_PAUSE_PATTERN = Pattern.compile("(?:\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4}:\\s*)?(\\d+\\.\\d+):\\s*\\[GC pause\\s+((?:\\([^)]+\\)\\s*)+)");
     private static final Pattern G1GC_JDK8_EDEN_PATTERN = Pattern.compile("\\[Eden:\\s*([\\d.]+)([BKMGT])\\(([\\d.]+)([BKMGT])\\)->([\\d.]+)([BKMGT])\\(([\\d.]+)([BKMGT])\\)\\s*Survivors?:\\s*([\\d.]+)([BKMGT])->([\\d.]+)([BKMGT])\\s*Heap:\\s*([\\d.]+)([BKMGT])\\(([\\d.]+)([BKMGT])\\)->([\\d.]+)([BKMGT])\\(([\\d.]+)([BKMGT])\\)\\]");
     private static final Pattern G1GC_JDK8_TIME_PATTERN = Pattern.compile(",\\s*([\\d.]+)\\s*secs\\]");
+    private static final Pattern G1GC_JDK8_SIZE_PATTERN = Pattern.compile("([\\d.]+)([BKMGT])");
     private static final Pattern G1GC_JDK8_METASPACE_HEAP_PATTERN = Pattern.compile("Metaspace\\s+used\\s+(\\d+)K,\\s+capacity\\s+(\\d+)K,\\s+committed\\s+(\\d+)K,\\s+reserved\\s+(\\d+)K");
-    private static final Pattern G1GC_JDK8_ABSOLUTE_TIMESTAMP = Pattern.compile("(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4}):");
+    static final Pattern G1GC_JDK8_ABSOLUTE_TIMESTAMP = Pattern.compile("(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4}):");
     
-    // JDK 9+ G1GC Pattern
-    private static final Pattern G1GC_UNIFIED_START_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[info\\s*\\]\\[gc,start\\s*\\]\\s*GC\\((\\d+)\\)\\s*Pause\\s+(\\w+)\\s*\\((.*?)\\)\\s*\\((.*?)\\)");
-    private static final Pattern G1GC_UNIFIED_END_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[info\\s*\\]\\[gc\\s*\\]\\s*GC\\((\\d+)\\)\\s*Pause\\s+(\\w+)\\s*\\((.*?)\\)\\s*\\((.*?)\\)\\s*([\\d.]+)M->([\\d.]+)M\\(([\\d.]+)M\\)\\s*([\\d.]+)ms");
-    private static final Pattern G1GC_UNIFIED_HEAP_REGIONS_PATTERN = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Eden regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
-    private static final Pattern G1GC_UNIFIED_SURVIVOR_PATTERN = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Survivor regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
+    // JDK 9+ G1GC Pattern（只匹配消息正文，行首的 [时间][级别][标签] 与 GC(n) 由 UnifiedLogDecorations 切分）
+    // 暂停类型、Young 暂停的子类型（JDK 12+，JDK 9-11 没有）、GC原因；Full GC 的原因可能带括号，如 (System.gc())
+    private static final Pattern G1GC_UNIFIED_END_PATTERN = Pattern.compile("Pause\\s+(Young|Mixed|Full|Initial Mark)\\s*(?:\\((Normal|Concurrent Start|Prepare Mixed|Mixed)\\)\\s*)?\\((.*?)\\)\\s*([\\d.]+)M->([\\d.]+)M\\(([\\d.]+)M\\)\\s*([\\d.]+)ms");
+    // 并发标记周期中的 Remark / Cleanup 暂停（没有GC原因）
+    private static final Pattern G1GC_UNIFIED_REMARK_CLEANUP_PATTERN = Pattern.compile("Pause\\s+(Remark|Cleanup)\\s+([\\d.]+)M->([\\d.]+)M\\(([\\d.]+)M\\)\\s*([\\d.]+)ms");
+    static final Pattern G1GC_UNIFIED_HEAP_REGIONS_PATTERN = Pattern.compile("Eden regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
+    static final Pattern G1GC_UNIFIED_SURVIVOR_PATTERN = Pattern.compile("Survivor regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
+    private static final Pattern G1GC_UNIFIED_YOUNG_BEFORE_PATTERN = Pattern.compile("region size\\s+\\d+K,\\s+(\\d+)\\s+young\\s+\\((\\d+)K\\),\\s+(\\d+)\\s+survivors\\s+\\((\\d+)K\\)");
+    static final Pattern G1GC_UNIFIED_OLD_PATTERN = Pattern.compile("Old regions:\\s*(\\d+)->(\\d+)");
+    static final Pattern G1GC_UNIFIED_HUMONGOUS_PATTERN = Pattern.compile("Humongous regions:\\s*(\\d+)->(\\d+)");
+    private static final Pattern G1GC_UNIFIED_METASPACE_PATTERN = Pattern.compile("Metaspace:\\s*(\\d+)K\\((\\d+)K\\)->(\\d+)K\\((\\d+)K\\)");
+    static final Pattern G1GC_UNIFIED_REGION_SIZE_PATTERN = Pattern.compile("Heap Region Size:\\s*(\\d+)([KMG])");
+    
+    // 格式检测最多缓存的行数，超过后按JDK 8传统格式处理
+    private static final int FORMAT_DETECTION_MAX_LINES = 10000;
     
     @Override
     public String getGCType() {
@@ -41,100 +55,210 @@ public class G1LogParser extends AbstractGCLogParser {
     }
     
     @Override
-    public boolean canParse(List<String> lines) {
-        for (String line : lines) {
-            if (line.contains("Using G1") || line.contains("[G1") || 
-                line.contains("UseG1GC") || line.contains("-XX:+UseG1GC") ||
-                line.contains("GC pause (G1 Evacuation Pause)") ||
-                line.contains("GC concurrent-mark") || line.contains("GC remark")) {
-                return true;
+    public int scoreSignature(String line) {
+        if (line.contains("Using G1") || line.contains("-XX:+UseG1GC")) {
+            return SIGNATURE_DEFINITIVE;
+        }
+        if (line.contains("GC pause (G1") || line.contains("(G1 Evacuation Pause)") || 
+            line.contains("(G1 Humongous Allocation)") || line.contains("[G1") ||
+            line.contains("GC concurrent-mark") || line.contains("GC remark") ||
+            line.contains("Heap Region Size:") || line.contains("Pause Remark")) {
+            return SIGNATURE_STRONG;
+        }
+        return 0;
+    }
+    
+    @Override
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation) {
+        return new G1EventParser(sink, continuation);
+    }
+    
+    /**
+     * 仅Unified Logging格式支持分块并行解析（JDK 8格式的事件跨多行且没有GC ID）
+     */
+    @Override
+    public boolean supportsChunkedParsing(List<String> headLines) {
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        for (String line : headLines) {
+            G1LogFormat format = detectG1LogFormat(line, decorations);
+            if (format != null) {
+                return format == G1LogFormat.JDK9_UNIFIED;
             }
         }
         return false;
     }
     
     @Override
-    public List<GCEvent> parseGCEvents(List<String> lines) {
-        G1LogFormat format = detectG1LogFormat(lines);
-        
-        if (format == G1LogFormat.JDK9_UNIFIED) {
-            return parseG1UnifiedLogging(lines);
-        } else {
-            return parseG1JDK8MultiLine(lines);
+    public LogLineCollector<List<GCEvent>> newChunkEventCollector() {
+        return new EventCollector(sink -> new UnifiedEventParser(sink, true));
+    }
+    
+    /**
+     * 创建G1暂停阶段明细收集器（支持分块合并）
+     */
+    public LogLineCollector<G1PhaseStatistics> newPhaseCollector() {
+        return new G1PhaseCollector(GCLogParser.DEFAULT_TIME_SERIES_POINTS);
+    }
+    
+    /**
+     * 创建G1并发周期收集器：标记周期、Remark/Cleanup、周期后的 Mixed GC、疏散失败、Region 与 IHOP（仅 Unified Logging，支持分块合并）
+     */
+    public LogLineCollector<G1CycleStatistics> newCycleCollector() {
+        return new G1CycleCollector(GCLogParser.DEFAULT_TIME_SERIES_POINTS);
+    }
+    
+    /**
+     * 检测单行日志体现的G1日志格式，无法判断时返回null
+     */
+    private G1LogFormat detectG1LogFormat(String line, UnifiedLogDecorations decorations) {
+        // 带gc标签的Unified Logging行（时间装饰符可以是 time/utctime/uptime/timemillis 等任意一种）
+        if (decorations.parse(line) && decorations.hasTag("gc")) {
+            log.info("检测到JDK 9+ G1 Unified Logging格式");
+            return G1LogFormat.JDK9_UNIFIED;
         }
+        if (line.matches(".*\\d+\\.\\d+:\\s*\\[GC pause.*") || 
+            line.matches(".*\\d{4}-\\d{2}-\\d{2}T.*?:\\s*\\d+\\.\\d+:\\s*\\[GC pause.*")) {
+            log.info("检测到JDK 8 G1传统格式");
+            return G1LogFormat.JDK8_TRADITIONAL;
+        }
+        return null;
     }
     
     /**
-     * 检测G1日志格式
+     * G1增量事件解析器
+     * 先缓存日志开头直到识别出日志格式，再交给对应格式的解析器逐行解析
      */
-    private G1LogFormat detectG1LogFormat(List<String> lines) {
-        for (String line : lines) {
-            if (line.matches("\\[\\d{4}-\\d{2}-\\d{2}T.*?\\]\\[.*?\\]\\[gc.*?\\].*")) {
-                log.info("检测到JDK 9+ G1 Unified Logging格式");
-                return G1LogFormat.JDK9_UNIFIED;
+    private class G1EventParser extends IncrementalEventParser {
+        private final boolean continuation;
+        private List<String> pendingLines = new ArrayList<>();
+        private G1LogFormat format;
+        private IncrementalEventParser delegate;
+        private final UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        
+        G1EventParser(Consumer<GCEvent> sink, boolean continuation) {
+            super(sink);
+            this.continuation = continuation;
+        }
+        
+        @Override
+        public void feed(String line) {
+            if (delegate != null) {
+                delegate.feed(line);
+                return;
             }
-            if (line.matches(".*\\d+\\.\\d+:\\s*\\[GC pause.*") || 
-                line.matches(".*\\d{4}-\\d{2}-\\d{2}T.*?:\\s*\\d+\\.\\d+:\\s*\\[GC pause.*")) {
-                log.info("检测到JDK 8 G1传统格式");
-                return G1LogFormat.JDK8_TRADITIONAL;
+            
+            pendingLines.add(line);
+            G1LogFormat format = detectG1LogFormat(line, decorations);
+            if (format == null && pendingLines.size() >= FORMAT_DETECTION_MAX_LINES) {
+                log.info("未检测到明确的G1格式，默认使用JDK 8传统格式");
+                format = G1LogFormat.JDK8_TRADITIONAL;
+            }
+            if (format != null) {
+                selectDelegate(format);
             }
         }
-        log.info("未检测到明确的G1格式，默认使用JDK 8传统格式");
-        return G1LogFormat.JDK8_TRADITIONAL;
+        
+        /**
+         * 合并后续日志文件的状态（尚未识别格式的一方沿用另一方的格式）
+         */
+        @Override
+        protected void mergePending(IncrementalEventParser next) {
+            G1EventParser other = (G1EventParser) next;
+            if (delegate == null && other.delegate == null) {
+                pendingLines.addAll(other.pendingLines);
+                return;
+            }
+            if (delegate == null) {
+                selectDelegate(other.format);
+            } else if (other.delegate == null) {
+                other.selectDelegate(format);
+            }
+            if (format != other.format) {
+                throw new IllegalStateException("同一批日志中混合了JDK 8和Unified Logging两种G1日志格式");
+            }
+            delegate.merge(other.delegate);
+        }
+        
+        @Override
+        public long pendingCount() {
+            return delegate != null ? delegate.pendingCount() : 0;
+        }
+        
+        @Override
+        protected boolean sortsByTimestamp() {
+            return delegate != null && delegate.sortsByTimestamp();
+        }
+        
+        @Override
+        protected void flushPending() {
+            if (delegate == null) {
+                log.info("未检测到明确的G1格式，默认使用JDK 8传统格式");
+                selectDelegate(G1LogFormat.JDK8_TRADITIONAL);
+            }
+            delegate.flush();
+        }
+        
+        private void selectDelegate(G1LogFormat format) {
+            this.format = format;
+            delegate = format == G1LogFormat.JDK9_UNIFIED ? 
+                    new UnifiedEventParser(this::emit, continuation) : new JDK8EventParser(this::emit);
+            for (String pendingLine : pendingLines) {
+                delegate.feed(pendingLine);
+            }
+            pendingLines = null;
+        }
     }
     
     /**
      * 解析JDK 8 G1GC事件（多行模式）
+     * 逐行状态机：事件开始行确定时间戳、类型和原因，后续各行到达时只提取本行携带的字段，
+     * 事件结束（[Times: 行、} 或下一个事件开始）时直接由已提取的字段组装事件，不再拼接事件文本做整段匹配
      */
-    private List<GCEvent> parseG1JDK8MultiLine(List<String> lines) {
-        List<GCEvent> events = new ArrayList<>();
-        StringBuilder currentEvent = new StringBuilder();
-        boolean inGCEvent = false;
-        int gcStartLineCount = 0;
+    private class JDK8EventParser extends IncrementalEventParser {
+        private final Matcher pauseMatcher = G1GC_JDK8_PAUSE_PATTERN.matcher("");
+        private final Matcher absTimeMatcher = G1GC_JDK8_ABSOLUTE_TIMESTAMP.matcher("");
+        private final Matcher timeMatcher = G1GC_JDK8_TIME_PATTERN.matcher("");
+        private final Matcher sizeMatcher = G1GC_JDK8_SIZE_PATTERN.matcher("");
+        private final Matcher heapMatcher = HEAP_PATTERN.matcher("");
+        private final Matcher metaspaceMatcher = METASPACE_PATTERN.matcher("");
+        private final Matcher metaspaceHeapMatcher = G1GC_JDK8_METASPACE_HEAP_PATTERN.matcher("");
+        private final double[] sizes = new double[10];
+        private JDK8EventState current = new JDK8EventState();
+        private boolean inGCEvent = false;
+        private int gcStartLineCount = 0;
+        
+        JDK8EventParser(Consumer<GCEvent> sink) {
+            super(sink);
+        }
         
-        for (String line : lines) {
+        @Override
+        public void feed(String line) {
             try {
                 if (line.contains(": [GC pause") || line.contains(": [Full GC")) {
                     gcStartLineCount++;
-                    if (inGCEvent && currentEvent.length() > 0) {
-                        GCEvent event = parseG1JDK8SingleEvent(currentEvent.toString());
-                        if (event != null) {
-                            events.add(event);
-                        }
-                        currentEvent = new StringBuilder();
+                    if (inGCEvent) {
+                        addEvent();
                     }
                     inGCEvent = true;
-                    currentEvent.append(line).append("\n");
+                    startEvent(line);
                 } else if (inGCEvent) {
-                    currentEvent.append(line).append("\n");
-                    if (line.trim().startsWith("[Times:")) {
-                        GCEvent event = parseG1JDK8SingleEvent(currentEvent.toString());
-                        if (event != null) {
-                            events.add(event);
-                        }
-                        currentEvent = new StringBuilder();
+                    String trimmed = line.trim();
+                    if (line.contains("Heap before GC")) {
+                        // 下一个事件的堆信息，不属于当前事件
+                        addEvent();
                         inGCEvent = false;
-                    } else if (line.trim().equals("}") && currentEvent.toString().contains("Heap after GC")) {
-                        // 继续读取
-                    } else if (line.trim().equals("}")) {
-                        GCEvent event = parseG1JDK8SingleEvent(currentEvent.toString());
-                        if (event != null) {
-                            events.add(event);
-                        }
-                        currentEvent = new StringBuilder();
+                        return;
+                    }
+                    extractFields(line);
+                    if (trimmed.startsWith("[Times:")) {
+                        addEvent();
                         inGCEvent = false;
-                    } else if (line.contains("Heap before GC")) {
-                        String eventStr = currentEvent.toString();
-                        int lastNewlineIndex = eventStr.lastIndexOf("\n");
-                        if (lastNewlineIndex > 0) {
-                            eventStr = eventStr.substring(0, lastNewlineIndex);
-                        }
-                        GCEvent event = parseG1JDK8SingleEvent(eventStr);
-                        if (event != null) {
-                            events.add(event);
-                        }
-                        currentEvent = new StringBuilder();
+                    } else if (trimmed.equals("}") && !current.heapAfterGC) {
+                        addEvent();
                         inGCEvent = false;
+                    } else if (line.contains("Heap after GC")) {
+                        // 继续读取到 Heap after GC 块结束
+                        current.heapAfterGC = true;
                     }
                 }
             } catch (Exception e) {
@@ -142,96 +266,133 @@ public class G1LogParser extends AbstractGCLogParser {
             }
         }
         
-        if (inGCEvent && currentEvent.length() > 0) {
-            try {
-                GCEvent event = parseG1JDK8SingleEvent(currentEvent.toString());
-                if (event != null) {
-                    events.add(event);
-                }
-            } catch (Exception e) {
-                log.error("解析最后一个G1 JDK8事件失败: {}", e.getMessage());
-            }
+        /**
+         * 合并后续日志文件的状态：先结束当前未完成的事件，再接上后续文件未完成的状态（其事件由调用方接上）
+         */
+        @Override
+        protected void mergePending(IncrementalEventParser next) {
+            JDK8EventParser other = (JDK8EventParser) next;
+            flushCurrentEvent();
+            current = other.current;
+            inGCEvent = other.inGCEvent;
+            gcStartLineCount += other.gcStartLineCount;
+            other.current = new JDK8EventState();
         }
         
-        log.info("解析到 {} 个G1 GC事件（JDK 8传统格式），检测到 {} 个GC开始行", events.size(), gcStartLineCount);
-        return events;
-    }
-    
-    /**
-     * 解析单个JDK 8 G1GC事件
-     */
-    private GCEvent parseG1JDK8SingleEvent(String eventText) {
-        if (!eventText.contains("[GC pause") && !eventText.contains("[Full GC")) {
-            return null;
+        @Override
+        public long pendingCount() {
+            return inGCEvent ? 1 : 0;
         }
         
-        long timestamp = 0;
-        String gcType = "Young GC";
-        String gcCause = "Unknown";
-        boolean isFullGC = false;
-        
-        Matcher absTimeMatcher = G1GC_JDK8_ABSOLUTE_TIMESTAMP.matcher(eventText);
-        Matcher pauseMatcher = G1GC_JDK8_PAUSE_PATTERN.matcher(eventText);
-        
-        double pauseTime = 0.0;
-        
-        if (pauseMatcher.find()) {
-            double relativeTime = Double.parseDouble(pauseMatcher.group(1));
-            timestamp = (long) (relativeTime * 1000);
+        @Override
+        protected void flushPending() {
+            flushCurrentEvent();
             
-            String allParentheses = pauseMatcher.group(2);
-            if (allParentheses != null) {
-                Pattern firstParenPattern = Pattern.compile("\\(([^)]+)\\)");
-                Matcher firstParenMatcher = firstParenPattern.matcher(allParentheses);
-                if (firstParenMatcher.find()) {
-                    gcCause = firstParenMatcher.group(1).trim();
-                }
-            }
-        } else {
-            return null;
+            log.info("解析到 {} 个G1 GC事件（JDK 8传统格式），检测到 {} 个GC开始行", emittedCount(), gcStartLineCount);
         }
         
-        if (absTimeMatcher.find()) {
-            String isoTimestamp = absTimeMatcher.group(1);
-            long absoluteTimestamp = parseAbsoluteTimestamp(isoTimestamp);
-            if (absoluteTimestamp > 0) {
-                timestamp = absoluteTimestamp;
+        private void flushCurrentEvent() {
+            if (inGCEvent) {
+                try {
+                    addEvent();
+                } catch (Exception e) {
+                    log.error("解析最后一个G1 JDK8事件失败: {}", e.getMessage());
+                }
+                inGCEvent = false;
             }
         }
         
-        if (eventText.contains("Full GC")) {
-            gcType = "Full GC";
-            isFullGC = true;
-        } else if (eventText.contains("(mixed)")) {
-            gcType = "Mixed GC";
-        } else if (eventText.contains("(young)")) {
-            gcType = "Young GC";
+        /**
+         * 事件开始行：相对时间、绝对时间和GC原因都只出现在这一行
+         */
+        private void startEvent(String line) {
+            JDK8EventState state = current;
+            state.reset();
+            if (pauseMatcher.reset(line).find()) {
+                state.valid = true;
+                state.timestamp = (long) (Double.parseDouble(pauseMatcher.group(1)) * 1000);
+                // 第一个括号内是GC原因，如 (G1 Evacuation Pause) (young)
+                String allParentheses = pauseMatcher.group(2);
+                int close = allParentheses.indexOf(')');
+                if (allParentheses.charAt(0) == '(' && close > 1) {
+                    state.gcCause = allParentheses.substring(1, close).trim();
+                }
+                if (line.contains("(mixed)")) {
+                    state.gcType = "Mixed GC";
+                }
+            }
+            extractFields(line);
         }
         
-        Matcher timeMatcher = G1GC_JDK8_TIME_PATTERN.matcher(eventText);
-        while (timeMatcher.find()) {
-            pauseTime = Double.parseDouble(timeMatcher.group(1)) * 1000;
+        /**
+         * 提取单行中的字段：暂停时间以最后出现的为准，内存和元空间信息以最先出现的为准
+         */
+        private void extractFields(String line) {
+            JDK8EventState state = current;
+            if (state.absoluteTimestamp == 0 && !line.isEmpty() && Character.isDigit(line.charAt(0))
+                    && absTimeMatcher.reset(line).find()) {
+                state.absoluteTimestamp = parseAbsoluteTimestamp(absTimeMatcher.group(1));
+            }
+            if (line.contains("secs]")) {
+                timeMatcher.reset(line);
+                while (timeMatcher.find()) {
+                    state.pauseTime = Double.parseDouble(timeMatcher.group(1)) * 1000;
+                }
+            }
+            if (!state.edenParsed) {
+                int edenIndex = line.indexOf("[Eden:");
+                if (edenIndex >= 0) {
+                    state.edenParsed = parseEdenLine(line, edenIndex);
+                }
+            }
+            if (state.heapFallback == null && line.contains("K->") && heapMatcher.reset(line).find()) {
+                state.heapFallback = GCEvent.MemoryChange.builder()
+                        .before(Long.parseLong(heapMatcher.group(1)) * 1024)
+                        .after(Long.parseLong(heapMatcher.group(2)) * 1024)
+                        .total(Long.parseLong(heapMatcher.group(3)) * 1024)
+                        .build();
+            }
+            if (state.metaspace == null && line.contains("[Metaspace:") && metaspaceMatcher.reset(line).find()) {
+                state.metaspace = GCEvent.MemoryChange.builder()
+                        .before(Long.parseLong(metaspaceMatcher.group(1)) * 1024)
+                        .after(Long.parseLong(metaspaceMatcher.group(2)) * 1024)
+                        .total(Long.parseLong(metaspaceMatcher.group(3)) * 1024)
+                        .build();
+            }
+            if (state.metaspaceHeap == null && line.contains("Metaspace") && metaspaceHeapMatcher.reset(line).find()) {
+                long metaUsed = Long.parseLong(metaspaceHeapMatcher.group(1)) * 1024;
+                long metaCommitted = Long.parseLong(metaspaceHeapMatcher.group(3)) * 1024;
+                state.metaspaceHeap = GCEvent.MemoryChange.builder()
+                        .before(metaUsed)
+                        .after(metaUsed)
+                        .total(metaCommitted)
+                        .build();
+            }
         }
         
-        GCEvent.MemoryChange heapMemory = null;
-        GCEvent.MemoryChange youngGen = null;
-        GCEvent.MemoryChange oldGen = null;
-        GCEvent.MemoryChange metaspace = null;
-        
-        Matcher edenMatcher = G1GC_JDK8_EDEN_PATTERN.matcher(eventText);
-        if (edenMatcher.find()) {
-            double edenBefore = parseMemoryUnit(edenMatcher.group(1), edenMatcher.group(2));
-            double edenAfter = parseMemoryUnit(edenMatcher.group(5), edenMatcher.group(6));
-            double edenTotal = parseMemoryUnit(edenMatcher.group(7), edenMatcher.group(8));
-            
-            double survivorsBefore = parseMemoryUnit(edenMatcher.group(9), edenMatcher.group(10));
-            double survivorsAfter = parseMemoryUnit(edenMatcher.group(11), edenMatcher.group(12));
-            
-            double heapBefore = parseMemoryUnit(edenMatcher.group(13), edenMatcher.group(14));
-            double heapAfter = parseMemoryUnit(edenMatcher.group(17), edenMatcher.group(18));
-            double heapTotal = parseMemoryUnit(edenMatcher.group(19), edenMatcher.group(20));
+        /**
+         * 解析 [Eden: 43.0M(51.0M)->0.0B(44.0M) Survivors: 0.0B->7168.0K Heap: 243.0M(1024.0M)->207.0M(1024.0M)]
+         * 依次读取10个容量值，不完整时返回false（改用堆信息的通用格式）
+         */
+        private boolean parseEdenLine(String line, int edenIndex) {
+            sizeMatcher.reset(line).region(edenIndex, line.length());
+            for (int i = 0; i < sizes.length; i++) {
+                if (!sizeMatcher.find()) {
+                    return false;
+                }
+                sizes[i] = parseMemoryUnit(sizeMatcher.group(1), sizeMatcher.group(2));
+            }
+            double edenBefore = sizes[0];
+            double edenAfter = sizes[2];
+            double edenTotal = sizes[3];
+            double survivorsBefore = sizes[4];
+            double survivorsAfter = sizes[5];
+            double heapBefore = sizes[6];
+            double heapAfter = sizes[8];
+            double heapTotal = sizes[9];
             
-            heapMemory = GCEvent.MemoryChange.builder()
+            JDK8EventState state = current;
+            state.heapMemory = GCEvent.MemoryChange.builder()
                 .before((long) heapBefore)
                 .after((long) heapAfter)
                 .total((long) heapTotal)
@@ -241,7 +402,7 @@ public class G1LogParser extends AbstractGCLogParser {
             long youngAfter = (long) (edenAfter + survivorsAfter);
             long youngTotal = (long) edenTotal;
             
-            youngGen = GCEvent.MemoryChange.builder()
+            state.youngGen = GCEvent.MemoryChange.builder()
                 .before(youngBefore)
                 .after(youngAfter)
                 .total(youngTotal)
@@ -252,120 +413,120 @@ public class G1LogParser extends AbstractGCLogParser {
             long oldTotal = (long) (heapTotal - youngTotal);
             
             if (oldBefore >= 0 && oldAfter >= 0 && oldTotal > 0) {
-                oldGen = GCEvent.MemoryChange.builder()
+                state.oldGen = GCEvent.MemoryChange.builder()
                     .before(oldBefore)
                     .after(oldAfter)
                     .total(oldTotal)
                     .build();
             }
+            return true;
         }
         
-        if (heapMemory == null) {
-            heapMemory = parseMemoryChange(eventText);
-        }
-        
-        metaspace = extractMetaspaceInfo(eventText);
-        
-        if (metaspace == null) {
-            Matcher heapMetaMatcher = G1GC_JDK8_METASPACE_HEAP_PATTERN.matcher(eventText);
-            if (heapMetaMatcher.find()) {
-                long metaUsed = Long.parseLong(heapMetaMatcher.group(1)) * 1024;
-                long metaCommitted = Long.parseLong(heapMetaMatcher.group(3)) * 1024;
-                
-                metaspace = GCEvent.MemoryChange.builder()
-                    .before(metaUsed)
-                    .after(metaUsed)
-                    .total(metaCommitted)
-                    .build();
+        /**
+         * 由已提取的字段组装事件（开始行不是 GC pause 格式的事件不产出）
+         */
+        private void addEvent() {
+            JDK8EventState state = current;
+            if (!state.valid) {
+                return;
             }
+            long timestamp = state.absoluteTimestamp > 0 ? state.absoluteTimestamp : state.timestamp;
+            GCEvent.MemoryChange heapMemory = state.heapMemory != null ? state.heapMemory : state.heapFallback;
+            GCEvent.MemoryChange metaspace = state.metaspace != null ? state.metaspace : state.metaspaceHeap;
+            
+            emit(GCEvent.builder()
+                    .timestamp(timestamp)
+                    .eventType(state.gcType)
+                    .gcCause(state.gcCause)
+                    .pauseTime(state.pauseTime)
+                    .concurrentTime(0.0)
+                    .heapMemory(heapMemory)
+                    .youngGen(state.youngGen)
+                    .oldGen(state.oldGen)
+                    .metaspace(metaspace)
+                    .isFullGC(false)
+                    .isLongPause(state.pauseTime > 100)
+                    .build());
         }
+    }
+    
+    /**
+     * JDK 8 格式当前事件已提取的字段（解析器内复用）
+     */
+    private static class JDK8EventState {
+        boolean valid;
+        long timestamp;
+        long absoluteTimestamp;
+        String gcType;
+        String gcCause;
+        double pauseTime;
+        boolean edenParsed;
+        boolean heapAfterGC;
+        GCEvent.MemoryChange heapMemory;
+        GCEvent.MemoryChange youngGen;
+        GCEvent.MemoryChange oldGen;
+        GCEvent.MemoryChange heapFallback;
+        GCEvent.MemoryChange metaspace;
+        GCEvent.MemoryChange metaspaceHeap;
         
-        return GCEvent.builder()
-                .timestamp(timestamp)
-                .eventType(gcType)
-                .gcCause(gcCause)
-                .pauseTime(pauseTime)
-                .concurrentTime(0.0)
-                .heapMemory(heapMemory)
-                .youngGen(youngGen)
-                .oldGen(oldGen)
-                .metaspace(metaspace)
-                .isFullGC(isFullGC)
-                .isLongPause(pauseTime > 100)
-                .build();
+        void reset() {
+            valid = false;
+            timestamp = 0;
+            absoluteTimestamp = 0;
+            gcType = "Young GC";
+            gcCause = "Unknown";
+            pauseTime = 0.0;
+            edenParsed = false;
+            heapAfterGC = false;
+            heapMemory = null;
+            youngGen = null;
+            oldGen = null;
+            heapFallback = null;
+            metaspace = null;
+            metaspaceHeap = null;
+        }
     }
     
     /**
      * 解析JDK 9+ G1 Unified Logging格式
+     * 单遍扫描：按GC ID汇总基本信息和内存区域信息（先于暂停结束行输出），结束行出现时构建完整的GC事件并推送
      */
-    private List<GCEvent> parseG1UnifiedLogging(List<String> lines) {
-        List<GCEvent> events = new ArrayList<>();
-        Map<String, GCEventData> gcEventMap = new HashMap<>();
+    private class UnifiedEventParser extends IncrementalEventParser {
+        private final PendingGCEvents<GCEventData> pending = new PendingGCEvents<>(GCEventData::new, this::finishEvent);
+        private long regionSize = 1024 * 1024; // 默认1MB，从日志中读取
+        private boolean regionSizeDetected = false;
         
-        // 第一遍：收集所有GC事件的基本信息
-        for (String line : lines) {
-            try {
-                Matcher endMatcher = G1GC_UNIFIED_END_PATTERN.matcher(line);
-                if (endMatcher.find()) {
-                    String timestampStr = endMatcher.group(1);
-                    String gcId = endMatcher.group(2);
-                    String pauseType = endMatcher.group(3);
-                    String gcCause = endMatcher.group(5);
-                    double heapBefore = Double.parseDouble(endMatcher.group(6));
-                    double heapAfter = Double.parseDouble(endMatcher.group(7));
-                    double heapTotal = Double.parseDouble(endMatcher.group(8));
-                    double pauseTime = Double.parseDouble(endMatcher.group(9));
-                    
-                    long timestamp = parseAbsoluteTimestamp(timestampStr);
-                    
-                    String gcType = "Young GC";
-                    boolean isFullGC = false;
-                    if (pauseType.equalsIgnoreCase("Full")) {
-                        gcType = "Full GC";
-                        isFullGC = true;
-                    } else if (pauseType.equalsIgnoreCase("Mixed")) {
-                        gcType = "Mixed GC";
-                    }
-                    
-                    GCEvent.MemoryChange heapMemory = GCEvent.MemoryChange.builder()
-                        .before((long) (heapBefore * 1024 * 1024))
-                        .after((long) (heapAfter * 1024 * 1024))
-                        .total((long) (heapTotal * 1024 * 1024))
-                        .build();
-                    
-                    GCEventData data = new GCEventData();
-                    data.gcId = gcId;
-                    data.timestamp = timestamp;
-                    data.gcType = gcType;
-                    data.gcCause = gcCause;
-                    data.pauseTime = pauseTime;
-                    data.isFullGC = isFullGC;
-                    data.heapMemory = heapMemory;
-                    
-                    gcEventMap.put(gcId, data);
-                }
-            } catch (Exception e) {
-                log.error("解析G1 Unified Logging基本信息失败: {}", e.getMessage());
-            }
-        }
+        // 不从日志开头解析时，Region大小确定前结束的GC（合并到前一段或读到Region大小后再构建）
+        private final boolean continuation;
+        private final List<GCEventData> deferred = new ArrayList<>();
         
-        // 第二遍：收集详细的内存区域信息
-        Pattern heapBeforePattern = Pattern.compile("\\[.*?\\]\\[debug\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*garbage-first heap\\s+total\\s+(\\d+)K,\\s+used\\s+(\\d+)K.*");
-        Pattern youngRegionsBeforePattern = Pattern.compile("\\[.*?\\]\\[debug\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+region size\\s+\\d+K,\\s+(\\d+)\\s+young\\s+\\((\\d+)K\\),\\s+(\\d+)\\s+survivors\\s+\\((\\d+)K\\)");
-        Pattern edenRegionsPattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Eden regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
-        Pattern survivorRegionsPattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Survivor regions:\\s*(\\d+)->(\\d+)\\((\\d+)\\)");
-        Pattern oldRegionsPattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Old regions:\\s*(\\d+)->(\\d+)");
-        Pattern humongousRegionsPattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s*Humongous regions:\\s*(\\d+)->(\\d+)");
-        Pattern metaspacePattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,metaspace\\]\\s*GC\\((\\d+)\\)\\s*Metaspace:\\s*(\\d+)K\\((\\d+)K\\)->(\\d+)K\\((\\d+)K\\)");
+        // 装饰符切分结果和各模式的Matcher逐行复用
+        private final UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        private final TimestampDecoder timestampDecoder = new TimestampDecoder();
+        private final Matcher endMatcher = G1GC_UNIFIED_END_PATTERN.matcher("");
+        private final Matcher remarkCleanupMatcher = G1GC_UNIFIED_REMARK_CLEANUP_PATTERN.matcher("");
+        private final Matcher regionSizeMatcher = G1GC_UNIFIED_REGION_SIZE_PATTERN.matcher("");
+        private final Matcher youngRegionsMatcher = G1GC_UNIFIED_YOUNG_BEFORE_PATTERN.matcher("");
+        private final Matcher edenMatcher = G1GC_UNIFIED_HEAP_REGIONS_PATTERN.matcher("");
+        private final Matcher survivorMatcher = G1GC_UNIFIED_SURVIVOR_PATTERN.matcher("");
+        private final Matcher oldMatcher = G1GC_UNIFIED_OLD_PATTERN.matcher("");
+        private final Matcher humongousMatcher = G1GC_UNIFIED_HUMONGOUS_PATTERN.matcher("");
+        private final Matcher metaspaceMatcher = G1GC_UNIFIED_METASPACE_PATTERN.matcher("");
         
-        long regionSize = 1024 * 1024; // 默认1MB，从日志中读取
-        Pattern regionSizePattern = Pattern.compile("\\[.*?\\]\\[info\\s*\\]\\[gc,init\\]\\s*Heap Region Size:\\s*(\\d+)([KMG])");
+        UnifiedEventParser(Consumer<GCEvent> sink, boolean continuation) {
+            super(sink);
+            this.continuation = continuation;
+        }
         
-        for (String line : lines) {
-            try {
-                // 提取region大小
-                Matcher regionSizeMatcher = regionSizePattern.matcher(line);
-                if (regionSizeMatcher.find()) {
+        @Override
+        public void feed(String line) {
+            if (!decorations.parse(line)) {
+                return;
+            }
+            
+            // 提取region大小
+            if (decorations.tagsEqual("gc,init")) {
+                if (decorations.lookingAt(regionSizeMatcher)) {
                     long size = Long.parseLong(regionSizeMatcher.group(1));
                     String unit = regionSizeMatcher.group(2);
                     if (unit.equals("K")) {
@@ -375,187 +536,296 @@ public class G1LogParser extends AbstractGCLogParser {
                     } else if (unit.equals("G")) {
                         regionSize = size * 1024 * 1024 * 1024;
                     }
+                    regionSizeDetected = true;
                     log.info("检测到G1 Region大小: {} bytes", regionSize);
-                    continue;
+                    finishDeferred();
                 }
-                
-                // 提取Heap before信息（包含young和survivor的详细信息）
-                Matcher youngRegionsMatcher = youngRegionsBeforePattern.matcher(line);
-                if (youngRegionsMatcher.find()) {
-                    String gcId = youngRegionsMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        int youngRegions = Integer.parseInt(youngRegionsMatcher.group(2));
-                        long youngSize = Long.parseLong(youngRegionsMatcher.group(3)) * 1024;
-                        int survivorRegions = Integer.parseInt(youngRegionsMatcher.group(4));
-                        long survivorSize = Long.parseLong(youngRegionsMatcher.group(5)) * 1024;
+                return;
+            }
+            if (!decorations.hasGcId()) {
+                return;
+            }
+            int gcId = decorations.getGcId();
+            if (decorations.tagsEqual("gc,start")) {
+                pending.started(gcId);
+                return;
+            }
+            
+            // 收集GC事件的基本信息
+            if (decorations.tagsEqual("gc")) {
+                try {
+                    long timestamp = decorations.timestampMillis(timestampDecoder);
+                    if (timestamp < 0) {
+                        return;
+                    }
+                    if (decorations.lookingAt(endMatcher)) {
+                        String pauseType = endMatcher.group(1);
+                        String youngType = endMatcher.group(2);
                         
-                        data.youngBeforeRegions = youngRegions;
-                        data.youngBeforeSize = youngSize;
-                        data.survivorBeforeSize = survivorSize;
+                        // Concurrent Start / Prepare Mixed 的 Young GC 带上子类型（JDK 9/10 的 Initial Mark 即 Concurrent Start）
+                        String gcType = "Young GC";
+                        boolean isFullGC = false;
+                        if (pauseType.equals("Full")) {
+                            gcType = "Full GC";
+                            isFullGC = true;
+                        } else if (pauseType.equals("Mixed") || "Mixed".equals(youngType)) {
+                            gcType = "Mixed GC";
+                        } else if (pauseType.equals("Initial Mark")) {
+                            gcType = "Young GC (Concurrent Start)";
+                        } else if (youngType != null && !youngType.equals("Normal")) {
+                            gcType = "Young GC (" + youngType + ")";
+                        }
+                        completed(gcId, timestamp, gcType, endMatcher.group(3), isFullGC, endMatcher, 4);
+                    } else if (decorations.lookingAt(remarkCleanupMatcher)) {
+                        String gcType = "G1 " + remarkCleanupMatcher.group(1);
+                        completed(gcId, timestamp, gcType, gcType, false, remarkCleanupMatcher, 2);
                     }
-                    continue;
+                } catch (Exception e) {
+                    log.error("解析G1 Unified Logging基本信息失败: {}", e.getMessage());
+                }
+                return;
+            }
+            
+            // 收集详细的内存区域信息
+            try {
+                // 提取Metaspace信息
+                if (decorations.tagsEqual("gc,metaspace")) {
+                    if (decorations.lookingAt(metaspaceMatcher)) {
+                        GCEventData data = detailData(gcId);
+                        long metaBefore = Long.parseLong(metaspaceMatcher.group(1)) * 1024;
+                        long metaCommittedBefore = Long.parseLong(metaspaceMatcher.group(2)) * 1024;
+                        long metaAfter = Long.parseLong(metaspaceMatcher.group(3)) * 1024;
+                        long metaCommittedAfter = Long.parseLong(metaspaceMatcher.group(4)) * 1024;
+                        
+                        data.metaspace = GCEvent.MemoryChange.builder()
+                            .before(metaBefore)
+                            .after(metaAfter)
+                            .total(Math.max(metaCommittedBefore, metaCommittedAfter))
+                            .build();
+                    }
+                    return;
+                }
+                if (!decorations.tagsEqual("gc,heap")) {
+                    return;
+                }
+                
+                // 提取Heap before信息（包含young和survivor的详细信息）
+                if (decorations.lookingAt(youngRegionsMatcher)) {
+                    GCEventData data = detailData(gcId);
+                    int youngRegions = Integer.parseInt(youngRegionsMatcher.group(1));
+                    long youngSize = Long.parseLong(youngRegionsMatcher.group(2)) * 1024;
+                    long survivorSize = Long.parseLong(youngRegionsMatcher.group(4)) * 1024;
+                    
+                    data.youngBeforeRegions = youngRegions;
+                    data.youngBeforeSize = youngSize;
+                    data.survivorBeforeSize = survivorSize;
+                    return;
                 }
                 
                 // 提取Eden regions信息
-                Matcher edenMatcher = edenRegionsPattern.matcher(line);
-                if (edenMatcher.find()) {
-                    String gcId = edenMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        data.edenBeforeRegions = Integer.parseInt(edenMatcher.group(2));
-                        data.edenAfterRegions = Integer.parseInt(edenMatcher.group(3));
-                    }
-                    continue;
+                if (decorations.lookingAt(edenMatcher)) {
+                    GCEventData data = detailData(gcId);
+                    data.edenBeforeRegions = Integer.parseInt(edenMatcher.group(1));
+                    data.edenAfterRegions = Integer.parseInt(edenMatcher.group(2));
+                    return;
                 }
                 
                 // 提取Survivor regions信息
-                Matcher survivorMatcher = survivorRegionsPattern.matcher(line);
-                if (survivorMatcher.find()) {
-                    String gcId = survivorMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        data.survivorBeforeRegions = Integer.parseInt(survivorMatcher.group(2));
-                        data.survivorAfterRegions = Integer.parseInt(survivorMatcher.group(3));
-                    }
-                    continue;
+                if (decorations.lookingAt(survivorMatcher)) {
+                    GCEventData data = detailData(gcId);
+                    data.survivorBeforeRegions = Integer.parseInt(survivorMatcher.group(1));
+                    data.survivorAfterRegions = Integer.parseInt(survivorMatcher.group(2));
+                    return;
                 }
                 
                 // 提取Old regions信息
-                Matcher oldMatcher = oldRegionsPattern.matcher(line);
-                if (oldMatcher.find()) {
-                    String gcId = oldMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        data.oldBeforeRegions = Integer.parseInt(oldMatcher.group(2));
-                        data.oldAfterRegions = Integer.parseInt(oldMatcher.group(3));
-                    }
-                    continue;
+                if (decorations.lookingAt(oldMatcher)) {
+                    GCEventData data = detailData(gcId);
+                    data.oldBeforeRegions = Integer.parseInt(oldMatcher.group(1));
+                    data.oldAfterRegions = Integer.parseInt(oldMatcher.group(2));
+                    return;
                 }
                 
                 // 提取Humongous regions信息
-                Matcher humongousMatcher = humongousRegionsPattern.matcher(line);
-                if (humongousMatcher.find()) {
-                    String gcId = humongousMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        data.humongousBeforeRegions = Integer.parseInt(humongousMatcher.group(2));
-                        data.humongousAfterRegions = Integer.parseInt(humongousMatcher.group(3));
-                    }
-                    continue;
-                }
-                
-                // 提取Metaspace信息
-                Matcher metaspaceMatcher = metaspacePattern.matcher(line);
-                if (metaspaceMatcher.find()) {
-                    String gcId = metaspaceMatcher.group(1);
-                    GCEventData data = gcEventMap.get(gcId);
-                    if (data != null) {
-                        long metaBefore = Long.parseLong(metaspaceMatcher.group(2)) * 1024;
-                        long metaCommittedBefore = Long.parseLong(metaspaceMatcher.group(3)) * 1024;
-                        long metaAfter = Long.parseLong(metaspaceMatcher.group(4)) * 1024;
-                        long metaCommittedAfter = Long.parseLong(metaspaceMatcher.group(5)) * 1024;
-                        
-                        data.metaspace = GCEvent.MemoryChange.builder()
-                            .before(metaBefore)
-                            .after(metaAfter)
-                            .total(Math.max(metaCommittedBefore, metaCommittedAfter))
-                            .build();
-                    }
-                    continue;
+                if (decorations.lookingAt(humongousMatcher)) {
+                    GCEventData data = detailData(gcId);
+                    data.humongousBeforeRegions = Integer.parseInt(humongousMatcher.group(1));
+                    data.humongousAfterRegions = Integer.parseInt(humongousMatcher.group(2));
                 }
             } catch (Exception e) {
                 log.error("解析G1详细内存信息失败: {}", e.getMessage());
             }
         }
         
-        // 第三遍：构建完整的GC事件
-        for (GCEventData data : gcEventMap.values()) {
+        /**
+         * 暂停结束行：从 firstGroup 开始依次是GC前、GC后、堆容量（MB）与暂停时间（ms）
+         */
+        private void completed(int gcId, long timestamp, String gcType, String gcCause, boolean isFullGC,
+                               Matcher matcher, int firstGroup) {
+            GCEvent.MemoryChange heapMemory = GCEvent.MemoryChange.builder()
+                .before((long) (Double.parseDouble(matcher.group(firstGroup)) * 1024 * 1024))
+                .after((long) (Double.parseDouble(matcher.group(firstGroup + 1)) * 1024 * 1024))
+                .total((long) (Double.parseDouble(matcher.group(firstGroup + 2)) * 1024 * 1024))
+                .build();
+            
+            GCEventData data = pending.get(gcId);
+            data.timestamp = timestamp;
+            data.gcType = gcType;
+            data.gcCause = gcCause;
+            data.pauseTime = Double.parseDouble(matcher.group(firstGroup + 3));
+            data.isFullGC = isFullGC;
+            data.heapMemory = heapMemory;
+            pending.completed(data);
+        }
+        
+        /**
+         * 按GC ID合并后续分块的数据（同一GC的日志行可能跨越分块边界），
+         * 跨越边界的GC和后一段暂缓构建的GC按当前的Region大小构建后推送
+         */
+        @Override
+        protected void mergePending(IncrementalEventParser next) {
+            UnifiedEventParser other = (UnifiedEventParser) next;
+            if (!regionSizeDetected && other.regionSizeDetected) {
+                regionSize = other.regionSize;
+                regionSizeDetected = true;
+                finishDeferred();
+            }
+            pending.merge(other.pending);
+            other.deferred.forEach(this::finishEvent);
+            other.deferred.clear();
+        }
+        
+        /**
+         * 内存区域信息先于暂停结束行输出，需要按GC ID预先建立数据项
+         */
+        private GCEventData detailData(int gcId) {
+            return pending.get(gcId);
+        }
+        
+        /**
+         * 尚未出现暂停结束行的GC ID数
+         */
+        @Override
+        public long pendingCount() {
+            return pending.size() + deferred.size();
+        }
+        
+        @Override
+        protected boolean sortsByTimestamp() {
+            return true;
+        }
+        
+        @Override
+        protected void flushPending() {
+            pending.flush();
+            regionSizeDetected = true;
+            finishDeferred();
+            
+            log.info("解析到 {} 个G1 GC事件（Unified Logging格式）", emittedCount());
+        }
+        
+        /**
+         * 构建并推送GC事件（只包含出现了暂停结束行的GC）
+         */
+        private void finishEvent(GCEventData data) {
+            if (data.heapMemory == null) {
+                return;
+            }
+            if (continuation && !regionSizeDetected) {
+                deferred.add(data);
+                return;
+            }
             try {
-                GCEvent.MemoryChange youngGen = null;
-                GCEvent.MemoryChange oldGen = null;
-                
-                // 计算Young Gen内存变化
-                if (data.youngBeforeSize != null || (data.edenBeforeRegions != null && data.survivorBeforeRegions != null)) {
-                    long youngBefore = data.youngBeforeSize != null ? data.youngBeforeSize : 0;
-                    
-                    // 计算After大小：使用eden after + survivor after
-                    long youngAfter = 0;
-                    if (data.edenAfterRegions != null && data.survivorAfterRegions != null) {
-                        youngAfter = (data.edenAfterRegions + data.survivorAfterRegions) * regionSize;
-                    }
-                    
-                    // Young Gen的总容量难以精确获得，使用before作为参考
-                    long youngTotal = Math.max(youngBefore, youngAfter);
-                    if (youngTotal > 0) {
-                        youngGen = GCEvent.MemoryChange.builder()
-                            .before(youngBefore)
-                            .after(youngAfter)
-                            .total(youngTotal)
-                            .build();
-                    }
-                }
-                
-                // 计算Old Gen内存变化（通过总堆减去Young和Humongous）
-                if (data.oldBeforeRegions != null && data.oldAfterRegions != null && data.heapMemory != null) {
-                    long oldBefore = data.oldBeforeRegions * regionSize;
-                    long oldAfter = data.oldAfterRegions * regionSize;
-                    
-                    // 添加Humongous对象（大对象也算作老年代的一部分）
-                    if (data.humongousBeforeRegions != null) {
-                        oldBefore += data.humongousBeforeRegions * regionSize;
-                    }
-                    if (data.humongousAfterRegions != null) {
-                        oldAfter += data.humongousAfterRegions * regionSize;
-                    }
-                    
-                    // 计算Old Gen的总容量
-                    long heapTotal = data.heapMemory.getTotal();
-                    long youngTotal = youngGen != null ? youngGen.getTotal() : 0;
-                    long oldTotal = heapTotal - youngTotal;
-                    
-                    if (oldTotal > 0) {
-                        oldGen = GCEvent.MemoryChange.builder()
-                            .before(oldBefore)
-                            .after(oldAfter)
-                            .total(oldTotal)
-                            .build();
-                    }
-                }
-                
-                GCEvent event = GCEvent.builder()
-                        .timestamp(data.timestamp)
-                        .eventType(data.gcType)
-                        .gcCause(data.gcCause)
-                        .pauseTime(data.pauseTime)
-                        .concurrentTime(0.0)
-                        .heapMemory(data.heapMemory)
-                        .youngGen(youngGen)
-                        .oldGen(oldGen)
-                        .metaspace(data.metaspace)
-                        .isFullGC(data.isFullGC)
-                        .isLongPause(data.pauseTime > 100)
-                        .build();
-                
-                events.add(event);
-                data.event = event;
+                emit(buildUnifiedEvent(data, regionSize));
             } catch (Exception e) {
                 log.error("构建GC事件失败: {}", e.getMessage());
             }
         }
         
-        // 按时间戳排序
-        events.sort(Comparator.comparingLong(GCEvent::getTimestamp));
+        private void finishDeferred() {
+            if (deferred.isEmpty()) {
+                return;
+            }
+            List<GCEventData> ready = new ArrayList<>(deferred);
+            deferred.clear();
+            ready.forEach(this::finishEvent);
+        }
+    }
+    
+    /**
+     * 根据汇总的GC数据构建完整的GC事件
+     */
+    private GCEvent buildUnifiedEvent(GCEventData data, long regionSize) {
+        GCEvent.MemoryChange youngGen = null;
+        GCEvent.MemoryChange oldGen = null;
+        
+        // 计算Young Gen内存变化
+        if (data.youngBeforeSize != null || (data.edenBeforeRegions != null && data.survivorBeforeRegions != null)) {
+            long youngBefore = data.youngBeforeSize != null ? data.youngBeforeSize : 0;
+            
+            // 计算After大小：使用eden after + survivor after
+            long youngAfter = 0;
+            if (data.edenAfterRegions != null && data.survivorAfterRegions != null) {
+                youngAfter = (data.edenAfterRegions + data.survivorAfterRegions) * regionSize;
+            }
+            
+            // Young Gen的总容量难以精确获得，使用before作为参考
+            long youngTotal = Math.max(youngBefore, youngAfter);
+            if (youngTotal > 0) {
+                youngGen = GCEvent.MemoryChange.builder()
+                    .before(youngBefore)
+                    .after(youngAfter)
+                    .total(youngTotal)
+                    .build();
+            }
+        }
+        
+        // 计算Old Gen内存变化（通过总堆减去Young和Humongous）
+        if (data.oldBeforeRegions != null && data.oldAfterRegions != null && data.heapMemory != null) {
+            long oldBefore = data.oldBeforeRegions * regionSize;
+            long oldAfter = data.oldAfterRegions * regionSize;
+            
+            // 添加Humongous对象（大对象也算作老年代的一部分）
+            if (data.humongousBeforeRegions != null) {
+                oldBefore += data.humongousBeforeRegions * regionSize;
+            }
+            if (data.humongousAfterRegions != null) {
+                oldAfter += data.humongousAfterRegions * regionSize;
+            }
+            
+            // 计算Old Gen的总容量
+            long heapTotal = data.heapMemory.getTotal();
+            long youngTotal = youngGen != null ? youngGen.getTotal() : 0;
+            long oldTotal = heapTotal - youngTotal;
+            
+            if (oldTotal > 0) {
+                oldGen = GCEvent.MemoryChange.builder()
+                    .before(oldBefore)
+                    .after(oldAfter)
+                    .total(oldTotal)
+                    .build();
+            }
+        }
         
-        log.info("解析到 {} 个G1 GC事件（Unified Logging格式）", events.size());
-        return events;
+        return GCEvent.builder()
+                .timestamp(data.timestamp)
+                .eventType(data.gcType)
+                .gcCause(data.gcCause)
+                .pauseTime(data.pauseTime)
+                .concurrentTime(0.0)
+                .heapMemory(data.heapMemory)
+                .youngGen(youngGen)
+                .oldGen(oldGen)
+                .metaspace(data.metaspace)
+                .isFullGC(data.isFullGC)
+                .isLongPause(data.pauseTime > 100)
+                .build();
     }
     
     /**
      * 用于临时存储GC事件数据
      */
-    private static class GCEventData {
-        String gcId;
+    private static class GCEventData extends PendingGCEvents.Entry<GCEventData> {
         long timestamp;
         String gcType;
         String gcCause;
@@ -563,7 +833,6 @@ public class G1LogParser extends AbstractGCLogParser {
         boolean isFullGC;
         GCEvent.MemoryChange heapMemory;
         GCEvent.MemoryChange metaspace;
-        GCEvent event;
         
         // Region信息
         Integer edenBeforeRegions;
@@ -579,6 +848,33 @@ public class G1LogParser extends AbstractGCLogParser {
         // 内存大小
         Long youngBeforeSize;
         Long survivorBeforeSize;
+        
+        /**
+         * 合并后出现的数据（后出现的值覆盖先前的值，与顺序解析一致）
+         */
+        @Override
+        void merge(GCEventData later) {
+            if (later.heapMemory != null) {
+                timestamp = later.timestamp;
+                gcType = later.gcType;
+                gcCause = later.gcCause;
+                pauseTime = later.pauseTime;
+                isFullGC = later.isFullGC;
+                heapMemory = later.heapMemory;
+            }
+            if (later.metaspace != null) metaspace = later.metaspace;
+            if (later.edenBeforeRegions != null) edenBeforeRegions = later.edenBeforeRegions;
+            if (later.edenAfterRegions != null) edenAfterRegions = later.edenAfterRegions;
+            if (later.survivorBeforeRegions != null) survivorBeforeRegions = later.survivorBeforeRegions;
+            if (later.survivorAfterRegions != null) survivorAfterRegions = later.survivorAfterRegions;
+            if (later.oldBeforeRegions != null) oldBeforeRegions = later.oldBeforeRegions;
+            if (later.oldAfterRegions != null) oldAfterRegions = later.oldAfterRegions;
+            if (later.humongousBeforeRegions != null) humongousBeforeRegions = later.humongousBeforeRegions;
+            if (later.humongousAfterRegions != null) humongousAfterRegions = later.humongousAfterRegions;
+            if (later.youngBeforeRegions != null) youngBeforeRegions = later.youngBeforeRegions;
+            if (later.youngBeforeSize != null) youngBeforeSize = later.youngBeforeSize;
+            if (later.survivorBeforeSize != null) survivorBeforeSize = later.survivorBeforeSize;
+        }
     }
 }
 
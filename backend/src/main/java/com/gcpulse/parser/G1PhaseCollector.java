@@ -0,0 +1,437 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.G1PhaseStatistics;
+import com.gcpulse.model.TimeSeriesData;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * G1暂停阶段明细收集器（由 G1LogParser.newPhaseCollector 创建）
+ * JDK 8 -XX:+PrintGCDetails：GC pause 开始行到 [Times: 行之间的阶段行，
+ * 如 [Parallel Time: 56.1 ms, GC Workers: 8]、[Object Copy (ms): Min: .., Avg: .., Max: .., Diff: .., Sum: ..]、[Ref Proc: 0.4 ms]
+ * JDK 9+ Unified Logging：同一GC ID的 [gc,phases] 行，如 Evacuate Collection Set: 3.8ms（info）、
+ * Object Copy (ms): Min: .., Avg: .., Max: .., Diff: .., Sum: .., Workers: 8（debug）
+ *
+ * 每次暂停的阶段耗时和线程耗时分布按列存储（每个阶段一列），结束时汇总并按暂停时间降采样为趋势；
+ * 线程不均衡度取 Object Copy 各线程耗时的最大值与最小值之差，Termination 占比相对于并行阶段
+ * （JDK 8 为 Parallel Time，Unified Logging 为 Evacuate Collection Set）的耗时
+ */
+final class G1PhaseCollector implements LogLineCollector<G1PhaseStatistics> {
+    
+    // 记录的阶段（多线程阶段取各线程耗时的平均值）
+    static final List<String> JDK8_PHASES = List.of(
+            "Parallel Time", "Ext Root Scanning", "Update RS", "Object Copy", "Termination", "Ref Proc");
+    static final List<String> UNIFIED_PHASES = List.of(
+            "Pre Evacuate Collection Set", "Evacuate Collection Set", "Post Evacuate Collection Set", "Object Copy", "Termination");
+    
+    private static final String IMBALANCE_PHASE = "Object Copy";
+    private static final String TERMINATION_PHASE = "Termination";
+    private static final List<String> PARALLEL_PHASES = List.of("Parallel Time", "Evacuate Collection Set");
+    
+    private static final Pattern WORKER_TIMES_PATTERN = Pattern.compile("Min:\\s*([\\d.]+),\\s*Avg:\\s*([\\d.]+),\\s*Max:\\s*([\\d.]+),\\s*Diff:\\s*([\\d.]+)");
+    private static final Pattern PHASE_TIME_PATTERN = Pattern.compile("\\s*([\\d.]+)\\s*ms");
+    private static final Pattern GC_WORKERS_PATTERN = Pattern.compile("(?:GC )?Workers:\\s*(\\d+)");
+    
+    private final Matcher pauseStartMatcher = G1LogParser.G1GC_JDK8_PAUSE_PATTERN.matcher("");
+    private final Matcher absTimeMatcher = G1LogParser.G1GC_JDK8_ABSOLUTE_TIMESTAMP.matcher("");
+    private final Matcher workerTimesMatcher = WORKER_TIMES_PATTERN.matcher("");
+    private final Matcher phaseTimeMatcher = PHASE_TIME_PATTERN.matcher("");
+    private final Matcher gcWorkersMatcher = GC_WORKERS_PATTERN.matcher("");
+    private final TimestampDecoder timestampDecoder = new TimestampDecoder();
+    private final UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+            .on("gc,phases", this::handleUnifiedPhase);
+    
+    private final int maxPoints;
+    private final Map<String, PhaseColumn> columns = new LinkedHashMap<>();
+    private long[] timestamps = new long[256];
+    // 暂停的GC ID（JDK 8 格式没有GC ID，为 -1）
+    private int[] gcIds = new int[256];
+    private int pauseCount;
+    private Integer gcWorkers;
+    
+    // 当前暂停（阶段值写入各列的 pauseCount 位置）
+    private boolean inPause;
+    private boolean currentRecorded;
+    
+    G1PhaseCollector(int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.startsWith("[")) {
+            dispatcher.dispatch(line);
+            return;
+        }
+        if (line.contains(": [GC pause")) {
+            finishPause();
+            startJDK8Pause(line);
+            return;
+        }
+        if (line.contains(": [Full GC")) {
+            finishPause();
+            return;
+        }
+        if (!inPause) {
+            return;
+        }
+        int bracket = line.indexOf('[');
+        if (bracket < 0) {
+            return;
+        }
+        if (line.startsWith("[Times:", bracket)) {
+            finishPause();
+        } else {
+            handlePhase(line, bracket + 1, JDK8_PHASES);
+        }
+    }
+    
+    /**
+     * 合并后一段日志：跨越边界的同一GC（Unified Logging 按GC ID判断）合并为一次暂停，
+     * 其余暂停依次接上，再沿用后一段未结束的暂停
+     */
+    @Override
+    public void merge(LogLineCollector<G1PhaseStatistics> next) {
+        G1PhaseCollector other = (G1PhaseCollector) next;
+        if (other.gcWorkers != null) {
+            gcWorkers = other.gcWorkers;
+        }
+        int slots = other.pauseCount + (other.inPause ? 1 : 0);
+        int from = 0;
+        if (inPause && gcIds[pauseCount] >= 0 && slots > 0 && other.gcIds[0] == gcIds[pauseCount]) {
+            for (PhaseColumn otherColumn : other.columns.values()) {
+                column(otherColumn.name).copy(otherColumn, 0, pauseCount, 1);
+            }
+            currentRecorded |= other.pauseCount > 0 || other.currentRecorded;
+            from = 1;
+            if (other.pauseCount == 0) {
+                // 后一段只有这次暂停的剩余部分，且仍未结束
+                return;
+            }
+        }
+        finishPause();
+        
+        int base = pauseCount;
+        int copied = slots - from;
+        ensureCapacity(base + copied);
+        System.arraycopy(other.timestamps, from, timestamps, base, copied);
+        System.arraycopy(other.gcIds, from, gcIds, base, copied);
+        for (PhaseColumn otherColumn : other.columns.values()) {
+            column(otherColumn.name).copy(otherColumn, from, base, copied);
+        }
+        pauseCount = base + other.pauseCount - from;
+        inPause = other.inPause;
+        currentRecorded = other.currentRecorded;
+    }
+    
+    @Override
+    public G1PhaseStatistics finish() {
+        finishPause();
+        if (pauseCount == 0) {
+            return null;
+        }
+        
+        Map<String, G1PhaseStatistics.PhaseSummary> phases = new LinkedHashMap<>();
+        Map<String, List<TimeSeriesData.DataPoint>> phaseTrends = new LinkedHashMap<>();
+        for (PhaseColumn column : columns.values()) {
+            G1PhaseStatistics.PhaseSummary summary = column.summary(pauseCount);
+            if (summary != null) {
+                phases.put(column.name, summary);
+                phaseTrends.put(column.name, trend(column.values));
+            }
+        }
+        
+        G1PhaseStatistics.G1PhaseStatisticsBuilder builder = G1PhaseStatistics.builder()
+                .pauseCount(pauseCount)
+                .gcWorkers(gcWorkers)
+                .phases(phases)
+                .phaseTrends(phaseTrends);
+        
+        PhaseColumn imbalance = columns.get(IMBALANCE_PHASE);
+        if (imbalance != null && imbalance.diffs != null) {
+            builder.workerImbalanceTrend(trend(imbalance.diffs));
+        }
+        double[] terminationShares = terminationShares();
+        if (terminationShares != null) {
+            double sum = 0;
+            long count = 0;
+            for (int i = 0; i < pauseCount; i++) {
+                if (!Double.isNaN(terminationShares[i])) {
+                    sum += terminationShares[i];
+                    count++;
+                }
+            }
+            if (count > 0) {
+                builder.avgTerminationShare(sum / count)
+                        .terminationShareTrend(trend(terminationShares));
+            }
+        }
+        return builder.build();
+    }
+    
+    /**
+     * 每次暂停 Termination 平均耗时占并行阶段耗时的百分比（缺少任一阶段时为 NaN）
+     */
+    private double[] terminationShares() {
+        PhaseColumn termination = columns.get(TERMINATION_PHASE);
+        if (termination == null) {
+            return null;
+        }
+        double[] shares = new double[pauseCount];
+        Arrays.fill(shares, Double.NaN);
+        for (String name : PARALLEL_PHASES) {
+            PhaseColumn parallel = columns.get(name);
+            if (parallel == null) {
+                continue;
+            }
+            for (int i = 0; i < pauseCount; i++) {
+                double total = parallel.values[i];
+                double value = termination.values[i];
+                if (Double.isNaN(shares[i]) && total > 0 && !Double.isNaN(value)) {
+                    shares[i] = value * 100.0 / total;
+                }
+            }
+        }
+        return shares;
+    }
+    
+    private List<TimeSeriesData.DataPoint> trend(double[] values) {
+        TimeSeriesDownsampler downsampler = new TimeSeriesDownsampler(timestamps[0], timestamps[pauseCount - 1], maxPoints);
+        for (int i = 0; i < pauseCount; i++) {
+            if (!Double.isNaN(values[i])) {
+                downsampler.add(timestamps[i], values[i]);
+            }
+        }
+        return downsampler.finish();
+    }
+    
+    private void startJDK8Pause(String line) {
+        if (!pauseStartMatcher.reset(line).find()) {
+            return;
+        }
+        // 与GC事件一致：有绝对时间时使用绝对时间，否则使用JVM启动后的相对时间
+        long timestamp = (long) (Double.parseDouble(pauseStartMatcher.group(1)) * 1000);
+        if (absTimeMatcher.reset(line).find()) {
+            long absolute = TimestampDecoder.parseDateTime(line, absTimeMatcher.start(1), absTimeMatcher.end(1));
+            if (absolute > 0) {
+                timestamp = absolute;
+            }
+        }
+        startPause(timestamp, -1);
+    }
+    
+    /**
+     * [gc,phases] 行：GC ID变化时开始新的暂停（同一GC的阶段行连续输出，时间与暂停结束行相同）
+     */
+    private void handleUnifiedPhase(UnifiedLogDecorations decorations) {
+        if (!decorations.hasGcId()) {
+            return;
+        }
+        int gcId = decorations.getGcId();
+        if (!inPause || gcIds[pauseCount] != gcId) {
+            finishPause();
+            long timestamp = decorations.timestampMillis(timestampDecoder);
+            if (timestamp < 0) {
+                return;
+            }
+            startPause(timestamp, gcId);
+        }
+        String line = decorations.getLine();
+        int start = decorations.getMessageStart();
+        while (start < line.length() && line.charAt(start) == ' ') {
+            start++;
+        }
+        handlePhase(line, start, UNIFIED_PHASES);
+    }
+    
+    private void startPause(long timestamp, int gcId) {
+        ensureCapacity(pauseCount + 1);
+        timestamps[pauseCount] = timestamp;
+        gcIds[pauseCount] = gcId;
+        inPause = true;
+        currentRecorded = false;
+    }
+    
+    /**
+     * 暂停结束：记录过阶段耗时的暂停计入结果
+     */
+    private void finishPause() {
+        if (inPause && currentRecorded) {
+            pauseCount++;
+        }
+        inPause = false;
+        currentRecorded = false;
+    }
+    
+    /**
+     * 阶段行（start 为阶段名的起始位置）：名称: 12.3 ms / 名称: 12.3ms，
+     * 或 名称 (ms): Min: .., Avg: .., Max: .., Diff: .., Sum: ..[, Workers: n]
+     */
+    private void handlePhase(String line, int start, List<String> tracked) {
+        int colon = line.indexOf(':', start);
+        if (colon < 0) {
+            return;
+        }
+        boolean perWorker = colon - 5 >= start && line.startsWith(" (ms)", colon - 5);
+        String name = line.substring(start, perWorker ? colon - 5 : colon);
+        if (!tracked.contains(name)) {
+            return;
+        }
+        
+        PhaseColumn column = column(name);
+        if (perWorker) {
+            if (!workerTimesMatcher.reset(line).region(colon, line.length()).find()) {
+                return;
+            }
+            column.recordWorkers(pauseCount, Double.parseDouble(workerTimesMatcher.group(1)),
+                    Double.parseDouble(workerTimesMatcher.group(2)), Double.parseDouble(workerTimesMatcher.group(3)),
+                    Double.parseDouble(workerTimesMatcher.group(4)));
+        } else {
+            if (!phaseTimeMatcher.reset(line).region(colon + 1, line.length()).lookingAt()) {
+                return;
+            }
+            column.values[pauseCount] = Double.parseDouble(phaseTimeMatcher.group(1));
+        }
+        if (gcWorkersMatcher.reset(line).region(colon, line.length()).find()) {
+            gcWorkers = Integer.parseInt(gcWorkersMatcher.group(1));
+        }
+        currentRecorded = true;
+    }
+    
+    private PhaseColumn column(String name) {
+        return columns.computeIfAbsent(name, key -> new PhaseColumn(key, timestamps.length));
+    }
+    
+    private void ensureCapacity(int size) {
+        if (size <= timestamps.length) {
+            return;
+        }
+        int capacity = Math.max(timestamps.length * 2, size);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        gcIds = Arrays.copyOf(gcIds, capacity);
+        for (PhaseColumn column : columns.values()) {
+            column.grow(capacity);
+        }
+    }
+    
+    /**
+     * 单个阶段：每次暂停的耗时（没有该阶段的暂停为 NaN）；多线程阶段另有各线程耗时的最小值、最大值和差值
+     */
+    private static final class PhaseColumn {
+        final String name;
+        double[] values;
+        double[] mins;
+        double[] maxs;
+        double[] diffs;
+        
+        PhaseColumn(String name, int capacity) {
+            this.name = name;
+            this.values = newColumn(capacity);
+        }
+        
+        void recordWorkers(int index, double min, double avg, double max, double diff) {
+            if (diffs == null) {
+                mins = newColumn(values.length);
+                maxs = newColumn(values.length);
+                diffs = newColumn(values.length);
+            }
+            values[index] = avg;
+            mins[index] = min;
+            maxs[index] = max;
+            diffs[index] = diff;
+        }
+        
+        void grow(int capacity) {
+            values = grow(values, capacity);
+            if (diffs != null) {
+                mins = grow(mins, capacity);
+                maxs = grow(maxs, capacity);
+                diffs = grow(diffs, capacity);
+            }
+        }
+        
+        /**
+         * 复制另一列的 length 个暂停，两边都有值的位置以后出现的值为准
+         */
+        void copy(PhaseColumn other, int from, int to, int length) {
+            if (values.length < to + length) {
+                grow(to + length);
+            }
+            if (other.diffs != null && diffs == null) {
+                mins = newColumn(values.length);
+                maxs = newColumn(values.length);
+                diffs = newColumn(values.length);
+            }
+            copyValues(other.values, from, values, to, length);
+            if (other.diffs != null) {
+                copyValues(other.mins, from, mins, to, length);
+                copyValues(other.maxs, from, maxs, to, length);
+                copyValues(other.diffs, from, diffs, to, length);
+            }
+        }
+        
+        G1PhaseStatistics.PhaseSummary summary(int size) {
+            long count = 0;
+            double total = 0;
+            double max = 0;
+            long workerCount = 0;
+            double workerMinSum = 0;
+            double workerMaxSum = 0;
+            double workerDiffSum = 0;
+            for (int i = 0; i < size; i++) {
+                double value = values[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                count++;
+                total += value;
+                max = Math.max(max, value);
+                if (diffs != null && !Double.isNaN(diffs[i])) {
+                    workerCount++;
+                    workerMinSum += mins[i];
+                    workerMaxSum += maxs[i];
+                    workerDiffSum += diffs[i];
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+            return G1PhaseStatistics.PhaseSummary.builder()
+                    .count(count)
+                    .avgTime(total / count)
+                    .maxTime(max)
+                    .totalTime(total)
+                    .avgWorkerMin(workerCount > 0 ? workerMinSum / workerCount : null)
+                    .avgWorkerMax(workerCount > 0 ? workerMaxSum / workerCount : null)
+                    .avgWorkerDiff(workerCount > 0 ? workerDiffSum / workerCount : null)
+                    .build();
+        }
+        
+        private static double[] newColumn(int capacity) {
+            double[] column = new double[capacity];
+            Arrays.fill(column, Double.NaN);
+            return column;
+        }
+        
+        private static double[] grow(double[] column, int capacity) {
+            int length = column.length;
+            double[] grown = Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, length, capacity, Double.NaN);
+            return grown;
+        }
+        
+        private static void copyValues(double[] source, int from, double[] target, int to, int length) {
+            for (int i = 0; i < length; i++) {
+                double value = source[from + i];
+                if (!Double.isNaN(value)) {
+                    target[to + i] = value;
+                }
+            }
+        }
+    }
+}
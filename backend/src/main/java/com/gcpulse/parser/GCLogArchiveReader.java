@@ -0,0 +1,333 @@
+package com.gcpulse.parser;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GC日志压缩包读取器
+ * 支持gzip、zip、tar.gz（tgz）和tar，按文件头魔数识别格式
+ * 以流的方式逐个解压日志分段交给调用方处理，不落临时文件
+ *
+ * 解压时限制全部分段解压后的总大小和单个分段的解压比（防止压缩炸弹），超出时抛出 IOException
+ */
+public final class GCLogArchiveReader {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int TAR_HEADER_SIZE = 512;
+    
+    // 默认的解压限制：总大小、单个分段的解压比（GC日志用 gzip 压缩一般在 10~30 倍）
+    private static final long MAX_EXPANDED_BYTES = 8L * 1024 * 1024 * 1024;
+    private static final int MAX_EXPANSION_RATIO = 200;
+    // 解压比在分段解压超过这个大小后才检查；压缩端按已读取的字节计，各层缓冲区预读的部分作为余量
+    private static final long RATIO_CHECK_MIN_BYTES = 1024 * 1024;
+    private static final long RATIO_SLACK_BYTES = 2L * BUFFER_SIZE;
+    
+    // 估算解压后大小：读不到压缩包记录的大小时按典型压缩比估算；zip 中央目录只在末尾这么多字节内查找
+    private static final long TYPICAL_EXPANSION_RATIO = 8;
+    private static final int ZIP_TAIL_BYTES = 1024 * 1024;
+    private static final int ZIP_END_SIGNATURE = 0x06054b50;
+    private static final int ZIP_CENTRAL_SIGNATURE = 0x02014b50;
+    private static final long ZIP_SIZE_UNKNOWN = 0xFFFFFFFFL;
+    
+    /**
+     * 解压限制：全部分段解压后的总大小上限、单个分段解压后与压缩数据的大小比上限
+     */
+    public record Limits(long maxExpandedBytes, int maxExpansionRatio) {
+        
+        public static final Limits DEFAULT = new Limits(MAX_EXPANDED_BYTES, MAX_EXPANSION_RATIO);
+    }
+    
+    /**
+     * 日志分段处理器
+     */
+    @FunctionalInterface
+    public interface SegmentHandler {
+        
+        /**
+         * 处理一个日志分段，content在返回后即失效，不需要关闭
+         */
+        void handle(String name, InputStream content) throws IOException;
+    }
+    
+    private GCLogArchiveReader() {
+    }
+    
+    /**
+     * 检测输入流是否为压缩包（只预读文件头，不消耗数据）
+     */
+    public static boolean isArchive(BufferedInputStream in) throws IOException {
+        byte[] header = peek(in, TAR_HEADER_SIZE);
+        return isGzip(header) || ZipArchiveInputStream.matches(header, header.length) 
+                || TarArchiveInputStream.matches(header, header.length);
+    }
+    
+    /**
+     * 依次解压压缩包中的每个日志文件（按压缩包内的顺序），使用默认的解压限制
+     * 
+     * @param fileName 压缩包文件名，单文件gzip时用于推导日志分段名称
+     */
+    public static void forEachSegment(BufferedInputStream in, String fileName, SegmentHandler handler) throws IOException {
+        forEachSegment(in, fileName, Limits.DEFAULT, handler);
+    }
+    
+    /**
+     * 依次解压压缩包中的每个日志文件，解压超出限制时抛出 IOException
+     */
+    public static void forEachSegment(BufferedInputStream in, String fileName, Limits limits, 
+                                      SegmentHandler handler) throws IOException {
+        byte[] header = peek(in, TAR_HEADER_SIZE);
+        Expansion expansion = new Expansion(new CountingInputStream(in), limits);
+        if (isGzip(header)) {
+            BufferedInputStream content = new BufferedInputStream(
+                    new GZIPInputStream(expansion.compressed, BUFFER_SIZE), BUFFER_SIZE);
+            byte[] innerHeader = peek(content, TAR_HEADER_SIZE);
+            if (TarArchiveInputStream.matches(innerHeader, innerHeader.length)) {
+                readEntries(new TarArchiveInputStream(content), expansion, handler);
+            } else {
+                String name = stripSuffix(fileName, ".gz");
+                handler.handle(name, expansion.guard(name, content));
+            }
+        } else if (ZipArchiveInputStream.matches(header, header.length)) {
+            readEntries(new ZipArchiveInputStream(expansion.compressed), expansion, handler);
+        } else if (TarArchiveInputStream.matches(header, header.length)) {
+            readEntries(new TarArchiveInputStream(expansion.compressed), expansion, handler);
+        } else {
+            handler.handle(fileName, in);
+        }
+    }
+    
+    private static void readEntries(ArchiveInputStream<?> archive, Expansion expansion, 
+                                    SegmentHandler handler) throws IOException {
+        ArchiveEntry entry;
+        while ((entry = archive.getNextEntry()) != null) {
+            if (entry.isDirectory() || !archive.canReadEntryData(entry) || isMetadataEntry(entry.getName())) {
+                continue;
+            }
+            
+            // 关闭分段流不能关闭整个压缩包
+            InputStream content = CloseShieldInputStream.wrap(archive);
+            String name = entry.getName();
+            // 压缩包内单独gzip压缩的分段（如 gc.log.0.gz）
+            if (name.endsWith(".gz")) {
+                content = new GZIPInputStream(content, BUFFER_SIZE);
+                name = stripSuffix(name, ".gz");
+            }
+            handler.handle(name, expansion.guard(name, content));
+        }
+    }
+    
+    /**
+     * 估算压缩包解压后的大小（用于分析前的内存估算），不解压数据：
+     * gzip 读取末尾记录的原始大小，zip 汇总末尾中央目录中各条目的原始大小，tar 不压缩即为文件大小；
+     * 读不到时按典型压缩比估算，结果不超过默认的解压总大小上限
+     *
+     * 会跳到流的末尾读取，调用后流不能再用于解析
+     */
+    public static long expandedSize(BufferedInputStream in, long size) throws IOException {
+        byte[] header = peek(in, TAR_HEADER_SIZE);
+        long expanded;
+        if (isGzip(header)) {
+            expanded = gzipExpandedSize(in, size);
+        } else if (ZipArchiveInputStream.matches(header, header.length)) {
+            expanded = zipExpandedSize(in, size);
+        } else {
+            expanded = size;
+        }
+        return Math.min(expanded, MAX_EXPANDED_BYTES);
+    }
+    
+    /**
+     * gzip 末尾 4 字节是原始大小对 2^32 取模；大文件可能已经回绕，此时不小于按典型压缩比的估算
+     */
+    private static long gzipExpandedSize(InputStream in, long size) throws IOException {
+        long typical = size * TYPICAL_EXPANSION_RATIO;
+        if (size < 18) {
+            return typical;
+        }
+        in.skipNBytes(size - Integer.BYTES);
+        long recorded = ByteBuffer.wrap(in.readNBytes(Integer.BYTES)).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+        if (recorded < size || typical >= 1L << 32) {
+            return Math.max(recorded, typical);
+        }
+        return recorded;
+    }
+    
+    /**
+     * 从末尾的中央目录汇总各条目的原始大小；找不到中央目录或是 ZIP64 时按典型压缩比估算
+     */
+    private static long zipExpandedSize(InputStream in, long size) throws IOException {
+        long typical = size * TYPICAL_EXPANSION_RATIO;
+        int tailLength = (int) Math.min(size, ZIP_TAIL_BYTES);
+        long tailStart = size - tailLength;
+        in.skipNBytes(tailStart);
+        ByteBuffer tail = ByteBuffer.wrap(in.readNBytes(tailLength)).order(ByteOrder.LITTLE_ENDIAN);
+        
+        int end = tail.limit() - 22;
+        while (end >= 0 && tail.getInt(end) != ZIP_END_SIGNATURE) {
+            end--;
+        }
+        if (end < 0) {
+            return typical;
+        }
+        long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+        long position = directoryOffset - tailStart;
+        if (directoryOffset == ZIP_SIZE_UNKNOWN || position < 0 || position + directorySize > end) {
+            return typical;
+        }
+        
+        long expanded = 0;
+        int p = (int) position;
+        while (p + 46 <= end && tail.getInt(p) == ZIP_CENTRAL_SIGNATURE) {
+            long entrySize = tail.getInt(p + 24) & 0xFFFFFFFFL;
+            if (entrySize == ZIP_SIZE_UNKNOWN) {
+                return typical;
+            }
+            expanded += entrySize;
+            p += 46 + (tail.getShort(p + 28) & 0xFFFF) + (tail.getShort(p + 30) & 0xFFFF) 
+                    + (tail.getShort(p + 32) & 0xFFFF);
+        }
+        return expanded;
+    }
+    
+    /**
+     * 打包工具生成的元数据文件（如macOS的 __MACOSX/ 和 ._ 文件）
+     */
+    private static boolean isMetadataEntry(String name) {
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return name.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+    
+    private static boolean isGzip(byte[] header) {
+        return header.length >= 2 && (header[0] & 0xff) == 0x1f && (header[1] & 0xff) == 0x8b;
+    }
+    
+    private static byte[] peek(BufferedInputStream in, int length) throws IOException {
+        in.mark(length);
+        byte[] header = in.readNBytes(length);
+        in.reset();
+        return header;
+    }
+    
+    /**
+     * 统计已读取的字节数（压缩端）
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+        
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+    
+    /**
+     * 一个压缩包的解压量：各分段的解压流按读取的字节累计，超出限制时抛出 IOException
+     */
+    private static final class Expansion {
+        
+        final CountingInputStream compressed;
+        private final Limits limits;
+        private long total;
+        
+        Expansion(CountingInputStream compressed, Limits limits) {
+            this.compressed = compressed;
+            this.limits = limits;
+        }
+        
+        InputStream guard(String name, InputStream content) {
+            long compressedStart = compressed.count;
+            return new FilterInputStream(content) {
+                
+                private long expanded;
+                
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    if (b != -1) {
+                        expanded(1);
+                    }
+                    return b;
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = in.read(b, off, len);
+                    if (n > 0) {
+                        expanded(n);
+                    }
+                    return n;
+                }
+                
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = in.skip(n);
+                    expanded(skipped);
+                    return skipped;
+                }
+                
+                private void expanded(long n) throws IOException {
+                    expanded += n;
+                    total += n;
+                    if (total > limits.maxExpandedBytes()) {
+                        throw new IOException("压缩包解压后超过 " + limits.maxExpandedBytes() / (1024 * 1024) 
+                                + " MB 的上限");
+                    }
+                    long compressedBytes = compressed.count - compressedStart + RATIO_SLACK_BYTES;
+                    if (expanded > RATIO_CHECK_MIN_BYTES && expanded > compressedBytes * limits.maxExpansionRatio()) {
+                        throw new IOException("压缩包中的 " + name + " 解压比超过 " + limits.maxExpansionRatio() 
+                                + ":1，疑似压缩炸弹");
+                    }
+                }
+            };
+        }
+    }
+    
+    private static String stripSuffix(String name, String suffix) {
+        if (name != null && name.toLowerCase().endsWith(suffix)) {
+            return name.substring(0, name.length() - suffix.length());
+        }
+        return name;
+    }
+}
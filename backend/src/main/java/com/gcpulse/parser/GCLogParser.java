@@ -1,16 +1,25 @@
 package com.gcpulse.parser;
 
 import com.gcpulse.model.*;
+import com.gcpulse.model.GCEventStore.Region;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 /**
  * GC日志解析器工厂协调器
@@ -21,6 +30,37 @@ import java.util.regex.Pattern;
 @Component
 public class GCLogParser {
     
+    // 启用分块并行解析的最小文件大小，以及单个分块的最小大小
+    private static final long CHUNKED_PARSING_MIN_SIZE = 64L * 1024 * 1024;
+    private static final long CHUNK_MIN_SIZE = 8L * 1024 * 1024;
+    
+    // 内存估算：固定开销、无法识别收集器时的每字节内存
+    private static final long ESTIMATE_BASE_BYTES = 16L * 1024 * 1024;
+    private static final double DEFAULT_HEAP_PER_LOG_BYTE = 1.5;
+    
+    /**
+     * 分析结果中每条时间序列的默认目标点数（事件更多时按时间分桶降采样）
+     */
+    public static final int DEFAULT_TIME_SERIES_POINTS = 2000;
+    
+    // ZGC堆信息，只匹配消息正文（[gc,heap] / [gc,metaspace] 与 GC(n) 由 UnifiedLogDecorations 切分）
+    private static final Pattern ZGC_MAX_CAPACITY_PATTERN = Pattern.compile("Max Capacity: (\\d+)M");
+    private static final Pattern ZGC_METASPACE_PATTERN = Pattern.compile("Metaspace: (\\d+)M used, (\\d+)M committed");
+    private static final Pattern ZGC_ALLOCATED_PATTERN = Pattern.compile("Allocated:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    private static final Pattern ZGC_RECLAIMED_PATTERN = Pattern.compile("Reclaimed:\\s+-\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    
+    // 滚动日志分段的时间戳：ISO日期时间（可带时区）、Unified Logging运行时长 [12.345s] 或 JDK 8运行时长 12.345:
+    private static final Pattern SEGMENT_DATETIME_PATTERN = Pattern.compile("(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3})([+-]\\d{4})?");
+    private static final Pattern SEGMENT_UPTIME_PATTERN = Pattern.compile("\\[(\\d+[.,]\\d+)s\\]|^(?:\\S+: )?(\\d+\\.\\d+): \\[");
+    private static final Pattern SEGMENT_ROTATION_PATTERN = Pattern.compile("\\.(\\d+)$");
+    
+    private static final Pattern COMMAND_LINE_FLAGS_PATTERN = Pattern.compile("CommandLine flags:\\s*(.*)");
+    private static final Pattern TENURING_THRESHOLD_PATTERN = Pattern.compile("Desired survivor size.*?new threshold (\\d+)");
+    private static final Pattern TENURING_AGE_PATTERN = Pattern.compile("- age\\s+(\\d+):\\s+(\\d+) bytes");
+    private static final Pattern SAFEPOINT_PATTERN = Pattern.compile("Total time for which application threads were stopped:\\s+([\\d.]+)\\s+seconds");
+    private static final Pattern TIME_TO_SAFEPOINT_PATTERN = Pattern.compile("Stopping threads took:\\s+([\\d.]+)\\s+seconds");
+    private static final Pattern STRING_DEDUP_PATTERN = Pattern.compile("\\[String Deduplication.*?inspected:(\\d+).*?deduplicated:(\\d+).*?saved:(\\d+)");
+    
     @Autowired
     private G1LogParser g1LogParser;
     
@@ -53,318 +93,939 @@ public class GCLogParser {
      * 解析GC日志输入流
      */
     public GCPulseResult parse(InputStream inputStream, String fileName, long fileSize) throws IOException {
-        List<String> lines = readLines(inputStream);
-        
-        // 检测GC收集器类型并选择解析器
-        AbstractGCLogParser selectedParser = detectAndSelectParser(lines);
-        String collectorType = selectedParser != null ? selectedParser.getGCType() : "Unknown";
-        
-        // 解析GC事件
-        List<GCEvent> gcEvents = selectedParser != null ? 
-            selectedParser.parseGCEvents(lines) : new ArrayList<>();
-        
-        // 计算各项指标
-        MemorySize memorySize = calculateMemorySize(gcEvents, lines, collectorType);
-        KPIMetrics kpiMetrics = calculateKPIMetrics(gcEvents);
-        Map<String, PhaseStatistics> phaseStats = calculatePhaseStatisticsEnhanced(gcEvents, collectorType);
-        ObjectStats objectStats = calculateObjectStats(gcEvents, lines, collectorType);
-        CPUStats cpuStats = parseCPUStats(lines);
-        PauseDurationDistribution pauseDist = calculatePauseDuration(gcEvents);
-        DiagnosisReport diagnosisReport = performDiagnosisEnhanced(gcEvents, memorySize);
-        TimeSeriesData timeSeriesData = generateTimeSeriesData(gcEvents);
-        
-        // 企业级功能
-        JVMArguments jvmArgs = selectedParser != null ? 
-                selectedParser.parseJVMArguments(lines) : parseJVMArguments(lines);
-        TenuringSummary tenuringSummary = parseTenuringSummary(lines);
-        Map<String, GCCause> gcCauses = calculateGCCauses(gcEvents);
-        SafePointStats safePointStats = parseSafePointStats(lines);
-        StringDeduplicationStats stringDedup = parseStringDeduplication(lines);
-        
-        // ZGC特定功能
-        ZGCInitConfig zgcInitConfig = null;
-        ZGCStatistics zgcStatistics = null;
-        if ("ZGC".equals(collectorType) && selectedParser instanceof ZgcLogParser) {
-            ZgcLogParser zgcParser = (ZgcLogParser) selectedParser;
-            zgcInitConfig = zgcParser.parseZGCInitConfig(lines);
-            zgcStatistics = zgcParser.parseZGCStatistics(lines);
-        }
-        
-        return GCPulseResult.builder()
-                .fileName(fileName)
-                .fileSize(fileSize)
-                .collectorType(collectorType)
-                .memorySize(memorySize)
-                .kpiMetrics(kpiMetrics)
-                .gcEvents(gcEvents)
-                .phaseStatistics(phaseStats)
-                .objectStats(objectStats)
-                .cpuStats(cpuStats)
-                .pauseDurationDistribution(pauseDist)
-                .diagnosisReport(diagnosisReport)
-                .timeSeriesData(timeSeriesData)
-                // 企业级功能
-                .jvmArguments(jvmArgs)
-                .tenuringSummary(tenuringSummary)
-                .gcCauses(gcCauses)
-                .safePointStats(safePointStats)
-                .stringDedup(stringDedup)
-                // ZGC特定功能
-                .zgcInitConfig(zgcInitConfig)
-                .zgcStatistics(zgcStatistics)
-                .build();
+        return parse(inputStream, fileName, fileSize, new ParseProgress());
+    }
+    
+    /**
+     * 解析GC日志输入流，按读取的字节数汇报进度
+     */
+    public GCPulseResult parse(InputStream inputStream, String fileName, long fileSize, 
+                               ParseProgress progress) throws IOException {
+        progress.setStage(ParseProgress.Stage.DETECTING);
+        BufferedInputStream buffered = new BufferedInputStream(progress.track(inputStream));
+        if (GCLogArchiveReader.isArchive(buffered)) {
+            try (buffered) {
+                return parseArchive(buffered, fileName, fileSize, progress);
+            }
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(buffered))) {
+            return parse(reader::readLine, fileName, fileSize, progress);
+        }
     }
     
     /**
-     * 读取所有行
+     * 解析压缩的滚动日志包（gzip/zip/tar.gz，如 gc.log.0 … gc.log.N）
+     * 每个日志分段流式解压并独立解析，结束后按分段的时间顺序合并
      */
-    private List<String> readLines(InputStream inputStream) throws IOException {
-        List<String> lines = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+    public GCPulseResult parseArchive(BufferedInputStream inputStream, String fileName, long fileSize) throws IOException {
+        return parseArchive(inputStream, fileName, fileSize, new ParseProgress());
+    }
+    
+    private GCPulseResult parseArchive(BufferedInputStream inputStream, String fileName, long fileSize, 
+                                       ParseProgress progress) throws IOException {
+        // 日志包的收集器检测与各分段的解析交织进行
+        progress.setStage(ParseProgress.Stage.PARSING);
+        RotatedLogSet logSet = new RotatedLogSet(progress);
+        GCLogArchiveReader.forEachSegment(inputStream, fileName, (name, content) -> {
+            LogSegment segment = logSet.startSegment(name);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(content));
             String line;
             while ((line = reader.readLine()) != null) {
-                lines.add(line);
+                logSet.accept(segment, line);
+            }
+        });
+        return logSet.finish(fileName, fileSize);
+    }
+    
+    /**
+     * 解析服务器本地GC日志文件（内存映射读取）
+     * 大文件且格式支持时，按行对齐分块后在ForkJoinPool上并行解析
+     */
+    public GCPulseResult parse(Path file) throws IOException {
+        return parse(file, new ParseProgress());
+    }
+    
+    /**
+     * 解析服务器本地GC日志文件，按已处理的行长度汇报进度（压缩包按读取的压缩字节数）
+     */
+    public GCPulseResult parse(Path file, ParseProgress progress) throws IOException {
+        String fileName = file.getFileName().toString();
+        progress.setStage(ParseProgress.Stage.DETECTING);
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            if (GCLogArchiveReader.isArchive(in)) {
+                return parseArchive(new BufferedInputStream(progress.track(in)), fileName, Files.size(file), progress);
             }
         }
-        return lines;
+        return parseMapped(file, chunkCount(Files.size(file)), progress);
     }
     
     /**
-     * 检测并选择合适的解析器
+     * 按指定的分块数解析本地日志文件（不受文件大小限制，格式不支持分块时顺序解析）
+     * 用于校验分块并行解析与顺序解析的结果一致
      */
-    private AbstractGCLogParser detectAndSelectParser(List<String> lines) {
-        for (AbstractGCLogParser parser : parsers) {
-            if (parser.canParse(lines)) {
-                log.info("选择解析器: {}", parser.getGCType());
-                return parser;
+    GCPulseResult parse(Path file, int chunkCount) throws IOException {
+        return parseMapped(file, chunkCount, new ParseProgress());
+    }
+    
+    private GCPulseResult parseMapped(Path file, int chunkCount, ParseProgress progress) throws IOException {
+        String fileName = file.getFileName().toString();
+        try (MappedLogLineSource source = new MappedLogLineSource(file)) {
+            long fileSize = source.size();
+            List<String> headLines = new ArrayList<>();
+            CollectorDetector detector = detectParser(source, headLines);
+            AbstractGCLogParser selectedParser = detector.selectedParser();
+            
+            if (selectedParser != null && chunkCount > 1 && selectedParser.supportsChunkedParsing(headLines)) {
+                headLines.clear();
+                return parseChunked(file, selectedParser, chunkCount, progress)
+                        .finish(fileName, fileSize, detector.result());
             }
+            return parse(source, selectedParser, headLines, progress).finish(fileName, fileSize, detector.result());
         }
-        log.info("未找到合适的解析器，使用默认解析器");
-            return null;
     }
     
     /**
-     * 计算内存大小
+     * 分块数：大文件按并行度和单个分块的最小大小切分，小文件不分块
+     */
+    private static int chunkCount(long fileSize) {
+        if (fileSize < CHUNKED_PARSING_MIN_SIZE) {
+            return 1;
+        }
+        return (int) Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L, fileSize / CHUNK_MIN_SIZE));
+    }
+    
+    /**
+     * 解析GC日志行数据源
+     * 单遍流式读取：先在日志头部识别收集器类型，随后逐行分发给各收集器，不在内存中保留整个文件
+     */
+    public GCPulseResult parse(LogLineSource source, String fileName, long fileSize) throws IOException {
+        return parse(source, fileName, fileSize, new ParseProgress());
+    }
+    
+    private GCPulseResult parse(LogLineSource source, String fileName, long fileSize, 
+                                ParseProgress progress) throws IOException {
+        List<String> headLines = new ArrayList<>();
+        CollectorDetector detector = detectParser(source, headLines);
+        return parse(source, detector.selectedParser(), headLines, progress)
+                .finish(fileName, fileSize, detector.result());
+    }
+    
+    /**
+     * 估算解析日志需要的堆内存（字节）
+     * 只读取收集器检测所需的日志前缀：按检测到的收集器的每字节内存乘以日志大小，
+     * 压缩包按包内记录的解压后大小估算（收集器未知，按最保守的格式估计）
+     */
+    public long estimateMemory(InputStream inputStream, long fileSize) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        if (GCLogArchiveReader.isArchive(buffered)) {
+            long expanded = GCLogArchiveReader.expandedSize(buffered, fileSize);
+            return ESTIMATE_BASE_BYTES + (long) (expanded * DEFAULT_HEAP_PER_LOG_BYTE);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(buffered));
+        CollectorDetector detector = new CollectorDetector(parsers);
+        String line;
+        while (!detector.isComplete() && (line = reader.readLine()) != null) {
+            detector.accept(line);
+        }
+        AbstractGCLogParser selectedParser = detector.selectedParser();
+        double heapPerByte = selectedParser != null ? 
+                selectedParser.estimatedHeapPerLogByte() : DEFAULT_HEAP_PER_LOG_BYTE;
+        return ESTIMATE_BASE_BYTES + (long) (fileSize * heapPerByte);
+    }
+    
+    public long estimateMemory(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return estimateMemory(in, Files.size(file));
+        }
+    }
+    
+    /**
+     * 按时间范围和目标点数重新生成时间序列（图表缩放时请求更细的分辨率）
+     * 
+     * @param from 起始时间戳（ms，含）
+     * @param to 结束时间戳（ms，含）
+     * @param maxPoints 每条序列的目标点数，不大于 0 时返回范围内的全部数据点
+     */
+    public TimeSeriesData buildTimeSeries(GCEventStore events, long from, long to, int maxPoints) {
+        TimeSeriesAccumulator accumulator = new TimeSeriesAccumulator(events, from, to, maxPoints);
+        EventAccumulator.aggregate(events, List.of(accumulator));
+        return accumulator.finish();
+    }
+    
+    /**
+     * 创建实时跟踪日志的解析器（持续接收追加的行，保留最近 maxWindowEvents 个事件用于时间序列和诊断）
+     */
+    public LiveLogParser newLiveParser(int maxWindowEvents) {
+        return new LiveLogParser(this, new CollectorDetector(parsers), maxWindowEvents);
+    }
+    
+    /**
+     * KPI 累加器（实时跟踪时跨多批事件累计，可随时产出当前结果）
+     */
+    EventAccumulator<KPIMetrics> newKPIAccumulator() {
+        return new KPIAccumulator();
+    }
+    
+    /**
+     * 对一批事件生成诊断报告
+     */
+    DiagnosisReport diagnose(GCEventStore events) {
+        DiagnosisAccumulator accumulator = new DiagnosisAccumulator();
+        EventAccumulator.aggregate(events, List.of(accumulator));
+        return accumulator.finish();
+    }
+    
+    /**
+     * 检测GC收集器类型并选择解析器（只读取并缓存检测所需的日志前缀）
+     * 
+     * @param headLines 输出参数，检测过程中读取的头部行
+     */
+    private CollectorDetector detectParser(LogLineSource source, List<String> headLines) throws IOException {
+        CollectorDetector detector = new CollectorDetector(parsers);
+        String line;
+        while (!detector.isComplete() && (line = source.readLine()) != null) {
+            headLines.add(line);
+            detector.accept(line);
+        }
+        logSelectedParser(detector);
+        return detector;
+    }
+    
+    private void logSelectedParser(CollectorDetector detector) {
+        AbstractGCLogParser selectedParser = detector.selectedParser();
+        if (selectedParser != null) {
+            log.info("选择解析器: {}, 日志格式: {}, 置信度: {}", 
+                    selectedParser.getGCType(), detector.logFormat(), String.format("%.3f", detector.confidence()));
+        } else {
+            log.info("未找到合适的解析器，使用默认解析器");
+        }
+    }
+    
+    /**
+     * 顺序解析：先回放头部行，再继续读取剩余的行
+     */
+    private LogLinePipeline parse(LogLineSource source, AbstractGCLogParser selectedParser, 
+                                  List<String> headLines, ParseProgress progress) throws IOException {
+        progress.setStage(ParseProgress.Stage.PARSING);
+        LogLinePipeline pipeline = new LogLinePipeline(selectedParser, PipelineMode.SEQUENTIAL, progress);
+        for (String headLine : headLines) {
+            pipeline.accept(headLine);
+        }
+        headLines.clear();
+        
+        String line;
+        while ((line = source.readLine()) != null) {
+            pipeline.accept(line);
+        }
+        return pipeline;
+    }
+    
+    /**
+     * 分块并行解析：每个分块独立运行一套收集器，完成后按文件顺序合并
      */
-    private MemorySize calculateMemorySize(List<GCEvent> events, List<String> lines, String collectorType) {
-        long maxHeap = 0;
-        long peakHeap = 0;
-        long metaspaceAllocated = 210L * 1024 * 1024;
-        long metaspacePeak = 208L * 1024 * 1024;
+    private LogLinePipeline parseChunked(Path file, AbstractGCLogParser selectedParser, int chunkCount, 
+                                         ParseProgress progress) throws IOException {
+        progress.setStage(ParseProgress.Stage.PARSING);
+        long[] boundaries = MappedLogLineSource.lineAlignedBoundaries(file, chunkCount);
+        log.info("分块并行解析: {} 个分块, 并行度: {}", boundaries.length - 1, ForkJoinPool.getCommonPoolParallelism());
+        
+        List<LogLinePipeline> pipelines;
+        try {
+            pipelines = IntStream.range(0, boundaries.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseChunk(file, boundaries[i], boundaries[i + 1], selectedParser, progress))
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
         
-        // 从事件中提取
-        for (GCEvent event : events) {
-            if (event.getHeapMemory() != null) {
-                maxHeap = Math.max(maxHeap, event.getHeapMemory().getTotal());
-                peakHeap = Math.max(peakHeap, event.getHeapMemory().getBefore());
+        LogLinePipeline merged = pipelines.get(0);
+        for (int i = 1; i < pipelines.size(); i++) {
+            merged.merge(pipelines.get(i));
+        }
+        return merged;
+    }
+    
+    private LogLinePipeline parseChunk(Path file, long start, long end, AbstractGCLogParser selectedParser, 
+                                       ParseProgress progress) {
+        LogLinePipeline pipeline = new LogLinePipeline(selectedParser, PipelineMode.CHUNK, progress);
+        try (MappedLogLineSource source = new MappedLogLineSource(file, start, end)) {
+            String line;
+            while ((line = source.readLine()) != null) {
+                pipeline.accept(line);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return pipeline;
+    }
+    
+    /**
+     * 滚动日志包解析状态
+     * 收集器类型由整个日志包最前面的行检测（检测前缀跨分段计算），检测完成后每个分段拥有独立的处理管道
+     */
+    private class RotatedLogSet {
+        private final List<LogSegment> segments = new ArrayList<>();
+        private final CollectorDetector detector = new CollectorDetector(parsers);
+        private final ParseProgress progress;
+        private boolean detected = false;
+        private AbstractGCLogParser selectedParser;
+        
+        RotatedLogSet(ParseProgress progress) {
+            this.progress = progress;
         }
         
-        // 对于ZGC，从日志中提取准确的容量信息
-        if ("ZGC".equals(collectorType)) {
-            Pattern maxCapPattern = Pattern.compile("\\[gc,heap\\s*\\] GC\\(\\d+\\) Max Capacity: (\\d+)M");
-            Pattern metaspacePattern = Pattern.compile("\\[gc,metaspace\\] GC\\(\\d+\\) Metaspace: (\\d+)M used, (\\d+)M committed");
+        LogSegment startSegment(String name) {
+            LogSegment segment = new LogSegment(name);
+            if (detected) {
+                segment.pipeline = new LogLinePipeline(selectedParser, PipelineMode.SEGMENT, progress);
+            }
+            segments.add(segment);
+            return segment;
+        }
+        
+        void accept(LogSegment segment, String line) {
+            segment.observe(line);
+            if (detected) {
+                segment.pipeline.accept(line);
+                return;
+            }
             
-            for (String line : lines) {
-                Matcher capMatcher = maxCapPattern.matcher(line);
-                if (capMatcher.find() && maxHeap == 0) {
-                    maxHeap = Long.parseLong(capMatcher.group(1)) * 1024 * 1024;
-                }
-                
-                Matcher metaMatcher = metaspacePattern.matcher(line);
-                if (metaMatcher.find()) {
-                    metaspacePeak = Math.max(metaspacePeak, Long.parseLong(metaMatcher.group(1)) * 1024 * 1024);
-                    metaspaceAllocated = Math.max(metaspaceAllocated, Long.parseLong(metaMatcher.group(2)) * 1024 * 1024);
+            segment.headLines.add(line);
+            if (detector.accept(line)) {
+                completeDetection();
+            }
+        }
+        
+        private void completeDetection() {
+            detected = true;
+            selectedParser = detector.selectedParser();
+            logSelectedParser(detector);
+            for (LogSegment segment : segments) {
+                segment.pipeline = new LogLinePipeline(selectedParser, PipelineMode.SEGMENT, progress);
+                for (String headLine : segment.headLines) {
+                    segment.pipeline.accept(headLine);
                 }
+                segment.headLines = null;
             }
         }
         
-        // 默认值（如果日志中没有足够信息）
-        if (maxHeap == 0) {
-            maxHeap = 10L * 1024 * 1024 * 1024; // 10GB
+        GCPulseResult finish(String fileName, long fileSize) {
+            if (!detected) {
+                completeDetection();
+            }
+            if (segments.isEmpty()) {
+                return new LogLinePipeline(selectedParser, PipelineMode.SEQUENTIAL, progress)
+                        .finish(fileName, fileSize, detector.result());
+            }
+            
+            List<LogSegment> ordered = LogSegment.chronological(segments);
+            log.info("日志包包含 {} 个分段，解析顺序: {}", ordered.size(), 
+                    ordered.stream().map(LogSegment::getName).toList());
+            
+            LogLinePipeline merged = ordered.get(0).pipeline;
+            for (int i = 1; i < ordered.size(); i++) {
+                merged.merge(ordered.get(i).pipeline);
+            }
+            return merged.finish(fileName, fileSize, detector.result());
         }
-        if (peakHeap == 0) {
-            peakHeap = (long) (maxHeap * 0.8);
+    }
+    
+    /**
+     * 滚动日志包中的一个日志分段
+     * 记录分段第一条带时间戳的日志，用于恢复分段的时间顺序（滚动编号会循环复用，不能直接按编号排序）
+     */
+    private static class LogSegment {
+        // 只在分段开头的若干行中查找时间戳
+        private static final int TIMESTAMP_SCAN_LINES = 1000;
+        
+        private final String name;
+        private List<String> headLines = new ArrayList<>();
+        private LogLinePipeline pipeline;
+        
+        private int scannedLines = 0;
+        private Long firstDateTime;
+        private Double firstUptime;
+        
+        LogSegment(String name) {
+            this.name = name;
         }
         
-        MemorySize.MemoryRegion heap = MemorySize.MemoryRegion.builder()
-                .allocated(maxHeap)
-                .peak(peakHeap)
-                .build();
+        String getName() {
+            return name;
+        }
         
-        MemorySize.MemoryRegion metaspace = MemorySize.MemoryRegion.builder()
-                .allocated(metaspaceAllocated)
-                .peak(metaspacePeak)
-                .build();
+        void observe(String line) {
+            if (firstDateTime != null || scannedLines >= TIMESTAMP_SCAN_LINES) {
+                return;
+            }
+            scannedLines++;
+            
+            Matcher dateTimeMatcher = SEGMENT_DATETIME_PATTERN.matcher(line);
+            if (dateTimeMatcher.find()) {
+                try {
+                    LocalDateTime dateTime = LocalDateTime.parse(dateTimeMatcher.group(1));
+                    ZoneOffset offset = dateTimeMatcher.group(2) != null ? 
+                            ZoneOffset.of(dateTimeMatcher.group(2)) : ZoneOffset.UTC;
+                    firstDateTime = dateTime.toInstant(offset).toEpochMilli();
+                    return;
+                } catch (Exception e) {
+                    // 忽略无法解析的时间戳
+                }
+            }
+            
+            if (firstUptime == null) {
+                Matcher uptimeMatcher = SEGMENT_UPTIME_PATTERN.matcher(line);
+                if (uptimeMatcher.find()) {
+                    String uptime = uptimeMatcher.group(1) != null ? uptimeMatcher.group(1) : uptimeMatcher.group(2);
+                    firstUptime = Double.parseDouble(uptime.replace(',', '.'));
+                }
+            }
+        }
         
-        MemorySize.MemoryRegion total = MemorySize.MemoryRegion.builder()
-                .allocated(heap.getAllocated() + metaspace.getAllocated())
-                .peak(heap.getPeak() + metaspace.getPeak())
-                .build();
+        /**
+         * 滚动编号：gc.log.3 为3，当前文件（gc.log 或 gc.log.N.current）视为最新
+         */
+        int rotationIndex() {
+            if (name.endsWith(".current")) {
+                return Integer.MAX_VALUE;
+            }
+            Matcher matcher = SEGMENT_ROTATION_PATTERN.matcher(name);
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+        }
         
-        return MemorySize.builder()
-                .heap(heap)
-                .metaspace(metaspace)
-                .total(total)
-                .build();
+        /**
+         * 按时间顺序排列分段：所有分段都有日期时间时按日期时间，其次按JVM运行时长，否则按滚动编号
+         */
+        static List<LogSegment> chronological(List<LogSegment> segments) {
+            Comparator<LogSegment> order;
+            if (segments.stream().allMatch(s -> s.firstDateTime != null)) {
+                order = Comparator.comparingLong(s -> s.firstDateTime);
+            } else if (segments.stream().allMatch(s -> s.firstUptime != null)) {
+                order = Comparator.comparingDouble(s -> s.firstUptime);
+            } else {
+                order = Comparator.comparingInt(LogSegment::rotationIndex);
+            }
+            List<LogSegment> ordered = new ArrayList<>(segments);
+            ordered.sort(order.thenComparing(LogSegment::getName));
+            return ordered;
+        }
     }
     
     /**
-     * 计算KPI指标
+     * 处理管道的使用方式
      */
-    private KPIMetrics calculateKPIMetrics(List<GCEvent> events) {
-        if (events.isEmpty()) {
-            return KPIMetrics.builder()
-                    .throughput(0.0)
-                    .latency(KPIMetrics.LatencyMetrics.builder().build())
+    private enum PipelineMode {
+        // 顺序解析整个日志
+        SEQUENTIAL,
+        // 分块并行解析中的一个分块（事件收集器跳过格式检测，所有收集器需支持合并）
+        CHUNK,
+        // 滚动日志包中的一个完整分段（所有收集器需支持合并）
+        SEGMENT
+    }
+    
+    /**
+     * 单遍日志处理管道
+     * 每一行依次交给事件收集器和各项统计收集器，结束时汇总为分析结果
+     */
+    private class LogLinePipeline {
+        private final AbstractGCLogParser selectedParser;
+        private final String collectorType;
+        private final List<LogLineCollector<?>> collectors = new ArrayList<>();
+        
+        private final LogLineCollector<List<GCEvent>> eventCollector;
+        private final LogLineCollector<JVMArguments> jvmArgsCollector;
+        private final LogLineCollector<TenuringSummary> tenuringCollector;
+        private final LogLineCollector<SafePointStats> safePointCollector;
+        private final LogLineCollector<StringDeduplicationStats> stringDedupCollector;
+        
+        // 尚未汇报的行数、字节数，以及上次汇报时事件收集器的计数
+        private final ParseProgress progress;
+        private int pendingLines;
+        private long pendingBytes;
+        private long reportedEvents;
+        
+        // ZGC特定收集器
+        private LogLineCollector<ZGCInitConfig> zgcInitConfigCollector;
+        private LogLineCollector<ZGCStatistics> zgcStatisticsCollector;
+        private LogLineCollector<ZGCHeapInfo> zgcHeapInfoCollector;
+        
+        // G1特定收集器
+        private LogLineCollector<G1PhaseStatistics> g1PhaseCollector;
+        private LogLineCollector<G1CycleStatistics> g1CycleCollector;
+        
+        LogLinePipeline(AbstractGCLogParser selectedParser, PipelineMode mode, ParseProgress progress) {
+            this.selectedParser = selectedParser;
+            this.progress = progress;
+            this.collectorType = selectedParser != null ? selectedParser.getGCType() : "Unknown";
+            
+            LogLineCollector<List<GCEvent>> events = null;
+            if (selectedParser != null) {
+                events = switch (mode) {
+                    case CHUNK -> selectedParser.newChunkEventCollector();
+                    case SEGMENT -> selectedParser.newMergeableEventCollector();
+                    default -> selectedParser.newEventCollector();
+                };
+            }
+            eventCollector = register(events);
+            jvmArgsCollector = register(selectedParser != null ? 
+                    selectedParser.newJVMArgumentsCollector() : newJVMArgumentsCollector());
+            tenuringCollector = register(newTenuringSummaryCollector());
+            safePointCollector = register(newSafePointStatsCollector());
+            stringDedupCollector = register(newStringDeduplicationCollector());
+            
+            if ("ZGC".equals(collectorType) && selectedParser instanceof ZgcLogParser) {
+                ZgcLogParser zgcParser = (ZgcLogParser) selectedParser;
+                if (mode != PipelineMode.SEQUENTIAL) {
+                    // 初始化配置和统计信息按字段覆盖，需要合并时缓存相关行，合并后回放
+                    zgcInitConfigCollector = register(new ReplayingLogLineCollector<>(
+                            ZgcLogParser::isInitConfigLine, zgcParser::newInitConfigCollector));
+                    zgcStatisticsCollector = register(new ReplayingLogLineCollector<>(
+                            ZgcLogParser::isStatisticsLine, zgcParser::newStatisticsCollector));
+                } else {
+                    zgcInitConfigCollector = register(zgcParser.newInitConfigCollector());
+                    zgcStatisticsCollector = register(zgcParser.newStatisticsCollector());
+                }
+                zgcHeapInfoCollector = register(newZGCHeapInfoCollector());
+            }
+            
+            if (selectedParser instanceof G1LogParser) {
+                G1LogParser g1Parser = (G1LogParser) selectedParser;
+                g1PhaseCollector = register(g1Parser.newPhaseCollector());
+                g1CycleCollector = register(g1Parser.newCycleCollector());
+            }
+        }
+        
+        private <T> LogLineCollector<T> register(LogLineCollector<T> collector) {
+            if (collector != null) {
+                collectors.add(collector);
+            }
+            return collector;
+        }
+        
+        void accept(String line) {
+            for (LogLineCollector<?> collector : collectors) {
+                collector.accept(line);
+            }
+            pendingBytes += line.length() + 1;
+            if (++pendingLines == ParseProgress.REPORT_INTERVAL_LINES) {
+                reportProgress();
+            }
+        }
+        
+        /**
+         * 汇报尚未汇报的进度，并检查是否已取消
+         */
+        private void reportProgress() {
+            long events = eventCollector != null ? eventCollector.collectedCount() : -1;
+            long newEvents = Math.max(0, events - reportedEvents);
+            reportedEvents = Math.max(reportedEvents, events);
+            progress.report(pendingLines, pendingBytes, newEvents);
+            pendingLines = 0;
+            pendingBytes = 0;
+        }
+        
+        /**
+         * 合并紧随其后一个分块的收集结果
+         */
+        void merge(LogLinePipeline next) {
+            next.reportProgress();
+            for (int i = 0; i < collectors.size(); i++) {
+                mergeCollector(collectors.get(i), next.collectors.get(i));
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        private <T> void mergeCollector(LogLineCollector<T> collector, LogLineCollector<?> next) {
+            collector.merge((LogLineCollector<T>) next);
+        }
+        
+        GCPulseResult finish(String fileName, long fileSize, CollectorDetection detection) {
+            reportProgress();
+            progress.setStage(ParseProgress.Stage.AGGREGATING);
+            
+            // 解析GC事件
+            GCEventStore gcEvents = eventCollector != null ? 
+                GCEventStore.copyOf(eventCollector.finish()) : new GCEventStore();
+            progress.completeEvents(gcEvents.size());
+            ZGCHeapInfo zgcHeapInfo = zgcHeapInfoCollector != null ? zgcHeapInfoCollector.finish() : null;
+            
+            // 单遍扫描事件，同时计算各项指标
+            MemorySizeAccumulator memorySizeAccumulator = new MemorySizeAccumulator(zgcHeapInfo);
+            KPIAccumulator kpiAccumulator = new KPIAccumulator();
+            PhaseStatisticsAccumulator phaseAccumulator = new PhaseStatisticsAccumulator(gcEvents);
+            ObjectStatsAccumulator objectStatsAccumulator = new ObjectStatsAccumulator(zgcHeapInfo);
+            PauseDurationAccumulator pauseDurationAccumulator = new PauseDurationAccumulator();
+            DiagnosisAccumulator diagnosisAccumulator = new DiagnosisAccumulator();
+            TimeSeriesAccumulator timeSeriesAccumulator = new TimeSeriesAccumulator(
+                    gcEvents, Long.MIN_VALUE, Long.MAX_VALUE, DEFAULT_TIME_SERIES_POINTS);
+            GCCauseAccumulator gcCauseAccumulator = new GCCauseAccumulator();
+            GCTypeStatisticsAccumulator gcTypeAccumulator = new GCTypeStatisticsAccumulator(gcEvents);
+            EventAccumulator.aggregate(gcEvents, List.of(memorySizeAccumulator, kpiAccumulator, phaseAccumulator,
+                    objectStatsAccumulator, pauseDurationAccumulator, diagnosisAccumulator, timeSeriesAccumulator,
+                    gcCauseAccumulator, gcTypeAccumulator));
+            
+            MemorySize memorySize = memorySizeAccumulator.finish();
+            KPIMetrics kpiMetrics = kpiAccumulator.finish();
+            Map<String, PhaseStatistics> phaseStats = phaseAccumulator.finish();
+            Map<String, GCTypeStatistics> gcTypeStats = gcTypeAccumulator.finish();
+            ObjectStats objectStats = objectStatsAccumulator.finish();
+            CPUStats cpuStats = parseCPUStats();
+            PauseDurationDistribution pauseDist = pauseDurationAccumulator.finish();
+            DiagnosisReport diagnosisReport = diagnosisAccumulator.finish();
+            TimeSeriesData timeSeriesData = timeSeriesAccumulator.finish();
+            
+            // 企业级功能
+            JVMArguments jvmArgs = jvmArgsCollector.finish();
+            TenuringSummary tenuringSummary = tenuringCollector.finish();
+            Map<String, GCCause> gcCauses = gcCauseAccumulator.finish();
+            SafePointStats safePointStats = safePointCollector.finish();
+            StringDeduplicationStats stringDedup = stringDedupCollector.finish();
+            
+            // ZGC特定功能
+            ZGCInitConfig zgcInitConfig = zgcInitConfigCollector != null ? zgcInitConfigCollector.finish() : null;
+            ZGCStatistics zgcStatistics = zgcStatisticsCollector != null ? zgcStatisticsCollector.finish() : null;
+            
+            // G1特定功能
+            G1PhaseStatistics g1PhaseStatistics = g1PhaseCollector != null ? g1PhaseCollector.finish() : null;
+            G1CycleStatistics g1CycleStatistics = g1CycleCollector != null ? g1CycleCollector.finish() : null;
+            
+            return GCPulseResult.builder()
+                    .fileName(fileName)
+                    .fileSize(fileSize)
+                    .collectorType(collectorType)
+                    .detection(detection)
+                    .memorySize(memorySize)
+                    .kpiMetrics(kpiMetrics)
+                    .gcEvents(gcEvents)
+                    .eventCount(gcEvents.size())
+                    .phaseStatistics(phaseStats)
+                    .gcTypeStatistics(gcTypeStats)
+                    .objectStats(objectStats)
+                    .cpuStats(cpuStats)
+                    .pauseDurationDistribution(pauseDist)
+                    .diagnosisReport(diagnosisReport)
+                    .timeSeriesData(timeSeriesData)
+                    // 企业级功能
+                    .jvmArguments(jvmArgs)
+                    .tenuringSummary(tenuringSummary)
+                    .gcCauses(gcCauses)
+                    .safePointStats(safePointStats)
+                    .stringDedup(stringDedup)
+                    // ZGC特定功能
+                    .zgcInitConfig(zgcInitConfig)
+                    .zgcStatistics(zgcStatistics)
+                    // G1特定功能
+                    .g1PhaseStatistics(g1PhaseStatistics)
+                    .g1CycleStatistics(g1CycleStatistics)
                     .build();
         }
+    }
+    
+    /**
+     * ZGC堆信息汇总（Max Capacity、Metaspace、Allocated/Reclaimed）
+     */
+    private static class ZGCHeapInfo {
+        long maxCapacity;
+        long metaspaceUsed;
+        long metaspaceCommitted;
+        long totalAllocated;
+        long totalReclaimed;
+    }
+    
+    /**
+     * 创建ZGC堆信息收集器
+     */
+    private LogLineCollector<ZGCHeapInfo> newZGCHeapInfoCollector() {
+        return new ZGCHeapInfoCollector();
+    }
+    
+    /**
+     * ZGC堆信息收集器，只处理带GC ID的 [gc,heap] 和 [gc,metaspace] 行
+     */
+    private static class ZGCHeapInfoCollector implements LogLineCollector<ZGCHeapInfo> {
+        private final ZGCHeapInfo info = new ZGCHeapInfo();
+        
+        private final Matcher capMatcher = ZGC_MAX_CAPACITY_PATTERN.matcher("");
+        private final Matcher metaMatcher = ZGC_METASPACE_PATTERN.matcher("");
+        private final Matcher allocMatcher = ZGC_ALLOCATED_PATTERN.matcher("");
+        private final Matcher reclaimedMatcher = ZGC_RECLAIMED_PATTERN.matcher("");
+        private final UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,heap", this::handleHeap)
+                .on("gc,metaspace", this::handleMetaspace);
+        
+        @Override
+        public void accept(String line) {
+            UnifiedLogDecorations decorations = dispatcher.decorations();
+            if (decorations.parse(line) && decorations.hasGcId()) {
+                dispatcher.dispatch(decorations);
+            }
+        }
         
-        double totalPauseTime = 0.0;
-        double totalConcurrentTime = 0.0;
-        double maxPauseTime = 0.0;
-        double minPauseTime = Double.MAX_VALUE;
+        private void handleMetaspace(UnifiedLogDecorations decorations) {
+            if (decorations.lookingAt(metaMatcher)) {
+                info.metaspaceUsed = Math.max(info.metaspaceUsed, Long.parseLong(metaMatcher.group(1)) * 1024 * 1024);
+                info.metaspaceCommitted = Math.max(info.metaspaceCommitted, Long.parseLong(metaMatcher.group(2)) * 1024 * 1024);
+            }
+        }
         
-        for (GCEvent event : events) {
-            totalPauseTime += event.getPauseTime();
-            totalConcurrentTime += event.getConcurrentTime();
-            maxPauseTime = Math.max(maxPauseTime, event.getPauseTime());
-            if (event.getPauseTime() > 0) {
-                minPauseTime = Math.min(minPauseTime, event.getPauseTime());
+        // ZGC heap info表格格式:
+        // [gc,heap] GC(0) Allocated:         -           12M (0%)          16M (0%)          23M (0%)             -                  -
+        // [gc,heap] GC(0) Reclaimed:         -            -                4M (0%)          425M (8%)            -                  -
+        // 我们需要提取最后一个阶段(Relocate End)的值
+        private void handleHeap(UnifiedLogDecorations decorations) {
+            if (decorations.messageStartsWith("Max Capacity:")) {
+                if (info.maxCapacity == 0 && decorations.lookingAt(capMatcher)) {
+                    info.maxCapacity = Long.parseLong(capMatcher.group(1)) * 1024 * 1024;
+                }
+            } else if (decorations.messageStartsWith("Allocated:")) {
+                if (decorations.lookingAt(allocMatcher)) {
+                    // 使用Relocate End的值（第3个值）
+                    info.totalAllocated += Long.parseLong(allocMatcher.group(3)) * 1024 * 1024;
+                }
+            } else if (decorations.messageStartsWith("Reclaimed:")) {
+                if (decorations.lookingAt(reclaimedMatcher)) {
+                    // 使用Relocate End的值（第2个值）
+                    info.totalReclaimed += Long.parseLong(reclaimedMatcher.group(2)) * 1024 * 1024;
+                }
             }
         }
         
-        long totalRunTime = events.get(events.size() - 1).getTimestamp();
-        double avgPauseTime = totalPauseTime / events.size();
+        @Override
+        public void merge(LogLineCollector<ZGCHeapInfo> next) {
+            ZGCHeapInfo other = ((ZGCHeapInfoCollector) next).info;
+            if (info.maxCapacity == 0) {
+                info.maxCapacity = other.maxCapacity;
+            }
+            info.metaspaceUsed = Math.max(info.metaspaceUsed, other.metaspaceUsed);
+            info.metaspaceCommitted = Math.max(info.metaspaceCommitted, other.metaspaceCommitted);
+            info.totalAllocated += other.totalAllocated;
+            info.totalReclaimed += other.totalReclaimed;
+        }
         
-        // 计算标准差
-        double variance = 0.0;
-        for (GCEvent event : events) {
-            variance += Math.pow(event.getPauseTime() - avgPauseTime, 2);
+        @Override
+        public ZGCHeapInfo finish() {
+            return info;
         }
-        double stdDev = Math.sqrt(variance / events.size());
+    }
+    
+    // ========== 事件统计：所有累加器共用一遍扫描 ==========
+    
+    /**
+     * 计算内存大小
+     */
+    private static class MemorySizeAccumulator implements EventAccumulator<MemorySize> {
+        private final ZGCHeapInfo zgcHeapInfo;
+        private long maxHeap;
+        private long peakHeap;
         
-        // 吞吐量 = (总运行时间 - 总暂停时间) / 总运行时间
-        double throughput = totalRunTime > 0 ? 
-                ((totalRunTime - totalPauseTime) / totalRunTime) * 100 : 0.0;
+        MemorySizeAccumulator(ZGCHeapInfo zgcHeapInfo) {
+            this.zgcHeapInfo = zgcHeapInfo;
+        }
         
-        KPIMetrics.LatencyMetrics latency = KPIMetrics.LatencyMetrics.builder()
-                .avgPauseTime(avgPauseTime)
-                .maxPauseTime(maxPauseTime)
-                .minPauseTime(minPauseTime == Double.MAX_VALUE ? 0 : minPauseTime)
-                .stdDevPauseTime(stdDev)
-                .build();
+        @Override
+        public void accept(GCEventStore events, int i) {
+            if (events.hasMemory(Region.HEAP, i)) {
+                maxHeap = Math.max(maxHeap, events.total(Region.HEAP, i));
+                peakHeap = Math.max(peakHeap, events.before(Region.HEAP, i));
+            }
+        }
         
-        KPIMetrics.ConcurrentTimeMetrics concurrentTime = KPIMetrics.ConcurrentTimeMetrics.builder()
-                .totalTime((long) totalConcurrentTime)
-                .avgTime(totalConcurrentTime / events.size())
-                .maxTime(events.stream().mapToDouble(GCEvent::getConcurrentTime).max().orElse(0.0))
-                .minTime(events.stream().mapToDouble(GCEvent::getConcurrentTime).min().orElse(0.0))
-                .build();
+        @Override
+        public MemorySize finish() {
+            long maxHeap = this.maxHeap;
+            long peakHeap = this.peakHeap;
+            long metaspaceAllocated = 210L * 1024 * 1024;
+            long metaspacePeak = 208L * 1024 * 1024;
+            
+            // 对于ZGC，使用日志中准确的容量信息
+            if (zgcHeapInfo != null) {
+                if (maxHeap == 0) {
+                    maxHeap = zgcHeapInfo.maxCapacity;
+                }
+                metaspacePeak = Math.max(metaspacePeak, zgcHeapInfo.metaspaceUsed);
+                metaspaceAllocated = Math.max(metaspaceAllocated, zgcHeapInfo.metaspaceCommitted);
+            }
+            
+            // 默认值（如果日志中没有足够信息）
+            if (maxHeap == 0) {
+                maxHeap = 10L * 1024 * 1024 * 1024; // 10GB
+            }
+            if (peakHeap == 0) {
+                peakHeap = (long) (maxHeap * 0.8);
+            }
+            
+            MemorySize.MemoryRegion heap = MemorySize.MemoryRegion.builder()
+                    .allocated(maxHeap)
+                    .peak(peakHeap)
+                    .build();
+            
+            MemorySize.MemoryRegion metaspace = MemorySize.MemoryRegion.builder()
+                    .allocated(metaspaceAllocated)
+                    .peak(metaspacePeak)
+                    .build();
+            
+            MemorySize.MemoryRegion total = MemorySize.MemoryRegion.builder()
+                    .allocated(heap.getAllocated() + metaspace.getAllocated())
+                    .peak(heap.getPeak() + metaspace.getPeak())
+                    .build();
+            
+            return MemorySize.builder()
+                    .heap(heap)
+                    .metaspace(metaspace)
+                    .total(total)
+                    .build();
+        }
+    }
+    
+    /**
+     * 计算KPI指标
+     */
+    private static class KPIAccumulator implements EventAccumulator<KPIMetrics> {
+        private final RunningStats pauseStats = new RunningStats();
+        private final RunningStats concurrentStats = new RunningStats();
+        // 分位数只统计真正发生暂停的事件
+        private final PauseTimeHistogram pauseHistogram = new PauseTimeHistogram();
+        // 吞吐量沿用顺序累加的总暂停时间
+        private double totalPauseTime;
+        private double totalConcurrentTime;
+        private double minPositivePauseTime = Double.MAX_VALUE;
+        private long lastTimestamp;
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            double pauseTime = events.pauseTime(i);
+            double concurrentTime = events.concurrentTime(i);
+            pauseStats.add(pauseTime);
+            concurrentStats.add(concurrentTime);
+            totalPauseTime += pauseTime;
+            totalConcurrentTime += concurrentTime;
+            if (pauseTime > 0) {
+                minPositivePauseTime = Math.min(minPositivePauseTime, pauseTime);
+                pauseHistogram.add(pauseTime);
+            }
+            lastTimestamp = events.timestamp(i);
+        }
         
-        return KPIMetrics.builder()
-                .throughput(throughput)
-                .latency(latency)
-                .concurrentTime(concurrentTime)
-                .build();
+        @Override
+        public KPIMetrics finish() {
+            long count = pauseStats.count();
+            if (count == 0) {
+                return KPIMetrics.builder()
+                        .throughput(0.0)
+                        .latency(KPIMetrics.LatencyMetrics.builder().build())
+                        .build();
+            }
+            
+            long totalRunTime = lastTimestamp;
+            double avgPauseTime = totalPauseTime / count;
+            
+            // 吞吐量 = (总运行时间 - 总暂停时间) / 总运行时间
+            double throughput = totalRunTime > 0 ? 
+                    ((totalRunTime - totalPauseTime) / totalRunTime) * 100 : 0.0;
+            
+            KPIMetrics.LatencyMetrics latency = KPIMetrics.LatencyMetrics.builder()
+                    .avgPauseTime(avgPauseTime)
+                    .maxPauseTime(Math.max(0.0, pauseStats.max()))
+                    .minPauseTime(minPositivePauseTime == Double.MAX_VALUE ? 0 : minPositivePauseTime)
+                    .stdDevPauseTime(pauseStats.stdDev())
+                    .percentiles(pauseHistogram.toPercentiles())
+                    .build();
+            
+            KPIMetrics.ConcurrentTimeMetrics concurrentTime = KPIMetrics.ConcurrentTimeMetrics.builder()
+                    .totalTime((long) totalConcurrentTime)
+                    .avgTime(totalConcurrentTime / count)
+                    .maxTime(concurrentStats.max())
+                    .minTime(concurrentStats.min())
+                    .build();
+            
+            return KPIMetrics.builder()
+                    .throughput(throughput)
+                    .latency(latency)
+                    .concurrentTime(concurrentTime)
+                    .build();
+        }
     }
     
     /**
      * 计算对象统计
      */
-    private ObjectStats calculateObjectStats(List<GCEvent> events, List<String> lines, String collectorType) {
-        long totalCreated = 0;
-        long totalPromoted = 0;
-        long totalReclaimed = 0;
+    private static class ObjectStatsAccumulator implements EventAccumulator<ObjectStats> {
+        private final ZGCHeapInfo zgcHeapInfo;
+        private long totalCreated;
+        private long totalPromoted;
+        private long totalReclaimed;
+        private int count;
+        private long firstTimestamp;
+        private long lastTimestamp;
+        
+        ObjectStatsAccumulator(ZGCHeapInfo zgcHeapInfo) {
+            this.zgcHeapInfo = zgcHeapInfo;
+        }
         
-        // 从事件中提取统计数据
-        for (GCEvent event : events) {
-            if (event.getHeapMemory() != null) {
-                long reclaimed = event.getHeapMemory().getReclaimed();
+        @Override
+        public void accept(GCEventStore events, int i) {
+            if (count++ == 0) {
+                firstTimestamp = events.timestamp(i);
+            }
+            lastTimestamp = events.timestamp(i);
+            
+            if (events.hasMemory(Region.HEAP, i)) {
+                long reclaimed = events.reclaimed(Region.HEAP, i);
                 if (reclaimed > 0) {
                     totalReclaimed += reclaimed;
                 }
             }
             
-            if (event.getYoungGen() != null && !event.isFullGC()) {
-                long youngBefore = event.getYoungGen().getBefore();
+            if (events.hasMemory(Region.YOUNG, i) && !events.isFullGC(i)) {
+                long youngBefore = events.before(Region.YOUNG, i);
                 if (youngBefore > 0) {
                     totalCreated += youngBefore;
                 }
             }
             
-            if (event.getOldGen() != null) {
-                long oldBefore = event.getOldGen().getBefore();
-                long oldAfter = event.getOldGen().getAfter();
-                long promoted = oldAfter - oldBefore;
+            if (events.hasMemory(Region.OLD, i)) {
+                long promoted = events.after(Region.OLD, i) - events.before(Region.OLD, i);
                 if (promoted > 0) {
                     totalPromoted += promoted;
                 }
             }
         }
         
-        // 对于ZGC，从日志中提取额外的信息
-        if ("ZGC".equals(collectorType)) {
-            // ZGC heap info表格格式:
-            // [gc,heap] GC(0) Allocated:         -           12M (0%)          16M (0%)          23M (0%)             -                  -
-            // [gc,heap] GC(0) Reclaimed:         -            -                4M (0%)          425M (8%)            -                  -
-            // 我们需要提取最后一个阶段(Relocate End)的值
-            Pattern allocPattern = Pattern.compile("\\[gc,heap\\s*\\]\\s*GC\\(\\d+\\)\\s+Allocated:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
-            Pattern reclaimedPattern = Pattern.compile("\\[gc,heap\\s*\\]\\s*GC\\(\\d+\\)\\s+Reclaimed:\\s+-\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+        @Override
+        public ObjectStats finish() {
+            long totalCreated = this.totalCreated;
+            long totalReclaimed = this.totalReclaimed;
             
-            for (String line : lines) {
-                Matcher allocMatcher = allocPattern.matcher(line);
-                if (allocMatcher.find()) {
-                    // 使用Relocate End的值（第3个值）
-                    long allocated = Long.parseLong(allocMatcher.group(3)) * 1024 * 1024;
-                    totalCreated += allocated;
-                }
-                
-                Matcher reclaimedMatcher = reclaimedPattern.matcher(line);
-                if (reclaimedMatcher.find()) {
-                    // 使用Relocate End的值（第2个值）
-                    long reclaimed = Long.parseLong(reclaimedMatcher.group(2)) * 1024 * 1024;
-                    totalReclaimed += reclaimed;
-                }
+            // 对于ZGC，使用日志中提取的额外信息
+            if (zgcHeapInfo != null) {
+                totalCreated += zgcHeapInfo.totalAllocated;
+                totalReclaimed += zgcHeapInfo.totalReclaimed;
             }
+            
+            long totalTime = count == 0 ? 1 : lastTimestamp - firstTimestamp;
+            
+            double avgCreationRate = totalTime > 0 ? 
+                    (totalCreated / 1024.0 / 1024.0) / (totalTime / 1000.0) : 0.0;
+            
+            double avgPromotionRate = totalTime > 0 ? 
+                    (totalPromoted / 1024.0 / 1024.0) / (totalTime / 1000.0) : 0.0;
+            
+            return ObjectStats.builder()
+                    .totalCreatedBytes(totalCreated)
+                    .totalPromotedBytes(totalPromoted)
+                    .totalReclaimedBytes(totalReclaimed)
+                    .avgCreationRate(avgCreationRate)
+                    .avgPromotionRate(avgPromotionRate)
+                    .build();
         }
-        
-        long totalTime = events.isEmpty() ? 1 : 
-                events.get(events.size() - 1).getTimestamp() - events.get(0).getTimestamp();
-        
-        double avgCreationRate = totalTime > 0 ? 
-                (totalCreated / 1024.0 / 1024.0) / (totalTime / 1000.0) : 0.0;
-        
-        double avgPromotionRate = totalTime > 0 ? 
-                (totalPromoted / 1024.0 / 1024.0) / (totalTime / 1000.0) : 0.0;
-        
-        return ObjectStats.builder()
-                .totalCreatedBytes(totalCreated)
-                .totalPromotedBytes(totalPromoted)
-                .totalReclaimedBytes(totalReclaimed)
-                .avgCreationRate(avgCreationRate)
-                .avgPromotionRate(avgPromotionRate)
-                .build();
-    }
-    
-    /**
-     * 解析CPU统计
-     */
-    private CPUStats parseCPUStats(List<String> lines) {
-        return CPUStats.builder()
-                .cpuTime(null)
-                .userTime(null)
-                .sysTime(null)
-                .build();
     }
     
     /**
      * 计算暂停时间分布
      */
-    private PauseDurationDistribution calculatePauseDuration(List<GCEvent> events) {
-        List<PauseDurationDistribution.DurationRange> ranges = new ArrayList<>();
-        
-        double[][] rangeDefinitions = {
+    private static class PauseDurationAccumulator implements EventAccumulator<PauseDurationDistribution> {
+        private static final double[][] RANGE_DEFINITIONS = {
             {0, 0.1},
             {0.1, 0.2},
             {0.2, 1.0},
@@ -373,154 +1034,520 @@ public class GCLogParser {
             {100.0, Double.MAX_VALUE}
         };
         
-        int[] counts = new int[rangeDefinitions.length];
+        private final int[] counts = new int[RANGE_DEFINITIONS.length];
+        private int totalCount;
         
-        for (GCEvent event : events) {
-            double pauseTime = event.getPauseTime();
-            for (int i = 0; i < rangeDefinitions.length; i++) {
-                if (pauseTime >= rangeDefinitions[i][0] && pauseTime < rangeDefinitions[i][1]) {
+        @Override
+        public void accept(GCEventStore events, int e) {
+            totalCount++;
+            double pauseTime = events.pauseTime(e);
+            for (int i = 0; i < RANGE_DEFINITIONS.length; i++) {
+                if (pauseTime >= RANGE_DEFINITIONS[i][0] && pauseTime < RANGE_DEFINITIONS[i][1]) {
                     counts[i]++;
                     break;
                 }
             }
         }
         
-        int totalCount = events.size();
-        for (int i = 0; i < rangeDefinitions.length; i++) {
-            String label = String.format("%.1f - %.1f ms", 
-                    rangeDefinitions[i][0], 
-                    Math.min(rangeDefinitions[i][1], 1000.0));
-            
-            double percentage = totalCount > 0 ? (counts[i] * 100.0 / totalCount) : 0.0;
+        @Override
+        public PauseDurationDistribution finish() {
+            List<PauseDurationDistribution.DurationRange> ranges = new ArrayList<>();
+            for (int i = 0; i < RANGE_DEFINITIONS.length; i++) {
+                String label = String.format("%.1f - %.1f ms", 
+                        RANGE_DEFINITIONS[i][0], 
+                        Math.min(RANGE_DEFINITIONS[i][1], 1000.0));
+                
+                double percentage = totalCount > 0 ? (counts[i] * 100.0 / totalCount) : 0.0;
+                
+                ranges.add(PauseDurationDistribution.DurationRange.builder()
+                        .rangeLabel(label)
+                        .minDuration(RANGE_DEFINITIONS[i][0])
+                        .maxDuration(RANGE_DEFINITIONS[i][1])
+                        .count(counts[i])
+                        .percentage(percentage)
+                        .build());
+            }
             
-            ranges.add(PauseDurationDistribution.DurationRange.builder()
-                    .rangeLabel(label)
-                    .minDuration(rangeDefinitions[i][0])
-                    .maxDuration(rangeDefinitions[i][1])
-                    .count(counts[i])
-                    .percentage(percentage)
-                    .build());
+            return PauseDurationDistribution.builder()
+                    .ranges(ranges)
+                    .build();
         }
-        
-        return PauseDurationDistribution.builder()
-                .ranges(ranges)
-                .build();
     }
     
     /**
      * 生成时间序列数据
+     * 只统计 [from, to] 时间范围内的事件，每条序列在接收事件的同时按 maxPoints 降采样
      */
-    private TimeSeriesData generateTimeSeriesData(List<GCEvent> events) {
-        List<TimeSeriesData.DataPoint> heapAfterTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> heapBeforeTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> pauseTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> reclaimedTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> youngGenTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> oldGenTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> allocationTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> promotionTrend = new ArrayList<>();
-        List<TimeSeriesData.DataPoint> metaspaceTrend = new ArrayList<>();
-        
-        if (events.isEmpty()) {
+    private static class TimeSeriesAccumulator implements EventAccumulator<TimeSeriesData> {
+        private static final double MB = 1024.0 * 1024.0;
+        
+        private final long from;
+        private final long to;
+        private final boolean downsampled;
+        private final TimeSeriesDownsampler heapAfterTrend;
+        private final TimeSeriesDownsampler heapBeforeTrend;
+        private final TimeSeriesDownsampler pauseTrend;
+        private final TimeSeriesDownsampler reclaimedTrend;
+        private final TimeSeriesDownsampler youngGenTrend;
+        private final TimeSeriesDownsampler oldGenTrend;
+        private final TimeSeriesDownsampler allocationTrend;
+        private final TimeSeriesDownsampler promotionTrend;
+        private final TimeSeriesDownsampler metaspaceTrend;
+        
+        /**
+         * @param maxPoints 每条序列的目标点数，范围内事件数不超过该值（或不大于 0）时保留全部数据点
+         */
+        TimeSeriesAccumulator(GCEventStore events, long from, long to, int maxPoints) {
+            // 范围内实际的事件数和首尾时间（据此划分降采样的桶）取自存储维护的时间戳边界，
+            // 范围覆盖全部事件时直接使用，时间戳有序时二分查找，只有无序时才扫描时间戳列
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            int count = 0;
+            if (from <= events.minTimestamp() && to >= events.maxTimestamp()) {
+                first = events.minTimestamp();
+                last = events.maxTimestamp();
+                count = events.size();
+            } else if (events.isSortedByTimestamp()) {
+                int start = events.indexOfTimestamp(from);
+                int end = to == Long.MAX_VALUE ? events.size() : events.indexOfTimestamp(to + 1);
+                if (end > start) {
+                    first = events.timestamp(start);
+                    last = events.timestamp(end - 1);
+                    count = end - start;
+                }
+            } else {
+                for (int i = 0; i < events.size(); i++) {
+                    long timestamp = events.timestamp(i);
+                    if (timestamp >= from && timestamp <= to) {
+                        first = Math.min(first, timestamp);
+                        last = Math.max(last, timestamp);
+                        count++;
+                    }
+                }
+            }
+            this.from = from;
+            this.to = to;
+            this.downsampled = maxPoints > 0 && count > maxPoints;
+            int target = downsampled ? maxPoints : 0;
+            heapAfterTrend = new TimeSeriesDownsampler(first, last, target);
+            heapBeforeTrend = new TimeSeriesDownsampler(first, last, target);
+            pauseTrend = new TimeSeriesDownsampler(first, last, target);
+            reclaimedTrend = new TimeSeriesDownsampler(first, last, target);
+            youngGenTrend = new TimeSeriesDownsampler(first, last, target);
+            oldGenTrend = new TimeSeriesDownsampler(first, last, target);
+            allocationTrend = new TimeSeriesDownsampler(first, last, target);
+            promotionTrend = new TimeSeriesDownsampler(first, last, target);
+            metaspaceTrend = new TimeSeriesDownsampler(first, last, target);
+        }
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            long timestamp = events.timestamp(i);
+            if (timestamp < from || timestamp > to) {
+                return;
+            }
+            
+            if (events.hasMemory(Region.HEAP, i)) {
+                heapAfterTrend.add(timestamp, events.after(Region.HEAP, i) / MB);
+                heapBeforeTrend.add(timestamp, events.before(Region.HEAP, i) / MB);
+                reclaimedTrend.add(timestamp, events.reclaimed(Region.HEAP, i) / MB);
+            }
+            
+            pauseTrend.add(timestamp, events.pauseTime(i));
+            
+            if (events.hasMemory(Region.YOUNG, i)) {
+                youngGenTrend.add(timestamp, events.after(Region.YOUNG, i) / MB);
+                allocationTrend.add(timestamp, events.before(Region.YOUNG, i) / MB);
+            }
+            
+            if (events.hasMemory(Region.OLD, i)) {
+                long oldBefore = events.before(Region.OLD, i);
+                long oldAfter = events.after(Region.OLD, i);
+                oldGenTrend.add(timestamp, oldAfter / MB);
+                if (oldAfter > oldBefore) {
+                    promotionTrend.add(timestamp, (oldAfter - oldBefore) / MB);
+                }
+            }
+            
+            if (events.hasMemory(Region.METASPACE, i)) {
+                metaspaceTrend.add(timestamp, events.after(Region.METASPACE, i) / MB);
+            }
+        }
+        
+        @Override
+        public TimeSeriesData finish() {
             return TimeSeriesData.builder()
-                    .heapUsageTrend(heapAfterTrend)
-                    .heapBeforeGCTrend(heapBeforeTrend)
-                    .pauseTimeTrend(pauseTrend)
-                    .reclaimedBytesTrend(reclaimedTrend)
-                    .youngGenTrend(youngGenTrend)
-                    .oldGenTrend(oldGenTrend)
-                    .allocationTrend(allocationTrend)
-                    .promotionTrend(promotionTrend)
-                    .metaspaceTrend(metaspaceTrend)
+                    .heapUsageTrend(heapAfterTrend.finish())
+                    .heapBeforeGCTrend(heapBeforeTrend.finish())
+                    .pauseTimeTrend(pauseTrend.finish())
+                    .reclaimedBytesTrend(reclaimedTrend.finish())
+                    .youngGenTrend(youngGenTrend.finish())
+                    .oldGenTrend(oldGenTrend.finish())
+                    .allocationTrend(allocationTrend.finish())
+                    .promotionTrend(promotionTrend.finish())
+                    .metaspaceTrend(metaspaceTrend.finish())
+                    .downsampled(downsampled)
                     .build();
         }
+    }
+    
+    /**
+     * 计算 GC 原因统计
+     */
+    private class GCCauseAccumulator implements EventAccumulator<Map<String, GCCause>> {
+        private final Map<String, RunningStats> causeStats = new HashMap<>();
+        private final Map<String, PauseTimeHistogram> causeHistograms = new HashMap<>();
+        // 未记录原因时从事件类型推断，按事件类型缓存推断结果
+        private final Map<String, String> inferredCauses = new HashMap<>();
+        private final RunningStats totalStats = new RunningStats();
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            String cause = events.gcCause(i);
+            if (cause == null || cause.isEmpty() || "Unknown".equals(cause)) {
+                cause = inferredCauses.computeIfAbsent(events.eventType(i), GCLogParser.this::extractGCCause);
+            }
+            double pauseTime = events.pauseTime(i);
+            causeStats.computeIfAbsent(cause, k -> new RunningStats()).add(pauseTime);
+            causeHistograms.computeIfAbsent(cause, k -> new PauseTimeHistogram()).add(pauseTime);
+            totalStats.add(pauseTime);
+        }
         
-        for (GCEvent event : events) {
-            long timestamp = event.getTimestamp();
+        @Override
+        public Map<String, GCCause> finish() {
+            Map<String, GCCause> causes = new HashMap<>();
+            double totalGCTime = totalStats.sum();
             
-            if (event.getHeapMemory() != null) {
-                heapAfterTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getHeapMemory().getAfter() / (1024.0 * 1024.0))
-                        .build());
+            for (Map.Entry<String, RunningStats> entry : causeStats.entrySet()) {
+                String cause = entry.getKey();
+                RunningStats times = entry.getValue();
+                double totalTime = times.sum();
+                double percentage = totalGCTime > 0 ? (totalTime / totalGCTime) * 100.0 : 0.0;
                 
-                heapBeforeTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getHeapMemory().getBefore() / (1024.0 * 1024.0))
+                causes.put(cause, GCCause.builder()
+                        .cause(cause)
+                        .count((int) times.count())
+                        .avgTime(times.average())
+                        .maxTime(times.max())
+                        .minTime(times.min())
+                        .totalTime(totalTime)
+                        .percentage(percentage)
+                        .percentiles(causeHistograms.get(cause).toPercentiles())
                         .build());
+            }
+            
+            return causes;
+        }
+    }
+    
+    /**
+     * 增强的阶段统计（包含标准差），按事件类型分组
+     */
+    private static class PhaseStatisticsAccumulator implements EventAccumulator<Map<String, PhaseStatistics>> {
+        private final Map<String, RunningStats> phaseStats = new HashMap<>();
+        private final Map<String, PauseTimeHistogram> phaseHistograms = new HashMap<>();
+        // 按事件类型的字典编码直接定位分组，末尾一格对应没有事件类型的事件
+        private final RunningStats[] statsByCode;
+        private final PauseTimeHistogram[] histogramsByCode;
+        
+        PhaseStatisticsAccumulator(GCEventStore events) {
+            this.statsByCode = new RunningStats[events.dictionarySize() + 1];
+            this.histogramsByCode = new PauseTimeHistogram[statsByCode.length];
+        }
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            int code = events.eventTypeCode(i);
+            int slot = code < 0 ? statsByCode.length - 1 : code;
+            RunningStats stats = statsByCode[slot];
+            if (stats == null) {
+                String phaseName = events.eventType(i);
+                stats = phaseStats.computeIfAbsent(phaseName, k -> new RunningStats());
+                statsByCode[slot] = stats;
+                histogramsByCode[slot] = phaseHistograms.computeIfAbsent(phaseName, k -> new PauseTimeHistogram());
+            }
+            double pauseTime = events.pauseTime(i);
+            stats.add(pauseTime);
+            histogramsByCode[slot].add(pauseTime);
+        }
+        
+        @Override
+        public Map<String, PhaseStatistics> finish() {
+            Map<String, PhaseStatistics> stats = new HashMap<>();
+            for (Map.Entry<String, RunningStats> entry : phaseStats.entrySet()) {
+                String phaseName = entry.getKey();
+                RunningStats times = entry.getValue();
                 
-                reclaimedTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getHeapMemory().getReclaimed() / (1024.0 * 1024.0))
+                stats.put(phaseName, PhaseStatistics.builder()
+                        .phaseName(phaseName)
+                        .totalTime((long) times.sum())
+                        .avgTime(times.average())
+                        .maxTime(times.max())
+                        .minTime(times.min())
+                        .stdDevTime(times.stdDev())
+                        .count((int) times.count())
+                        .percentiles(phaseHistograms.get(phaseName).toPercentiles())
                         .build());
             }
+            return stats;
+        }
+    }
+    
+    /**
+     * 按 GC 类型分类的暂停统计
+     * 分类与前端原先按事件过滤的规则一致：Young 为非 Full GC、类型含 young 且不含 mixed（第一个事件为 ZGC 周期时
+     * 所有 ZGC 事件都算作 Young），Mixed 为类型含 mixed（G1 的 Prepare Mixed 除外），Full 为 Full GC 标记，CMS 为类型含 CMS 或 ParNew
+     */
+    private static class GCTypeStatisticsAccumulator implements EventAccumulator<Map<String, GCTypeStatistics>> {
+        private static final int YOUNG = 1;
+        private static final int MIXED = 1 << 1;
+        private static final int CMS = 1 << 2;
+        private static final int UNKNOWN = -1;
+        
+        private final TypeStats total = new TypeStats();
+        private final TypeStats young = new TypeStats();
+        private final TypeStats mixed = new TypeStats();
+        private final TypeStats full = new TypeStats();
+        private final TypeStats cms = new TypeStats();
+        // 按事件类型的字典编码缓存分类，末尾一格对应没有事件类型的事件
+        private final int[] categoriesByCode;
+        private Boolean zgc;
+        
+        GCTypeStatisticsAccumulator(GCEventStore events) {
+            this.categoriesByCode = new int[events.dictionarySize() + 1];
+            Arrays.fill(categoriesByCode, UNKNOWN);
+        }
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            if (zgc == null) {
+                String eventType = events.eventType(i);
+                zgc = eventType != null && eventType.contains("ZGC");
+            }
+            int code = events.eventTypeCode(i);
+            int slot = code < 0 ? categoriesByCode.length - 1 : code;
+            int categories = categoriesByCode[slot];
+            if (categories == UNKNOWN) {
+                categories = classify(events.eventType(i));
+                categoriesByCode[slot] = categories;
+            }
             
-            pauseTrend.add(TimeSeriesData.DataPoint.builder()
-                    .timestamp(timestamp)
-                    .value(event.getPauseTime())
-                    .build());
+            boolean fullGC = events.isFullGC(i);
+            total.add(events, i);
+            if ((categories & YOUNG) != 0 && (zgc || !fullGC)) {
+                young.add(events, i);
+            }
+            if ((categories & MIXED) != 0) {
+                mixed.add(events, i);
+            }
+            if (fullGC) {
+                full.add(events, i);
+            }
+            if ((categories & CMS) != 0) {
+                cms.add(events, i);
+            }
+        }
+        
+        private int classify(String eventType) {
+            if (eventType == null) {
+                return 0;
+            }
+            String lower = eventType.toLowerCase();
+            // G1 的 Prepare Mixed 是 Mixed 阶段之前的最后一次 Young GC
+            boolean mixed = lower.contains("mixed") && !lower.contains("prepare mixed");
+            int categories = 0;
+            if (zgc ? eventType.contains("ZGC") : lower.contains("young") && !mixed) {
+                categories |= YOUNG;
+            }
+            if (mixed) {
+                categories |= MIXED;
+            }
+            if (eventType.contains("CMS") || eventType.contains("ParNew")) {
+                categories |= CMS;
+            }
+            return categories;
+        }
+        
+        @Override
+        public Map<String, GCTypeStatistics> finish() {
+            Map<String, GCTypeStatistics> stats = new LinkedHashMap<>();
+            total.putTo(stats, GCTypeStatistics.TOTAL);
+            young.putTo(stats, GCTypeStatistics.YOUNG);
+            mixed.putTo(stats, GCTypeStatistics.MIXED);
+            full.putTo(stats, GCTypeStatistics.FULL);
+            cms.putTo(stats, GCTypeStatistics.CMS);
+            return stats;
+        }
+        
+        /**
+         * 一个分类的累计值；间隔按相邻事件时间差求和，等于末次与首次的时间差
+         */
+        private static class TypeStats {
+            final RunningStats pauseTimes = new RunningStats();
+            long reclaimedBytes;
+            long firstTimestamp;
+            long lastTimestamp;
             
-            if (event.getYoungGen() != null) {
-                youngGenTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getYoungGen().getAfter() / (1024.0 * 1024.0))
-                        .build());
-                
-                allocationTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getYoungGen().getBefore() / (1024.0 * 1024.0))
-                        .build());
+            void add(GCEventStore events, int i) {
+                long timestamp = events.timestamp(i);
+                if (pauseTimes.count() == 0) {
+                    firstTimestamp = timestamp;
+                }
+                lastTimestamp = timestamp;
+                pauseTimes.add(events.pauseTime(i));
+                if (events.hasMemory(Region.HEAP, i)) {
+                    long before = events.before(Region.HEAP, i);
+                    long after = events.after(Region.HEAP, i);
+                    // 与原先前端的计算一致：before、after 都有值时才计入
+                    if (before != 0 && after != 0) {
+                        reclaimedBytes += before - after;
+                    }
+                }
             }
             
-            if (event.getOldGen() != null) {
-                oldGenTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getOldGen().getAfter() / (1024.0 * 1024.0))
+            void putTo(Map<String, GCTypeStatistics> stats, String category) {
+                long count = pauseTimes.count();
+                if (count == 0) {
+                    return;
+                }
+                stats.put(category, GCTypeStatistics.builder()
+                        .count((int) count)
+                        .totalTime(pauseTimes.sum())
+                        .avgTime(pauseTimes.average())
+                        .stdDevTime(pauseTimes.stdDev())
+                        .minTime(pauseTimes.min())
+                        .maxTime(pauseTimes.max())
+                        .reclaimedBytes(reclaimedBytes)
+                        .avgInterval(count > 1 ? (lastTimestamp - firstTimestamp) / (double) (count - 1) : 0)
                         .build());
             }
+        }
+    }
+    
+    /**
+     * 增强的诊断（Full GC、长暂停、连续 Full GC 检测）
+     * 只为命中的事件构造 GCEvent 视图，Full GC 列表和连续序列共用同一个视图
+     */
+    private class DiagnosisAccumulator implements EventAccumulator<DiagnosisReport> {
+        private static final double LONG_PAUSE_THRESHOLD = 100.0;
+        
+        private final List<GCEvent> fullGCEvents = new ArrayList<>();
+        private final List<GCEvent> longPauseEvents = new ArrayList<>();
+        
+        private final List<DiagnosisReport.ConsecutiveFullGCInfo.ConsecutiveFullGCSequence> sequences = new ArrayList<>();
+        private int maxConsecutiveCount;
+        private List<GCEvent> currentSequence = new ArrayList<>();
+        private RunningStats currentPauses = new RunningStats();
+        
+        @Override
+        public void accept(GCEventStore events, int i) {
+            double pauseTime = events.pauseTime(i);
+            GCEvent view = null;
             
-            if (event.getOldGen() != null && event.getOldGen().getAfter() > event.getOldGen().getBefore()) {
-                promotionTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value((event.getOldGen().getAfter() - event.getOldGen().getBefore()) / (1024.0 * 1024.0))
-                        .build());
+            if (events.isFullGC(i)) {
+                view = events.get(i);
+                fullGCEvents.add(view);
+                currentSequence.add(view);
+                currentPauses.add(pauseTime);
+            } else {
+                closeSequence();
             }
             
-            if (event.getMetaspace() != null) {
-                metaspaceTrend.add(TimeSeriesData.DataPoint.builder()
-                        .timestamp(timestamp)
-                        .value(event.getMetaspace().getAfter() / (1024.0 * 1024.0))
+            if (pauseTime > LONG_PAUSE_THRESHOLD) {
+                longPauseEvents.add(view != null ? view : events.get(i));
+            }
+        }
+        
+        private void closeSequence() {
+            int currentCount = currentSequence.size();
+            if (currentCount >= 2) {
+                sequences.add(DiagnosisReport.ConsecutiveFullGCInfo.ConsecutiveFullGCSequence.builder()
+                        .count(currentCount)
+                        .startTimestamp(currentSequence.get(0).getTimestamp())
+                        .endTimestamp(currentSequence.get(currentCount - 1).getTimestamp())
+                        .totalDuration(currentPauses.sum())
+                        .events(currentSequence)
                         .build());
+                maxConsecutiveCount = Math.max(maxConsecutiveCount, currentCount);
+            }
+            if (currentCount > 0) {
+                currentSequence = new ArrayList<>();
+                currentPauses = new RunningStats();
             }
         }
         
-        return TimeSeriesData.builder()
-                .heapUsageTrend(heapAfterTrend)
-                .heapBeforeGCTrend(heapBeforeTrend)
-                .pauseTimeTrend(pauseTrend)
-                .reclaimedBytesTrend(reclaimedTrend)
-                .youngGenTrend(youngGenTrend)
-                .oldGenTrend(oldGenTrend)
-                .allocationTrend(allocationTrend)
-                .promotionTrend(promotionTrend)
-                .metaspaceTrend(metaspaceTrend)
+        @Override
+        public DiagnosisReport finish() {
+            closeSequence();
+            
+            DiagnosisReport.MemoryLeakInfo memoryLeakInfo = DiagnosisReport.MemoryLeakInfo.builder()
+                    .hasMemoryLeak(false)
+                    .description("未检测到明显的内存泄漏")
+                    .evidences(new ArrayList<>())
+                    .build();
+            
+            DiagnosisReport.FullGCInfo fullGCInfo = DiagnosisReport.FullGCInfo.builder()
+                    .count(fullGCEvents.size())
+                    .hasFullGC(!fullGCEvents.isEmpty())
+                    .fullGCEvents(fullGCEvents)
+                    .build();
+            
+            DiagnosisReport.LongPauseInfo longPauseInfo = DiagnosisReport.LongPauseInfo.builder()
+                    .count(longPauseEvents.size())
+                    .hasLongPause(!longPauseEvents.isEmpty())
+                    .threshold(LONG_PAUSE_THRESHOLD)
+                    .longPauseEvents(longPauseEvents)
+                    .build();
+            
+            DiagnosisReport.ConsecutiveFullGCInfo consecutiveFullGCInfo = DiagnosisReport.ConsecutiveFullGCInfo.builder()
+                    .hasConsecutiveFullGC(!sequences.isEmpty())
+                    .maxConsecutiveCount(maxConsecutiveCount)
+                    .sequences(sequences)
+                    .severity(determineSeverity(maxConsecutiveCount))
+                    .build();
+            
+            List<DiagnosisReport.Recommendation> recommendations = generateRecommendationsEnhanced(
+                    memoryLeakInfo, fullGCInfo, longPauseInfo, consecutiveFullGCInfo);
+            
+            return DiagnosisReport.builder()
+                    .memoryLeakInfo(memoryLeakInfo)
+                    .fullGCInfo(fullGCInfo)
+                    .longPauseInfo(longPauseInfo)
+                    .consecutiveFullGCInfo(consecutiveFullGCInfo)
+                    .safePointInfo(null)
+                    .recommendations(recommendations)
+                    .build();
+        }
+    }
+    
+    /**
+     * 解析CPU统计
+     */
+    private CPUStats parseCPUStats() {
+        return CPUStats.builder()
+                .cpuTime(null)
+                .userTime(null)
+                .sysTime(null)
                 .build();
     }
     
     /**
-     * 解析 JVM 参数
+     * 创建 JVM 参数收集器（未识别收集器类型时使用）
      */
-    private JVMArguments parseJVMArguments(List<String> lines) {
-        List<String> allArgs = new ArrayList<>();
-        List<String> gcArgs = new ArrayList<>();
-        List<String> memoryArgs = new ArrayList<>();
-        List<String> performanceArgs = new ArrayList<>();
-        List<String> otherArgs = new ArrayList<>();
-        
-        Pattern commandLinePattern = Pattern.compile("CommandLine flags:\\s*(.*)");
-        
-        for (String line : lines) {
-            Matcher matcher = commandLinePattern.matcher(line);
+    private LogLineCollector<JVMArguments> newJVMArgumentsCollector() {
+        return new CommandLineFlagsCollector();
+    }
+    
+    private class CommandLineFlagsCollector implements LogLineCollector<JVMArguments> {
+        private final List<String> allArgs = new ArrayList<>();
+        private final List<String> gcArgs = new ArrayList<>();
+        private final List<String> memoryArgs = new ArrayList<>();
+        private final List<String> performanceArgs = new ArrayList<>();
+        private final List<String> otherArgs = new ArrayList<>();
+        
+        @Override
+        public void accept(String line) {
+            Matcher matcher = COMMAND_LINE_FLAGS_PATTERN.matcher(line);
             if (matcher.find()) {
                 String flagsStr = matcher.group(1);
                 String[] flags = flagsStr.split("\\s+-");
@@ -542,13 +1569,26 @@ public class GCLogParser {
             }
         }
         
-        return JVMArguments.builder()
-                .allArguments(allArgs)
-                .gcArguments(gcArgs)
-                .memoryArguments(memoryArgs)
-                .performanceArguments(performanceArgs)
-                .otherArguments(otherArgs)
-                .build();
+        @Override
+        public void merge(LogLineCollector<JVMArguments> next) {
+            CommandLineFlagsCollector other = (CommandLineFlagsCollector) next;
+            allArgs.addAll(other.allArgs);
+            gcArgs.addAll(other.gcArgs);
+            memoryArgs.addAll(other.memoryArgs);
+            performanceArgs.addAll(other.performanceArgs);
+            otherArgs.addAll(other.otherArgs);
+        }
+        
+        @Override
+        public JVMArguments finish() {
+            return JVMArguments.builder()
+                    .allArguments(allArgs)
+                    .gcArguments(gcArgs)
+                    .memoryArguments(memoryArgs)
+                    .performanceArguments(performanceArgs)
+                    .otherArguments(otherArgs)
+                    .build();
+        }
     }
     
     private boolean isGCArg(String arg) {
@@ -570,20 +1610,22 @@ public class GCLogParser {
     /**
      * 解析老年代晋升总结
      */
-    private TenuringSummary parseTenuringSummary(List<String> lines) {
-        Pattern thresholdPattern = Pattern.compile("Desired survivor size.*?new threshold (\\d+)");
-        Pattern agePattern = Pattern.compile("- age\\s+(\\d+):\\s+(\\d+) bytes");
-        
-        List<Integer> thresholds = new ArrayList<>();
-        Map<Integer, Long> ageDistribution = new HashMap<>();
+    private LogLineCollector<TenuringSummary> newTenuringSummaryCollector() {
+        return new TenuringSummaryCollector();
+    }
+    
+    private class TenuringSummaryCollector implements LogLineCollector<TenuringSummary> {
+        private final List<Integer> thresholds = new ArrayList<>();
+        private final Map<Integer, Long> ageDistribution = new HashMap<>();
         
-        for (String line : lines) {
-            Matcher thresholdMatcher = thresholdPattern.matcher(line);
+        @Override
+        public void accept(String line) {
+            Matcher thresholdMatcher = TENURING_THRESHOLD_PATTERN.matcher(line);
             if (thresholdMatcher.find()) {
                 thresholds.add(Integer.parseInt(thresholdMatcher.group(1)));
             }
             
-            Matcher ageMatcher = agePattern.matcher(line);
+            Matcher ageMatcher = TENURING_AGE_PATTERN.matcher(line);
             if (ageMatcher.find()) {
                 int age = Integer.parseInt(ageMatcher.group(1));
                 long bytes = Long.parseLong(ageMatcher.group(2));
@@ -591,6 +1633,20 @@ public class GCLogParser {
             }
         }
         
+        @Override
+        public void merge(LogLineCollector<TenuringSummary> next) {
+            TenuringSummaryCollector other = (TenuringSummaryCollector) next;
+            thresholds.addAll(other.thresholds);
+            other.ageDistribution.forEach((age, bytes) -> ageDistribution.merge(age, bytes, Long::sum));
+        }
+        
+        @Override
+        public TenuringSummary finish() {
+            return buildTenuringSummary(thresholds, ageDistribution);
+        }
+    }
+    
+    private TenuringSummary buildTenuringSummary(List<Integer> thresholds, Map<Integer, Long> ageDistribution) {
         if (thresholds.isEmpty() && ageDistribution.isEmpty()) {
             return null;
         }
@@ -611,49 +1667,6 @@ public class GCLogParser {
                 .build();
     }
     
-    /**
-     * 计算 GC 原因统计
-     */
-    private Map<String, GCCause> calculateGCCauses(List<GCEvent> events) {
-        Map<String, GCCause> causes = new HashMap<>();
-        Map<String, List<Double>> causeTimesMap = new HashMap<>();
-        
-        for (GCEvent event : events) {
-            String cause = event.getGcCause();
-            if (cause == null || cause.isEmpty() || "Unknown".equals(cause)) {
-                cause = extractGCCause(event.getEventType());
-            }
-            causeTimesMap.computeIfAbsent(cause, k -> new ArrayList<>()).add(event.getPauseTime());
-        }
-        
-        double totalGCTime = events.stream().mapToDouble(GCEvent::getPauseTime).sum();
-        
-        for (Map.Entry<String, List<Double>> entry : causeTimesMap.entrySet()) {
-            String cause = entry.getKey();
-            List<Double> times = entry.getValue();
-            
-            if (!times.isEmpty()) {
-                double totalTime = times.stream().mapToDouble(Double::doubleValue).sum();
-                double avgTime = totalTime / times.size();
-                double maxTime = times.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-                double minTime = times.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-                double percentage = totalGCTime > 0 ? (totalTime / totalGCTime) * 100.0 : 0.0;
-                
-                causes.put(cause, GCCause.builder()
-                        .cause(cause)
-                        .count(times.size())
-                        .avgTime(avgTime)
-                        .maxTime(maxTime)
-                        .minTime(minTime)
-                        .totalTime(totalTime)
-                        .percentage(percentage)
-                        .build());
-            }
-        }
-        
-        return causes;
-    }
-    
     private String extractGCCause(String eventType) {
         if (eventType.contains("Allocation Failure")) {
             return "Allocation Failure";
@@ -679,25 +1692,41 @@ public class GCLogParser {
     /**
      * 解析安全点统计
      */
-    private SafePointStats parseSafePointStats(List<String> lines) {
-        Pattern safePointPattern = Pattern.compile("Total time for which application threads were stopped:\\s+([\\d.]+)\\s+seconds");
-        Pattern timeToSafePointPattern = Pattern.compile("Stopping threads took:\\s+([\\d.]+)\\s+seconds");
-        
-        List<Double> durations = new ArrayList<>();
-        List<Double> timeToSafePoints = new ArrayList<>();
+    private LogLineCollector<SafePointStats> newSafePointStatsCollector() {
+        return new SafePointStatsCollector();
+    }
+    
+    private class SafePointStatsCollector implements LogLineCollector<SafePointStats> {
+        private final List<Double> durations = new ArrayList<>();
+        private final List<Double> timeToSafePoints = new ArrayList<>();
         
-        for (String line : lines) {
-            Matcher durationMatcher = safePointPattern.matcher(line);
+        @Override
+        public void accept(String line) {
+            Matcher durationMatcher = SAFEPOINT_PATTERN.matcher(line);
             if (durationMatcher.find()) {
                 durations.add(Double.parseDouble(durationMatcher.group(1)) * 1000);
             }
             
-            Matcher timeToMatcher = timeToSafePointPattern.matcher(line);
+            Matcher timeToMatcher = TIME_TO_SAFEPOINT_PATTERN.matcher(line);
             if (timeToMatcher.find()) {
                 timeToSafePoints.add(Double.parseDouble(timeToMatcher.group(1)) * 1000);
             }
         }
         
+        @Override
+        public void merge(LogLineCollector<SafePointStats> next) {
+            SafePointStatsCollector other = (SafePointStatsCollector) next;
+            durations.addAll(other.durations);
+            timeToSafePoints.addAll(other.timeToSafePoints);
+        }
+        
+        @Override
+        public SafePointStats finish() {
+            return buildSafePointStats(durations, timeToSafePoints);
+        }
+    }
+    
+    private SafePointStats buildSafePointStats(List<Double> durations, List<Double> timeToSafePoints) {
         if (durations.isEmpty()) {
             return null;
         }
@@ -723,15 +1752,18 @@ public class GCLogParser {
     /**
      * 解析字符串去重统计
      */
-    private StringDeduplicationStats parseStringDeduplication(List<String> lines) {
-        Pattern dedupPattern = Pattern.compile("\\[String Deduplication.*?inspected:(\\d+).*?deduplicated:(\\d+).*?saved:(\\d+)");
-        
-        long totalInspected = 0;
-        long totalDeduplicated = 0;
-        long bytesSaved = 0;
-        
-        for (String line : lines) {
-            Matcher matcher = dedupPattern.matcher(line);
+    private LogLineCollector<StringDeduplicationStats> newStringDeduplicationCollector() {
+        return new StringDeduplicationCollector();
+    }
+    
+    private class StringDeduplicationCollector implements LogLineCollector<StringDeduplicationStats> {
+        private long totalInspected = 0;
+        private long totalDeduplicated = 0;
+        private long bytesSaved = 0;
+        
+        @Override
+        public void accept(String line) {
+            Matcher matcher = STRING_DEDUP_PATTERN.matcher(line);
             if (matcher.find()) {
                 totalInspected += Long.parseLong(matcher.group(1));
                 totalDeduplicated += Long.parseLong(matcher.group(2));
@@ -739,6 +1771,21 @@ public class GCLogParser {
             }
         }
         
+        @Override
+        public void merge(LogLineCollector<StringDeduplicationStats> next) {
+            StringDeduplicationCollector other = (StringDeduplicationCollector) next;
+            totalInspected += other.totalInspected;
+            totalDeduplicated += other.totalDeduplicated;
+            bytesSaved += other.bytesSaved;
+        }
+        
+        @Override
+        public StringDeduplicationStats finish() {
+            return buildStringDeduplicationStats(totalInspected, totalDeduplicated, bytesSaved);
+        }
+    }
+    
+    private StringDeduplicationStats buildStringDeduplicationStats(long totalInspected, long totalDeduplicated, long bytesSaved) {
         if (totalInspected == 0) {
             return null;
         }
@@ -756,172 +1803,6 @@ public class GCLogParser {
                 .build();
     }
     
-    /**
-     * 增强的阶段统计（包含标准差）
-     */
-    private Map<String, PhaseStatistics> calculatePhaseStatisticsEnhanced(List<GCEvent> events, String collectorType) {
-        Map<String, PhaseStatistics> stats = new HashMap<>();
-        Map<String, List<Double>> phaseTimesMap = new HashMap<>();
-        
-        for (GCEvent event : events) {
-            String eventType = event.getEventType();
-            double pauseTime = event.getPauseTime();
-            phaseTimesMap.computeIfAbsent(eventType, k -> new ArrayList<>()).add(pauseTime);
-        }
-        
-        for (Map.Entry<String, List<Double>> entry : phaseTimesMap.entrySet()) {
-            String phaseName = entry.getKey();
-            List<Double> times = entry.getValue();
-            
-            if (!times.isEmpty()) {
-                double totalTime = times.stream().mapToDouble(Double::doubleValue).sum();
-                double avgTime = totalTime / times.size();
-                double maxTime = times.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-                double minTime = times.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-                
-                double variance = times.stream()
-                        .mapToDouble(t -> Math.pow(t - avgTime, 2))
-                        .average()
-                        .orElse(0.0);
-                double stdDev = Math.sqrt(variance);
-                
-                stats.put(phaseName, PhaseStatistics.builder()
-                        .phaseName(phaseName)
-                        .totalTime((long) totalTime)
-                        .avgTime(avgTime)
-                        .maxTime(maxTime)
-                        .minTime(minTime)
-                        .stdDevTime(stdDev)
-                        .count(times.size())
-                        .build());
-            }
-        }
-        
-        return stats;
-    }
-    
-    /**
-     * 增强的诊断（包含连续 Full GC 检测）
-     */
-    private DiagnosisReport performDiagnosisEnhanced(List<GCEvent> events, MemorySize memorySize) {
-        DiagnosisReport.MemoryLeakInfo memoryLeakInfo = detectMemoryLeak(events);
-        DiagnosisReport.FullGCInfo fullGCInfo = detectFullGC(events);
-        DiagnosisReport.LongPauseInfo longPauseInfo = detectLongPause(events);
-        DiagnosisReport.ConsecutiveFullGCInfo consecutiveFullGCInfo = detectConsecutiveFullGC(events);
-        DiagnosisReport.SafePointInfo safePointInfo = null;
-        
-        List<DiagnosisReport.Recommendation> recommendations = generateRecommendationsEnhanced(
-                events, memorySize, memoryLeakInfo, fullGCInfo, longPauseInfo, consecutiveFullGCInfo);
-        
-        return DiagnosisReport.builder()
-                .memoryLeakInfo(memoryLeakInfo)
-                .fullGCInfo(fullGCInfo)
-                .longPauseInfo(longPauseInfo)
-                .consecutiveFullGCInfo(consecutiveFullGCInfo)
-                .safePointInfo(safePointInfo)
-                .recommendations(recommendations)
-                .build();
-    }
-    
-    private DiagnosisReport.MemoryLeakInfo detectMemoryLeak(List<GCEvent> events) {
-        boolean hasLeak = false;
-        List<String> evidences = new ArrayList<>();
-        
-        return DiagnosisReport.MemoryLeakInfo.builder()
-                .hasMemoryLeak(hasLeak)
-                .description(hasLeak ? "检测到潜在内存泄漏" : "未检测到明显的内存泄漏")
-                .evidences(evidences)
-                .build();
-    }
-    
-    private DiagnosisReport.FullGCInfo detectFullGC(List<GCEvent> events) {
-        List<GCEvent> fullGCEvents = events.stream()
-                .filter(GCEvent::isFullGC)
-                .toList();
-        
-        return DiagnosisReport.FullGCInfo.builder()
-                .count(fullGCEvents.size())
-                .hasFullGC(!fullGCEvents.isEmpty())
-                .fullGCEvents(fullGCEvents)
-                .build();
-    }
-    
-    private DiagnosisReport.LongPauseInfo detectLongPause(List<GCEvent> events) {
-        double threshold = 100.0;
-        List<GCEvent> longPauseEvents = events.stream()
-                .filter(e -> e.getPauseTime() > threshold)
-                .toList();
-        
-        return DiagnosisReport.LongPauseInfo.builder()
-                .count(longPauseEvents.size())
-                .hasLongPause(!longPauseEvents.isEmpty())
-                .threshold(threshold)
-                .longPauseEvents(longPauseEvents)
-                .build();
-    }
-    
-    /**
-     * 检测连续 Full GC
-     */
-    private DiagnosisReport.ConsecutiveFullGCInfo detectConsecutiveFullGC(List<GCEvent> events) {
-        List<DiagnosisReport.ConsecutiveFullGCInfo.ConsecutiveFullGCSequence> sequences = new ArrayList<>();
-        int maxConsecutiveCount = 0;
-        int currentCount = 0;
-        List<GCEvent> currentSequence = new ArrayList<>();
-        
-        for (GCEvent event : events) {
-            if (event.isFullGC()) {
-                currentCount++;
-                currentSequence.add(event);
-            } else {
-                if (currentCount >= 2) {
-                    long startTs = currentSequence.get(0).getTimestamp();
-                    long endTs = currentSequence.get(currentSequence.size() - 1).getTimestamp();
-                    double totalDuration = currentSequence.stream()
-                            .mapToDouble(GCEvent::getPauseTime).sum();
-                    
-                    sequences.add(DiagnosisReport.ConsecutiveFullGCInfo.ConsecutiveFullGCSequence.builder()
-                            .count(currentCount)
-                            .startTimestamp(startTs)
-                            .endTimestamp(endTs)
-                            .totalDuration(totalDuration)
-                            .events(new ArrayList<>(currentSequence))
-                            .build());
-                    
-                    maxConsecutiveCount = Math.max(maxConsecutiveCount, currentCount);
-                }
-                currentCount = 0;
-                currentSequence.clear();
-            }
-        }
-        
-        if (currentCount >= 2) {
-            long startTs = currentSequence.get(0).getTimestamp();
-            long endTs = currentSequence.get(currentSequence.size() - 1).getTimestamp();
-            double totalDuration = currentSequence.stream()
-                    .mapToDouble(GCEvent::getPauseTime).sum();
-            
-            sequences.add(DiagnosisReport.ConsecutiveFullGCInfo.ConsecutiveFullGCSequence.builder()
-                    .count(currentCount)
-                    .startTimestamp(startTs)
-                    .endTimestamp(endTs)
-                    .totalDuration(totalDuration)
-                    .events(new ArrayList<>(currentSequence))
-                    .build());
-            
-            maxConsecutiveCount = Math.max(maxConsecutiveCount, currentCount);
-        }
-        
-        String severity = determineSeverity(maxConsecutiveCount);
-        
-        return DiagnosisReport.ConsecutiveFullGCInfo.builder()
-                .hasConsecutiveFullGC(!sequences.isEmpty())
-                .maxConsecutiveCount(maxConsecutiveCount)
-                .sequences(sequences)
-                .severity(severity)
-                .build();
-    }
-    
     private String determineSeverity(int consecutiveCount) {
         if (consecutiveCount >= 10) return "CRITICAL";
         if (consecutiveCount >= 5) return "HIGH";
@@ -933,7 +1814,6 @@ public class GCLogParser {
      * 增强的建议生成
      */
     private List<DiagnosisReport.Recommendation> generateRecommendationsEnhanced(
-            List<GCEvent> events, MemorySize memorySize,
             DiagnosisReport.MemoryLeakInfo memoryLeakInfo,
             DiagnosisReport.FullGCInfo fullGCInfo,
             DiagnosisReport.LongPauseInfo longPauseInfo,
@@ -992,4 +1872,5 @@ public class GCLogParser {
         
         return recommendations;
     }
+
 }
@@ -0,0 +1,98 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.GCEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 增量GC事件解析器（由 AbstractGCLogParser.newIncrementalParser 创建）
+ * 有状态的推送式解析：逐行或按字节块接收日志，每个GC事件解析完整后立即推送给接收方，
+ * flush 时推送日志结束时仍未推送的事件。跨行的中间状态只保留尚未结束的GC（按GC ID汇总的格式见 PendingGCEvents，数量有上限）
+ *
+ * 上传、压缩包、本地文件（含分块并行解析）和实时跟踪共用这一套解析：批量解析时接收方写入列存储（见 EventCollector），
+ * 实时跟踪时接收方直接更新事件窗口和 KPI
+ * 实例不是线程安全的
+ */
+public abstract class IncrementalEventParser {
+    
+    private final Consumer<GCEvent> sink;
+    private final LineSplitter lineSplitter = new LineSplitter();
+    private long emittedCount;
+    
+    protected IncrementalEventParser(Consumer<GCEvent> sink) {
+        this.sink = sink;
+    }
+    
+    /**
+     * 接收一行日志（不含换行）
+     */
+    public abstract void feed(String line);
+    
+    /**
+     * 接收一块 UTF-8 日志字节，跨越字节块的行留到下一块
+     */
+    public void feed(byte[] bytes, int offset, int length) {
+        lineSplitter.split(bytes, offset, length, this::feed);
+    }
+    
+    /**
+     * 日志结束：处理最后一行没有换行的内容，推送所有可以组装的未结束事件
+     */
+    public final void flush() {
+        lineSplitter.flush(this::feed);
+        flushPending();
+    }
+    
+    /**
+     * 推送日志结束时仍在等待结束行的事件（由子类实现）
+     */
+    protected void flushPending() {
+    }
+    
+    /**
+     * 合并另一个解析器的中间状态（分块并行解析、按滚动顺序合并多个日志文件时使用）
+     * next 处理的是紧随当前解析器之后的一段日志，跨越边界的GC合并后推送给当前解析器的接收方，
+     * 调用方随后接上 next 已推送的事件，结果等价于由当前解析器顺序处理两段日志
+     */
+    public final void merge(IncrementalEventParser next) {
+        mergePending(next);
+        emittedCount += next.emittedCount;
+    }
+    
+    /**
+     * 合并未结束的GC等中间状态（由子类实现，next 与当前解析器类型相同），没有跨行状态的格式无需处理
+     */
+    protected void mergePending(IncrementalEventParser next) {
+    }
+    
+    /**
+     * 批量解析的结果是否需要按时间戳重排（按GC ID汇总的格式按各GC的结束顺序推送）
+     */
+    protected boolean sortsByTimestamp() {
+        return false;
+    }
+    
+    /**
+     * 推送一个解析完整的事件
+     */
+    protected final void emit(GCEvent event) {
+        if (event != null) {
+            emittedCount++;
+            sink.accept(event);
+        }
+    }
+    
+    /**
+     * 已推送的事件数
+     */
+    public long emittedCount() {
+        return emittedCount;
+    }
+    
+    /**
+     * 尚未结束、仍保留在解析器中的GC数
+     */
+    public long pendingCount() {
+        return 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.gcpulse.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 把按字节块到达的日志切分为行（UTF-8），跨越字节块的不完整行留到下一块
+ * 行尾的 \r 一并去掉；超过 MAX_LINE_BYTES 的行直接丢弃，缓存的不完整行大小有上限
+ * 实例不是线程安全的
+ */
+final class LineSplitter {
+    
+    static final int MAX_LINE_BYTES = 64 * 1024;
+    
+    // 跨越两个字节块的不完整行
+    private byte[] partial = new byte[256];
+    private int partialLength;
+    private boolean skippingLongLine;
+    
+    /**
+     * 切分一个字节块，完整的行交给 consumer；没有不完整行时直接由字节块构造字符串
+     */
+    void split(byte[] bytes, int offset, int length, Consumer<String> consumer) {
+        int limit = offset + length;
+        int start = offset;
+        for (int i = offset; i < limit; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            if (partialLength == 0 && !skippingLongLine) {
+                // 整行都在当前字节块内，同样受 MAX_LINE_BYTES 限制
+                if (i - start <= MAX_LINE_BYTES) {
+                    emit(consumer, bytes, start, i - start);
+                }
+            } else {
+                appendPartial(bytes, start, i - start);
+                if (!skippingLongLine) {
+                    emit(consumer, partial, 0, partialLength);
+                }
+                partialLength = 0;
+                skippingLongLine = false;
+            }
+            start = i + 1;
+        }
+        appendPartial(bytes, start, limit - start);
+    }
+    
+    /**
+     * 输入结束：最后一行可能没有换行
+     */
+    void flush(Consumer<String> consumer) {
+        if (partialLength > 0 && !skippingLongLine) {
+            emit(consumer, partial, 0, partialLength);
+        }
+        reset();
+    }
+    
+    /**
+     * 丢弃缓存的不完整行（如文件被截断，截断前未写完的行不再完整）
+     */
+    void reset() {
+        partialLength = 0;
+        skippingLongLine = false;
+    }
+    
+    private void appendPartial(byte[] source, int offset, int length) {
+        if (skippingLongLine || length == 0) {
+            return;
+        }
+        if (partialLength + length > MAX_LINE_BYTES) {
+            skippingLongLine = true;
+            partialLength = 0;
+            return;
+        }
+        if (partialLength + length > partial.length) {
+            partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + length));
+        }
+        System.arraycopy(source, offset, partial, partialLength, length);
+        partialLength += length;
+    }
+    
+    private static void emit(Consumer<String> consumer, byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset + length - 1] == '\r') {
+            length--;
+        }
+        consumer.accept(new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+}
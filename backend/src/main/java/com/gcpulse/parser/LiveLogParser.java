@@ -0,0 +1,154 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.DiagnosisReport;
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.KPIMetrics;
+import com.gcpulse.model.TimeSeriesData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实时跟踪日志的解析器（由 GCLogParser.newLiveParser 创建）
+ * 持续接收正在写入的日志追加的行，解析状态在多次读取之间保留：先在开头识别收集器类型，
+ * 之后逐行交给增量事件解析器，解析完整的事件立即推送到窗口并计入 KPI
+ *
+ * 内存有界：KPI 按全部事件累计（暂停时间直方图大小固定），事件只保留最近的窗口，
+ * 时间序列和诊断按窗口计算；窗口按时间戳有序，超出上限时丢弃最早的四分之一
+ * 实例不是线程安全的，由调用方串行调用
+ */
+@Slf4j
+public final class LiveLogParser {
+    
+    private final GCLogParser gcLogParser;
+    private final CollectorDetector detector;
+    private final int maxWindowEvents;
+    private final EventAccumulator<KPIMetrics> kpiAccumulator;
+    
+    // 检测结束前缓存的头部行，选定解析器后回放
+    private List<String> headLines = new ArrayList<>();
+    private boolean detected;
+    private String collectorType = "Unknown";
+    private IncrementalEventParser eventParser;
+    
+    private final GCEventStore window = new GCEventStore();
+    private long eventCount;
+    private long linesRead;
+    // 上次 drain 之后推送的事件数
+    private int newEvents;
+    
+    LiveLogParser(GCLogParser gcLogParser, CollectorDetector detector, int maxWindowEvents) {
+        this.gcLogParser = gcLogParser;
+        this.detector = detector;
+        this.maxWindowEvents = Math.max(1, maxWindowEvents);
+        this.kpiAccumulator = gcLogParser.newKPIAccumulator();
+    }
+    
+    /**
+     * 接收一行追加的日志
+     */
+    public void accept(String line) {
+        linesRead++;
+        if (detected) {
+            if (eventParser != null) {
+                eventParser.feed(line);
+            }
+            return;
+        }
+        headLines.add(line);
+        if (detector.accept(line)) {
+            selectParser();
+        }
+    }
+    
+    /**
+     * 结束一次读取：尚未选择解析器时按目前的检测结论选择，窗口按时间戳排序，超出上限时裁剪
+     *
+     * @return 上次调用之后新完成的事件数
+     */
+    public int drain() {
+        if (!detected) {
+            // 日志刚开始写入时行数不足以结束检测，已有特征得分时按目前的结论选择解析器
+            if (detector.selectedParser() == null) {
+                return 0;
+            }
+            selectParser();
+        }
+        // 按GC ID汇总的格式按结束顺序推送，发布前按时间戳排好，裁剪时丢弃的也是最早的事件
+        if (eventParser != null && eventParser.sortsByTimestamp()) {
+            window.sortByTimestamp();
+        }
+        if (window.size() > maxWindowEvents) {
+            int keep = Math.max(1, maxWindowEvents * 3 / 4);
+            window.discardFirst(window.size() - keep);
+        }
+        int drained = newEvents;
+        newEvents = 0;
+        return drained;
+    }
+    
+    private void onEvent(GCEvent event) {
+        window.append(event);
+        kpiAccumulator.accept(window, window.size() - 1);
+        eventCount++;
+        newEvents++;
+    }
+    
+    private void selectParser() {
+        detected = true;
+        AbstractGCLogParser selectedParser = detector.selectedParser();
+        if (selectedParser != null) {
+            collectorType = selectedParser.getGCType();
+            eventParser = selectedParser.newIncrementalParser(this::onEvent);
+            for (String headLine : headLines) {
+                eventParser.feed(headLine);
+            }
+            log.info("实时跟踪选择解析器: {}, 日志格式: {}", collectorType, detector.logFormat());
+        } else {
+            log.info("实时跟踪未识别出GC收集器类型，不解析事件");
+        }
+        headLines = null;
+    }
+    
+    /**
+     * 全部事件的 KPI（不受窗口限制）
+     */
+    public KPIMetrics kpiMetrics() {
+        return kpiAccumulator.finish();
+    }
+    
+    /**
+     * 窗口内事件的时间序列
+     */
+    public TimeSeriesData timeSeries(int maxPoints) {
+        return gcLogParser.buildTimeSeries(window, Long.MIN_VALUE, Long.MAX_VALUE, maxPoints);
+    }
+    
+    /**
+     * 窗口内事件的诊断报告
+     */
+    public DiagnosisReport diagnosis() {
+        return gcLogParser.diagnose(window);
+    }
+    
+    public String collectorType() {
+        return collectorType;
+    }
+    
+    /**
+     * 累计解析的事件数
+     */
+    public long eventCount() {
+        return eventCount;
+    }
+    
+    public int windowEventCount() {
+        return window.size();
+    }
+    
+    public long linesRead() {
+        return linesRead;
+    }
+}
@@ -0,0 +1,140 @@
+package com.gcpulse.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Consumer;
+
+/**
+ * 跟踪正在写入的日志文件，每次只读取上次位置之后追加的完整行
+ *
+ * -Xlog 的文件滚动会把当前文件改名为 gc.log.N，再在原路径创建新文件：按文件标识（inode）发现原路径
+ * 已是新文件时，先读完旧文件剩余的内容，再从头读取新文件；文件变小（原地截断）时从头读取
+ *
+ * 未以换行结束的行留到下次读取，超过 MAX_LINE_BYTES 的行直接丢弃，读取缓冲区大小固定
+ * 实例不是线程安全的
+ */
+public final class LogFileFollower implements Closeable {
+    
+    static final int MAX_LINE_BYTES = LineSplitter.MAX_LINE_BYTES;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    
+    // 跨越两次读取的不完整行
+    private final LineSplitter lineSplitter = new LineSplitter();
+    
+    private FileChannel channel;
+    private Object fileKey;
+    private long bytesRead;
+    private int rotations;
+    
+    public LogFileFollower(Path path) {
+        this.path = path;
+    }
+    
+    /**
+     * 读取追加的完整行交给 consumer，单次最多读取 maxBytes 字节（其余的留到下次读取）
+     * 发现文件滚动时不受 maxBytes 限制，旧文件剩余的内容一次读完
+     *
+     * @return 本次是否发生了文件滚动或截断
+     */
+    public boolean poll(Consumer<String> consumer, long maxBytes) throws IOException {
+        if (channel == null && !open()) {
+            return false;
+        }
+        
+        boolean rotated = false;
+        BasicFileAttributes attributes = currentAttributes();
+        if (attributes != null && fileKey != null && !fileKey.equals(attributes.fileKey())) {
+            read(consumer, Long.MAX_VALUE);
+            // 滚动前旧文件的最后一行可能没有换行
+            lineSplitter.flush(consumer);
+            channel.close();
+            channel = null;
+            rotations++;
+            rotated = true;
+            if (!open()) {
+                return true;
+            }
+        } else if (attributes != null && attributes.size() < channel.position()) {
+            // 原地截断（copytruncate），截断前未写完的行不再完整
+            lineSplitter.reset();
+            channel.position(0);
+            rotations++;
+            rotated = true;
+        }
+        read(consumer, maxBytes);
+        return rotated;
+    }
+    
+    /**
+     * 累计读取的字节数（含已滚动的文件）
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+    
+    /**
+     * 已发现的文件滚动（含截断）次数
+     */
+    public int rotations() {
+        return rotations;
+    }
+    
+    public Path path() {
+        return path;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+    
+    private boolean open() throws IOException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // 滚动时旧文件已改名、新文件尚未创建
+            return false;
+        }
+        BasicFileAttributes attributes = currentAttributes();
+        fileKey = attributes != null ? attributes.fileKey() : null;
+        return true;
+    }
+    
+    private BasicFileAttributes currentAttributes() throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+    
+    private void read(Consumer<String> consumer, long maxBytes) throws IOException {
+        long total = 0;
+        while (total < maxBytes) {
+            buffer.clear();
+            if (maxBytes - total < buffer.capacity()) {
+                buffer.limit((int) (maxBytes - total));
+            }
+            int read = channel.read(buffer);
+            if (read <= 0) {
+                break;
+            }
+            total += read;
+            lineSplitter.split(buffer.array(), 0, buffer.position(), consumer);
+        }
+        bytesRead += total;
+    }
+}
@@ -0,0 +1,47 @@
+package com.gcpulse.parser;
+
+import java.util.List;
+
+/**
+ * 日志行收集器
+ * 流式解析时逐行接收日志内容，结束时产出解析结果
+ *
+ * @param <T> 解析结果类型
+ */
+public interface LogLineCollector<T> {
+    
+    /**
+     * 接收一行日志
+     */
+    void accept(String line);
+    
+    /**
+     * 所有行接收完毕，产出解析结果
+     */
+    T finish();
+    
+    /**
+     * 目前已识别的条目数（如已解析的GC事件数），用于汇报解析进度；不统计时返回 -1
+     */
+    default long collectedCount() {
+        return -1;
+    }
+    
+    /**
+     * 合并另一个收集器的中间状态（分块并行解析时使用）
+     * next 处理的是紧随当前收集器之后的一段日志，合并结果等价于由当前收集器顺序处理两段日志
+     */
+    default void merge(LogLineCollector<T> next) {
+        throw new UnsupportedOperationException(getClass().getName() + " 不支持分块合并");
+    }
+    
+    /**
+     * 将已读入内存的日志行全部交给收集器处理（兼容基于行列表的调用方式）
+     */
+    static <T> T collect(LogLineCollector<T> collector, List<String> lines) {
+        for (String line : lines) {
+            collector.accept(line);
+        }
+        return collector.finish();
+    }
+}
@@ -0,0 +1,18 @@
+package com.gcpulse.parser;
+
+import java.io.IOException;
+
+/**
+ * 日志行数据源
+ * 屏蔽输入流、内存映射文件等不同读取方式的差异，按顺序逐行提供日志内容
+ */
+@FunctionalInterface
+public interface LogLineSource {
+    
+    /**
+     * 读取下一行（不含行尾换行符）
+     * 
+     * @return 下一行内容，读取完毕时返回null
+     */
+    String readLine() throws IOException;
+}
@@ -0,0 +1,198 @@
+package com.gcpulse.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于内存映射文件的日志行数据源
+ * 直接从页缓存按行切分，不经过上传、临时文件和BufferedReader的多次拷贝
+ * 大于单个映射窗口的文件按窗口依次映射，支持多GB日志
+ * 也可以只读取文件中按行对齐的一段区间，供分块并行解析使用
+ * 与 LineSplitter 一致，超过 LineSplitter.MAX_LINE_BYTES 的行直接丢弃，行缓冲区大小有上限
+ */
+public class MappedLogLineSource implements LogLineSource, Closeable {
+    
+    // 单个映射窗口大小（MappedByteBuffer最大只能映射2GB）
+    private static final long WINDOW_SIZE = 1L << 30;
+    
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long rangeEnd;
+    private final Charset charset;
+    
+    private MappedByteBuffer window;
+    private long windowStart;
+    
+    // 跨窗口的行以及行解码使用的复用缓冲区
+    private byte[] lineBuffer = new byte[8192];
+    
+    public MappedLogLineSource(Path file) throws IOException {
+        this(file, StandardCharsets.UTF_8);
+    }
+    
+    public MappedLogLineSource(Path file, Charset charset) throws IOException {
+        this(file, charset, 0, Long.MAX_VALUE);
+    }
+    
+    /**
+     * 只读取 [rangeStart, rangeEnd) 区间，区间边界应当位于行首
+     */
+    public MappedLogLineSource(Path file, long rangeStart, long rangeEnd) throws IOException {
+        this(file, StandardCharsets.UTF_8, rangeStart, rangeEnd);
+    }
+    
+    private MappedLogLineSource(Path file, Charset charset, long rangeStart, long rangeEnd) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.rangeEnd = Math.min(rangeEnd, fileSize);
+        this.charset = charset;
+        this.windowStart = rangeStart;
+    }
+    
+    /**
+     * 将文件切分为按行对齐的若干区间
+     * 
+     * @return 区间边界数组，第i个区间为 [boundaries[i], boundaries[i+1])
+     */
+    public static long[] lineAlignedBoundaries(Path file, int chunkCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.max(1, size / Math.max(1, chunkCount));
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+            
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            for (int i = 1; i < chunkCount; i++) {
+                long position = Math.max(i * chunkSize, boundaries.get(boundaries.size() - 1));
+                long lineStart = nextLineStart(channel, buffer, position, size);
+                if (lineStart >= size) {
+                    break;
+                }
+                if (lineStart > boundaries.get(boundaries.size() - 1)) {
+                    boundaries.add(lineStart);
+                }
+            }
+            boundaries.add(size);
+            return boundaries.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+    
+    /**
+     * 从指定位置开始查找下一个行首（即下一个换行符之后的位置）
+     */
+    private static long nextLineStart(FileChannel channel, ByteBuffer buffer, long position, long size) throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+    
+    /**
+     * 文件大小（字节）
+     */
+    public long size() {
+        return fileSize;
+    }
+    
+    @Override
+    public String readLine() throws IOException {
+        int length = 0;
+        boolean readAny = false;
+        // 超过 LineSplitter.MAX_LINE_BYTES 的行（如损坏或没有换行符的文件）直接丢弃，跳到下一个换行符
+        boolean skippingLongLine = false;
+        
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                if (!mapNextWindow()) {
+                    // 文件结束：返回最后一行（没有换行符结尾）
+                    return readAny && !skippingLongLine ? decode(length) : null;
+                }
+            }
+            
+            int start = window.position();
+            int limit = window.limit();
+            int end = start;
+            while (end < limit && window.get(end) != '\n') {
+                end++;
+            }
+            
+            int chunk = end - start;
+            if (chunk > 0 && !skippingLongLine) {
+                if (length + chunk > LineSplitter.MAX_LINE_BYTES) {
+                    skippingLongLine = true;
+                } else {
+                    ensureCapacity(length + chunk);
+                    window.get(start, lineBuffer, length, chunk);
+                    length += chunk;
+                }
+            }
+            readAny = true;
+            
+            if (end < limit) {
+                // 找到换行符，跳过它
+                window.position(end + 1);
+                if (!skippingLongLine) {
+                    return decode(length);
+                }
+                length = 0;
+                readAny = false;
+                skippingLongLine = false;
+                continue;
+            }
+            window.position(limit);
+        }
+    }
+    
+    private boolean mapNextWindow() throws IOException {
+        if (window != null) {
+            windowStart += window.capacity();
+        }
+        if (windowStart >= rangeEnd) {
+            return false;
+        }
+        long size = Math.min(WINDOW_SIZE, rangeEnd - windowStart);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+        return true;
+    }
+    
+    private String decode(int length) {
+        // 兼容Windows换行符
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBuffer, 0, length, charset);
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > lineBuffer.length) {
+            byte[] expanded = new byte[Math.max(capacity, lineBuffer.length * 2)];
+            System.arraycopy(lineBuffer, 0, expanded, 0, lineBuffer.length);
+            lineBuffer = expanded;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -4,6 +4,7 @@ import com.gcpulse.model.GCEvent;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,33 +27,20 @@ public class ParallelGCLogParser extends AbstractGCLogParser {
     }
     
     @Override
-    public boolean canParse(List<String> lines) {
-        for (String line : lines) {
-            if (line.contains("Using Parallel") || 
-                line.contains("[PSYoungGen") || 
-                line.contains("[ParOldGen")) {
-                return true;
-            }
+    public int scoreSignature(String line) {
+        if (line.contains("Using Parallel") || line.contains("-XX:+UseParallelGC") || 
+            line.contains("-XX:+UseParallelOldGC")) {
+            return SIGNATURE_DEFINITIVE;
         }
-        return false;
+        if (line.contains("PSYoungGen") || line.contains("ParOldGen") || line.contains("PSOldGen")) {
+            return SIGNATURE_STRONG;
+        }
+        return 0;
     }
     
     @Override
-    public List<GCEvent> parseGCEvents(List<String> lines) {
-        List<GCEvent> events = new ArrayList<>();
-        
-        for (String line : lines) {
-            try {
-                GCEvent event = parseParallelGCEvent(line);
-                if (event != null) {
-                    events.add(event);
-                }
-            } catch (Exception e) {
-                // 忽略无法解析的行
-            }
-        }
-        
-        return events;
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation) {
+        return newSingleLineParser(sink, this::parseParallelGCEvent);
     }
     
     /**
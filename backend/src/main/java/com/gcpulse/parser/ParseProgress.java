@@ -0,0 +1,139 @@
+package com.gcpulse.parser;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 解析进度与取消标记
+ * 解析线程按批次累加已读字节、行数和已识别的事件数，查询线程随时读取；分块并行解析时多个线程同时累加
+ * 取消后解析线程在下一个批次边界抛出 CancellationException
+ *
+ * 字节数从识别收集器阶段（DETECTING）开始统计，分析结果缓存的内容摘要不计入进度
+ */
+public final class ParseProgress {
+    
+    /**
+     * 解析阶段
+     */
+    public enum Stage {
+        // 等待执行
+        QUEUED,
+        // 识别收集器类型
+        DETECTING,
+        // 逐行解析
+        PARSING,
+        // 汇总指标、生成诊断报告
+        AGGREGATING,
+        // 结束
+        DONE
+    }
+    
+    // 解析线程每处理这么多行汇报一次进度并检查取消标记
+    static final int REPORT_INTERVAL_LINES = 4096;
+    
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder eventsParsed = new LongAdder();
+    private volatile Stage stage = Stage.QUEUED;
+    private volatile boolean cancelled = false;
+    
+    // 字节数由输入流统计时，不再按行长度估算
+    private volatile boolean streamTracked = false;
+    
+    public Stage getStage() {
+        return stage;
+    }
+    
+    public void setStage(Stage stage) {
+        if (stage == Stage.DETECTING) {
+            bytesRead.reset();
+            streamTracked = false;
+        }
+        this.stage = stage;
+    }
+    
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+    
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+    
+    public long getEventsParsed() {
+        return eventsParsed.sum();
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * 请求取消，解析线程在下一个批次边界停止
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("分析已取消");
+        }
+    }
+    
+    /**
+     * 包装输入流，按实际读取的（压缩前）字节数统计进度，同时在每次读取时检查取消标记
+     */
+    public InputStream track(InputStream in) {
+        streamTracked = true;
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead.increment();
+                }
+                return b;
+            }
+            
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                checkCancelled();
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    bytesRead.add(read);
+                }
+                return read;
+            }
+        };
+    }
+    
+    /**
+     * 汇报一批已处理的行
+     * 
+     * @param lines 行数
+     * @param bytes 这些行的长度（含换行符），输入流已统计字节数时忽略
+     * @param events 本批次新识别的事件数
+     */
+    void report(long lines, long bytes, long events) {
+        linesRead.add(lines);
+        if (!streamTracked) {
+            bytesRead.add(bytes);
+        }
+        if (events > 0) {
+            eventsParsed.add(events);
+        }
+        checkCancelled();
+    }
+    
+    /**
+     * 解析结束后以最终事件数为准（收集器在结束时合并、丢弃不完整的事件）
+     */
+    void completeEvents(long events) {
+        eventsParsed.reset();
+        eventsParsed.add(events);
+    }
+}
@@ -0,0 +1,129 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.PauseTimePercentiles;
+
+import java.util.Arrays;
+
+/**
+ * 暂停时间分位数直方图（HDR Histogram 式的对数-线性分桶）
+ * 以 0.1μs 为单位计数：小于 128 个单位的值精确计数，更大的值按 2 的幂分段、每段再等分 128 格，
+ * 分位数的相对误差不超过 1/128；桶数只与最大值的量级有关（暂停时间 1s 约 2200 个桶），与事件数量无关
+ *
+ * 两个直方图可以直接合并（分块解析、分组汇总），合并结果与把所有值加入同一个直方图完全一致
+ */
+final class PauseTimeHistogram {
+    
+    // 计数单位：0.1μs
+    private static final double UNITS_PER_MS = 10_000.0;
+    
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    
+    private static final int INITIAL_BUCKETS = 4 * SUB_BUCKET_COUNT;
+    
+    private long[] counts = new long[INITIAL_BUCKETS];
+    private long totalCount;
+    
+    // 精确的最小/最大值，分位数结果夹在两者之间
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    void add(double valueMs) {
+        if (Double.isNaN(valueMs)) {
+            return;
+        }
+        double value = Math.max(valueMs, 0.0);
+        int index = bucketIndex(Math.round(Math.min(value * UNITS_PER_MS, (double) Long.MAX_VALUE)));
+        ensureBuckets(index + 1);
+        counts[index]++;
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /**
+     * 合并另一个直方图的全部计数
+     */
+    void merge(PauseTimeHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        ensureBuckets(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    long count() {
+        return totalCount;
+    }
+    
+    /**
+     * 第 quantile 分位数（最近秩法，与排序后取 ceil(n * q) - 1 下标一致），返回所在桶的中点，没有数据时为 0
+     */
+    double quantile(double quantile) {
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(totalCount * quantile));
+        // 首尾两个秩直接返回精确的最小/最大值
+        if (rank == 1) {
+            return min;
+        }
+        if (rank >= totalCount) {
+            return max;
+        }
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double value = bucketMidpoint(i) / UNITS_PER_MS;
+                return Math.min(Math.max(value, min), max);
+            }
+        }
+        return max;
+    }
+    
+    PauseTimePercentiles toPercentiles() {
+        return PauseTimePercentiles.builder()
+                .p50(quantile(0.50))
+                .p90(quantile(0.90))
+                .p95(quantile(0.95))
+                .p99(quantile(0.99))
+                .p999(quantile(0.999))
+                .p9999(quantile(0.9999))
+                .build();
+    }
+    
+    /**
+     * 值所在的桶：[0, 128) 每个值一个桶；之后每个 2 的幂区间 [2^e, 2^(e+1)) 等分为 128 个桶
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + (shift << SUB_BUCKET_BITS) + subBucket;
+    }
+    
+    private static double bucketMidpoint(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) >>> SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKET_COUNT) & (SUB_BUCKET_COUNT - 1);
+        long lower = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        long width = 1L << shift;
+        return lower + (width - 1) / 2.0;
+    }
+    
+    private void ensureBuckets(int required) {
+        if (required > counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(required, counts.length * 2));
+        }
+    }
+}
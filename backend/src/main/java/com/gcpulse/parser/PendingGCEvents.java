@@ -0,0 +1,181 @@
+package com.gcpulse.parser;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 尚未结束的GC按GC ID汇总的有界表（Unified Logging 格式的增量解析使用）
+ * 同一GC的开始行、阶段和内存区域信息先于结束行输出：结束行出现后立即交给 finisher 组装、推送并移出表；
+ * 超出上限时最早出现的GC按已有的数据提前结束（如 Remark、Cleanup 这类没有结束汇总行的GC ID）
+ *
+ * 分块或多文件合并时，一段日志开头的GC可能在前一段开始：只有结束行、没有开始行的GC先保留，
+ * 合并时与前一段的同一GC汇总后再推送，日志结束时仍未合并的按已有的数据推送
+ *
+ * @param <D> 按GC ID汇总的数据
+ */
+@Slf4j
+final class PendingGCEvents<D extends PendingGCEvents.Entry<D>> {
+    
+    static final int DEFAULT_MAX_PENDING = 1024;
+    
+    /**
+     * 按GC ID汇总的数据项
+     */
+    abstract static class Entry<D> {
+        int gcId;
+        // 本段日志中出现了该GC的开始行
+        boolean started;
+        // 已出现结束行，之后数据不再变化
+        boolean completed;
+        
+        /**
+         * 合并后出现的数据（与顺序解析一致）
+         */
+        abstract void merge(D later);
+    }
+    
+    private final Supplier<D> factory;
+    private final Consumer<D> finisher;
+    private final Map<Integer, D> entries;
+    
+    // 本段日志中第一个出现开始行的GC ID，更早的GC ID可能在前一段开始
+    private int firstStartedId = -1;
+    private long completedCount;
+    private long evictedCount;
+    
+    PendingGCEvents(Supplier<D> factory, Consumer<D> finisher) {
+        this(factory, finisher, DEFAULT_MAX_PENDING);
+    }
+    
+    PendingGCEvents(Supplier<D> factory, Consumer<D> finisher, int maxPending) {
+        this.factory = factory;
+        this.finisher = finisher;
+        this.entries = new LinkedHashMap<>(64, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, D> eldest) {
+                if (size() <= maxPending) {
+                    return false;
+                }
+                evictedCount++;
+                finisher.accept(eldest.getValue());
+                return true;
+            }
+        };
+    }
+    
+    /**
+     * 获取GC ID对应的数据项，不存在时创建
+     */
+    D get(int gcId) {
+        D data = entries.get(gcId);
+        if (data == null) {
+            data = factory.get();
+            data.gcId = gcId;
+            entries.put(gcId, data);
+        }
+        return data;
+    }
+    
+    /**
+     * 出现GC开始行
+     */
+    D started(int gcId) {
+        D data = get(gcId);
+        data.started = true;
+        if (firstStartedId < 0) {
+            firstStartedId = gcId;
+        }
+        return data;
+    }
+    
+    /**
+     * 出现GC结束行：可能在前一段日志开始的GC先保留，其余立即推送
+     */
+    void completed(D data) {
+        data.completed = true;
+        if (firstStartedId < 0 && completedCount > 0) {
+            // 已有第二个结束的GC仍未出现开始行：日志没有输出开始行，之前保留的GC不必再等
+            releaseHeld();
+        }
+        completedCount++;
+        if (!held(data)) {
+            finish(data);
+        }
+    }
+    
+    /**
+     * 合并后一段日志的中间状态，跨越边界的GC汇总后推送（先于后一段已推送的事件）
+     */
+    void merge(PendingGCEvents<D> next) {
+        List<D> merged = new ArrayList<>(next.entries.size());
+        for (D data : next.entries.values()) {
+            D existing = entries.get(data.gcId);
+            if (existing != null) {
+                boolean started = existing.started || data.started;
+                boolean completed = existing.completed || data.completed;
+                existing.merge(data);
+                existing.started = started;
+                existing.completed = completed;
+                merged.add(existing);
+            } else {
+                entries.put(data.gcId, data);
+                merged.add(data);
+            }
+        }
+        if (firstStartedId < 0) {
+            firstStartedId = next.firstStartedId;
+        }
+        completedCount += next.completedCount;
+        evictedCount += next.evictedCount;
+        for (D data : merged) {
+            if (data.completed && entries.get(data.gcId) == data && !held(data)) {
+                finish(data);
+            }
+        }
+    }
+    
+    /**
+     * 日志结束：按GC ID顺序把剩余的数据项交给 finisher（由其决定能否组装为事件）
+     */
+    void flush() {
+        List<D> remaining = new ArrayList<>(entries.values());
+        remaining.sort((a, b) -> Integer.compare(a.gcId, b.gcId));
+        entries.clear();
+        remaining.forEach(finisher);
+        if (evictedCount > 0) {
+            log.debug("{} 个GC ID超出未结束GC的数量上限，按已有数据提前结束", evictedCount);
+        }
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    private boolean held(D data) {
+        if (data.started) {
+            return false;
+        }
+        return firstStartedId >= 0 ? data.gcId < firstStartedId : completedCount <= 1;
+    }
+    
+    private void releaseHeld() {
+        List<D> held = new ArrayList<>();
+        for (D data : entries.values()) {
+            if (data.completed) {
+                held.add(data);
+            }
+        }
+        held.forEach(this::finish);
+    }
+    
+    private void finish(D data) {
+        entries.remove(data.gcId);
+        finisher.accept(data);
+    }
+}
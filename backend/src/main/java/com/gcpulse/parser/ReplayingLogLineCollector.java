@@ -0,0 +1,46 @@
+package com.gcpulse.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 可合并的回放收集器
+ * 只缓存目标收集器关心的少量日志行，合并时按块顺序拼接，结束时依次回放给目标收集器
+ * 适用于状态难以合并但相关行很少的收集器（如按字段覆盖的配置、统计信息）
+ *
+ * @param <T> 解析结果类型
+ */
+class ReplayingLogLineCollector<T> implements LogLineCollector<T> {
+    
+    private final Predicate<String> relevant;
+    private final Supplier<LogLineCollector<T>> target;
+    private final List<String> lines = new ArrayList<>();
+    
+    /**
+     * @param relevant 目标收集器可能处理的行（必须覆盖目标收集器会响应的全部行）
+     * @param target   目标收集器工厂
+     */
+    ReplayingLogLineCollector(Predicate<String> relevant, Supplier<LogLineCollector<T>> target) {
+        this.relevant = relevant;
+        this.target = target;
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (relevant.test(line)) {
+            lines.add(line);
+        }
+    }
+    
+    @Override
+    public void merge(LogLineCollector<T> next) {
+        lines.addAll(((ReplayingLogLineCollector<T>) next).lines);
+    }
+    
+    @Override
+    public T finish() {
+        return LogLineCollector.collect(target.get(), lines);
+    }
+}
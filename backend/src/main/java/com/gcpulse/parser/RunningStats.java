@@ -0,0 +1,77 @@
+package com.gcpulse.parser;
+
+/**
+ * 基本类型的滚动统计（代替 List&lt;Double&gt; 缓冲后再多次遍历）
+ * 求和与 DoubleStream.sum 使用相同的补偿求和算法，结果逐位一致；方差使用 Welford 算法单遍计算
+ */
+final class RunningStats {
+    
+    private long count;
+    
+    // 补偿求和：高位、取反的低位误差、用于处理同号无穷大的简单和
+    private double sumHigh;
+    private double sumCompensation;
+    private double simpleSum;
+    
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    // Welford：滚动均值和离差平方和
+    private double mean;
+    private double m2;
+    
+    void add(double value) {
+        count++;
+        
+        double tmp = value - sumCompensation;
+        double velvel = sumHigh + tmp;
+        sumCompensation = (velvel - sumHigh) - tmp;
+        sumHigh = velvel;
+        simpleSum += value;
+        
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+    
+    long count() {
+        return count;
+    }
+    
+    double sum() {
+        double sum = sumHigh - sumCompensation;
+        if (Double.isNaN(sum) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return sum;
+    }
+    
+    /**
+     * 平均值（总和 / 个数），没有数据时为 0
+     */
+    double average() {
+        return count > 0 ? sum() / count : 0.0;
+    }
+    
+    double min() {
+        return count > 0 ? min : 0.0;
+    }
+    
+    double max() {
+        return count > 0 ? max : 0.0;
+    }
+    
+    /**
+     * 总体方差，没有数据时为 0
+     */
+    double variance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+    
+    double stdDev() {
+        return Math.sqrt(variance());
+    }
+}
@@ -4,6 +4,7 @@ import com.gcpulse.model.GCEvent;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,32 +25,19 @@ public class SerialGCLogParser extends AbstractGCLogParser {
     }
     
     @Override
-    public boolean canParse(List<String> lines) {
-        for (String line : lines) {
-            if (line.contains("Using Serial") || 
-                line.contains("[DefNew")) {
-                return true;
-            }
+    public int scoreSignature(String line) {
+        if (line.contains("Using Serial") || line.contains("-XX:+UseSerialGC")) {
+            return SIGNATURE_DEFINITIVE;
         }
-        return false;
+        if (line.contains("DefNew")) {
+            return SIGNATURE_STRONG;
+        }
+        return 0;
     }
     
     @Override
-    public List<GCEvent> parseGCEvents(List<String> lines) {
-        List<GCEvent> events = new ArrayList<>();
-        
-        for (String line : lines) {
-            try {
-                GCEvent event = parseSerialGCEvent(line);
-                if (event != null) {
-                    events.add(event);
-                }
-            } catch (Exception e) {
-                // 忽略无法解析的行
-            }
-        }
-        
-        return events;
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation) {
+        return newSingleLineParser(sink, this::parseSerialGCEvent);
     }
     
     /**
@@ -0,0 +1,86 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.TimeSeriesData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 时间序列流式降采样（min/max 分桶）
+ * 把时间范围等分为 maxPoints / 2 个桶，每个桶只保留最小值和最大值两个点（按时间先后输出），
+ * 暂停尖峰、堆使用的峰谷都会保留下来；边接收数据点边输出，内存只与目标点数有关
+ *
+ * maxPoints 不大于 0 时不降采样，原样保留全部数据点
+ */
+final class TimeSeriesDownsampler {
+    
+    private final long from;
+    private final double bucketWidth;
+    private final boolean enabled;
+    private final List<TimeSeriesData.DataPoint> points = new ArrayList<>();
+    
+    // 当前桶
+    private long bucket = Long.MIN_VALUE;
+    private long minTimestamp;
+    private double minValue;
+    private long maxTimestamp;
+    private double maxValue;
+    
+    TimeSeriesDownsampler(long from, long to, int maxPoints) {
+        this.from = from;
+        this.enabled = maxPoints > 0;
+        int buckets = Math.max(1, maxPoints / 2);
+        this.bucketWidth = Math.max(1.0, (to - from + 1) / (double) buckets);
+    }
+    
+    void add(long timestamp, double value) {
+        if (!enabled) {
+            points.add(point(timestamp, value));
+            return;
+        }
+        long index = (long) ((timestamp - from) / bucketWidth);
+        if (index != bucket) {
+            flush();
+            bucket = index;
+            minTimestamp = maxTimestamp = timestamp;
+            minValue = maxValue = value;
+            return;
+        }
+        if (value < minValue) {
+            minValue = value;
+            minTimestamp = timestamp;
+        }
+        if (value > maxValue) {
+            maxValue = value;
+            maxTimestamp = timestamp;
+        }
+    }
+    
+    List<TimeSeriesData.DataPoint> finish() {
+        flush();
+        return points;
+    }
+    
+    private void flush() {
+        if (bucket == Long.MIN_VALUE) {
+            return;
+        }
+        if (minTimestamp == maxTimestamp && minValue == maxValue) {
+            points.add(point(minTimestamp, minValue));
+        } else if (minTimestamp <= maxTimestamp) {
+            points.add(point(minTimestamp, minValue));
+            points.add(point(maxTimestamp, maxValue));
+        } else {
+            points.add(point(maxTimestamp, maxValue));
+            points.add(point(minTimestamp, minValue));
+        }
+        bucket = Long.MIN_VALUE;
+    }
+    
+    private static TimeSeriesData.DataPoint point(long timestamp, double value) {
+        return TimeSeriesData.DataPoint.builder()
+                .timestamp(timestamp)
+                .value(value)
+                .build();
+    }
+}
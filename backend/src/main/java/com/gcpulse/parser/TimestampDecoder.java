@@ -0,0 +1,217 @@
+package com.gcpulse.parser;
+
+/**
+ * Unified Logging 时间装饰符解码器
+ * 直接对字符做算术运算，不创建 DateTimeFormatter / ZonedDateTime，也不创建子串：
+ * - time / utctime：2025-08-05T13:23:18.409+0800（时区也可为 +08:00、Z 或省略，省略时按UTC）
+ * - uptime：12.345s（小数点可能随区域设置为逗号）
+ * - uptimemillis / timemillis：12345ms
+ * - uptimenanos / timenanos：12345678ns
+ *
+ * 实例缓存当前"日期 + 时区"前缀对应的epoch毫秒，同一天内的大量事件只需解析时分秒；
+ * 缓存不是线程安全的，每个收集器持有自己的实例
+ */
+public final class TimestampDecoder {
+    
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    
+    // 缓存的日期键（yyyyMMdd）、时区偏移以及对应的当天零点epoch毫秒
+    private int cachedDateKey = -1;
+    private long cachedOffsetMillis;
+    private long cachedDayStartMillis;
+    
+    /**
+     * 解码 time/utctime 装饰符（带缓存）
+     *
+     * @return epoch毫秒，格式不正确时返回 -1
+     */
+    public long decodeDateTime(CharSequence text, int start, int end) {
+        int dateKey = dateKey(text, start, end);
+        if (dateKey < 0) {
+            return -1;
+        }
+        long timeOfDay = timeOfDayMillis(text, start, end);
+        if (timeOfDay < 0) {
+            return -1;
+        }
+        long offsetMillis = offsetMillis(text, start, end);
+        if (offsetMillis == Long.MIN_VALUE) {
+            return -1;
+        }
+        if (dateKey != cachedDateKey || offsetMillis != cachedOffsetMillis) {
+            cachedDateKey = dateKey;
+            cachedOffsetMillis = offsetMillis;
+            cachedDayStartMillis = epochDay(dateKey / 10000, dateKey / 100 % 100, dateKey % 100) * MILLIS_PER_DAY - offsetMillis;
+        }
+        return cachedDayStartMillis + timeOfDay;
+    }
+    
+    /**
+     * 解码 time/utctime 格式的时间文本（不使用缓存，可在多线程间共享调用）
+     *
+     * @return epoch毫秒，格式不正确时返回 -1
+     */
+    public static long parseDateTime(CharSequence text, int start, int end) {
+        int dateKey = dateKey(text, start, end);
+        if (dateKey < 0) {
+            return -1;
+        }
+        long timeOfDay = timeOfDayMillis(text, start, end);
+        long offsetMillis = offsetMillis(text, start, end);
+        if (timeOfDay < 0 || offsetMillis == Long.MIN_VALUE) {
+            return -1;
+        }
+        return epochDay(dateKey / 10000, dateKey / 100 % 100, dateKey % 100) * MILLIS_PER_DAY - offsetMillis + timeOfDay;
+    }
+    
+    /**
+     * 解码带单位的数值装饰符（uptime / uptimemillis / uptimenanos / timemillis / timenanos），统一换算为毫秒
+     *
+     * @return 毫秒数，格式不正确时返回 -1
+     */
+    public static long decodeDuration(CharSequence text, int start, int end) {
+        long integer = 0;
+        long fractionMillis = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        int p = start;
+        for (; p < end; p++) {
+            char c = text.charAt(p);
+            if (c >= '0' && c <= '9') {
+                if (!inFraction) {
+                    integer = integer * 10 + (c - '0');
+                } else if (fractionDigits < 3) {
+                    fractionMillis = fractionMillis * 10 + (c - '0');
+                    fractionDigits++;
+                }
+            } else if ((c == '.' || c == ',') && !inFraction) {
+                inFraction = true;
+            } else {
+                break;
+            }
+        }
+        if (p == start) {
+            return -1;
+        }
+        int unitLength = end - p;
+        if (unitLength == 1 && text.charAt(p) == 's') {
+            while (fractionDigits < 3) {
+                fractionMillis *= 10;
+                fractionDigits++;
+            }
+            return integer * 1000 + fractionMillis;
+        }
+        if (unitLength == 2 && text.charAt(p + 1) == 's') {
+            if (text.charAt(p) == 'm') {
+                return integer;
+            }
+            if (text.charAt(p) == 'n') {
+                return integer / 1_000_000;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 日期部分 yyyy-MM-dd 编码为 yyyyMMdd，格式不正确时返回 -1
+     */
+    private static int dateKey(CharSequence text, int start, int end) {
+        if (end - start < 19 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                || text.charAt(start + 10) != 'T') {
+            return -1;
+        }
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return -1;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+    
+    /**
+     * 时间部分 HH:mm:ss[.SSS] 换算为当天毫秒数，格式不正确时返回 -1
+     */
+    private static long timeOfDayMillis(CharSequence text, int start, int end) {
+        if (text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+            return -1;
+        }
+        int hour = digits(text, start + 11, 2);
+        int minute = digits(text, start + 14, 2);
+        int second = digits(text, start + 17, 2);
+        if (hour < 0 || minute < 0 || second < 0) {
+            return -1;
+        }
+        int millis = 0;
+        int p = start + 19;
+        if (p < end && text.charAt(p) == '.') {
+            int scale = 100;
+            for (p++; p < end && isDigit(text.charAt(p)); p++) {
+                millis += (text.charAt(p) - '0') * scale;
+                scale /= 10;
+            }
+        }
+        return ((hour * 60L + minute) * 60 + second) * 1000 + millis;
+    }
+    
+    /**
+     * 时区偏移（+0800 / +08:00 / Z / 省略）换算为毫秒，格式不正确时返回 Long.MIN_VALUE
+     */
+    private static long offsetMillis(CharSequence text, int start, int end) {
+        int p = start + 19;
+        while (p < end && (text.charAt(p) == '.' || isDigit(text.charAt(p)))) {
+            p++;
+        }
+        if (p == end || (end - p == 1 && text.charAt(p) == 'Z')) {
+            return 0;
+        }
+        char sign = text.charAt(p);
+        if (sign != '+' && sign != '-') {
+            return Long.MIN_VALUE;
+        }
+        int hours;
+        int minutes;
+        if (end - p == 5) {
+            hours = digits(text, p + 1, 2);
+            minutes = digits(text, p + 3, 2);
+        } else if (end - p == 6 && text.charAt(p + 3) == ':') {
+            hours = digits(text, p + 1, 2);
+            minutes = digits(text, p + 4, 2);
+        } else {
+            return Long.MIN_VALUE;
+        }
+        if (hours < 0 || minutes < 0) {
+            return Long.MIN_VALUE;
+        }
+        long millis = (hours * 60L + minutes) * 60_000;
+        return sign == '-' ? -millis : millis;
+    }
+    
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    /**
+     * 公历日期到1970-01-01的天数
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
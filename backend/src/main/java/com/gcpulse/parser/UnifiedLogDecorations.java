@@ -0,0 +1,317 @@
+package com.gcpulse.parser;
+
+import java.util.regex.Matcher;
+
+/**
+ * Unified Logging 装饰符词法分析器
+ * 一次性切分行首的 [时间][运行时长][级别][标签] 装饰符以及消息开头的 GC(n)，只记录各部分在行内的位置，不创建子串；
+ * 收集器的正则只需从消息正文开始匹配，不必再为每个模式重复匹配行首的时间戳和标签
+ *
+ * 实例保存当前行的切分结果，不是线程安全的，每个收集器持有自己的实例并逐行复用
+ */
+public final class UnifiedLogDecorations {
+    
+    private String line;
+    
+    // 各装饰符在行内的区间 [start, end)，不存在时 start 为 -1
+    private int timeStart;
+    private int timeEnd;
+    private int uptimeStart;
+    private int uptimeEnd;
+    private int epochStart;
+    private int epochEnd;
+    private int levelStart;
+    private int levelEnd;
+    private int tagsStart;
+    private int tagsEnd;
+    
+    private int gcId;
+    private int messageStart;
+    
+    /**
+     * 切分一行日志的装饰符
+     *
+     * @return 是否为带标签装饰符的 Unified Logging 行
+     */
+    public boolean parse(String line) {
+        this.line = line;
+        timeStart = uptimeStart = epochStart = levelStart = tagsStart = -1;
+        timeEnd = uptimeEnd = epochEnd = levelEnd = tagsEnd = -1;
+        gcId = -1;
+        messageStart = 0;
+        
+        int length = line.length();
+        int pos = 0;
+        while (pos < length && line.charAt(pos) == '[') {
+            int close = line.indexOf(']', pos + 1);
+            if (close < 0 || !classify(pos + 1, close)) {
+                return false;
+            }
+            pos = close + 1;
+        }
+        if (tagsStart < 0) {
+            return false;
+        }
+        
+        pos = skipSpaces(pos);
+        if (line.startsWith("GC(", pos)) {
+            int p = pos + 3;
+            int id = 0;
+            while (p < length && isDigit(line.charAt(p))) {
+                id = id * 10 + (line.charAt(p) - '0');
+                p++;
+            }
+            if (p > pos + 3 && p < length && line.charAt(p) == ')') {
+                gcId = id;
+                pos = skipSpaces(p + 1);
+            }
+        }
+        messageStart = pos;
+        return true;
+    }
+    
+    /**
+     * 识别一个装饰符（内容区间为 [start, end)，去掉右侧对齐用的空格）
+     * 装饰符依次为时间类、主机名、pid/tid、级别、标签，标签总是最后一个
+     */
+    private boolean classify(int start, int end) {
+        while (end > start && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end == start) {
+            return false;
+        }
+        
+        char first = line.charAt(start);
+        if (isDigit(first)) {
+            // time / utctime：2025-08-05T13:23:18.409+0800
+            if (end - start >= 10 && line.charAt(start + 4) == '-') {
+                if (timeStart < 0) {
+                    timeStart = start;
+                    timeEnd = end;
+                }
+                return true;
+            }
+            // uptime 12.345s / uptimemillis 12345ms / uptimenanos 12345ns / timemillis / timenanos，无单位的为 pid/tid
+            int p = start;
+            while (p < end && (isDigit(line.charAt(p)) || line.charAt(p) == '.' || line.charAt(p) == ',')) {
+                p++;
+            }
+            if (p == end) {
+                return true;
+            }
+            if (!isUnitSuffix(p, end)) {
+                return false;
+            }
+            // timemillis/timenanos 是epoch时间，位数远多于运行时长（13位毫秒 ≈ 1973年，19位纳秒 ≈ 1973年）
+            int integerDigits = p - start;
+            boolean epoch = line.charAt(p) == 'm' && integerDigits >= 13 || line.charAt(p) == 'n' && integerDigits >= 19;
+            if (epoch && epochStart < 0) {
+                epochStart = start;
+                epochEnd = end;
+            } else if (!epoch && uptimeStart < 0) {
+                uptimeStart = start;
+                uptimeEnd = end;
+            }
+            return true;
+        }
+        
+        if (isLevel(start, end)) {
+            levelStart = start;
+            levelEnd = end;
+            return true;
+        }
+        
+        // 标签集合（gc,phases，小写标识符）总是最后一个装饰符，后出现的覆盖先出现的
+        if (isTagSet(start, end)) {
+            tagsStart = start;
+            tagsEnd = end;
+            return true;
+        }
+        // 主机名只会出现在级别和标签之前
+        return levelStart < 0 && tagsStart < 0 && isHostname(start, end);
+    }
+    
+    private boolean isTagSet(int start, int end) {
+        for (int p = start; p < end; p++) {
+            char c = line.charAt(p);
+            if (!(c >= 'a' && c <= 'z' || isDigit(c) || c == ',' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isHostname(int start, int end) {
+        for (int p = start; p < end; p++) {
+            char c = line.charAt(p);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || isDigit(c) || c == '.' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isUnitSuffix(int p, int end) {
+        int length = end - p;
+        return length == 1 && line.charAt(p) == 's' ||
+               length == 2 && line.charAt(p + 1) == 's' && (line.charAt(p) == 'm' || line.charAt(p) == 'n');
+    }
+    
+    private boolean isLevel(int start, int end) {
+        return regionEquals(start, end, "info") || regionEquals(start, end, "debug") ||
+               regionEquals(start, end, "trace") || regionEquals(start, end, "warning") ||
+               regionEquals(start, end, "error");
+    }
+    
+    private boolean regionEquals(int start, int end, String value) {
+        return end - start == value.length() && line.regionMatches(start, value, 0, value.length());
+    }
+    
+    private int skipSpaces(int pos) {
+        while (pos < line.length() && line.charAt(pos) == ' ') {
+            pos++;
+        }
+        return pos;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    /**
+     * 标签集合是否恰好为给定值，如 "gc,phases"
+     */
+    public boolean tagsEqual(String tags) {
+        return tagsStart >= 0 && regionEquals(tagsStart, tagsEnd, tags);
+    }
+    
+    /**
+     * 标签集合的哈希值，与对应字符串的 hashCode 一致；没有标签时返回 0
+     */
+    public int tagsHash() {
+        int hash = 0;
+        for (int p = tagsStart; p >= 0 && p < tagsEnd; p++) {
+            hash = 31 * hash + line.charAt(p);
+        }
+        return hash;
+    }
+    
+    /**
+     * 标签集合是否包含给定标签，如 "phases"
+     */
+    public boolean hasTag(String tag) {
+        int start = tagsStart;
+        while (start >= 0 && start < tagsEnd) {
+            int comma = line.indexOf(',', start);
+            int end = comma < 0 || comma > tagsEnd ? tagsEnd : comma;
+            if (regionEquals(start, end, tag)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+    
+    public boolean levelIs(String level) {
+        return levelStart >= 0 && regionEquals(levelStart, levelEnd, level);
+    }
+    
+    /**
+     * 从消息正文开头匹配（复用调用方持有的 Matcher，正则中无需再包含装饰符和 GC(n)）
+     */
+    public boolean lookingAt(Matcher matcher) {
+        matcher.reset(line);
+        matcher.region(messageStart, line.length());
+        return matcher.lookingAt();
+    }
+    
+    /**
+     * 消息正文是否以给定文本开头
+     */
+    public boolean messageStartsWith(String prefix) {
+        return line.startsWith(prefix, messageStart);
+    }
+    
+    /**
+     * 给定文本在消息正文中的位置（行内下标），不存在时返回 -1
+     */
+    public int messageIndexOf(String text) {
+        return line.indexOf(text, messageStart);
+    }
+    
+    public boolean hasTime() {
+        return timeStart >= 0;
+    }
+    
+    /**
+     * time/utctime 装饰符文本（会创建子串，只在需要时调用）
+     */
+    public String time() {
+        return timeStart >= 0 ? line.substring(timeStart, timeEnd) : null;
+    }
+    
+    public boolean hasUptime() {
+        return uptimeStart >= 0;
+    }
+    
+    /**
+     * 行的绝对时间（epoch毫秒）：优先 time/utctime，其次 timemillis/timenanos；都没有时返回 -1
+     */
+    public long epochMillis(TimestampDecoder decoder) {
+        if (timeStart >= 0) {
+            long millis = decoder.decodeDateTime(line, timeStart, timeEnd);
+            if (millis >= 0) {
+                return millis;
+            }
+        }
+        return epochStart >= 0 ? TimestampDecoder.decodeDuration(line, epochStart, epochEnd) : -1;
+    }
+    
+    /**
+     * JVM运行时长（毫秒）：uptime/uptimemillis/uptimenanos；没有时返回 -1
+     */
+    public long uptimeMillis() {
+        return uptimeStart >= 0 ? TimestampDecoder.decodeDuration(line, uptimeStart, uptimeEnd) : -1;
+    }
+    
+    /**
+     * 事件时间戳（毫秒）：有绝对时间时使用绝对时间，否则使用运行时长（与JDK 8日志的相对时间戳一致）；都没有时返回 -1
+     */
+    public long timestampMillis(TimestampDecoder decoder) {
+        long millis = epochMillis(decoder);
+        return millis >= 0 ? millis : uptimeMillis();
+    }
+    
+    public boolean hasGcId() {
+        return gcId >= 0;
+    }
+    
+    public int getGcId() {
+        return gcId;
+    }
+    
+    public int getMessageStart() {
+        return messageStart;
+    }
+    
+    public String getLine() {
+        return line;
+    }
+    
+    public int getTimeStart() {
+        return timeStart;
+    }
+    
+    public int getTimeEnd() {
+        return timeEnd;
+    }
+    
+    public int getUptimeStart() {
+        return uptimeStart;
+    }
+    
+    public int getUptimeEnd() {
+        return uptimeEnd;
+    }
+}
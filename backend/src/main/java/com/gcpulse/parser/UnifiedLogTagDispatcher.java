@@ -0,0 +1,75 @@
+package com.gcpulse.parser;
+
+import java.util.Arrays;
+
+/**
+ * Unified Logging 标签分发器
+ * 每行只切分一次装饰符，再按标签集合（如 "gc,phases"）找到唯一的处理器，未注册的标签集合直接跳过；
+ * 处理器内部按消息开头选择正则，开启 -Xlog:gc*=debug 时绝大多数行最多只匹配一个正则
+ *
+ * 标签集合按哈希索引（与 String.hashCode 一致，直接在行内计算，不创建子串）
+ * 实例持有逐行复用的切分结果，不是线程安全的
+ */
+final class UnifiedLogTagDispatcher {
+    
+    /**
+     * 标签处理器，参数为当前行的切分结果
+     */
+    @FunctionalInterface
+    interface Handler {
+        void handle(UnifiedLogDecorations decorations);
+    }
+    
+    private final UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+    
+    // 处理器数量很少（十个以内），按哈希值顺序比较即可
+    private String[] tagSets = new String[0];
+    private int[] hashes = new int[0];
+    private Handler[] handlers = new Handler[0];
+    
+    /**
+     * 注册标签集合的处理器
+     *
+     * @param tagSet 完整的标签集合，如 "gc,heap"（不含对齐用的空格）
+     */
+    UnifiedLogTagDispatcher on(String tagSet, Handler handler) {
+        int size = tagSets.length;
+        tagSets = Arrays.copyOf(tagSets, size + 1);
+        hashes = Arrays.copyOf(hashes, size + 1);
+        handlers = Arrays.copyOf(handlers, size + 1);
+        tagSets[size] = tagSet;
+        hashes[size] = tagSet.hashCode();
+        handlers[size] = handler;
+        return this;
+    }
+    
+    /**
+     * 切分一行并交给对应标签集合的处理器
+     *
+     * @return 是否有处理器处理了该行
+     */
+    boolean dispatch(String line) {
+        return decorations.parse(line) && dispatch(decorations);
+    }
+    
+    /**
+     * 将已切分的行交给对应标签集合的处理器
+     */
+    boolean dispatch(UnifiedLogDecorations parsed) {
+        int hash = parsed.tagsHash();
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] == hash && parsed.tagsEqual(tagSets[i])) {
+                handlers[i].handle(parsed);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 最近一次切分的结果
+     */
+    UnifiedLogDecorations decorations() {
+        return decorations;
+    }
+}
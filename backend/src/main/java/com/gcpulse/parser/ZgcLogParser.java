@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,535 +25,729 @@ import java.util.regex.Pattern;
 @Component
 public class ZgcLogParser extends AbstractGCLogParser {
     
-    // ZGC GC开始标记（同时支持分代和非分代）- 兼容JDK11+和JDK17+
-    private static final Pattern ZGC_START_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,start\\s*\\]\\s*GC\\((\\d+)\\)\\s*(.+?)\\s*$");
+    // 以下模式只匹配消息正文（行首的 [时间][级别][标签] 与 GC(n) 由 UnifiedLogDecorations 切分）
+    
+    // ZGC GC开始标记（同时支持分代和非分代）- [gc,start] 兼容JDK11+和JDK17+
+    private static final Pattern ZGC_START_PATTERN = Pattern.compile("(.+?)\\s*$");
     
     // 分代模式检测
     private static final Pattern ZGC_GENERATIONAL_PATTERN = Pattern.compile("GC Workers for (Young|Old) Generation");
     
-    // ZGC Pause阶段 - 兼容JDK17+
-    private static final Pattern ZGC_PAUSE_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,phases\\s*\\]\\s*GC\\((\\d+)\\)\\s*(Pause .+?)\\s+([\\d.]+)ms");
+    // ZGC Pause阶段 - [gc,phases] 兼容JDK17+
+    private static final Pattern ZGC_PAUSE_PATTERN = Pattern.compile("(Pause .+?)\\s+([\\d.]+)ms");
     
-    // ZGC Concurrent阶段 - 兼容JDK17+
-    private static final Pattern ZGC_CONCURRENT_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,phases\\s*\\]\\s*GC\\((\\d+)\\)\\s*(Concurrent .+?)\\s+([\\d.]+)ms");
+    // ZGC Concurrent阶段 - [gc,phases] 兼容JDK17+
+    private static final Pattern ZGC_CONCURRENT_PATTERN = Pattern.compile("(Concurrent .+?)\\s+([\\d.]+)ms");
     
-    // ZGC堆内存统计表格 - Used行 - 兼容JDK17+（支持多个空格分隔）
-    private static final Pattern ZGC_HEAP_USED_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Used:\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    // ZGC堆内存统计表格 - Used行 - [gc,heap] 兼容JDK17+（支持多个空格分隔）
+    private static final Pattern ZGC_HEAP_USED_PATTERN = Pattern.compile("Used:\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
     
-    // ZGC堆内存统计表格 - Live行 - 兼容JDK17+
-    private static final Pattern ZGC_HEAP_LIVE_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Live:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    // ZGC堆内存统计表格 - Live行 - [gc,heap] 兼容JDK17+
+    private static final Pattern ZGC_HEAP_LIVE_PATTERN = Pattern.compile("Live:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
     
-    // ZGC堆内存统计表格 - Allocated行 - 兼容JDK17+
-    private static final Pattern ZGC_HEAP_ALLOCATED_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Allocated:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    // ZGC堆内存统计表格 - Allocated行 - [gc,heap] 兼容JDK17+
+    private static final Pattern ZGC_HEAP_ALLOCATED_PATTERN = Pattern.compile("Allocated:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
     
-    // ZGC堆内存统计表格 - Garbage行 - 兼容JDK17+
-    private static final Pattern ZGC_HEAP_GARBAGE_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Garbage:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    // ZGC堆内存统计表格 - Garbage行 - [gc,heap] 兼容JDK17+
+    private static final Pattern ZGC_HEAP_GARBAGE_PATTERN = Pattern.compile("Garbage:\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
     
-    // ZGC堆内存统计表格 - Reclaimed行 - 兼容JDK17+
-    private static final Pattern ZGC_HEAP_RECLAIMED_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Reclaimed:\\s+-\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
+    // ZGC堆内存统计表格 - Reclaimed行 - [gc,heap] 兼容JDK17+
+    private static final Pattern ZGC_HEAP_RECLAIMED_PATTERN = Pattern.compile("Reclaimed:\\s+-\\s+-\\s+(\\d+)M\\s+\\(\\d+%\\)\\s+(\\d+)M\\s+\\(\\d+%\\)");
     
-    // ZGC堆内存统计表格 - Capacity行 - 兼容JDK17+
-    private static final Pattern ZGC_HEAP_CAPACITY_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,heap\\s*\\]\\s*GC\\((\\d+)\\)\\s+Capacity:\\s+(\\d+)M");
+    // ZGC堆内存统计表格 - Capacity行 - [gc,heap] 兼容JDK17+
+    private static final Pattern ZGC_HEAP_CAPACITY_PATTERN = Pattern.compile("Capacity:\\s+(\\d+)M");
     
-    // ZGC GC汇总行 - 兼容JDK17+
-    private static final Pattern ZGC_SUMMARY_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc\\s*\\]\\s*GC\\((\\d+)\\)\\s*.*?\\s+(\\d+)M\\s*\\((\\d+)%\\)\\s*->\\s*(\\d+)M\\s*\\((\\d+)%\\)");
+    // ZGC Metaspace - [gc,metaspace] 兼容JDK17+
+    private static final Pattern ZGC_METASPACE_PATTERN = Pattern.compile("Metaspace:\\s+(\\d+)M\\s+used,\\s+(\\d+)M\\s+committed,\\s+(\\d+)M\\s+reserved");
     
-    // ZGC Metaspace - 兼容JDK17+
-    private static final Pattern ZGC_METASPACE_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{4})\\]\\[\\w+\\s*\\]\\[gc,metaspace\\]\\s*GC\\((\\d+)\\)\\s*Metaspace:\\s+(\\d+)M\\s+used,\\s+(\\d+)M\\s+committed,\\s+(\\d+)M\\s+reserved");
+    // 统计信息（[gc,marking]、[gc,nmethod]、[gc,ref]、[gc,reloc]）
+    private static final Pattern ZGC_MARK_STRIPES_PATTERN = Pattern.compile("(\\d+)\\s+stripe\\(s\\)");
+    private static final Pattern ZGC_MARK_PROACTIVE_FLUSH_PATTERN = Pattern.compile("(\\d+)\\s+proactive flush\\(es\\)");
+    private static final Pattern ZGC_MARK_TERMINATE_FLUSH_PATTERN = Pattern.compile("(\\d+)\\s+terminate flush\\(es\\)");
+    private static final Pattern ZGC_NMETHODS_REGISTERED_PATTERN = Pattern.compile("(\\d+)\\s+registered");
+    private static final Pattern ZGC_NMETHODS_UNREGISTERED_PATTERN = Pattern.compile("(\\d+)\\s+unregistered");
+    private static final Pattern ZGC_REFERENCE_STATS_PATTERN = Pattern.compile("(\\d+)\\s+encountered,\\s+(\\d+)\\s+discovered,\\s+(\\d+)\\s+enqueued");
+    // 格式: Small Pages: 54 / 108M, Empty: 0M, Relocated: 15M, In-Place: 0
+    private static final Pattern ZGC_PAGE_STATS_PATTERN = Pattern.compile("(\\d+)\\s+/\\s+([\\d.]+M),\\s+Empty:\\s+([\\d.]+M),\\s+Relocated:\\s+([\\d.]+M),\\s+In-Place:\\s+(\\d+)");
     
     @Override
     public String getGCType() {
         return "ZGC";
     }
     
+    /**
+     * 每个GC周期的阶段、内存表格数据在周期结束前都缓存在内存中，实测约为日志大小的 1.5 倍
+     */
+    @Override
+    public double estimatedHeapPerLogByte() {
+        return 1.5;
+    }
+    
     /**
      * 解析ZGC初始化配置
      */
     public ZGCInitConfig parseZGCInitConfig(List<String> lines) {
+        return LogLineCollector.collect(newInitConfigCollector(), lines);
+    }
+    
+    /**
+     * 创建ZGC初始化配置收集器
+     * 只处理 [gc,init] 行，按消息开头区分配置项（兼容标签右侧对齐用的空格）
+     */
+    public LogLineCollector<ZGCInitConfig> newInitConfigCollector() {
         ZGCInitConfig.ZGCInitConfigBuilder builder = ZGCInitConfig.builder();
+        UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,init", decorations -> parseInitConfigLine(decorations, builder));
         
-        for (String line : lines) {
-            try {
-                if (line.contains("[gc,init] Version:")) {
-                    String version = line.substring(line.indexOf("Version:") + 8).trim();
-                    builder.version(version);
-                } else if (line.contains("[gc,init] Using legacy single-generation mode")) {
-                    builder.mode("Single-Generation");
-                } else if (line.contains("[gc,init] Using") && line.contains("generation mode")) {
-                    if (line.contains("generational")) {
-                        builder.mode("Generational");
-                    }
-                } else if (line.contains("[gc,init] NUMA Support:")) {
-                    String value = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.numaSupport(!value.equalsIgnoreCase("Disabled"));
-                } else if (line.contains("[gc,init] CPUs:")) {
-                    String cpuInfo = line.substring(line.indexOf("CPUs:") + 5).trim();
-                    String[] parts = cpuInfo.split(",");
-                    if (parts.length >= 2) {
-                        builder.cpuTotal(Integer.parseInt(parts[0].replaceAll("\\D+", "")));
-                        builder.cpuAvailable(Integer.parseInt(parts[1].replaceAll("\\D+", "")));
-                    }
-                } else if (line.contains("[gc,init] Memory:")) {
-                    String memory = line.substring(line.indexOf("Memory:") + 7).trim();
-                    builder.totalMemory(memory);
-                } else if (line.contains("[gc,init] Large Page Support:")) {
-                    String value = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.largePageSupport(!value.equalsIgnoreCase("Disabled"));
-                } else if (line.contains("[gc,init] GC Workers:")) {
-                    String workerInfo = line.substring(line.indexOf("GC Workers:") + 11).trim();
-                    String[] parts = workerInfo.split("\\s+");
-                    if (parts.length > 0) {
-                        builder.gcWorkers(Integer.parseInt(parts[0]));
-                        if (workerInfo.contains("dynamic")) {
-                            builder.gcWorkersMode("dynamic");
-                        } else {
-                            builder.gcWorkersMode("static");
-                        }
-                    }
-                } else if (line.contains("[gc,init] Address Space Type:")) {
-                    String type = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.addressSpaceType(type);
-                } else if (line.contains("[gc,init] Address Space Size:")) {
-                    String size = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.addressSpaceSize(size);
-                } else if (line.contains("[gc,init] Min Capacity:")) {
-                    String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.minCapacity(capacity);
-                } else if (line.contains("[gc,init] Initial Capacity:")) {
-                    String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.initialCapacity(capacity);
-                } else if (line.contains("[gc,init] Max Capacity:")) {
-                    String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.maxCapacity(capacity);
-                } else if (line.contains("[gc,init] Medium Page Size:")) {
-                    String size = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.mediumPageSize(size);
-                } else if (line.contains("[gc,init] Pre-touch:")) {
-                    String value = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.preTouch(!value.equalsIgnoreCase("Disabled"));
-                } else if (line.contains("[gc,init] Uncommit:")) {
-                    String value = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.uncommit(!value.equalsIgnoreCase("Disabled"));
-                } else if (line.contains("[gc,init] Uncommit Delay:")) {
-                    String delay = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.uncommitDelay(delay);
-                } else if (line.contains("[gc,init] Runtime Workers:")) {
-                    String workers = line.substring(line.lastIndexOf(":") + 1).trim();
-                    builder.runtimeWorkers(Integer.parseInt(workers.replaceAll("\\D+", "")));
+        return new LogLineCollector<>() {
+            @Override
+            public void accept(String line) {
+                try {
+                    dispatcher.dispatch(line);
+                } catch (Exception e) {
+                    log.debug("解析ZGC初始化配置行失败: {}", line);
                 }
-            } catch (Exception e) {
-                log.debug("解析ZGC初始化配置行失败: {}", line);
             }
+            
+            @Override
+            public ZGCInitConfig finish() {
+                return builder.build();
+            }
+        };
+    }
+    
+    /**
+     * 解析一行 [gc,init] 配置
+     */
+    private void parseInitConfigLine(UnifiedLogDecorations decorations, ZGCInitConfig.ZGCInitConfigBuilder builder) {
+        String line = decorations.getLine();
+        if (decorations.messageStartsWith("Version:")) {
+            String version = line.substring(line.indexOf("Version:") + 8).trim();
+            builder.version(version);
+        } else if (decorations.messageStartsWith("Using legacy single-generation mode")) {
+            builder.mode("Single-Generation");
+        } else if (decorations.messageStartsWith("Using") && decorations.messageIndexOf("generation mode") >= 0) {
+            if (line.contains("generational")) {
+                builder.mode("Generational");
+            }
+        } else if (decorations.messageStartsWith("NUMA Support:")) {
+            String value = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.numaSupport(!value.equalsIgnoreCase("Disabled"));
+        } else if (decorations.messageStartsWith("CPUs:")) {
+            String cpuInfo = line.substring(line.indexOf("CPUs:") + 5).trim();
+            String[] parts = cpuInfo.split(",");
+            if (parts.length >= 2) {
+                builder.cpuTotal(Integer.parseInt(parts[0].replaceAll("\\D+", "")));
+                builder.cpuAvailable(Integer.parseInt(parts[1].replaceAll("\\D+", "")));
+            }
+        } else if (decorations.messageStartsWith("Memory:")) {
+            String memory = line.substring(line.indexOf("Memory:") + 7).trim();
+            builder.totalMemory(memory);
+        } else if (decorations.messageStartsWith("Large Page Support:")) {
+            String value = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.largePageSupport(!value.equalsIgnoreCase("Disabled"));
+        } else if (decorations.messageStartsWith("GC Workers:")) {
+            String workerInfo = line.substring(line.indexOf("GC Workers:") + 11).trim();
+            String[] parts = workerInfo.split("\\s+");
+            if (parts.length > 0) {
+                builder.gcWorkers(Integer.parseInt(parts[0]));
+                if (workerInfo.contains("dynamic")) {
+                    builder.gcWorkersMode("dynamic");
+                } else {
+                    builder.gcWorkersMode("static");
+                }
+            }
+        } else if (decorations.messageStartsWith("Address Space Type:")) {
+            String type = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.addressSpaceType(type);
+        } else if (decorations.messageStartsWith("Address Space Size:")) {
+            String size = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.addressSpaceSize(size);
+        } else if (decorations.messageStartsWith("Min Capacity:")) {
+            String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.minCapacity(capacity);
+        } else if (decorations.messageStartsWith("Initial Capacity:")) {
+            String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.initialCapacity(capacity);
+        } else if (decorations.messageStartsWith("Max Capacity:")) {
+            String capacity = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.maxCapacity(capacity);
+        } else if (decorations.messageStartsWith("Medium Page Size:")) {
+            String size = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.mediumPageSize(size);
+        } else if (decorations.messageStartsWith("Pre-touch:")) {
+            String value = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.preTouch(!value.equalsIgnoreCase("Disabled"));
+        } else if (decorations.messageStartsWith("Uncommit:")) {
+            String value = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.uncommit(!value.equalsIgnoreCase("Disabled"));
+        } else if (decorations.messageStartsWith("Uncommit Delay:")) {
+            String delay = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.uncommitDelay(delay);
+        } else if (decorations.messageStartsWith("Runtime Workers:")) {
+            String workers = line.substring(line.lastIndexOf(":") + 1).trim();
+            builder.runtimeWorkers(Integer.parseInt(workers.replaceAll("\\D+", "")));
         }
-        
-        return builder.build();
+    }
+    
+    /**
+     * 是否为初始化配置收集器会处理的日志行
+     */
+    static boolean isInitConfigLine(String line) {
+        return line.contains("[gc,init");
     }
     
     /**
      * 解析ZGC统计信息（从GC事件中提取）
      */
     public ZGCStatistics parseZGCStatistics(List<String> lines) {
-        ZGCStatistics.ZGCStatisticsBuilder builder = ZGCStatistics.builder();
-        Map<String, Double> mmuMap = new HashMap<>();
+        return LogLineCollector.collect(newStatisticsCollector(), lines);
+    }
+    
+    /**
+     * 创建ZGC统计信息收集器
+     */
+    public LogLineCollector<ZGCStatistics> newStatisticsCollector() {
+        return new ZGCStatisticsCollector();
+    }
+    
+    /**
+     * ZGC统计信息收集器
+     * 按标签分发：[gc,mmu]、[gc,load]、[gc,marking]、[gc,nmethod]、[gc,ref]、[gc,reloc] 各自只检查本标签的统计项
+     */
+    private class ZGCStatisticsCollector implements LogLineCollector<ZGCStatistics> {
+        private final ZGCStatistics.ZGCStatisticsBuilder builder = ZGCStatistics.builder();
+        private final Map<String, Double> mmuMap = new HashMap<>();
+        
+        private final Matcher stripesMatcher = ZGC_MARK_STRIPES_PATTERN.matcher("");
+        private final Matcher proactiveFlushMatcher = ZGC_MARK_PROACTIVE_FLUSH_PATTERN.matcher("");
+        private final Matcher terminateFlushMatcher = ZGC_MARK_TERMINATE_FLUSH_PATTERN.matcher("");
+        private final Matcher registeredMatcher = ZGC_NMETHODS_REGISTERED_PATTERN.matcher("");
+        private final Matcher unregisteredMatcher = ZGC_NMETHODS_UNREGISTERED_PATTERN.matcher("");
+        private final Matcher referenceMatcher = ZGC_REFERENCE_STATS_PATTERN.matcher("");
+        private final Matcher pageMatcher = ZGC_PAGE_STATS_PATTERN.matcher("");
+        
+        private final UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,mmu", this::handleMmu)
+                .on("gc,load", this::handleLoad)
+                .on("gc,marking", this::handleMarking)
+                .on("gc,nmethod", this::handleNMethods)
+                .on("gc,ref", this::handleReferences)
+                .on("gc,reloc", this::handleRelocation);
         
-        for (String line : lines) {
+        @Override
+        public void accept(String line) {
             try {
-                // MMU统计
-                if (line.contains("[gc,mmu") && line.contains("MMU:")) {
-                    String mmuInfo = line.substring(line.indexOf("MMU:") + 4).trim();
-                    String[] parts = mmuInfo.split(",\\s*");
-                    for (String part : parts) {
-                        if (part.contains("/")) {
-                            String[] kv = part.split("/");
-                            if (kv.length == 2) {
-                                String timeWindow = kv[0].trim();
-                                String percentage = kv[1].replaceAll("[^\\d.]", "");
-                                mmuMap.put(timeWindow, Double.parseDouble(percentage));
-                            }
-                        }
-                    }
-                }
-                // Load信息
-                else if (line.contains("[gc,load") && line.contains("Load:")) {
-                    String load = line.substring(line.indexOf("Load:") + 5).trim();
-                    builder.systemLoad(load);
-                }
-                // Marking统计
-                else if (line.contains("[gc,marking") && line.contains("Mark:")) {
-                    String markInfo = line.substring(line.indexOf("Mark:") + 5).trim();
-                    Pattern stripePattern = Pattern.compile("(\\d+)\\s+stripe\\(s\\)");
-                    Matcher matcher = stripePattern.matcher(markInfo);
-                    if (matcher.find()) {
-                        builder.markStripes(Integer.parseInt(matcher.group(1)));
-                    }
-                    
-                    Pattern flushPattern = Pattern.compile("(\\d+)\\s+proactive flush\\(es\\)");
-                    matcher = flushPattern.matcher(markInfo);
-                    if (matcher.find()) {
-                        builder.proactiveFlushes(Integer.parseInt(matcher.group(1)));
-                    }
-                    
-                    Pattern terminatePattern = Pattern.compile("(\\d+)\\s+terminate flush\\(es\\)");
-                    matcher = terminatePattern.matcher(markInfo);
-                    if (matcher.find()) {
-                        builder.terminateFlushes(Integer.parseInt(matcher.group(1)));
+                dispatcher.dispatch(line);
+            } catch (Exception e) {
+                log.debug("解析ZGC统计信息行失败: {}", line);
+            }
+        }
+        
+        // MMU统计
+        private void handleMmu(UnifiedLogDecorations decorations) {
+            int index = decorations.messageIndexOf("MMU:");
+            if (index < 0) {
+                return;
+            }
+            String mmuInfo = decorations.getLine().substring(index + 4).trim();
+            String[] parts = mmuInfo.split(",\\s*");
+            for (String part : parts) {
+                if (part.contains("/")) {
+                    String[] kv = part.split("/");
+                    if (kv.length == 2) {
+                        String timeWindow = kv[0].trim();
+                        String percentage = kv[1].replaceAll("[^\\d.]", "");
+                        mmuMap.put(timeWindow, Double.parseDouble(percentage));
                     }
                 }
-                // Mark Stack Usage
-                else if (line.contains("[gc,marking") && line.contains("Mark Stack Usage:")) {
-                    String usage = line.substring(line.indexOf("Mark Stack Usage:") + 17).trim();
-                    builder.markStackUsage(usage);
+            }
+        }
+        
+        // Load信息
+        private void handleLoad(UnifiedLogDecorations decorations) {
+            int index = decorations.messageIndexOf("Load:");
+            if (index >= 0) {
+                builder.systemLoad(decorations.getLine().substring(index + 5).trim());
+            }
+        }
+        
+        // Marking统计和Mark Stack Usage
+        private void handleMarking(UnifiedLogDecorations decorations) {
+            String line = decorations.getLine();
+            int index = decorations.messageIndexOf("Mark:");
+            if (index >= 0) {
+                int from = index + 5;
+                if (find(stripesMatcher, line, from)) {
+                    builder.markStripes(Integer.parseInt(stripesMatcher.group(1)));
                 }
-                // NMethod统计
-                else if (line.contains("[gc,nmethod") && line.contains("NMethods:")) {
-                    String nmethodInfo = line.substring(line.indexOf("NMethods:") + 9).trim();
-                    Pattern registeredPattern = Pattern.compile("(\\d+)\\s+registered");
-                    Matcher matcher = registeredPattern.matcher(nmethodInfo);
-                    if (matcher.find()) {
-                        builder.nmethodsRegistered(Integer.parseInt(matcher.group(1)));
-                    }
-                    
-                    Pattern unregisteredPattern = Pattern.compile("(\\d+)\\s+unregistered");
-                    matcher = unregisteredPattern.matcher(nmethodInfo);
-                    if (matcher.find()) {
-                        builder.nmethodsUnregistered(Integer.parseInt(matcher.group(1)));
-                    }
+                if (find(proactiveFlushMatcher, line, from)) {
+                    builder.proactiveFlushes(Integer.parseInt(proactiveFlushMatcher.group(1)));
                 }
-                // 引用统计
-                else if (line.contains("[gc,ref") && line.contains("Soft:")) {
-                    builder.softReferences(parseReferenceStats(line));
-                } else if (line.contains("[gc,ref") && line.contains("Weak:")) {
-                    builder.weakReferences(parseReferenceStats(line));
-                } else if (line.contains("[gc,ref") && line.contains("Final:")) {
-                    builder.finalReferences(parseReferenceStats(line));
-                } else if (line.contains("[gc,ref") && line.contains("Phantom:")) {
-                    builder.phantomReferences(parseReferenceStats(line));
+                if (find(terminateFlushMatcher, line, from)) {
+                    builder.terminateFlushes(Integer.parseInt(terminateFlushMatcher.group(1)));
                 }
-                // 页面统计
-                else if (line.contains("[gc,reloc") && line.contains("Small Pages:")) {
-                    builder.smallPages(parsePageStats(line));
-                } else if (line.contains("[gc,reloc") && line.contains("Medium Pages:")) {
-                    builder.mediumPages(parsePageStats(line));
-                } else if (line.contains("[gc,reloc") && line.contains("Large Pages:")) {
-                    builder.largePages(parsePageStats(line));
+                return;
+            }
+            index = decorations.messageIndexOf("Mark Stack Usage:");
+            if (index >= 0) {
+                builder.markStackUsage(line.substring(index + 17).trim());
+            }
+        }
+        
+        // NMethod统计
+        private void handleNMethods(UnifiedLogDecorations decorations) {
+            String line = decorations.getLine();
+            int index = decorations.messageIndexOf("NMethods:");
+            if (index < 0) {
+                return;
+            }
+            int from = index + 9;
+            if (find(registeredMatcher, line, from)) {
+                builder.nmethodsRegistered(Integer.parseInt(registeredMatcher.group(1)));
+            }
+            if (find(unregisteredMatcher, line, from)) {
+                builder.nmethodsUnregistered(Integer.parseInt(unregisteredMatcher.group(1)));
+            }
+        }
+        
+        // 引用统计
+        private void handleReferences(UnifiedLogDecorations decorations) {
+            if (decorations.messageIndexOf("Soft:") >= 0) {
+                builder.softReferences(parseReferenceStats(decorations));
+            } else if (decorations.messageIndexOf("Weak:") >= 0) {
+                builder.weakReferences(parseReferenceStats(decorations));
+            } else if (decorations.messageIndexOf("Final:") >= 0) {
+                builder.finalReferences(parseReferenceStats(decorations));
+            } else if (decorations.messageIndexOf("Phantom:") >= 0) {
+                builder.phantomReferences(parseReferenceStats(decorations));
+            }
+        }
+        
+        // 页面统计和Forwarding Usage
+        private void handleRelocation(UnifiedLogDecorations decorations) {
+            if (decorations.messageIndexOf("Small Pages:") >= 0) {
+                builder.smallPages(parsePageStats(decorations));
+            } else if (decorations.messageIndexOf("Medium Pages:") >= 0) {
+                builder.mediumPages(parsePageStats(decorations));
+            } else if (decorations.messageIndexOf("Large Pages:") >= 0) {
+                builder.largePages(parsePageStats(decorations));
+            } else {
+                int index = decorations.messageIndexOf("Forwarding Usage:");
+                if (index >= 0) {
+                    builder.forwardingUsage(decorations.getLine().substring(index + 16).trim());
                 }
-                // Forwarding Usage
-                else if (line.contains("[gc,reloc") && line.contains("Forwarding Usage:")) {
-                    String usage = line.substring(line.indexOf("Forwarding Usage:") + 16).trim();
-                    builder.forwardingUsage(usage);
+            }
+        }
+        
+        /**
+         * 解析引用统计
+         */
+        private ZGCStatistics.ReferenceStats parseReferenceStats(UnifiedLogDecorations decorations) {
+            if (find(referenceMatcher, decorations.getLine(), decorations.getMessageStart())) {
+                return ZGCStatistics.ReferenceStats.builder()
+                        .encountered(Integer.parseInt(referenceMatcher.group(1)))
+                        .discovered(Integer.parseInt(referenceMatcher.group(2)))
+                        .enqueued(Integer.parseInt(referenceMatcher.group(3)))
+                        .build();
+            }
+            return null;
+        }
+        
+        /**
+         * 解析页面统计
+         */
+        private ZGCStatistics.PageStats parsePageStats(UnifiedLogDecorations decorations) {
+            try {
+                if (find(pageMatcher, decorations.getLine(), decorations.getMessageStart())) {
+                    return ZGCStatistics.PageStats.builder()
+                            .count(Integer.parseInt(pageMatcher.group(1)))
+                            .size(pageMatcher.group(2))
+                            .emptySize(pageMatcher.group(3))
+                            .relocatedSize(pageMatcher.group(4))
+                            .inPlace(Integer.parseInt(pageMatcher.group(5)))
+                            .build();
                 }
             } catch (Exception e) {
-                log.debug("解析ZGC统计信息行失败: {}", line);
+                log.debug("解析页面统计失败: {}", decorations.getLine());
             }
+            return null;
         }
         
-        builder.mmuPercentages(mmuMap);
-        return builder.build();
+        @Override
+        public ZGCStatistics finish() {
+            builder.mmuPercentages(mmuMap);
+            return builder.build();
+        }
     }
     
     /**
-     * 解析引用统计
+     * 从行内指定位置开始查找（复用Matcher）
      */
-    private ZGCStatistics.ReferenceStats parseReferenceStats(String line) {
-        Pattern pattern = Pattern.compile("(\\d+)\\s+encountered,\\s+(\\d+)\\s+discovered,\\s+(\\d+)\\s+enqueued");
-        Matcher matcher = pattern.matcher(line);
-        if (matcher.find()) {
-            return ZGCStatistics.ReferenceStats.builder()
-                    .encountered(Integer.parseInt(matcher.group(1)))
-                    .discovered(Integer.parseInt(matcher.group(2)))
-                    .enqueued(Integer.parseInt(matcher.group(3)))
-                    .build();
-        }
-        return null;
+    private static boolean find(Matcher matcher, String line, int from) {
+        matcher.reset(line);
+        matcher.region(from, line.length());
+        return matcher.find();
     }
     
     /**
-     * 解析页面统计
+     * 是否为统计信息收集器会处理的日志行
      */
-    private ZGCStatistics.PageStats parsePageStats(String line) {
-        try {
-            // 格式: Small Pages: 54 / 108M, Empty: 0M, Relocated: 15M, In-Place: 0
-            Pattern pattern = Pattern.compile("(\\d+)\\s+/\\s+([\\d.]+M),\\s+Empty:\\s+([\\d.]+M),\\s+Relocated:\\s+([\\d.]+M),\\s+In-Place:\\s+(\\d+)");
-            Matcher matcher = pattern.matcher(line);
-            if (matcher.find()) {
-                return ZGCStatistics.PageStats.builder()
-                        .count(Integer.parseInt(matcher.group(1)))
-                        .size(matcher.group(2))
-                        .emptySize(matcher.group(3))
-                        .relocatedSize(matcher.group(4))
-                        .inPlace(Integer.parseInt(matcher.group(5)))
-                        .build();
-            }
-        } catch (Exception e) {
-            log.debug("解析页面统计失败: {}", line);
-        }
-        return null;
+    static boolean isStatisticsLine(String line) {
+        return line.contains("[gc,mmu") || line.contains("[gc,load") || line.contains("[gc,marking") ||
+               line.contains("[gc,nmethod") || line.contains("[gc,ref") || line.contains("[gc,reloc");
     }
     
     @Override
-    public boolean canParse(List<String> lines) {
-        for (String line : lines) {
-            if (line.contains("Z Garbage Collector") || 
-                line.contains("ZGC") || 
-                line.contains("gc,init] Initializing The Z")) {
-                return true;
-            }
+    public int scoreSignature(String line) {
+        if (line.contains("Initializing The Z Garbage Collector") || line.contains("Using The Z Garbage Collector") ||
+            line.contains("-XX:+UseZGC")) {
+            return SIGNATURE_DEFINITIVE;
+        }
+        if (line.contains("Z Garbage Collector") || line.contains("Pause Mark Start") || 
+            line.contains("Pause Relocate Start") || line.contains("Concurrent Mark Free")) {
+            return SIGNATURE_STRONG;
         }
-        return false;
+        if (line.contains("ZGC")) {
+            return SIGNATURE_WEAK;
+        }
+        return 0;
+    }
+    
+    @Override
+    public IncrementalEventParser newIncrementalParser(Consumer<GCEvent> sink, boolean continuation) {
+        return new ZGCEventParser(sink, continuation);
+    }
+    
+    /**
+     * ZGC只有Unified Logging格式，所有行都带GC ID，支持分块并行解析
+     */
+    @Override
+    public boolean supportsChunkedParsing(List<String> headLines) {
+        return true;
     }
     
     @Override
-    public List<GCEvent> parseGCEvents(List<String> lines) {
-        // 首先检测是否为分代模式
-        boolean isGenerational = detectGenerationalMode(lines);
-        log.info("ZGC模式检测: {}", isGenerational ? "分代模式(Generational)" : "非分代模式(Single-Generation)");
+    public LogLineCollector<List<GCEvent>> newChunkEventCollector() {
+        return newMergeableEventCollector();
+    }
+    
+    /**
+     * ZGC增量事件解析器
+     * 单遍扫描：按GC ID汇总开始、阶段耗时和堆内存统计，结束汇总行出现时组装完整的GC事件并推送
+     */
+    private class ZGCEventParser extends IncrementalEventParser {
+        private final PendingGCEvents<ZGCEventData> pending = new PendingGCEvents<>(ZGCEventData::new, this::finishEvent);
+        private Boolean generational; // 以首个出现的模式特征为准
         
-        List<GCEvent> events = new ArrayList<>();
-        Map<Integer, ZGCEventData> gcDataMap = new HashMap<>();
+        // 不从日志开头解析时，识别出分代模式前结束的GC（合并到前一段或识别出模式后再组装）
+        private final boolean continuation;
+        private final List<ZGCEventData> deferred = new ArrayList<>();
         
-        // 第一遍：收集所有GC事件的基本信息
-        for (String line : lines) {
-            try {
-                // 检测GC开始
-                Matcher startMatcher = ZGC_START_PATTERN.matcher(line);
-                if (startMatcher.find()) {
-                    String timestampStr = startMatcher.group(1);
-                    int gcId = Integer.parseInt(startMatcher.group(2));
-                    String gcCause = startMatcher.group(3);
-                    
-                    ZGCEventData data = gcDataMap.computeIfAbsent(gcId, k -> new ZGCEventData());
-                    data.gcId = gcId;
-                    data.timestamp = parseAbsoluteTimestamp(timestampStr);
-                    data.gcCause = gcCause;
+        // 各模式的Matcher逐行复用
+        private final TimestampDecoder timestampDecoder = new TimestampDecoder();
+        private final Matcher startMatcher = ZGC_START_PATTERN.matcher("");
+        private final Matcher pauseMatcher = ZGC_PAUSE_PATTERN.matcher("");
+        private final Matcher concurrentMatcher = ZGC_CONCURRENT_PATTERN.matcher("");
+        private final Matcher usedMatcher = ZGC_HEAP_USED_PATTERN.matcher("");
+        private final Matcher liveMatcher = ZGC_HEAP_LIVE_PATTERN.matcher("");
+        private final Matcher allocatedMatcher = ZGC_HEAP_ALLOCATED_PATTERN.matcher("");
+        private final Matcher garbageMatcher = ZGC_HEAP_GARBAGE_PATTERN.matcher("");
+        private final Matcher reclaimedMatcher = ZGC_HEAP_RECLAIMED_PATTERN.matcher("");
+        private final Matcher capacityMatcher = ZGC_HEAP_CAPACITY_PATTERN.matcher("");
+        private final Matcher metaspaceMatcher = ZGC_METASPACE_PATTERN.matcher("");
+        
+        // 按标签集合分发，各标签内再按消息开头选择唯一的正则
+        private final UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,start", this::handleStart)
+                .on("gc,phases", this::handlePhase)
+                .on("gc,metaspace", this::handleMetaspace)
+                .on("gc,heap", this::handleHeap)
+                .on("gc", this::handleEnd);
+        
+        ZGCEventParser(Consumer<GCEvent> sink, boolean continuation) {
+            super(sink);
+            this.continuation = continuation;
+        }
+        
+        @Override
+        public void feed(String line) {
+            if (generational == null) {
+                generational = detectGenerationalMode(line);
+                if (generational != null) {
+                    finishDeferred();
                 }
-                
-                // 收集Pause阶段时间
-                Matcher pauseMatcher = ZGC_PAUSE_PATTERN.matcher(line);
-                if (pauseMatcher.find()) {
-                    int gcId = Integer.parseInt(pauseMatcher.group(2));
-                    String phase = pauseMatcher.group(3);
-                    double pauseTime = Double.parseDouble(pauseMatcher.group(4));
-                    
-                    ZGCEventData data = gcDataMap.computeIfAbsent(gcId, k -> new ZGCEventData());
-                    data.pausePhases.put(phase, pauseTime);
+            }
+            
+            // 事件相关的行都带有GC ID
+            UnifiedLogDecorations decorations = dispatcher.decorations();
+            if (!decorations.parse(line) || !decorations.hasGcId()) {
+                return;
+            }
+            try {
+                dispatcher.dispatch(decorations);
+            } catch (Exception e) {
+                log.debug("解析ZGC事件行失败: {}", e.getMessage());
+            }
+        }
+        
+        private ZGCEventData eventData(UnifiedLogDecorations decorations) {
+            return pending.get(decorations.getGcId());
+        }
+        
+        // GC开始
+        private void handleStart(UnifiedLogDecorations decorations) {
+            long timestamp = decorations.timestampMillis(timestampDecoder);
+            if (timestamp >= 0 && decorations.lookingAt(startMatcher)) {
+                ZGCEventData data = pending.started(decorations.getGcId());
+                data.timestamp = timestamp;
+                data.gcCause = startMatcher.group(1);
+            }
+        }
+        
+        // Pause / Concurrent 阶段时间
+        private void handlePhase(UnifiedLogDecorations decorations) {
+            if (decorations.messageStartsWith("Pause ")) {
+                if (decorations.lookingAt(pauseMatcher)) {
+                    double pauseTime = Double.parseDouble(pauseMatcher.group(2));
+                    ZGCEventData data = eventData(decorations);
+                    data.pausePhases.put(pauseMatcher.group(1), pauseTime);
                     data.totalPauseTime += pauseTime;
                 }
-                
-                // 收集Concurrent阶段时间
-                Matcher concurrentMatcher = ZGC_CONCURRENT_PATTERN.matcher(line);
-                if (concurrentMatcher.find()) {
-                    int gcId = Integer.parseInt(concurrentMatcher.group(2));
-                    String phase = concurrentMatcher.group(3);
-                    double concurrentTime = Double.parseDouble(concurrentMatcher.group(4));
-                    
-                    ZGCEventData data = gcDataMap.computeIfAbsent(gcId, k -> new ZGCEventData());
-                    data.concurrentPhases.put(phase, concurrentTime);
+            } else if (decorations.messageStartsWith("Concurrent ")) {
+                if (decorations.lookingAt(concurrentMatcher)) {
+                    double concurrentTime = Double.parseDouble(concurrentMatcher.group(2));
+                    ZGCEventData data = eventData(decorations);
+                    data.concurrentPhases.put(concurrentMatcher.group(1), concurrentTime);
                     data.totalConcurrentTime += concurrentTime;
                 }
-                
-            } catch (Exception e) {
-                log.debug("解析ZGC基本信息失败: {}", e.getMessage());
             }
         }
         
-        // 第二遍：收集详细的堆内存统计信息
-        for (String line : lines) {
-            try {
-                // Used: Mark Start / Mark End / Relocate Start / Relocate End / High / Low
-                Matcher usedMatcher = ZGC_HEAP_USED_PATTERN.matcher(line);
-                if (usedMatcher.find()) {
-                    int gcId = Integer.parseInt(usedMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.usedMarkStart = Long.parseLong(usedMatcher.group(3)) * 1024 * 1024;
-                        data.usedMarkEnd = Long.parseLong(usedMatcher.group(4)) * 1024 * 1024;
-                        data.usedRelocateStart = Long.parseLong(usedMatcher.group(5)) * 1024 * 1024;
-                        data.usedRelocateEnd = Long.parseLong(usedMatcher.group(6)) * 1024 * 1024;
-                        data.usedHigh = Long.parseLong(usedMatcher.group(7)) * 1024 * 1024;
-                        data.usedLow = Long.parseLong(usedMatcher.group(8)) * 1024 * 1024;
-                    }
-                    continue;
-                }
-                
-                // Live: - / Mark End / Relocate Start / Relocate End
-                Matcher liveMatcher = ZGC_HEAP_LIVE_PATTERN.matcher(line);
-                if (liveMatcher.find()) {
-                    int gcId = Integer.parseInt(liveMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.liveMarkEnd = Long.parseLong(liveMatcher.group(3)) * 1024 * 1024;
-                        data.liveRelocateStart = Long.parseLong(liveMatcher.group(4)) * 1024 * 1024;
-                        data.liveRelocateEnd = Long.parseLong(liveMatcher.group(5)) * 1024 * 1024;
-                    }
-                    continue;
+        // GC结束的汇总行（GC(n) Garbage Collection (...) 332M(5%)->148M(3%)），之后该GC的数据不再变化
+        private void handleEnd(UnifiedLogDecorations decorations) {
+            pending.completed(eventData(decorations));
+        }
+        
+        // Metaspace
+        private void handleMetaspace(UnifiedLogDecorations decorations) {
+            if (decorations.lookingAt(metaspaceMatcher)) {
+                long metaUsed = Long.parseLong(metaspaceMatcher.group(1)) * 1024 * 1024;
+                long metaCommitted = Long.parseLong(metaspaceMatcher.group(2)) * 1024 * 1024;
+                eventData(decorations).metaspace = GCEvent.MemoryChange.builder()
+                    .before(metaUsed)
+                    .after(metaUsed)
+                    .total(metaCommitted)
+                    .build();
+            }
+        }
+        
+        // 堆内存统计表格，按行首的列名选择对应的正则
+        private void handleHeap(UnifiedLogDecorations decorations) {
+            // Used: Mark Start / Mark End / Relocate Start / Relocate End / High / Low
+            if (decorations.messageStartsWith("Used:")) {
+                if (decorations.lookingAt(usedMatcher)) {
+                    ZGCEventData data = eventData(decorations);
+                    data.usedMarkStart = Long.parseLong(usedMatcher.group(1)) * 1024 * 1024;
+                    data.usedMarkEnd = Long.parseLong(usedMatcher.group(2)) * 1024 * 1024;
+                    data.usedRelocateStart = Long.parseLong(usedMatcher.group(3)) * 1024 * 1024;
+                    data.usedRelocateEnd = Long.parseLong(usedMatcher.group(4)) * 1024 * 1024;
+                    data.usedHigh = Long.parseLong(usedMatcher.group(5)) * 1024 * 1024;
+                    data.usedLow = Long.parseLong(usedMatcher.group(6)) * 1024 * 1024;
                 }
-                
-                // Allocated: - / Mark End / Relocate Start / Relocate End
-                Matcher allocatedMatcher = ZGC_HEAP_ALLOCATED_PATTERN.matcher(line);
-                if (allocatedMatcher.find()) {
-                    int gcId = Integer.parseInt(allocatedMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.allocatedMarkEnd = Long.parseLong(allocatedMatcher.group(3)) * 1024 * 1024;
-                        data.allocatedRelocateStart = Long.parseLong(allocatedMatcher.group(4)) * 1024 * 1024;
-                        data.allocatedRelocateEnd = Long.parseLong(allocatedMatcher.group(5)) * 1024 * 1024;
-                    }
-                    continue;
+            }
+            // Live: - / Mark End / Relocate Start / Relocate End
+            else if (decorations.messageStartsWith("Live:")) {
+                if (decorations.lookingAt(liveMatcher)) {
+                    ZGCEventData data = eventData(decorations);
+                    data.liveMarkEnd = Long.parseLong(liveMatcher.group(1)) * 1024 * 1024;
+                    data.liveRelocateStart = Long.parseLong(liveMatcher.group(2)) * 1024 * 1024;
+                    data.liveRelocateEnd = Long.parseLong(liveMatcher.group(3)) * 1024 * 1024;
                 }
-                
-                // Garbage: - / Mark End / Relocate Start / Relocate End
-                Matcher garbageMatcher = ZGC_HEAP_GARBAGE_PATTERN.matcher(line);
-                if (garbageMatcher.find()) {
-                    int gcId = Integer.parseInt(garbageMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.garbageMarkEnd = Long.parseLong(garbageMatcher.group(3)) * 1024 * 1024;
-                        data.garbageRelocateStart = Long.parseLong(garbageMatcher.group(4)) * 1024 * 1024;
-                        data.garbageRelocateEnd = Long.parseLong(garbageMatcher.group(5)) * 1024 * 1024;
-                    }
-                    continue;
+            }
+            // Allocated: - / Mark End / Relocate Start / Relocate End
+            else if (decorations.messageStartsWith("Allocated:")) {
+                if (decorations.lookingAt(allocatedMatcher)) {
+                    ZGCEventData data = eventData(decorations);
+                    data.allocatedMarkEnd = Long.parseLong(allocatedMatcher.group(1)) * 1024 * 1024;
+                    data.allocatedRelocateStart = Long.parseLong(allocatedMatcher.group(2)) * 1024 * 1024;
+                    data.allocatedRelocateEnd = Long.parseLong(allocatedMatcher.group(3)) * 1024 * 1024;
                 }
-                
-                // Reclaimed: - / - / Relocate Start / Relocate End
-                Matcher reclaimedMatcher = ZGC_HEAP_RECLAIMED_PATTERN.matcher(line);
-                if (reclaimedMatcher.find()) {
-                    int gcId = Integer.parseInt(reclaimedMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.reclaimedRelocateStart = Long.parseLong(reclaimedMatcher.group(3)) * 1024 * 1024;
-                        data.reclaimedRelocateEnd = Long.parseLong(reclaimedMatcher.group(4)) * 1024 * 1024;
-                    }
-                    continue;
+            }
+            // Garbage: - / Mark End / Relocate Start / Relocate End
+            else if (decorations.messageStartsWith("Garbage:")) {
+                if (decorations.lookingAt(garbageMatcher)) {
+                    ZGCEventData data = eventData(decorations);
+                    data.garbageMarkEnd = Long.parseLong(garbageMatcher.group(1)) * 1024 * 1024;
+                    data.garbageRelocateStart = Long.parseLong(garbageMatcher.group(2)) * 1024 * 1024;
+                    data.garbageRelocateEnd = Long.parseLong(garbageMatcher.group(3)) * 1024 * 1024;
                 }
-                
-                // Capacity
-                Matcher capacityMatcher = ZGC_HEAP_CAPACITY_PATTERN.matcher(line);
-                if (capacityMatcher.find()) {
-                    int gcId = Integer.parseInt(capacityMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        data.capacity = Long.parseLong(capacityMatcher.group(3)) * 1024 * 1024;
-                    }
-                    continue;
+            }
+            // Reclaimed: - / - / Relocate Start / Relocate End
+            else if (decorations.messageStartsWith("Reclaimed:")) {
+                if (decorations.lookingAt(reclaimedMatcher)) {
+                    ZGCEventData data = eventData(decorations);
+                    data.reclaimedRelocateStart = Long.parseLong(reclaimedMatcher.group(1)) * 1024 * 1024;
+                    data.reclaimedRelocateEnd = Long.parseLong(reclaimedMatcher.group(2)) * 1024 * 1024;
                 }
-                
-                // Metaspace
-                Matcher metaspaceMatcher = ZGC_METASPACE_PATTERN.matcher(line);
-                if (metaspaceMatcher.find()) {
-                    int gcId = Integer.parseInt(metaspaceMatcher.group(2)); // group(1)是时间戳，group(2)是gcId
-                    ZGCEventData data = gcDataMap.get(gcId);
-                    if (data != null) {
-                        long metaUsed = Long.parseLong(metaspaceMatcher.group(3)) * 1024 * 1024;
-                        long metaCommitted = Long.parseLong(metaspaceMatcher.group(4)) * 1024 * 1024;
-                        data.metaspace = GCEvent.MemoryChange.builder()
-                            .before(metaUsed)
-                            .after(metaUsed)
-                            .total(metaCommitted)
-                            .build();
-                    }
-                    continue;
+            }
+            // Capacity
+            else if (decorations.messageStartsWith("Capacity:")) {
+                if (decorations.lookingAt(capacityMatcher)) {
+                    eventData(decorations).capacity = Long.parseLong(capacityMatcher.group(1)) * 1024 * 1024;
                 }
-                
-            } catch (Exception e) {
-                log.debug("解析ZGC堆内存统计失败: {}", e.getMessage());
             }
         }
         
-        // 第三遍：组装完整的GC事件
-        List<Integer> sortedGcIds = new ArrayList<>(gcDataMap.keySet());
-        Collections.sort(sortedGcIds);
-        
-        for (Integer gcId : sortedGcIds) {
-            ZGCEventData data = gcDataMap.get(gcId);
-            if (data == null || data.timestamp == 0) {
-                continue;
+        /**
+         * 按GC ID合并后续分块的数据（同一GC的日志行可能跨越分块边界），
+         * 跨越边界的GC和后一段暂缓组装的GC按当前识别的模式组装后推送
+         */
+        @Override
+        protected void mergePending(IncrementalEventParser next) {
+            ZGCEventParser other = (ZGCEventParser) next;
+            if (generational == null && other.generational != null) {
+                generational = other.generational;
+                finishDeferred();
             }
+            pending.merge(other.pending);
+            other.deferred.forEach(this::finishEvent);
+            other.deferred.clear();
+        }
+        
+        /**
+         * 尚未出现结束汇总行的GC ID数
+         */
+        @Override
+        public long pendingCount() {
+            return pending.size() + deferred.size();
+        }
+        
+        /**
+         * 分代模式下 Major 周期内穿插 Minor 周期，推送顺序（结束顺序）与开始时间顺序不一致
+         */
+        @Override
+        protected boolean sortsByTimestamp() {
+            return true;
+        }
+        
+        /**
+         * 日志结束：未出现结束汇总行的GC按已有的数据组装（只要出现了开始行）
+         */
+        @Override
+        protected void flushPending() {
+            boolean isGenerational = Boolean.TRUE.equals(generational); // 默认为非分代模式
+            log.info("ZGC模式检测: {}", isGenerational ? "分代模式(Generational)" : "非分代模式(Single-Generation)");
             
+            pending.flush();
+            generational = isGenerational;
+            finishDeferred();
+            
+            log.info("解析到 {} 个ZGC事件", emittedCount());
+        }
+        
+        private void finishEvent(ZGCEventData data) {
+            if (data.timestamp == 0) {
+                return;
+            }
+            if (continuation && generational == null) {
+                deferred.add(data);
+                return;
+            }
             try {
-                // 构建堆内存变化
-                GCEvent.MemoryChange heapMemory = null;
-                if (data.usedMarkStart > 0 && data.usedRelocateEnd > 0 && data.capacity > 0) {
-                    heapMemory = GCEvent.MemoryChange.builder()
-                            .before(data.usedMarkStart)
-                            .after(data.usedRelocateEnd)
-                            .total(data.capacity)
-                            .build();
-                }
-                
-                // 判断事件类型
-                String eventType;
-                boolean isMinorGC = false;
-                if (isGenerational) {
-                    // 分代模式：根据gcCause判断是Minor还是Major
-                    if (data.gcCause != null && 
-                        (data.gcCause.contains("Minor") || 
-                         data.gcCause.toLowerCase().contains("young"))) {
-                        eventType = "ZGC Minor Collection";
-                        isMinorGC = true;
-                    } else if (data.gcCause != null && 
-                               (data.gcCause.contains("Major") || 
-                                data.gcCause.toLowerCase().contains("old"))) {
-                        eventType = "ZGC Major Collection";
-                        isMinorGC = false;
-                    } else {
-                        // 默认视为Minor Collection（年轻代GC更频繁）
-                        eventType = "ZGC Minor Collection";
-                        isMinorGC = true;
-                    }
-                } else {
-                    // 非分代模式：统一称为ZGC Cycle
-                    eventType = "ZGC Cycle";
-                    isMinorGC = false; // 非分代模式不区分
-                }
-                
-                GCEvent event = GCEvent.builder()
-                        .timestamp(data.timestamp)
-                        .eventType(eventType)
-                        .gcCause(data.gcCause != null ? data.gcCause : "ZGC")
-                        .pauseTime(data.totalPauseTime)
-                        .concurrentTime(data.totalConcurrentTime)
-                        .heapMemory(heapMemory)
-                        .metaspace(data.metaspace)
-                        .isFullGC(!isMinorGC && isGenerational)  // 分代模式下，Major Collection视为Full GC
-                        .isLongPause(data.totalPauseTime > 10)
-                        .build();
-                
-                events.add(event);
-                
+                emit(buildEvent(data, Boolean.TRUE.equals(generational)));
             } catch (Exception e) {
                 log.error("构建ZGC事件失败: {}", e.getMessage());
             }
         }
         
-        log.info("解析到 {} 个ZGC事件", events.size());
-        return events;
+        private void finishDeferred() {
+            if (deferred.isEmpty()) {
+                return;
+            }
+            List<ZGCEventData> ready = new ArrayList<>(deferred);
+            deferred.clear();
+            ready.forEach(this::finishEvent);
+        }
+        
+        /**
+         * 由按GC ID汇总的数据组装GC事件
+         */
+        private GCEvent buildEvent(ZGCEventData data, boolean isGenerational) {
+            // 构建堆内存变化
+            GCEvent.MemoryChange heapMemory = null;
+            if (data.usedMarkStart > 0 && data.usedRelocateEnd > 0 && data.capacity > 0) {
+                heapMemory = GCEvent.MemoryChange.builder()
+                        .before(data.usedMarkStart)
+                        .after(data.usedRelocateEnd)
+                        .total(data.capacity)
+                        .build();
+            }
+            
+            // 判断事件类型
+            String eventType;
+            boolean isMinorGC = false;
+            if (isGenerational) {
+                // 分代模式：根据gcCause判断是Minor还是Major
+                if (data.gcCause != null && 
+                    (data.gcCause.contains("Minor") || 
+                     data.gcCause.toLowerCase().contains("young"))) {
+                    eventType = "ZGC Minor Collection";
+                    isMinorGC = true;
+                } else if (data.gcCause != null && 
+                           (data.gcCause.contains("Major") || 
+                            data.gcCause.toLowerCase().contains("old"))) {
+                    eventType = "ZGC Major Collection";
+                    isMinorGC = false;
+                } else {
+                    // 默认视为Minor Collection（年轻代GC更频繁）
+                    eventType = "ZGC Minor Collection";
+                    isMinorGC = true;
+                }
+            } else {
+                // 非分代模式：统一称为ZGC Cycle
+                eventType = "ZGC Cycle";
+                isMinorGC = false; // 非分代模式不区分
+            }
+            
+            return GCEvent.builder()
+                    .timestamp(data.timestamp)
+                    .eventType(eventType)
+                    .gcCause(data.gcCause != null ? data.gcCause : "ZGC")
+                    .pauseTime(data.totalPauseTime)
+                    .concurrentTime(data.totalConcurrentTime)
+                    .heapMemory(heapMemory)
+                    .metaspace(data.metaspace)
+                    .isFullGC(!isMinorGC && isGenerational)  // 分代模式下，Major Collection视为Full GC
+                    .isLongPause(data.totalPauseTime > 10)
+                    .build();
+        }
     }
     
     /**
      * 检测ZGC是否为分代模式
+     * 
+     * @return 分代返回true，非分代返回false，无法判断返回null
      */
-    private boolean detectGenerationalMode(List<String> lines) {
-        for (String line : lines) {
-            // 检查分代模式的特征标记
-            if (line.contains("GC Workers for Young Generation") || 
-                line.contains("GC Workers for Old Generation") ||
-                line.contains("Minor Collection") ||
-                line.contains("Major Collection")) {
-                return true;
-            }
-            // 检查非分代模式的明确标记
-            if (line.contains("legacy single-generation mode")) {
-                return false;
-            }
+    private Boolean detectGenerationalMode(String line) {
+        // 检查分代模式的特征标记
+        if (line.contains("GC Workers for Young Generation") || 
+            line.contains("GC Workers for Old Generation") ||
+            line.contains("Minor Collection") ||
+            line.contains("Major Collection")) {
+            return true;
+        }
+        // 检查非分代模式的明确标记
+        if (line.contains("legacy single-generation mode")) {
+            return false;
         }
-        return false; // 默认为非分代模式
+        return null;
     }
     
     /**
      * ZGC事件数据结构
      */
-    private static class ZGCEventData {
-        int gcId;
+    private static class ZGCEventData extends PendingGCEvents.Entry<ZGCEventData> {
         long timestamp;
         String gcCause;
         
@@ -588,6 +783,41 @@ public class ZgcLogParser extends AbstractGCLogParser {
         long capacity;
         
         GCEvent.MemoryChange metaspace;
+        
+        /**
+         * 合并后出现的数据（阶段耗时累加，其余字段以后出现的值为准）
+         */
+        @Override
+        void merge(ZGCEventData later) {
+            if (later.timestamp != 0) {
+                timestamp = later.timestamp;
+                gcCause = later.gcCause;
+            }
+            pausePhases.putAll(later.pausePhases);
+            concurrentPhases.putAll(later.concurrentPhases);
+            totalPauseTime += later.totalPauseTime;
+            totalConcurrentTime += later.totalConcurrentTime;
+            
+            if (later.usedMarkStart != 0) usedMarkStart = later.usedMarkStart;
+            if (later.usedMarkEnd != 0) usedMarkEnd = later.usedMarkEnd;
+            if (later.usedRelocateStart != 0) usedRelocateStart = later.usedRelocateStart;
+            if (later.usedRelocateEnd != 0) usedRelocateEnd = later.usedRelocateEnd;
+            if (later.usedHigh != 0) usedHigh = later.usedHigh;
+            if (later.usedLow != 0) usedLow = later.usedLow;
+            if (later.liveMarkEnd != 0) liveMarkEnd = later.liveMarkEnd;
+            if (later.liveRelocateStart != 0) liveRelocateStart = later.liveRelocateStart;
+            if (later.liveRelocateEnd != 0) liveRelocateEnd = later.liveRelocateEnd;
+            if (later.allocatedMarkEnd != 0) allocatedMarkEnd = later.allocatedMarkEnd;
+            if (later.allocatedRelocateStart != 0) allocatedRelocateStart = later.allocatedRelocateStart;
+            if (later.allocatedRelocateEnd != 0) allocatedRelocateEnd = later.allocatedRelocateEnd;
+            if (later.garbageMarkEnd != 0) garbageMarkEnd = later.garbageMarkEnd;
+            if (later.garbageRelocateStart != 0) garbageRelocateStart = later.garbageRelocateStart;
+            if (later.garbageRelocateEnd != 0) garbageRelocateEnd = later.garbageRelocateEnd;
+            if (later.reclaimedRelocateStart != 0) reclaimedRelocateStart = later.reclaimedRelocateStart;
+            if (later.reclaimedRelocateEnd != 0) reclaimedRelocateEnd = later.reclaimedRelocateEnd;
+            if (later.capacity != 0) capacity = later.capacity;
+            if (later.metaspace != null) metaspace = later.metaspace;
+        }
     }
 }
 
@@ -0,0 +1,197 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.AnalysisAdmissionConfig;
+import com.gcpulse.model.AdmissionStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分析准入控制
+ * 每个分析按文件大小和日志格式估算所需内存，正在进行的分析的估算内存之和不超过预算；
+ * 超出预算的分析按先来先到排队等待（队首放不下时后面的也不插队，大文件不会被小文件一直饿死），
+ * 排队已满或等待超时时拒绝，并给出建议的重试间隔
+ *
+ * 单个分析的估算超过整个预算时按整个预算计，即只能单独进行
+ */
+@Slf4j
+@Service
+public class AnalysisAdmissionService {
+    
+    private final AnalysisAdmissionConfig config;
+    private final long budget;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<Ticket> queue = new ArrayDeque<>();
+    private long inUse;
+    private int running;
+    
+    private long admitted;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    
+    /**
+     * 排队凭证：入队时占用排队名额，准入后换成许可
+     */
+    public final class Ticket {
+        private final String name;
+        private final long weight;
+        private final long enqueuedAt = System.nanoTime();
+        
+        private Ticket(String name, long weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+    
+    /**
+     * 准入许可，分析结束后关闭以归还内存预算
+     */
+    public final class Permit implements AutoCloseable {
+        private final long weight;
+        private boolean released;
+        
+        private Permit(long weight) {
+            this.weight = weight;
+        }
+        
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                inUse -= weight;
+                running--;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    public AnalysisAdmissionService(AnalysisAdmissionConfig config) {
+        this.config = config;
+        long configured = config.getMemoryBudgetMb() * 1024 * 1024;
+        this.budget = configured > 0 ? configured : Runtime.getRuntime().maxMemory() / 100 * config.getMemoryBudgetPercent();
+        log.info("分析准入内存预算: {} MB", budget / 1024 / 1024);
+    }
+    
+    /**
+     * 加入准入队列（不阻塞），排队已满时抛出 AnalysisRejectedException
+     * 
+     * @param estimatedBytes 分析的估算内存
+     */
+    public Ticket enqueue(String name, long estimatedBytes) {
+        Ticket ticket = new Ticket(name, Math.max(0, Math.min(estimatedBytes, budget)));
+        lock.lock();
+        try {
+            if (config.isEnabled() && queue.size() >= config.getMaxQueued()) {
+                rejected++;
+                throw new AnalysisRejectedException("等待分析的任务过多，请稍后重试", config.getRetryAfterSeconds());
+            }
+            queue.addLast(ticket);
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 等待准入
+     * 
+     * @param maxWait 最长等待时间，为空时一直等待（直到被中断）
+     * @throws AnalysisRejectedException 等待超时
+     * @throws InterruptedException 等待时被中断（如任务被取消），凭证已移出队列
+     */
+    public Permit await(Ticket ticket, Duration maxWait) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWait != null ? maxWait.toNanos() : Long.MAX_VALUE;
+            while (config.isEnabled() && !(queue.peekFirst() == ticket && inUse + ticket.weight <= budget)) {
+                if (remaining <= 0) {
+                    leave(ticket);
+                    rejected++;
+                    throw new AnalysisRejectedException("分析排队等待超时，请稍后重试", config.getRetryAfterSeconds());
+                }
+                try {
+                    remaining = maxWait != null ? changed.awaitNanos(remaining) : awaitUnbounded();
+                } catch (InterruptedException e) {
+                    leave(ticket);
+                    throw e;
+                }
+            }
+            
+            queue.remove(ticket);
+            inUse += ticket.weight;
+            running++;
+            admitted++;
+            long waited = System.nanoTime() - ticket.enqueuedAt;
+            totalWaitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+            // 新的队首可能也放得下
+            changed.signalAll();
+            if (waited > TimeUnit.SECONDS.toNanos(1)) {
+                log.info("分析准入: {}，估算内存 {} MB，等待 {} ms", ticket.name, 
+                        ticket.weight / 1024 / 1024, TimeUnit.NANOSECONDS.toMillis(waited));
+            }
+            return new Permit(ticket.weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 入队并等待准入
+     */
+    public Permit acquire(String name, long estimatedBytes, Duration maxWait) throws InterruptedException {
+        return await(enqueue(name, estimatedBytes), maxWait);
+    }
+    
+    /**
+     * 同步分析接口的等待上限
+     */
+    public Duration maxWait() {
+        return Duration.ofSeconds(config.getMaxWaitSeconds());
+    }
+    
+    private long awaitUnbounded() throws InterruptedException {
+        changed.await();
+        return Long.MAX_VALUE;
+    }
+    
+    private void leave(Ticket ticket) {
+        queue.remove(ticket);
+        // 队首离开后，后面的分析可能可以准入
+        changed.signalAll();
+    }
+    
+    public AdmissionStats stats() {
+        lock.lock();
+        try {
+            return AdmissionStats.builder()
+                    .memoryBudgetBytes(budget)
+                    .memoryInUseBytes(inUse)
+                    .running(running)
+                    .queued(queue.size())
+                    .maxQueued(config.getMaxQueued())
+                    .admitted(admitted)
+                    .rejected(rejected)
+                    .averageWaitMs(admitted > 0 ? totalWaitNanos / 1e6 / admitted : 0)
+                    .maxWaitMs(maxWaitNanos / 1e6)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
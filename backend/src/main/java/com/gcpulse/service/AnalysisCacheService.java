@@ -0,0 +1,364 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.config.AnalysisCacheConfig;
+import com.gcpulse.model.AnalysisCacheStats;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.TimeSeriesData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 分析结果缓存
+ * 以日志内容的 SHA-256 为键（同一份日志被多次上传、刷新页面后重新上传都直接命中），
+ * 解析前先按只读首尾两块的探测键查找，可能命中时才计算全文摘要，未命中时摘要在解析的同时计算；
+ * 内存中按结果的估算大小计权、按访问顺序淘汰；启用磁盘溢出时，淘汰的结果写成 gzip JSON，再次命中时读回内存
+ */
+@Slf4j
+@Service
+public class AnalysisCacheService {
+    
+    private static final String SPILL_SUFFIX = ".json.gz";
+    
+    // 结果中除事件和时间序列外的部分（统计、诊断等）按固定大小估算
+    private static final long BASE_WEIGHT = 256 * 1024;
+    private static final long DATA_POINT_WEIGHT = 48;
+    
+    private static final int PROBE_BLOCK_SIZE = 64 * 1024;
+    private static final int MAX_PROBES = 4096;
+    
+    private final AnalysisCacheConfig config;
+    private final ObjectMapper objectMapper;
+    private final long maxWeight;
+    
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    
+    // 探测键 → 内容摘要；只保存摘要，结果被淘汰到磁盘后仍能通过探测键找到
+    private final LinkedHashMap<String, String> probes = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private long hits;
+    private long spillHits;
+    private long misses;
+    private long evictions;
+    private long spills;
+    
+    private record Entry(GCPulseResult result, long weight) {
+    }
+    
+    public AnalysisCacheService(AnalysisCacheConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.maxWeight = config.getMaxWeightMb() * 1024 * 1024;
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 流式计算内容的 SHA-256（不在内存中缓冲整个文件），作为缓存键
+     */
+    public static String contentKey(InputStream in) throws IOException {
+        try (in) {
+            return new ContentDigest(in).finish();
+        }
+    }
+    
+    /**
+     * 探测键：内容长度 + 首尾两块的 SHA-256，只读取文件首尾，不读全文
+     * 探测键相同的内容才可能已经缓存，此时再计算全文摘要确认
+     *
+     * @param in 从内容开头读取的流（跳到末尾块时调用 skip，文件流可以直接定位）
+     */
+    public static String probeKey(InputStream in, long size) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(size).array());
+        digest.update(in.readNBytes(PROBE_BLOCK_SIZE));
+        long tailStart = Math.max(PROBE_BLOCK_SIZE, size - PROBE_BLOCK_SIZE);
+        in.skipNBytes(tailStart - PROBE_BLOCK_SIZE);
+        digest.update(in.readNBytes(PROBE_BLOCK_SIZE));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * 探测键对应的已缓存内容摘要（不代表结果仍在缓存中）
+     */
+    public synchronized Optional<String> probe(String probeKey) {
+        return Optional.ofNullable(probes.get(probeKey));
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+    
+    /**
+     * 边读边计算内容摘要：交给解析器读取的同一个流顺带计算 SHA-256，不必为缓存键单独读一遍
+     * 关闭时不关闭底层流，解析器没有读到的部分（如 zip 末尾的中央目录）由 finish 读完
+     */
+    public static final class ContentDigest extends FilterInputStream {
+        
+        private final MessageDigest digest = sha256();
+        
+        public ContentDigest(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+        
+        // 跳过的内容也要计入摘要
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+        
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+        
+        @Override
+        public void mark(int readlimit) {
+        }
+        
+        @Override
+        public void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
+        }
+        
+        @Override
+        public void close() {
+            // 底层流由调用方关闭
+        }
+        
+        /**
+         * 读完剩余内容，返回全文的摘要
+         */
+        public String finish() throws IOException {
+            skip(Long.MAX_VALUE);
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+    
+    /**
+     * 查找缓存的结果：先查内存，再查磁盘（磁盘命中后放回内存）
+     */
+    public Optional<GCPulseResult> get(String key) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return Optional.of(entry.result());
+            }
+        }
+        
+        GCPulseResult spilled = readSpill(key);
+        synchronized (this) {
+            if (spilled == null) {
+                misses++;
+                return Optional.empty();
+            }
+            spillHits++;
+        }
+        put(key, spilled);
+        return Optional.of(spilled);
+    }
+    
+    /**
+     * 缓存解析结果，并记录探测键到内容摘要的对应关系
+     */
+    public void put(String key, String probeKey, GCPulseResult result) {
+        synchronized (this) {
+            probes.put(probeKey, key);
+            Iterator<String> it = probes.keySet().iterator();
+            while (probes.size() > MAX_PROBES && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        put(key, result);
+    }
+    
+    /**
+     * 缓存解析结果，超出权重上限时淘汰最久未访问的结果（启用磁盘溢出时写入磁盘）
+     */
+    public void put(String key, GCPulseResult result) {
+        long entryWeight = weigh(result);
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(result, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += entryWeight;
+            
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (weight > maxWeight && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                // 单个结果超过上限时也不保留在内存中
+                it.remove();
+                weight -= eldest.getValue().weight();
+                evictions++;
+                evicted.add(eldest);
+            }
+        }
+        
+        // 写磁盘不占用锁
+        for (Map.Entry<String, Entry> eldest : evicted) {
+            writeSpill(eldest.getKey(), eldest.getValue().result());
+        }
+    }
+    
+    public synchronized AnalysisCacheStats stats() {
+        return AnalysisCacheStats.builder()
+                .hits(hits)
+                .spillHits(spillHits)
+                .misses(misses)
+                .evictions(evictions)
+                .spills(spills)
+                .entries(entries.size())
+                .weightBytes(weight)
+                .maxWeightBytes(maxWeight)
+                .build();
+    }
+    
+    /**
+     * 结果的估算大小：事件列存储 + 时间序列数据点 + 固定开销
+     */
+    static long weigh(GCPulseResult result) {
+        long total = BASE_WEIGHT;
+        if (result.getGcEvents() instanceof GCEventStore) {
+            total += ((GCEventStore) result.getGcEvents()).estimatedBytes();
+        } else if (result.getGcEvents() != null) {
+            // 逐个对象保存的事件（GCEvent + 4 个 MemoryChange）
+            total += result.getGcEvents().size() * 320L;
+        }
+        TimeSeriesData series = result.getTimeSeriesData();
+        if (series != null) {
+            long points = Stream.of(series.getHeapUsageTrend(), series.getHeapBeforeGCTrend(),
+                            series.getPauseTimeTrend(), series.getReclaimedBytesTrend(), series.getYoungGenTrend(),
+                            series.getOldGenTrend(), series.getAllocationTrend(), series.getPromotionTrend(),
+                            series.getMetaspaceTrend())
+                    .mapToLong(list -> list != null ? list.size() : 0)
+                    .sum();
+            total += points * DATA_POINT_WEIGHT;
+        }
+        return total;
+    }
+    
+    // ========== 磁盘溢出 ==========
+    
+    private Path spillPath(String key) {
+        return Paths.get(config.getSpillDirectory(), key + SPILL_SUFFIX);
+    }
+    
+    private void writeSpill(String key, GCPulseResult result) {
+        if (!config.isSpillEnabled()) {
+            return;
+        }
+        Path target = spillPath(key);
+        try {
+            Files.createDirectories(target.getParent());
+            // 先写临时文件再改名，读取时不会看到写了一半的文件
+            Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                objectMapper.writeValue(out, result);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                spills++;
+            }
+            trimSpillDirectory(target.getParent());
+        } catch (IOException e) {
+            log.warn("分析结果写入磁盘缓存失败: {}", target, e);
+        }
+    }
+    
+    private GCPulseResult readSpill(String key) {
+        if (!config.isSpillEnabled()) {
+            return null;
+        }
+        Path source = spillPath(key);
+        if (!Files.isRegularFile(source)) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(source))) {
+            GCPulseResult result = objectMapper.readValue(in, GCPulseResult.class);
+            // 事件读回后重新转为列式存储
+            if (result.getGcEvents() != null) {
+                result.setGcEvents(GCEventStore.copyOf(result.getGcEvents()));
+            }
+            return result;
+        } catch (IOException e) {
+            log.warn("读取磁盘缓存失败，忽略: {}", source, e);
+            return null;
+        }
+    }
+    
+    /**
+     * 磁盘上的结果超过上限时，删除最早写入的
+     */
+    private void trimSpillDirectory(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SPILL_SUFFIX))
+                    .sorted((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()))
+                    .toList();
+        }
+        for (int i = 0; i < files.size() - config.getSpillMaxEntries(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
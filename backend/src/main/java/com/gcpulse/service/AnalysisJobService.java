@@ -0,0 +1,265 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.AnalysisJobConfig;
+import com.gcpulse.model.AnalysisJob;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.parser.ParseProgress;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步分析任务服务
+ * 提交后立即返回任务ID，解析在虚拟线程中执行（不占用请求线程，也不需要客户端长时间保持连接），
+ * 客户端轮询进度（已读字节、行数、事件数、当前阶段），完成后按分析ID获取结果；任务可随时取消
+ *
+ * 同时进行的分析数由准入控制按估算内存限制：提交时加入准入队列（队列已满时拒绝），
+ * 任务的虚拟线程阻塞等待准入，获准后才开始解析
+ */
+@Slf4j
+@Service
+public class AnalysisJobService {
+    
+    private final GCPulseService gcPulseService;
+    private final AnalysisAdmissionService analysisAdmissionService;
+    private final AnalysisJobConfig config;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    
+    /**
+     * 任务执行体（暂存文件分析或本地路径分析）
+     */
+    @FunctionalInterface
+    private interface Analysis {
+        GCPulseResult run(ParseProgress progress) throws IOException;
+    }
+    
+    /**
+     * 任务的可变状态
+     */
+    private static class Job {
+        final String jobId = UUID.randomUUID().toString();
+        final String fileName;
+        final long fileSize;
+        final Path storedFile;
+        final long estimatedMemory;
+        final ParseProgress progress = new ParseProgress();
+        final long submittedAt = System.currentTimeMillis();
+        
+        volatile AnalysisJob.Status status = AnalysisJob.Status.QUEUED;
+        volatile AnalysisAdmissionService.Ticket ticket;
+        volatile Thread worker;
+        volatile String analysisId;
+        volatile String error;
+        volatile Long startedAt;
+        volatile Long finishedAt;
+        
+        Job(String fileName, long fileSize, Path storedFile, long estimatedMemory) {
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+            this.storedFile = storedFile;
+            this.estimatedMemory = estimatedMemory;
+        }
+        
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+    }
+    
+    public AnalysisJobService(GCPulseService gcPulseService, AnalysisAdmissionService analysisAdmissionService,
+                              AnalysisJobConfig config) {
+        this.gcPulseService = gcPulseService;
+        this.analysisAdmissionService = analysisAdmissionService;
+        this.config = config;
+    }
+    
+    /**
+     * 提交上传文件的分析任务
+     * 上传内容先复制到任务自己的暂存文件（请求结束后 Spring 会清理上传的临时文件），再异步解析
+     * 
+     * @throws AnalysisRejectedException 等待准入的任务已满
+     */
+    public AnalysisJob submitUpload(MultipartFile file, int maxPoints) throws IOException {
+        purgeExpired();
+        Path directory = Files.createDirectories(Paths.get(config.getUploadDirectory()))
+                .resolve(UUID.randomUUID().toString());
+        Files.createDirectories(directory);
+        // 保留原始文件名（去掉路径部分），压缩包内分段的命名依赖它
+        String fileName = Paths.get(file.getOriginalFilename() != null ? file.getOriginalFilename() : "gc.log")
+                .getFileName().toString();
+        Path stored = directory.resolve(fileName);
+        file.transferTo(stored);
+        
+        Job job;
+        try {
+            job = new Job(fileName, file.getSize(), stored, gcPulseService.estimateMemory(stored));
+        } catch (IOException e) {
+            deleteStoredFile(new Job(fileName, 0, stored, 0));
+            throw e;
+        }
+        return submit(job, progress -> gcPulseService.analyzeStoredGCLog(stored, fileName, maxPoints, progress));
+    }
+    
+    /**
+     * 提交服务器本地GC日志文件的分析任务
+     * 
+     * @throws IllegalArgumentException 路径不在白名单目录内或不可读
+     * @throws AnalysisRejectedException 等待准入的任务已满
+     */
+    public AnalysisJob submitLocal(String path, int maxPoints) throws IOException {
+        purgeExpired();
+        Path file = gcPulseService.resolveLocalPath(path);
+        Job job = new Job(file.getFileName().toString(), Files.size(file), null, gcPulseService.estimateMemory(file));
+        return submit(job, progress -> gcPulseService.analyzeLocalGCLog(path, maxPoints, progress));
+    }
+    
+    private AnalysisJob submit(Job job, Analysis analysis) {
+        try {
+            job.ticket = analysisAdmissionService.enqueue(job.fileName, job.estimatedMemory);
+        } catch (AnalysisRejectedException e) {
+            deleteStoredFile(job);
+            throw e;
+        }
+        jobs.put(job.jobId, job);
+        executor.execute(() -> execute(job, analysis));
+        log.info("提交分析任务: {} ({}, {} bytes, 估算内存 {} MB)", job.jobId, job.fileName, job.fileSize, 
+                job.estimatedMemory / 1024 / 1024);
+        return snapshot(job);
+    }
+    
+    private void execute(Job job, Analysis analysis) {
+        job.worker = Thread.currentThread();
+        // 先登记执行线程再检查取消标记：取消时要么这里看到标记，要么取消方看到线程并中断等待
+        if (job.progress.isCancelled()) {
+            Thread.currentThread().interrupt();
+        }
+        AnalysisAdmissionService.Permit permit = null;
+        try {
+            permit = analysisAdmissionService.await(job.ticket, null);
+            job.status = AnalysisJob.Status.RUNNING;
+            job.startedAt = System.currentTimeMillis();
+            job.progress.checkCancelled();
+            GCPulseResult result = analysis.run(job.progress);
+            job.analysisId = result.getAnalysisId();
+            job.progress.setStage(ParseProgress.Stage.DONE);
+            job.status = AnalysisJob.Status.COMPLETED;
+        } catch (InterruptedException | CancellationException e) {
+            job.status = AnalysisJob.Status.CANCELLED;
+        } catch (Exception e) {
+            // 解析线程中途取消时，异常可能被包装
+            if (job.progress.isCancelled()) {
+                job.status = AnalysisJob.Status.CANCELLED;
+            } else {
+                log.error("分析任务失败: {}", job.jobId, e);
+                job.error = e.getMessage();
+                job.status = AnalysisJob.Status.FAILED;
+            }
+        } finally {
+            if (permit != null) {
+                permit.close();
+            }
+            job.finishedAt = System.currentTimeMillis();
+            deleteStoredFile(job);
+            log.info("分析任务结束: {}, 状态: {}, 耗时: {}ms", job.jobId, job.status, 
+                    job.finishedAt - (job.startedAt != null ? job.startedAt : job.submittedAt));
+        }
+    }
+    
+    public Optional<AnalysisJob> find(String jobId) {
+        purgeExpired();
+        return Optional.ofNullable(jobs.get(jobId)).map(this::snapshot);
+    }
+    
+    /**
+     * 取消任务：等待准入的任务中断等待、移出准入队列，执行中的任务在下一个进度汇报点停止
+     * 
+     * @return 取消后的任务状态，任务不存在时为空
+     */
+    public Optional<AnalysisJob> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (!job.isFinished()) {
+            job.progress.cancel();
+            Thread worker = job.worker;
+            if (worker != null && job.status == AnalysisJob.Status.QUEUED) {
+                // 中断等待准入的虚拟线程，由 execute 记录取消状态并清理暂存文件
+                worker.interrupt();
+            }
+            log.info("取消分析任务: {}", jobId);
+        }
+        return Optional.of(snapshot(job));
+    }
+    
+    private AnalysisJob snapshot(Job job) {
+        ParseProgress progress = job.progress;
+        double percent;
+        if (job.status == AnalysisJob.Status.COMPLETED) {
+            percent = 100;
+        } else if (job.fileSize > 0 && progress.getStage() == ParseProgress.Stage.PARSING) {
+            // 读取完毕后还要汇总，解析阶段最多到 99%
+            percent = Math.min(99.0, progress.getBytesRead() * 100.0 / job.fileSize);
+        } else if (progress.getStage() == ParseProgress.Stage.AGGREGATING) {
+            percent = 99;
+        } else {
+            percent = 0;
+        }
+        return AnalysisJob.builder()
+                .jobId(job.jobId)
+                .fileName(job.fileName)
+                .fileSize(job.fileSize)
+                .status(job.status)
+                .stage(progress.getStage().name())
+                .bytesRead(progress.getBytesRead())
+                .linesRead(progress.getLinesRead())
+                .eventsParsed(progress.getEventsParsed())
+                .progress(Math.round(percent * 10) / 10.0)
+                .analysisId(job.analysisId)
+                .error(job.error)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+    
+    /**
+     * 清理结束超过保留时间的任务
+     */
+    private void purgeExpired() {
+        long deadline = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(config.getRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt < deadline);
+    }
+    
+    private void deleteStoredFile(Job job) {
+        if (job.storedFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(job.storedFile);
+            Files.deleteIfExists(job.storedFile.getParent());
+        } catch (IOException e) {
+            log.warn("删除任务暂存文件失败: {}", job.storedFile, e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.progress.cancel());
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,20 @@
+package com.gcpulse.service;
+
+/**
+ * 分析未获准入（排队已满或等待超时），客户端应在 retryAfterSeconds 秒后重试
+ */
+public class AnalysisRejectedException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int retryAfterSeconds;
+    
+    public AnalysisRejectedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,230 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCEventStore.Region;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.TimeSeriesData;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分析结果流式序列化
+ * 直接把事件列存储和时间序列逐条写到输出流，不先在内存中构造完整的对象图或 JSON 文本（大结果的峰值内存减半，首字节更早发出）；
+ * 统计、诊断等其余部分体积很小，仍交给 ObjectMapper 序列化
+ *
+ * 事件内存变化的派生值（reclaimed、usageBeforePercent、usageAfterPercent）可由 before/after/total 算出，
+ * 默认不输出，derived 为 true 时才输出
+ *
+ * 输出格式与 {"success": true, "data": ..., "timestamp": ...} 响应一致；控制器直接返回 {@link Body}，
+ * 由 StreamingJsonHttpMessageConverter 写入响应输出流（gzip 压缩由服务器的响应压缩完成）
+ */
+@Component
+public class AnalysisResultWriter {
+    
+    private static final String FIELD_EVENTS = "gcEvents";
+    private static final String FIELD_TIME_SERIES = "timeSeriesData";
+    
+    private static final Region[] EVENT_REGIONS = {Region.HEAP, Region.YOUNG, Region.OLD, Region.METASPACE};
+    private static final String[] EVENT_REGION_FIELDS = {"heapMemory", "youngGen", "oldGen", "metaspace"};
+    
+    private final ObjectMapper objectMapper;
+    // 诊断报告等处的事件对象也不输出派生值
+    private final ObjectMapper withoutDerived;
+    
+    @JsonIgnoreProperties({"reclaimed", "usageBeforePercent", "usageAfterPercent"})
+    private interface MemoryChangeWithoutDerived {
+    }
+    
+    /**
+     * 流式写出的JSON响应体
+     */
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+    
+    /**
+     * 写出响应中的 data 部分
+     */
+    @FunctionalInterface
+    private interface DataWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+    
+    public AnalysisResultWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.withoutDerived = objectMapper.copy()
+                .addMixIn(GCEvent.MemoryChange.class, MemoryChangeWithoutDerived.class);
+    }
+    
+    /**
+     * 分析结果（完整结果或摘要）
+     */
+    public Body result(GCPulseResult result, boolean derived) {
+        return out -> writeSuccess(out, derived, generator -> writeResult(generator, result, derived));
+    }
+    
+    /**
+     * 一页事件
+     */
+    public Body eventPage(GCEventPage page, boolean derived) {
+        return out -> writeSuccess(out, derived, generator -> {
+            generator.writeStartObject();
+            generator.writeFieldName("events");
+            writeEvents(generator, page.getEvents(), derived);
+            generator.writeStringField("nextCursor", page.getNextCursor());
+            generator.writeBooleanField("hasMore", page.isHasMore());
+            generator.writeEndObject();
+        });
+    }
+    
+    /**
+     * 时间序列
+     */
+    public Body timeSeries(TimeSeriesData timeSeries) {
+        return out -> writeSuccess(out, false, generator -> writeTimeSeries(generator, timeSeries));
+    }
+    
+    private void writeSuccess(OutputStream out, boolean derived, DataWriter data) throws IOException {
+        ObjectMapper mapper = derived ? objectMapper : withoutDerived;
+        // 输出流由容器管理，生成器关闭时只刷新不关闭
+        try (JsonGenerator generator = mapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeFieldName("data");
+            data.write(generator);
+            generator.writeNumberField("timestamp", System.currentTimeMillis());
+            generator.writeEndObject();
+        }
+    }
+    
+    private void writeResult(JsonGenerator generator, GCPulseResult result, boolean derived) throws IOException {
+        ObjectMapper mapper = derived ? objectMapper : withoutDerived;
+        // 事件和时间序列之外的部分先转为树（体积与事件数无关），再按原有字段顺序写出，两个大字段在各自位置流式写出
+        ObjectNode rest = mapper.valueToTree(result.toBuilder().gcEvents(null).timeSeriesData(null).build());
+        generator.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = rest.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            if (FIELD_EVENTS.equals(field.getKey())) {
+                writeEvents(generator, result.getGcEvents(), derived);
+            } else if (FIELD_TIME_SERIES.equals(field.getKey())) {
+                writeTimeSeries(generator, result.getTimeSeriesData());
+            } else {
+                generator.writeTree(field.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+    
+    /**
+     * 写出事件列表：列存储直接按列读取，不为每个事件构造对象
+     */
+    private void writeEvents(JsonGenerator generator, List<GCEvent> events, boolean derived) throws IOException {
+        if (events == null) {
+            generator.writeNull();
+            return;
+        }
+        if (!(events instanceof GCEventStore store)) {
+            generator.writeStartArray();
+            for (GCEvent event : events) {
+                generator.writeObject(event);
+            }
+            generator.writeEndArray();
+            return;
+        }
+        
+        generator.writeStartArray();
+        for (int i = 0; i < store.size(); i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("timestamp", store.timestamp(i));
+            generator.writeStringField("eventType", store.eventType(i));
+            generator.writeStringField("gcCause", store.gcCause(i));
+            generator.writeNumberField("pauseTime", store.pauseTime(i));
+            generator.writeNumberField("concurrentTime", store.concurrentTime(i));
+            for (int r = 0; r < EVENT_REGIONS.length; r++) {
+                generator.writeFieldName(EVENT_REGION_FIELDS[r]);
+                writeMemoryChange(generator, store, EVENT_REGIONS[r], i, derived);
+            }
+            generator.writeBooleanField("fullGC", store.isFullGC(i));
+            generator.writeBooleanField("longPause", store.isLongPause(i));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+    
+    private void writeMemoryChange(JsonGenerator generator, GCEventStore store, Region region, int index, 
+                                   boolean derived) throws IOException {
+        if (!store.hasMemory(region, index)) {
+            generator.writeNull();
+            return;
+        }
+        long before = store.before(region, index);
+        long after = store.after(region, index);
+        long total = store.total(region, index);
+        generator.writeStartObject();
+        generator.writeNumberField("before", before);
+        generator.writeNumberField("after", after);
+        generator.writeNumberField("total", total);
+        if (derived) {
+            // 与 MemoryChange 的派生 getter 一致
+            generator.writeNumberField("reclaimed", before - after);
+            generator.writeNumberField("usageBeforePercent", total > 0 ? (before * 100.0 / total) : 0);
+            generator.writeNumberField("usageAfterPercent", total > 0 ? (after * 100.0 / total) : 0);
+        }
+        generator.writeEndObject();
+    }
+    
+    private void writeTimeSeries(JsonGenerator generator, TimeSeriesData timeSeries) throws IOException {
+        if (timeSeries == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        writeDataPoints(generator, "heapUsageTrend", timeSeries.getHeapUsageTrend());
+        writeDataPoints(generator, "heapBeforeGCTrend", timeSeries.getHeapBeforeGCTrend());
+        writeDataPoints(generator, "pauseTimeTrend", timeSeries.getPauseTimeTrend());
+        writeDataPoints(generator, "reclaimedBytesTrend", timeSeries.getReclaimedBytesTrend());
+        writeDataPoints(generator, "youngGenTrend", timeSeries.getYoungGenTrend());
+        writeDataPoints(generator, "oldGenTrend", timeSeries.getOldGenTrend());
+        writeDataPoints(generator, "allocationTrend", timeSeries.getAllocationTrend());
+        writeDataPoints(generator, "promotionTrend", timeSeries.getPromotionTrend());
+        writeDataPoints(generator, "metaspaceTrend", timeSeries.getMetaspaceTrend());
+        writeDataPoints(generator, "throughputTrend", timeSeries.getThroughputTrend());
+        writeDataPoints(generator, "allocationRateTrend", timeSeries.getAllocationRateTrend());
+        generator.writeBooleanField("downsampled", timeSeries.isDownsampled());
+        generator.writeEndObject();
+    }
+    
+    private void writeDataPoints(JsonGenerator generator, String field, 
+                                 List<TimeSeriesData.DataPoint> points) throws IOException {
+        generator.writeFieldName(field);
+        if (points == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (TimeSeriesData.DataPoint point : points) {
+            generator.writeStartObject();
+            generator.writeNumberField("timestamp", point.getTimestamp());
+            generator.writeNumberField("value", point.getValue());
+            generator.writeStringField("label", point.getLabel());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
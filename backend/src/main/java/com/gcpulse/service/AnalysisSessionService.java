@@ -0,0 +1,157 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.AnalysisSessionConfig;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventQuery;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 分析会话服务
+ * 分析结果按分析ID保留在服务端（按访问顺序淘汰），后续请求（如图表缩放后的细粒度时间序列）直接读取，不必重新上传解析
+ * 首次响应只返回摘要，事件按查询条件和游标分页获取
+ * 内存中没有（已淘汰或服务重启）的分析ID从持久化存储重新打开
+ */
+@Slf4j
+@Service
+public class AnalysisSessionService {
+    
+    /**
+     * 每页事件数的默认值和上限
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 5000;
+    
+    private final Map<String, GCPulseResult> sessions;
+    private final AnalysisStoreService analysisStoreService;
+    
+    public AnalysisSessionService(AnalysisSessionConfig config, AnalysisStoreService analysisStoreService) {
+        this.analysisStoreService = analysisStoreService;
+        int maxSessions = Math.max(1, config.getMaxSessions());
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GCPulseResult> eldest) {
+                if (size() > maxSessions) {
+                    log.info("淘汰分析会话: {} ({})", eldest.getKey(), eldest.getValue().getFileName());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * 保存分析结果，返回分析ID（同时写入结果的 analysisId）
+     */
+    public String register(GCPulseResult result) {
+        return register(result, UUID.randomUUID().toString());
+    }
+    
+    /**
+     * 以指定的分析ID保存分析结果（相同内容的日志沿用已持久化的分析ID）
+     */
+    public synchronized String register(GCPulseResult result, String analysisId) {
+        result.setAnalysisId(analysisId);
+        sessions.put(analysisId, result);
+        return analysisId;
+    }
+    
+    public Optional<GCPulseResult> find(String analysisId) {
+        synchronized (this) {
+            GCPulseResult result = sessions.get(analysisId);
+            if (result != null) {
+                return Optional.of(result);
+            }
+        }
+        
+        // 读取磁盘不占用锁；并发打开同一个分析时保留先放入的
+        Optional<GCPulseResult> stored = analysisStoreService.open(analysisId);
+        if (stored.isEmpty()) {
+            return stored;
+        }
+        synchronized (this) {
+            return Optional.of(sessions.computeIfAbsent(analysisId, id -> stored.get()));
+        }
+    }
+    
+    /**
+     * 移除分析会话（删除持久化的分析时调用）
+     */
+    public synchronized void remove(String analysisId) {
+        sessions.remove(analysisId);
+    }
+    
+    /**
+     * 分析结果，不存在（或已淘汰）时抛出 IllegalArgumentException
+     */
+    public GCPulseResult get(String analysisId) {
+        return find(analysisId)
+                .orElseThrow(() -> new IllegalArgumentException("分析结果不存在或已过期: " + analysisId));
+    }
+    
+    /**
+     * 分页获取满足条件的事件
+     * 游标记录下一次开始扫描的事件下标（对调用方不透明）；分析结果不再变化，游标在会话有效期内一直可用
+     *
+     * @param cursor 上一页返回的 nextCursor，第一页为空
+     * @param limit 每页事件数，超出范围时取默认值或上限
+     */
+    public GCEventPage getEvents(String analysisId, GCEventQuery query, String cursor, int limit) {
+        GCEventStore events = GCEventStore.copyOf(get(analysisId).getGcEvents());
+        int pageSize = limit > 0 ? Math.min(limit, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        
+        // 先记下本页事件的下标，再按列整块选取（不逐个构造 GCEvent）
+        int[] matched = new int[Math.min(pageSize, events.size())];
+        int count = 0;
+        int index = decodeCursor(cursor);
+        int size = events.size();
+        while (index < size && count < pageSize) {
+            if (query.matches(events, index)) {
+                matched[count++] = index;
+            }
+            index++;
+        }
+        
+        // 本页已满时向后找到下一个匹配的事件，没有时不返回游标
+        while (index < size && !query.matches(events, index)) {
+            index++;
+        }
+        boolean hasMore = index < size;
+        return GCEventPage.builder()
+                .events(events.select(matched, count))
+                .nextCursor(hasMore ? encodeCursor(index) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    private static String encodeCursor(int index) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Integer.toString(index).getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    private static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        int index;
+        try {
+            // Base64 解码失败和数字格式错误都是 IllegalArgumentException
+            index = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,358 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.config.AnalysisStoreConfig;
+import com.gcpulse.model.AnalysisRecord;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 分析结果持久化
+ * 每个分析一个子目录：record.json（列表元数据）、result.json.gz（事件以外的统计、诊断、时间序列）、
+ * events.seg（事件列存储的段文件）；先写临时目录再改名，不会读到写了一半的分析
+ *
+ * 重新打开时内存映射段文件、按列整块读回，不需要原始日志，也不重新解析；
+ * 保存新分析和列出分析时按保留天数、数量上限、空间上限清理最早的分析
+ * 分析请求中的持久化在后台写入线程上串行进行；记录日志内容的摘要，相同内容的日志只持久化一次
+ */
+@Slf4j
+@Service
+public class AnalysisStoreService {
+    
+    private static final String RECORD_FILE = "record.json";
+    private static final String RESULT_FILE = "result.json.gz";
+    private static final String EVENTS_FILE = "events.seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private final AnalysisStoreConfig config;
+    private final ObjectMapper objectMapper;
+    
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("analysis-store-", 0).factory());
+    
+    // 按创建时间排序的索引，首次使用时从磁盘加载
+    private LinkedHashMap<String, AnalysisRecord> records;
+    // 已提交、尚未写完的分析：内容摘要 -> 分析ID
+    private final Map<String, String> pendingContentKeys = new HashMap<>();
+    
+    public AnalysisStoreService(AnalysisStoreConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 持久化分析结果（结果必须已有分析ID），写入失败只记录日志，不影响本次分析
+     */
+    public void save(GCPulseResult result) {
+        save(result, null);
+    }
+    
+    /**
+     * 在后台写入线程上持久化分析结果，不占用请求线程；写完之前按内容摘要也能查到这个分析
+     *
+     * @param contentKey 日志内容的 SHA-256，可以为空
+     */
+    public void saveAsync(GCPulseResult result, String contentKey) {
+        if (!config.isEnabled() || result.getAnalysisId() == null) {
+            return;
+        }
+        synchronized (this) {
+            if (contentKey != null) {
+                pendingContentKeys.put(contentKey, result.getAnalysisId());
+            }
+        }
+        writer.execute(() -> {
+            try {
+                save(result, contentKey);
+            } finally {
+                synchronized (this) {
+                    if (contentKey != null) {
+                        pendingContentKeys.remove(contentKey);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * 按日志内容摘要查找已持久化（或正在持久化）的分析ID
+     */
+    public Optional<String> findByContentKey(String contentKey) {
+        if (!config.isEnabled() || contentKey == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            String pending = pendingContentKeys.get(contentKey);
+            if (pending != null) {
+                return Optional.of(pending);
+            }
+            return records().values().stream()
+                    .filter(record -> contentKey.equals(record.getContentKey()))
+                    .map(AnalysisRecord::getAnalysisId)
+                    .findFirst();
+        }
+    }
+    
+    /**
+     * 持久化分析结果并记录日志内容摘要
+     */
+    public void save(GCPulseResult result, String contentKey) {
+        if (!config.isEnabled() || result.getAnalysisId() == null) {
+            return;
+        }
+        String analysisId = result.getAnalysisId();
+        Path target = analysisDirectory(analysisId);
+        Path temp = target.resolveSibling(analysisId + TEMP_SUFFIX);
+        synchronized (this) {
+            // 先加载已有的索引，避免加载时把本次写入的目录也算进去
+            records();
+        }
+        try {
+            Files.createDirectories(temp);
+            
+            GCEventStore events = GCEventStore.copyOf(result.getGcEvents() != null ? result.getGcEvents() : List.of());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp.resolve(EVENTS_FILE)),
+                    256 * 1024)) {
+                events.writeTo(out);
+            }
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp.resolve(RESULT_FILE)))) {
+                objectMapper.writeValue(out, result.toBuilder().gcEvents(null).build());
+            }
+            
+            AnalysisRecord record = AnalysisRecord.builder()
+                    .analysisId(analysisId)
+                    .fileName(result.getFileName())
+                    .fileSize(result.getFileSize())
+                    .collectorType(result.getCollectorType())
+                    .eventCount(events.size())
+                    .createdAt(System.currentTimeMillis())
+                    .storedBytes(Files.size(temp.resolve(EVENTS_FILE)) + Files.size(temp.resolve(RESULT_FILE)))
+                    .contentKey(contentKey)
+                    .build();
+            objectMapper.writeValue(temp.resolve(RECORD_FILE).toFile(), record);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            
+            synchronized (this) {
+                records().put(analysisId, record);
+            }
+            log.info("分析结果已持久化: {} ({}, {} 个事件, {} KB)", analysisId, record.getFileName(),
+                    record.getEventCount(), record.getStoredBytes() / 1024);
+            purgeExpired();
+        } catch (IOException e) {
+            log.warn("分析结果持久化失败: {}", analysisId, e);
+            deleteDirectory(temp);
+        }
+    }
+    
+    /**
+     * 已持久化的分析（最近的在前）
+     */
+    public List<AnalysisRecord> list() {
+        purgeExpired();
+        synchronized (this) {
+            List<AnalysisRecord> list = new ArrayList<>(records().values());
+            list.sort(Comparator.comparingLong(AnalysisRecord::getCreatedAt).reversed());
+            return list;
+        }
+    }
+    
+    /**
+     * 重新打开已持久化的分析：读回统计和诊断，内存映射段文件读回事件列
+     */
+    public Optional<GCPulseResult> open(String analysisId) {
+        if (!config.isEnabled() || !isValidId(analysisId)) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (!records().containsKey(analysisId)) {
+                return Optional.empty();
+            }
+        }
+        Path directory = analysisDirectory(analysisId);
+        long start = System.currentTimeMillis();
+        try {
+            GCPulseResult result;
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(RESULT_FILE)))) {
+                result = objectMapper.readValue(in, GCPulseResult.class);
+            }
+            try (FileChannel channel = FileChannel.open(directory.resolve(EVENTS_FILE), StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                result.setGcEvents(GCEventStore.read(segment));
+            }
+            result.setAnalysisId(analysisId);
+            log.info("重新打开已持久化的分析: {} ({} 个事件, 耗时 {}ms)", analysisId, result.getGcEvents().size(),
+                    System.currentTimeMillis() - start);
+            return Optional.of(result);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("读取已持久化的分析失败: {}", analysisId, e);
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * 删除已持久化的分析，不存在时返回 false
+     */
+    public boolean delete(String analysisId) {
+        if (!config.isEnabled() || !isValidId(analysisId)) {
+            return false;
+        }
+        synchronized (this) {
+            if (records().remove(analysisId) == null) {
+                return false;
+            }
+        }
+        deleteDirectory(analysisDirectory(analysisId));
+        return true;
+    }
+    
+    /**
+     * 按保留天数、数量上限、空间上限删除最早的分析
+     */
+    private void purgeExpired() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        List<String> expired = new ArrayList<>();
+        synchronized (this) {
+            long cutoff = config.getRetentionDays() > 0
+                    ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(config.getRetentionDays())
+                    : Long.MIN_VALUE;
+            long maxBytes = config.getMaxTotalMb() * 1024 * 1024;
+            long totalBytes = records().values().stream().mapToLong(AnalysisRecord::getStoredBytes).sum();
+            
+            // 索引按创建时间排序，从最早的开始删除
+            Iterator<AnalysisRecord> it = records().values().iterator();
+            while (it.hasNext()) {
+                AnalysisRecord record = it.next();
+                if (record.getCreatedAt() >= cutoff && records().size() <= config.getMaxAnalyses()
+                        && totalBytes <= maxBytes) {
+                    break;
+                }
+                it.remove();
+                totalBytes -= record.getStoredBytes();
+                expired.add(record.getAnalysisId());
+            }
+        }
+        for (String analysisId : expired) {
+            log.info("清理已持久化的分析: {}", analysisId);
+            deleteDirectory(analysisDirectory(analysisId));
+        }
+    }
+    
+    /**
+     * 索引（调用方持有锁），首次使用时读取各分析目录中的 record.json，清理残留的临时目录
+     */
+    private Map<String, AnalysisRecord> records() {
+        if (records != null) {
+            return records;
+        }
+        List<AnalysisRecord> loaded = new ArrayList<>();
+        Path root = Paths.get(config.getDirectory());
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> list = Files.list(root)) {
+                for (Path directory : list.toList()) {
+                    if (directory.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                        deleteDirectory(directory);
+                        continue;
+                    }
+                    Path recordFile = directory.resolve(RECORD_FILE);
+                    if (!Files.isRegularFile(recordFile)) {
+                        continue;
+                    }
+                    try {
+                        loaded.add(objectMapper.readValue(recordFile.toFile(), AnalysisRecord.class));
+                    } catch (IOException e) {
+                        log.warn("忽略无法读取的分析记录: {}", recordFile, e);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("读取分析存储目录失败: {}", root, e);
+            }
+        }
+        loaded.sort(Comparator.comparingLong(AnalysisRecord::getCreatedAt));
+        records = new LinkedHashMap<>();
+        for (AnalysisRecord record : loaded) {
+            records.put(record.getAnalysisId(), record);
+        }
+        log.info("已加载 {} 个持久化的分析: {}", records.size(), root);
+        return records;
+    }
+    
+    /**
+     * 等待已提交的持久化写完（最多 30 秒）
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("等待分析结果持久化超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private Path analysisDirectory(String analysisId) {
+        return Paths.get(config.getDirectory(), analysisId);
+    }
+    
+    /**
+     * 分析ID用作目录名，只接受 UUID
+     */
+    private static boolean isValidId(String analysisId) {
+        try {
+            UUID.fromString(analysisId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    private static void deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("删除分析目录失败: {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.gcpulse.service;
+
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCEventStore.Region;
+import com.gcpulse.model.TimeSeriesData;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 时间序列和事件分页的列式二进制格式（请求头 Accept: application/x-gcpulse-columnar 时使用）
+ * JSON 中每个数据点都重复 timestamp/value/label 键、浮点数按十进制文本输出；列式格式按列连续写出，
+ * 时间戳为 zigzag varint 编码的增量，数值为 float32，体积和前端解析耗时都远小于 JSON
+ *
+ * 所有多字节数值均为大端序，字符串为 varint 长度 + UTF-8；前端解码见 frontend/src/api/columnarCodec.js
+ *
+ * 时间序列：'GCPT' 版本(u8) 标志(u8, bit0=已降采样) 序列数(u8)，
+ *          每个序列：名称 点数(varint) 时间戳增量(zigzag varint × 点数) 数值(float32 × 点数)
+ * 事件分页：'GCPE' 版本(u8) hasMore(u8) nextCursor(可空字符串) 字典(varint 个数 + 字符串) 事件数(varint)，
+ *          之后按列：时间戳增量、事件类型编码、GC原因编码（varint，编码 + 1，0 表示 null）、
+ *          暂停时间、并发时间（float32）、标志（u8，低4位为各内存区域是否存在，bit4 Full GC，bit5 长暂停），
+ *          最后按 HEAP/YOUNG/OLD/METASPACE 顺序写出存在该区域的事件的 before/after/total（zigzag varint）
+ */
+@Component
+public class ColumnarWireWriter {
+    
+    public static final String MEDIA_TYPE_VALUE = "application/x-gcpulse-columnar";
+    
+    static final int VERSION = 1;
+    
+    private static final byte[] TIME_SERIES_MAGIC = {'G', 'C', 'P', 'T'};
+    private static final byte[] EVENT_PAGE_MAGIC = {'G', 'C', 'P', 'E'};
+    
+    private static final int FULL_GC_FLAG = 1 << 4;
+    private static final int LONG_PAUSE_FLAG = 1 << 5;
+    
+    /**
+     * 时间序列（字段名与 JSON 中的序列名一致，值为 null 的序列不输出）
+     */
+    public StreamingResponseBody timeSeries(TimeSeriesData timeSeries) {
+        return out -> writeTimeSeries(out, timeSeries);
+    }
+    
+    /**
+     * 一页事件
+     */
+    public StreamingResponseBody eventPage(GCEventPage page) {
+        return out -> writeEventPage(out, page);
+    }
+    
+    void writeTimeSeries(OutputStream target, TimeSeriesData timeSeries) throws IOException {
+        Map<String, List<TimeSeriesData.DataPoint>> series = new LinkedHashMap<>();
+        series.put("heapUsageTrend", timeSeries.getHeapUsageTrend());
+        series.put("heapBeforeGCTrend", timeSeries.getHeapBeforeGCTrend());
+        series.put("pauseTimeTrend", timeSeries.getPauseTimeTrend());
+        series.put("reclaimedBytesTrend", timeSeries.getReclaimedBytesTrend());
+        series.put("youngGenTrend", timeSeries.getYoungGenTrend());
+        series.put("oldGenTrend", timeSeries.getOldGenTrend());
+        series.put("allocationTrend", timeSeries.getAllocationTrend());
+        series.put("promotionTrend", timeSeries.getPromotionTrend());
+        series.put("metaspaceTrend", timeSeries.getMetaspaceTrend());
+        series.put("throughputTrend", timeSeries.getThroughputTrend());
+        series.put("allocationRateTrend", timeSeries.getAllocationRateTrend());
+        series.values().removeIf(points -> points == null);
+        
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        out.write(TIME_SERIES_MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(timeSeries.isDownsampled() ? 1 : 0);
+        out.writeByte(series.size());
+        for (Map.Entry<String, List<TimeSeriesData.DataPoint>> entry : series.entrySet()) {
+            List<TimeSeriesData.DataPoint> points = entry.getValue();
+            writeString(out, entry.getKey());
+            writeVarint(out, points.size());
+            long previous = 0;
+            for (TimeSeriesData.DataPoint point : points) {
+                writeVarint(out, zigzag(point.getTimestamp() - previous));
+                previous = point.getTimestamp();
+            }
+            for (TimeSeriesData.DataPoint point : points) {
+                out.writeFloat((float) point.getValue());
+            }
+        }
+        out.flush();
+    }
+    
+    void writeEventPage(OutputStream target, GCEventPage page) throws IOException {
+        // 分页结果已经是按列选取的列存储，直接按列写出（其他列表才转换）
+        GCEventStore events = GCEventStore.copyOf(page.getEvents() != null ? page.getEvents() : List.of());
+        int count = events.size();
+        
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        out.write(EVENT_PAGE_MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(page.isHasMore() ? 1 : 0);
+        writeNullableString(out, page.getNextCursor());
+        writeVarint(out, events.dictionarySize());
+        for (int c = 0; c < events.dictionarySize(); c++) {
+            writeString(out, events.decode(c));
+        }
+        writeVarint(out, count);
+        
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarint(out, zigzag(events.timestamp(i) - previous));
+            previous = events.timestamp(i);
+        }
+        for (int i = 0; i < count; i++) {
+            writeVarint(out, events.eventTypeCode(i) + 1);
+        }
+        for (int i = 0; i < count; i++) {
+            writeVarint(out, events.gcCauseCode(i) + 1);
+        }
+        for (int i = 0; i < count; i++) {
+            out.writeFloat((float) events.pauseTime(i));
+        }
+        for (int i = 0; i < count; i++) {
+            out.writeFloat((float) events.concurrentTime(i));
+        }
+        for (int i = 0; i < count; i++) {
+            out.writeByte(flags(events, i));
+        }
+        for (Region region : Region.values()) {
+            for (int i = 0; i < count; i++) {
+                if (events.hasMemory(region, i)) {
+                    writeVarint(out, zigzag(events.before(region, i)));
+                    writeVarint(out, zigzag(events.after(region, i)));
+                    writeVarint(out, zigzag(events.total(region, i)));
+                }
+            }
+        }
+        out.flush();
+    }
+    
+    private static int flags(GCEventStore events, int index) {
+        int f = 0;
+        for (Region region : Region.values()) {
+            if (events.hasMemory(region, index)) {
+                f |= 1 << region.ordinal();
+            }
+        }
+        if (events.isFullGC(index)) {
+            f |= FULL_GC_FLAG;
+        }
+        if (events.isLongPause(index)) {
+            f |= LONG_PAUSE_FLAG;
+        }
+        return f;
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    /**
+     * 无符号 varint（每字节低7位为数据，最高位表示后面还有字节）
+     */
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+    
+    /**
+     * 可空字符串：长度 + 1，0 表示 null
+     */
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+}
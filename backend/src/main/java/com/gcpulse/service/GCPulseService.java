@@ -1,7 +1,14 @@
 package com.gcpulse.service;
 
+import com.gcpulse.config.LocalAnalysisConfig;
+import com.gcpulse.model.AdmissionStats;
+import com.gcpulse.model.AnalysisCacheStats;
+import com.gcpulse.model.AnalysisRecord;
+import com.gcpulse.model.GCEventStore;
 import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.TimeSeriesData;
 import com.gcpulse.parser.GCLogParser;
+import com.gcpulse.parser.ParseProgress;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +16,16 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * GC分析服务
@@ -19,22 +36,57 @@ import java.io.InputStream;
 public class GCPulseService {
     
     private final GCLogParser gcLogParser;
+    private final LocalAnalysisConfig localAnalysisConfig;
+    private final AnalysisSessionService analysisSessionService;
+    private final AnalysisCacheService analysisCacheService;
+    private final AnalysisAdmissionService analysisAdmissionService;
+    private final AnalysisStoreService analysisStoreService;
     
     /**
-     * 分析上传的GC日志文件
+     * 分析上传的GC日志文件（在请求线程中等待内存准入，等待超时抛出 AnalysisRejectedException）
+     * 
+     * @param maxPoints 每条时间序列的目标点数
      */
-    public GCPulseResult analyzeGCLog(MultipartFile file) throws IOException {
+    public GCPulseResult analyzeGCLog(MultipartFile file, int maxPoints) throws IOException {
+        long estimatedMemory;
+        try (InputStream in = file.getInputStream()) {
+            estimatedMemory = gcLogParser.estimateMemory(in, file.getSize());
+        }
+        AnalysisAdmissionService.Permit permit = admit(file.getOriginalFilename(), estimatedMemory);
+        try {
+            return analyzeUpload(file, maxPoints);
+        } finally {
+            permit.close();
+        }
+    }
+    
+    private GCPulseResult analyzeUpload(MultipartFile file, int maxPoints) throws IOException {
         log.info("开始分析GC日志文件: {}, 大小: {} bytes", 
                 file.getOriginalFilename(), file.getSize());
         
         long startTime = System.currentTimeMillis();
         
-        try (InputStream inputStream = file.getInputStream()) {
-            GCPulseResult result = gcLogParser.parse(
-                    inputStream, 
-                    file.getOriginalFilename(),
-                    file.getSize()
-            );
+        try {
+            // 先按探测键查缓存，相同内容的日志不再重复解析；未命中时解析的同时计算内容摘要
+            String probeKey = probeKey(file::getInputStream, file.getSize());
+            String cacheKey = confirmCacheKey(probeKey, file::getInputStream);
+            GCPulseResult parsed = cachedResult(cacheKey);
+            if (parsed == null) {
+                try (InputStream inputStream = file.getInputStream()) {
+                    AnalysisCacheService.ContentDigest digest = cacheKey == null && probeKey != null ?
+                            new AnalysisCacheService.ContentDigest(inputStream) : null;
+                    parsed = gcLogParser.parse(
+                            digest != null ? digest : inputStream, 
+                            file.getOriginalFilename(),
+                            file.getSize()
+                    );
+                    if (digest != null) {
+                        cacheKey = digest.finish();
+                    }
+                }
+                cache(cacheKey, probeKey, parsed);
+            }
+            GCPulseResult result = register(parsed, cacheKey, file.getOriginalFilename(), file.getSize(), maxPoints);
             
             long duration = System.currentTimeMillis() - startTime;
             log.info("GC日志分析完成，耗时: {}ms, 检测到的收集器: {}, GC事件数: {}", 
@@ -48,6 +100,289 @@ public class GCPulseService {
         }
     }
     
+    /**
+     * 分析服务器本地GC日志文件（白名单目录内，内存映射读取，不受上传大小限制）
+     */
+    public GCPulseResult analyzeLocalGCLog(String path, int maxPoints) throws IOException {
+        Path file = resolveLocalPath(path);
+        AnalysisAdmissionService.Permit permit = admit(path, estimateMemory(file));
+        try {
+            return analyzeFile(file, file.getFileName().toString(), maxPoints, new ParseProgress());
+        } finally {
+            permit.close();
+        }
+    }
+    
+    /**
+     * 分析服务器本地GC日志文件，解析过程中通过 progress 汇报进度、响应取消（调用方负责准入控制）
+     */
+    public GCPulseResult analyzeLocalGCLog(String path, int maxPoints, ParseProgress progress) throws IOException {
+        Path file = resolveLocalPath(path);
+        return analyzeFile(file, file.getFileName().toString(), maxPoints, progress);
+    }
+    
+    /**
+     * 估算分析文件需要的内存（按文件大小和检测到的日志格式）
+     */
+    public long estimateMemory(Path file) throws IOException {
+        return gcLogParser.estimateMemory(file);
+    }
+    
+    /**
+     * 分析已暂存到服务器的上传文件（异步分析任务使用，请求结束后上传的临时文件即被清理，任务需要自己的副本）
+     * 
+     * @param fileName 上传时的原始文件名
+     */
+    public GCPulseResult analyzeStoredGCLog(Path file, String fileName, int maxPoints, 
+                                           ParseProgress progress) throws IOException {
+        return analyzeFile(file, fileName, maxPoints, progress);
+    }
+    
+    private GCPulseResult analyzeFile(Path file, String fileName, int maxPoints, 
+                                      ParseProgress progress) throws IOException {
+        log.info("开始分析服务器本地GC日志文件: {}, 大小: {} bytes", file, Files.size(file));
+        
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            String probeKey = probeKey(() -> Files.newInputStream(file), Files.size(file));
+            String cacheKey = confirmCacheKey(probeKey, () -> Files.newInputStream(file));
+            GCPulseResult parsed = cachedResult(cacheKey);
+            if (parsed == null) {
+                // 内存映射（可能分块并行）解析不经过输入流，内容摘要在另一个线程中与解析同时计算
+                FutureTask<String> digest = cacheKey == null && probeKey != null ?
+                        digestAsync(() -> Files.newInputStream(file)) : null;
+                try {
+                    parsed = gcLogParser.parse(file, progress);
+                    if (digest != null) {
+                        cacheKey = awaitDigest(digest);
+                    }
+                } finally {
+                    if (digest != null) {
+                        digest.cancel(true);
+                    }
+                }
+                cache(cacheKey, probeKey, parsed);
+            }
+            GCPulseResult result = register(parsed, cacheKey, fileName, parsed.getFileSize(), maxPoints);
+            
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("GC日志分析完成，耗时: {}ms, 检测到的收集器: {}, GC事件数: {}", 
+                    duration, result.getCollectorType(), 
+                    result.getGcEvents() != null ? result.getGcEvents().size() : 0);
+            
+            return result;
+        } catch (CancellationException e) {
+            log.info("GC日志分析已取消: {}", fileName);
+            throw e;
+        } catch (Exception e) {
+            log.error("分析服务器本地GC日志文件失败: {}", file, e);
+            throw new RuntimeException("分析GC日志失败: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 按分析ID获取时间范围内的时间序列（图表缩放时重新请求更细的分辨率）
+     * 
+     * @param from 起始时间戳（ms），为空时不限
+     * @param to 结束时间戳（ms），为空时不限
+     */
+    public TimeSeriesData getTimeSeries(String analysisId, Long from, Long to, int maxPoints) {
+        GCPulseResult result = analysisSessionService.get(analysisId);
+        return gcLogParser.buildTimeSeries(GCEventStore.copyOf(result.getGcEvents()),
+                from != null ? from : Long.MIN_VALUE, to != null ? to : Long.MAX_VALUE, maxPoints);
+    }
+    
+    /**
+     * 在当前线程中等待准入（同步接口），最长等待时间由配置决定
+     */
+    private AnalysisAdmissionService.Permit admit(String name, long estimatedMemory) throws IOException {
+        try {
+            return analysisAdmissionService.acquire(name, estimatedMemory, analysisAdmissionService.maxWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待分析准入时被中断");
+        }
+    }
+    
+    /**
+     * 打开输入流（用于计算缓存键）
+     */
+    @FunctionalInterface
+    private interface InputStreamSupplier {
+        InputStream open() throws IOException;
+    }
+    
+    /**
+     * 探测键（只读取首尾两块），缓存未启用时为 null
+     */
+    private String probeKey(InputStreamSupplier content, long size) throws IOException {
+        if (!analysisCacheService.isEnabled()) {
+            return null;
+        }
+        try (InputStream in = content.open()) {
+            return AnalysisCacheService.probeKey(in, size);
+        }
+    }
+    
+    /**
+     * 探测到可能相同的内容时计算全文摘要确认，否则返回 null（摘要留到解析时计算）
+     */
+    private String confirmCacheKey(String probeKey, InputStreamSupplier content) throws IOException {
+        if (probeKey == null || analysisCacheService.probe(probeKey).isEmpty()) {
+            return null;
+        }
+        return AnalysisCacheService.contentKey(content.open());
+    }
+    
+    private static FutureTask<String> digestAsync(InputStreamSupplier content) {
+        FutureTask<String> task = new FutureTask<>(() -> AnalysisCacheService.contentKey(content.open()));
+        Thread.ofVirtual().name("content-digest").start(task);
+        return task;
+    }
+    
+    private static String awaitDigest(FutureTask<String> digest) throws IOException {
+        try {
+            return digest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待内容摘要时被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("计算内容摘要失败", e.getCause());
+        }
+    }
+    
+    private GCPulseResult cachedResult(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        GCPulseResult cached = analysisCacheService.get(cacheKey).orElse(null);
+        if (cached != null) {
+            log.info("命中分析结果缓存: {}", cacheKey);
+        }
+        return cached;
+    }
+    
+    private void cache(String cacheKey, String probeKey, GCPulseResult parsed) {
+        if (cacheKey != null) {
+            analysisCacheService.put(cacheKey, probeKey, parsed);
+        }
+    }
+    
+    /**
+     * 为解析结果创建分析会话（浅拷贝，缓存中的结果不被修改）并在后台持久化
+     * 请求的点数与解析时的默认点数不同时，按请求的点数重新生成时间序列
+     * 相同内容的日志已经持久化时沿用其分析ID，不再重复写入
+     */
+    private GCPulseResult register(GCPulseResult parsed, String cacheKey, String fileName, long fileSize,
+                                   int maxPoints) {
+        GCPulseResult result = parsed.toBuilder()
+                .fileName(fileName)
+                .fileSize(fileSize)
+                .build();
+        if (maxPoints != GCLogParser.DEFAULT_TIME_SERIES_POINTS) {
+            result.setTimeSeriesData(gcLogParser.buildTimeSeries(
+                    GCEventStore.copyOf(result.getGcEvents()), Long.MIN_VALUE, Long.MAX_VALUE, maxPoints));
+        }
+        String storedId = analysisStoreService.findByContentKey(cacheKey).orElse(null);
+        if (storedId != null) {
+            log.info("相同内容的日志已持久化，沿用分析ID: {}", storedId);
+            analysisSessionService.register(result, storedId);
+        } else {
+            analysisSessionService.register(result);
+            analysisStoreService.saveAsync(result, cacheKey);
+        }
+        return result;
+    }
+    
+    /**
+     * 已持久化的分析（最近的在前）
+     */
+    public List<AnalysisRecord> listStoredAnalyses() {
+        return analysisStoreService.list();
+    }
+    
+    /**
+     * 删除已持久化的分析（同时不再能通过分析ID重新打开）
+     */
+    public boolean deleteStoredAnalysis(String analysisId) {
+        analysisSessionService.remove(analysisId);
+        return analysisStoreService.delete(analysisId);
+    }
+    
+    /**
+     * 分析结果缓存统计
+     */
+    public AnalysisCacheStats getCacheStats() {
+        return analysisCacheService.stats();
+    }
+    
+    /**
+     * 分析准入控制统计
+     */
+    public AdmissionStats getAdmissionStats() {
+        return analysisAdmissionService.stats();
+    }
+    
+    /**
+     * 解析并校验本地路径：必须是白名单目录下的普通可读文件（解析符号链接后判断）
+     * 先按规范化后的路径做白名单判断，再访问文件系统；不在白名单、不存在和不可读统一报同一个错误，
+     * 避免借此探测白名单之外的路径
+     */
+    public Path resolveLocalPath(String path) {
+        if (!localAnalysisConfig.isEnabled()) {
+            throw new IllegalArgumentException("服务器本地文件分析未启用");
+        }
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("文件路径不能为空");
+        }
+        
+        Path requested;
+        try {
+            requested = Paths.get(path);
+        } catch (InvalidPathException e) {
+            throw localPathRejected();
+        }
+        List<Path> configuredRoots = new ArrayList<>();
+        List<Path> realRoots = new ArrayList<>();
+        for (String directory : localAnalysisConfig.getAllowedDirectories()) {
+            Path allowed = Paths.get(directory).toAbsolutePath().normalize();
+            configuredRoots.add(allowed);
+            try {
+                realRoots.add(allowed.toRealPath());
+            } catch (IOException e) {
+                // 白名单目录不存在时其下不会有可读文件，真实路径判断自然不通过
+            }
+        }
+        Path normalized = requested.normalize();
+        if (!requested.isAbsolute()
+                || !(startsWithAny(normalized, configuredRoots) || startsWithAny(normalized, realRoots))) {
+            throw localPathRejected();
+        }
+        
+        Path file;
+        try {
+            file = requested.toRealPath();
+        } catch (IOException e) {
+            throw localPathRejected();
+        }
+        if (!startsWithAny(file, realRoots) || !Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw localPathRejected();
+        }
+        return file;
+    }
+    
+    private static boolean startsWithAny(Path path, List<Path> roots) {
+        return roots.stream().anyMatch(path::startsWith);
+    }
+    
+    private static IllegalArgumentException localPathRejected() {
+        return new IllegalArgumentException("文件不存在、不可读或不在允许访问的目录中");
+    }
+    
     /**
      * 验证文件格式
      */
@@ -61,10 +396,13 @@ public class GCPulseService {
             return false;
         }
         
-        // 检查文件扩展名
+        // 检查文件扩展名（支持滚动日志压缩包：.gz / .zip / .tgz / .tar.gz）
         String lowerFilename = filename.toLowerCase();
         return lowerFilename.endsWith(".log") || 
                lowerFilename.endsWith(".txt") || 
+               lowerFilename.endsWith(".gz") || 
+               lowerFilename.endsWith(".tgz") || 
+               lowerFilename.endsWith(".zip") || 
                lowerFilename.contains("gc");
     }
 }
@@ -0,0 +1,223 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.LiveTailConfig;
+import com.gcpulse.model.DiagnosisReport;
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.LiveTailUpdate;
+import com.gcpulse.parser.GCLogParser;
+import com.gcpulse.parser.LiveLogParser;
+import com.gcpulse.parser.LogFileFollower;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实时跟踪正在写入的GC日志文件
+ * 每个连接一个跟踪会话：定时读取文件追加的内容（识别 -Xlog 文件滚动），交给持续保留状态的解析器，
+ * 有新事件时通过 Server-Sent Events 推送 KPI、时间序列和诊断的更新
+ *
+ * 内存有界：每个会话只保留固定大小的读取缓冲区和最近的事件窗口，同时跟踪的连接数有上限；
+ * 客户端断开（推送失败）、超时或服务关闭时停止跟踪
+ */
+@Slf4j
+@Service
+public class LiveTailService {
+    
+    /**
+     * SSE 事件名：增量更新、无法继续跟踪（随后关闭连接）
+     */
+    public static final String EVENT_UPDATE = "update";
+    public static final String EVENT_FAILED = "failed";
+    
+    // 推送的诊断中 Full GC、长暂停事件只列出最近的若干个（数量按窗口统计）
+    private static final int MAX_LISTED_EVENTS = 20;
+    
+    private final GCPulseService gcPulseService;
+    private final GCLogParser gcLogParser;
+    private final LiveTailConfig config;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
+            Thread.ofVirtual().name("live-tail-", 0).factory());
+    private final Set<TailSession> sessions = ConcurrentHashMap.newKeySet();
+    
+    public LiveTailService(GCPulseService gcPulseService, GCLogParser gcLogParser, LiveTailConfig config) {
+        this.gcPulseService = gcPulseService;
+        this.gcLogParser = gcLogParser;
+        this.config = config;
+    }
+    
+    /**
+     * 开始跟踪服务器本地GC日志文件（路径须在白名单目录内），从文件开头解析，之后持续读取追加的内容
+     *
+     * @throws IllegalArgumentException 路径不合法或不在白名单内
+     * @throws IllegalStateException 同时跟踪的连接数已达上限
+     */
+    public SseEmitter follow(String path) throws IOException {
+        Path file = gcPulseService.resolveLocalPath(path);
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(config.getMaxSessionMinutes()));
+        TailSession session = new TailSession(file, emitter);
+        synchronized (sessions) {
+            if (sessions.size() >= config.getMaxSessions()) {
+                throw new IllegalStateException("实时跟踪的连接数已达上限: " + config.getMaxSessions());
+            }
+            sessions.add(session);
+        }
+        emitter.onCompletion(session::stop);
+        emitter.onTimeout(session::stop);
+        emitter.onError(e -> session.stop());
+        session.future = scheduler.scheduleWithFixedDelay(session::poll, 0, config.getPollIntervalMs(),
+                TimeUnit.MILLISECONDS);
+        log.info("开始实时跟踪GC日志: {}", file);
+        return emitter;
+    }
+    
+    /**
+     * 正在跟踪的连接数
+     */
+    public int activeSessions() {
+        return sessions.size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        for (TailSession session : sessions) {
+            session.emitter.complete();
+            session.stop();
+        }
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * 一个连接的跟踪状态，poll 只在调度线程上串行执行
+     * poll 与 stop（由 SSE 回调在其他线程调用）使用同一个锁，停止后不会再读取已关闭的文件
+     */
+    private class TailSession {
+        final Path file;
+        final SseEmitter emitter;
+        final LogFileFollower follower;
+        final LiveLogParser parser;
+        volatile ScheduledFuture<?> future;
+        
+        private boolean stopped;
+        private boolean initialSent;
+        private long lastSentAt;
+        
+        TailSession(Path file, SseEmitter emitter) {
+            this.file = file;
+            this.emitter = emitter;
+            this.follower = new LogFileFollower(file);
+            this.parser = gcLogParser.newLiveParser(config.getWindowEvents());
+        }
+        
+        synchronized void poll() {
+            if (stopped) {
+                return;
+            }
+            boolean rotated;
+            int newEvents;
+            try {
+                rotated = follower.poll(parser::accept, config.getMaxReadKbPerPoll() * 1024L);
+                newEvents = parser.drain();
+            } catch (IOException | RuntimeException e) {
+                log.warn("实时跟踪读取日志失败: {}", file, e);
+                fail("读取日志失败: " + e.getMessage());
+                return;
+            }
+            if (rotated) {
+                log.info("实时跟踪的日志已滚动: {} (第 {} 次)", file, follower.rotations());
+            }
+            
+            long now = System.currentTimeMillis();
+            try {
+                if (newEvents > 0 || rotated || !initialSent) {
+                    emitter.send(SseEmitter.event().name(EVENT_UPDATE)
+                            .data(buildUpdate(newEvents), MediaType.APPLICATION_JSON));
+                    initialSent = true;
+                    lastSentAt = now;
+                } else if (now - lastSentAt >= TimeUnit.SECONDS.toMillis(config.getHeartbeatSeconds())) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    lastSentAt = now;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                log.info("实时跟踪连接已断开: {}", file);
+                stop();
+            }
+        }
+        
+        private LiveTailUpdate buildUpdate(int newEvents) {
+            return LiveTailUpdate.builder()
+                    .path(file.toString())
+                    .collectorType(parser.collectorType())
+                    .bytesRead(follower.bytesRead())
+                    .linesRead(parser.linesRead())
+                    .rotations(follower.rotations())
+                    .eventCount(parser.eventCount())
+                    .newEvents(newEvents)
+                    .windowEventCount(parser.windowEventCount())
+                    .kpiMetrics(parser.kpiMetrics())
+                    .timeSeriesData(parser.timeSeries(config.getTimeSeriesPoints()))
+                    .diagnosisReport(trimListedEvents(parser.diagnosis()))
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+        
+        private void fail(String message) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_FAILED)
+                        .data(Map.of("error", message), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+            }
+            stop();
+        }
+        
+        synchronized void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            sessions.remove(this);
+            if (future != null) {
+                future.cancel(false);
+            }
+            try {
+                follower.close();
+            } catch (IOException e) {
+                log.debug("关闭跟踪的日志文件失败: {}", file, e);
+            }
+            log.info("停止实时跟踪GC日志: {} (已读取 {} KB, {} 个事件)", file, follower.bytesRead() / 1024,
+                    parser.eventCount());
+        }
+    }
+    
+    private static DiagnosisReport trimListedEvents(DiagnosisReport report) {
+        if (report.getFullGCInfo() != null) {
+            report.getFullGCInfo().setFullGCEvents(latest(report.getFullGCInfo().getFullGCEvents()));
+        }
+        if (report.getLongPauseInfo() != null) {
+            report.getLongPauseInfo().setLongPauseEvents(latest(report.getLongPauseInfo().getLongPauseEvents()));
+        }
+        return report;
+    }
+    
+    private static List<GCEvent> latest(List<GCEvent> events) {
+        if (events == null || events.size() <= MAX_LISTED_EVENTS) {
+            return events;
+        }
+        return List.copyOf(events.subList(events.size() - MAX_LISTED_EVENTS, events.size()));
+    }
+}
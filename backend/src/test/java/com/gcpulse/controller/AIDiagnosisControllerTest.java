@@ -0,0 +1,42 @@
+package com.gcpulse.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AI诊断Controller测试
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AIDiagnosisControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    public void testOptimizeWithUnknownAnalysisId() throws Exception {
+        // 带 analysisId 时请求体只是不带事件的摘要，服务端找不到分析结果时不能用摘要重建
+        mockMvc.perform(post("/api/ai/optimize")
+                        .param("analysisId", "missing-analysis")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"analysisId\":\"missing-analysis\",\"collectorType\":\"G1GC\",\"eventCount\":100}"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("分析已过期，请重新分析"));
+    }
+    
+    @Test
+    public void testOptimizeWithoutAnalysisResult() throws Exception {
+        mockMvc.perform(post("/api/ai/optimize").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
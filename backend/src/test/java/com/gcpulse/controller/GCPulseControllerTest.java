@@ -0,0 +1,77 @@
+package com.gcpulse.controller;
+
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.service.AnalysisSessionService;
+import com.gcpulse.service.ColumnarWireWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GC分析Controller测试（列式格式接口的错误响应）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class GCPulseControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private AnalysisSessionService analysisSessionService;
+    
+    /**
+     * 列式接口以 StreamingResponseBody 异步写出，响应体在异步分派后才可断言
+     */
+    private ResultActions performStreaming(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+    
+    @Test
+    public void testColumnarNotFoundReturnsJsonError() throws Exception {
+        for (String path : new String[]{"/api/gc/analysis/missing/events", "/api/gc/analysis/missing/timeseries"}) {
+            performStreaming(get(path).accept(ColumnarWireWriter.MEDIA_TYPE_VALUE))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.error").value("分析结果不存在或已过期: missing"));
+        }
+    }
+    
+    @Test
+    public void testColumnarInvalidCursorReturnsJsonError() throws Exception {
+        String analysisId = analysisSessionService.register(GCPulseResult.builder()
+                .gcEvents(new GCEventStore())
+                .build());
+        
+        performStreaming(get("/api/gc/analysis/" + analysisId + "/events")
+                        .param("cursor", "not-a-cursor")
+                        .accept(ColumnarWireWriter.MEDIA_TYPE_VALUE))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("无效的分页游标: not-a-cursor"));
+        
+        performStreaming(get("/api/gc/analysis/" + analysisId + "/events")
+                        .accept(ColumnarWireWriter.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ColumnarWireWriter.MEDIA_TYPE_VALUE));
+    }
+}
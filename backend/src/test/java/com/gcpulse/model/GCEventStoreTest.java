@@ -0,0 +1,160 @@
+package com.gcpulse.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GC事件列式存储测试
+ */
+public class GCEventStoreTest {
+    
+    private static GCEvent event(long timestamp, String type, String cause, boolean fullGC, GCEvent.MemoryChange heap) {
+        return GCEvent.builder()
+                .timestamp(timestamp)
+                .eventType(type)
+                .gcCause(cause)
+                .pauseTime(timestamp / 10.0)
+                .heapMemory(heap)
+                .isFullGC(fullGC)
+                .build();
+    }
+    
+    @Test
+    public void testViewMatchesAppendedEvents() {
+        GCEvent.MemoryChange heap = GCEvent.MemoryChange.builder().before(300).after(100).total(1000).build();
+        List<GCEvent> events = List.of(
+                event(10, "Young GC", "G1 Evacuation Pause", false, heap),
+                event(20, "Full GC", null, true, null));
+        
+        GCEventStore store = GCEventStore.copyOf(events);
+        assertEquals(events, store);
+        assertTrue(store.hasMemory(GCEventStore.Region.HEAP, 0));
+        assertFalse(store.hasMemory(GCEventStore.Region.YOUNG, 0));
+        assertEquals(200, store.reclaimed(GCEventStore.Region.HEAP, 0));
+        assertNull(store.gcCause(1));
+        assertTrue(store.isFullGC(1));
+        assertThrows(UnsupportedOperationException.class, () -> store.add(events.get(0)));
+    }
+    
+    @Test
+    public void testAppendAllRemapsDictionary() {
+        GCEventStore first = new GCEventStore(1);
+        first.append(event(1, "Young GC", "Allocation Failure", false, null));
+        GCEventStore second = new GCEventStore();
+        second.append(event(2, "Full GC", "System.gc()", true, null));
+        second.append(event(3, "Young GC", "System.gc()", false, null));
+        
+        first.appendAll(second);
+        assertEquals(3, first.size());
+        assertEquals(4, first.dictionarySize());
+        assertEquals("Full GC", first.eventType(1));
+        assertEquals(first.eventTypeCode(0), first.eventTypeCode(2));
+        assertEquals("System.gc()", first.gcCause(2));
+        assertEquals(0.3, first.pauseTimes().max().orElse(0), 1e-9);
+    }
+    
+    @Test
+    public void testTimestampBounds() {
+        GCEventStore store = new GCEventStore();
+        assertEquals(Long.MAX_VALUE, store.minTimestamp());
+        assertEquals(Long.MIN_VALUE, store.maxTimestamp());
+        
+        for (long timestamp : new long[]{10, 20, 20, 30}) {
+            store.append(event(timestamp, "Young GC", null, false, null));
+        }
+        assertTrue(store.isSortedByTimestamp());
+        assertEquals(10, store.minTimestamp());
+        assertEquals(30, store.maxTimestamp());
+        assertEquals(1, store.indexOfTimestamp(11));
+        assertEquals(1, store.indexOfTimestamp(20));
+        assertEquals(4, store.indexOfTimestamp(31));
+        
+        // 合并后按两段的边界判断是否仍然有序
+        GCEventStore later = new GCEventStore();
+        later.append(event(40, "Young GC", null, false, null));
+        store.appendAll(later);
+        assertTrue(store.isSortedByTimestamp());
+        assertEquals(40, store.maxTimestamp());
+        
+        GCEventStore earlier = new GCEventStore();
+        earlier.append(event(5, "Young GC", null, false, null));
+        store.appendAll(earlier);
+        assertFalse(store.isSortedByTimestamp());
+        assertEquals(5, store.minTimestamp());
+    }
+    
+    @Test
+    public void testSortByTimestampIsStable() {
+        GCEvent.MemoryChange heap = GCEvent.MemoryChange.builder().before(300).after(100).total(1000).build();
+        GCEventStore store = new GCEventStore(1);
+        long[] timestamps = {50, 10, 30, 10, 40, 20, 30, 0, 60, 15, 25, 35, 45, 55, 5, 65, 30, 12};
+        for (int i = 0; i < timestamps.length; i++) {
+            store.append(event(timestamps[i], "Young GC", "cause-" + i, i % 3 == 0, i % 2 == 0 ? heap : null));
+        }
+        List<GCEvent> expected = new ArrayList<>(store);
+        expected.sort(Comparator.comparingLong(GCEvent::getTimestamp));
+        assertFalse(store.isSortedByTimestamp());
+        
+        store.sortByTimestamp();
+        assertTrue(store.isSortedByTimestamp());
+        assertEquals(expected, store);
+        
+        // 排序后仍可继续追加
+        store.append(event(70, "Full GC", null, true, heap));
+        assertTrue(store.isSortedByTimestamp());
+        assertEquals(70, store.maxTimestamp());
+        assertEquals("Full GC", store.eventType(store.size() - 1));
+    }
+    
+    @Test
+    public void testDiscardFirstKeepsLatestEvents() {
+        GCEventStore store = new GCEventStore();
+        for (long timestamp : new long[]{30, 10, 20, 40, 50}) {
+            store.append(event(timestamp, timestamp == 40 ? "Full GC" : "Young GC", null, timestamp == 40, null));
+        }
+        assertFalse(store.isSortedByTimestamp());
+        
+        store.discardFirst(2);
+        assertEquals(3, store.size());
+        assertEquals(20, store.timestamp(0));
+        assertTrue(store.isFullGC(1));
+        assertEquals("Full GC", store.eventType(1));
+        assertEquals(2.0, store.pauseTime(0), 1e-9);
+        // 时间戳边界按剩余的事件重新计算
+        assertTrue(store.isSortedByTimestamp());
+        assertEquals(20, store.minTimestamp());
+        assertEquals(50, store.maxTimestamp());
+        
+        store.discardFirst(10);
+        assertTrue(store.isEmpty());
+        assertEquals(Long.MAX_VALUE, store.minTimestamp());
+    }
+    
+    @Test
+    public void testSelectCopiesColumnsAndCompactsDictionary() {
+        GCEvent.MemoryChange heap = GCEvent.MemoryChange.builder().before(300).after(100).total(1000).build();
+        List<GCEvent> events = List.of(
+                event(10, "Young GC", "Allocation Failure", false, heap),
+                event(20, "Full GC", "System.gc()", true, null),
+                event(30, "Young GC", null, false, heap),
+                event(40, "Mixed GC", "G1 Evacuation Pause", false, null));
+        GCEventStore store = GCEventStore.copyOf(events);
+        
+        GCEventStore selected = store.select(new int[]{2, 0, 99}, 2);
+        assertEquals(List.of(events.get(2), events.get(0)), selected);
+        // 只保留选中的事件用到的类型和原因
+        assertEquals(2, selected.dictionarySize());
+        assertNull(selected.gcCause(0));
+        assertEquals(200, selected.reclaimed(GCEventStore.Region.HEAP, 1));
+        assertFalse(selected.isSortedByTimestamp());
+        assertEquals(10, selected.minTimestamp());
+        
+        assertTrue(store.select(new int[0], 0).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.select(new int[]{4}, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.gcpulse.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI优化上下文测试
+ */
+public class OptimizationContextTest {
+    
+    private static GCPulseResult result(int eventCount) {
+        List<GCEvent> events = new ArrayList<>();
+        List<TimeSeriesData.DataPoint> heapAfter = new ArrayList<>();
+        List<TimeSeriesData.DataPoint> heapBefore = new ArrayList<>();
+        List<TimeSeriesData.DataPoint> pauses = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            long timestamp = i * 6000L;
+            events.add(GCEvent.builder()
+                    .timestamp(timestamp)
+                    .eventType("Pause Young")
+                    .pauseTime(5)
+                    .heapMemory(GCEvent.MemoryChange.builder().before(400L << 20).after(100L << 20).total(1000L << 20).build())
+                    .build());
+            heapAfter.add(TimeSeriesData.DataPoint.builder().timestamp(timestamp).value(100).build());
+            heapBefore.add(TimeSeriesData.DataPoint.builder().timestamp(timestamp).value(400).build());
+            pauses.add(TimeSeriesData.DataPoint.builder().timestamp(timestamp).value(5).build());
+        }
+        return GCPulseResult.builder()
+                .collectorType("G1GC")
+                .gcEvents(events)
+                .eventCount(eventCount)
+                .memorySize(MemorySize.builder()
+                        .heap(MemorySize.MemoryRegion.builder().allocated(1000L << 20).build())
+                        .build())
+                .kpiMetrics(KPIMetrics.builder()
+                        .throughput(99.5)
+                        .latency(KPIMetrics.LatencyMetrics.builder().avgPauseTime(5).maxPauseTime(5).build())
+                        .build())
+                .gcTypeStatistics(Map.of(GCTypeStatistics.YOUNG, GCTypeStatistics.builder().count(eventCount).build()))
+                .timeSeriesData(TimeSeriesData.builder()
+                        .heapUsageTrend(heapAfter)
+                        .heapBeforeGCTrend(heapBefore)
+                        .pauseTimeTrend(pauses)
+                        .build())
+                .build();
+    }
+    
+    @Test
+    public void testSummaryWithoutEvents() {
+        GCPulseResult full = result(20);
+        OptimizationContext expected = OptimizationContext.fromGCPulseResult(full);
+        // 摘要不带事件：改用事件数、按类型统计、KPI 和时间序列
+        OptimizationContext context = OptimizationContext.fromGCPulseResult(full.toSummary());
+        
+        assertEquals(20, context.getPerformanceMetrics().getTotalGCCount());
+        assertEquals(expected.getPerformanceMetrics().getGcFrequency(), context.getPerformanceMetrics().getGcFrequency(), 1e-9);
+        assertEquals(expected.getPerformanceMetrics().getThroughput(), context.getPerformanceMetrics().getThroughput());
+        assertEquals(expected.getMemoryAnalysis().getAvgHeapUsage(), context.getMemoryAnalysis().getAvgHeapUsage(), 1e-9);
+        assertEquals(expected.getMemoryAnalysis().getMaxHeapUsage(), context.getMemoryAnalysis().getMaxHeapUsage(), 1e-9);
+        assertEquals(expected.getMemoryAnalysis().getAvgHeapAfterGC(), context.getMemoryAnalysis().getAvgHeapAfterGC());
+        assertEquals(expected.getMemoryAnalysis().getAvgReclamationRate(), context.getMemoryAnalysis().getAvgReclamationRate(), 1e-9);
+        assertEquals(Map.of(GCTypeStatistics.YOUNG, 20), context.getGcBehaviorPattern().getGcTypeDistribution());
+        assertEquals(expected.getTrendAnalysis().getPauseTimeTrend(), context.getTrendAnalysis().getPauseTimeTrend());
+        assertEquals("STABLE", context.getTrendAnalysis().getHeapUsageTrend());
+        
+        // 只有收集器类型的结果也不能抛出空指针
+        OptimizationContext empty = OptimizationContext.fromGCPulseResult(GCPulseResult.builder().collectorType("G1GC").build());
+        assertEquals(0, empty.getPerformanceMetrics().getTotalGCCount());
+        assertEquals("INSUFFICIENT_DATA", empty.getTrendAnalysis().getPauseTimeTrend());
+    }
+}
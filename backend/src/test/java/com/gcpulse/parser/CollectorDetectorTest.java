@@ -0,0 +1,66 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.CollectorDetection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 收集器类型检测器测试
+ */
+public class CollectorDetectorTest {
+    
+    private CollectorDetector newDetector() {
+        return new CollectorDetector(List.of(
+            new G1LogParser(),
+            new ZgcLogParser(),
+            new CmsLogParser(),
+            new ParallelGCLogParser(),
+            new SerialGCLogParser()
+        ));
+    }
+    
+    @Test
+    public void testDefinitiveSignatureStopsEarly() {
+        CollectorDetector detector = newDetector();
+        assertFalse(detector.accept("[2025-08-05T13:23:18.409+0800][info ][gc,init     ] Version: 17.0.9+9 (release)"));
+        assertTrue(detector.accept("[2025-08-05T13:23:18.409+0800][info ][gc          ] Using G1"));
+        
+        CollectorDetection detection = detector.result();
+        assertEquals("G1GC", detection.getCollectorType());
+        assertEquals("Unified Logging", detection.getLogFormat());
+        assertEquals(1.0, detection.getConfidence());
+        assertTrue(detection.isEarlyStopped());
+        assertEquals(2, detection.getScannedLines());
+    }
+    
+    @Test
+    public void testWeakSignatureDoesNotOutscoreEvents() {
+        CollectorDetector detector = newDetector();
+        // 应用日志中出现的 "CMS" 字样不应压过G1事件特征
+        detector.accept("2.100: [GC concurrent-root-region-scan-start] app=CMS-portal");
+        detector.accept("2.316: [GC pause (G1 Evacuation Pause) (young), 0.0622825 secs]");
+        
+        assertEquals("G1GC", detector.selectedParser().getGCType());
+        assertEquals("JDK 8", detector.logFormat());
+        assertTrue(detector.confidence() > 0 && detector.confidence() < CollectorDetector.CERTAIN_CONFIDENCE);
+        assertFalse(detector.isComplete());
+    }
+    
+    @Test
+    public void testDetectionBoundedByPrefix() {
+        CollectorDetector detector = newDetector();
+        String line = "application output without any collector signature";
+        int lines = 0;
+        while (!detector.accept(line)) {
+            lines++;
+        }
+        
+        assertNull(detector.selectedParser());
+        assertEquals("Unknown", detector.result().getCollectorType());
+        assertEquals(0.0, detector.confidence());
+        assertTrue(lines * (long) (line.length() + 1) < CollectorDetector.DETECTION_PREFIX_BYTES + line.length() + 1);
+    }
+}
@@ -0,0 +1,325 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.G1CycleStatistics;
+import com.gcpulse.model.G1PhaseStatistics;
+import com.gcpulse.model.GCEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * G1日志解析测试
+ */
+public class G1LogParserTest {
+    
+    private static final List<String> G1_JDK8_LOG = List.of(
+            "2025-08-05T13:23:20.725+0800: 2.316: [GC pause (G1 Evacuation Pause) (young), 0.0622825 secs]",
+            "   [Parallel Time: 56.1 ms, GC Workers: 8]",
+            "      [GC Worker Start (ms): Min: 2316.5, Avg: 2316.6, Max: 2316.7, Diff: 0.2]",
+            "      [Ext Root Scanning (ms): Min: 0.2, Avg: 0.4, Max: 1.1, Diff: 0.9, Sum: 3.2]",
+            "      [Update RS (ms): Min: 0.0, Avg: 0.5, Max: 0.9, Diff: 0.9, Sum: 4.0]",
+            "      [Object Copy (ms): Min: 30.1, Avg: 37.4, Max: 45.0, Diff: 14.9, Sum: 299.2]",
+            "      [Termination (ms): Min: 0.0, Avg: 0.3, Max: 0.6, Diff: 0.6, Sum: 2.4]",
+            "         [Termination Attempts: Min: 1, Avg: 1.0, Max: 1, Diff: 0, Sum: 8]",
+            "   [Code Root Fixup: 0.0 ms]",
+            "   [Other: 1.2 ms]",
+            "      [Ref Proc: 0.4 ms]",
+            "   [Eden: 43.0M(51.0M)->0.0B(44.0M) Survivors: 0.0B->7168.0K Heap: 243.0M(1024.0M)->207.0M(1024.0M)]",
+            " [Times: user=0.04 sys=0.00, real=0.06 secs] ",
+            "2025-08-05T13:23:23.240+0800: 4.831: [GC pause (G1 Evacuation Pause) (mixed), 0.0150000 secs]",
+            "   [Parallel Time: 12.0 ms, GC Workers: 8]",
+            "      [Object Copy (ms): Min: 8.0, Avg: 10.0, Max: 11.0, Diff: 3.0, Sum: 80.0]",
+            "   [Eden: 44.0M(44.0M)->0.0B(44.0M) Survivors: 7168.0K->7168.0K Heap: 251.0M(1024.0M)->150.0M(1024.0M)]",
+            " [Times: user=0.02 sys=0.00, real=0.02 secs] ");
+    
+    private static final List<String> G1_UNIFIED_PHASES_LOG = List.of(
+            "[2025-08-05T13:23:20.250+0800][info ][gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:20.273+0800][info ][gc,phases   ] GC(0)   Pre Evacuate Collection Set: 0.2ms",
+            "[2025-08-05T13:23:20.273+0800][info ][gc,phases   ] GC(0)   Merge Heap Roots: 0.1ms",
+            "[2025-08-05T13:23:20.273+0800][info ][gc,phases   ] GC(0)   Evacuate Collection Set: 4.0ms",
+            "[2025-08-05T13:23:20.273+0800][info ][gc,phases   ] GC(0)   Post Evacuate Collection Set: 1.1ms",
+            "[2025-08-05T13:23:20.273+0800][debug][gc,phases   ] GC(0)     Object Copy (ms):              Min:  1.9, Avg:  2.7, Max:  3.4, Diff:  1.5, Sum: 21.4, Workers: 8",
+            "[2025-08-05T13:23:20.273+0800][debug][gc,phases   ] GC(0)     Termination (ms):              Min:  0.0, Avg:  0.4, Max:  1.1, Diff:  1.1, Sum: 3.1, Workers: 8",
+            "[2025-08-05T13:23:20.273+0800][info ][gc          ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->9M(256M) 23.100ms",
+            "[2025-08-05T13:23:21.300+0800][info ][gc,start    ] GC(1) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:21.329+0800][info ][gc,phases   ] GC(1)   Pre Evacuate Collection Set: 0.1ms",
+            "[2025-08-05T13:23:21.329+0800][info ][gc,phases   ] GC(1)   Evacuate Collection Set: 18.0ms",
+            "[2025-08-05T13:23:21.329+0800][info ][gc,phases   ] GC(1)   Post Evacuate Collection Set: 1.7ms",
+            "[2025-08-05T13:23:21.329+0800][debug][gc,phases   ] GC(1)     Object Copy (ms):              Min:  8.8, Avg:  12.3, Max:  15.8, Diff:  7.0, Sum: 98.3, Workers: 6",
+            "[2025-08-05T13:23:21.329+0800][debug][gc,phases   ] GC(1)     Termination (ms):              Min:  0.0, Avg:  1.8, Max:  5.3, Diff:  5.3, Sum: 14.0, Workers: 6",
+            "[2025-08-05T13:23:21.329+0800][info ][gc          ] GC(1) Pause Young (Normal) (G1 Evacuation Pause) 40M->20M(256M) 20.100ms");
+    
+    private static final List<String> G1_CYCLE_LOG = List.of(
+            "[2025-08-05T13:23:10.000+0800][info ][gc,start    ] GC(0) Pause Young (Concurrent Start) (G1 Humongous Allocation)",
+            "[2025-08-05T13:23:10.005+0800][info ][gc,heap     ] GC(0) Humongous regions: 3->2",
+            "[2025-08-05T13:23:10.005+0800][info ][gc          ] GC(0) Pause Young (Concurrent Start) (G1 Humongous Allocation) 30M->20M(256M) 5.000ms",
+            "[2025-08-05T13:23:10.006+0800][info ][gc          ] GC(1) Concurrent Mark Cycle",
+            "[2025-08-05T13:23:10.100+0800][info ][gc          ] GC(1) Pause Remark 40M->38M(256M) 1.500ms",
+            "[2025-08-05T13:23:10.120+0800][info ][gc          ] GC(1) Pause Cleanup 38M->38M(256M) 0.300ms",
+            "[2025-08-05T13:23:10.126+0800][info ][gc          ] GC(1) Concurrent Mark Cycle 120.000ms",
+            "[2025-08-05T13:23:11.000+0800][info ][gc,heap     ] GC(2) Humongous regions: 4->4",
+            "[2025-08-05T13:23:11.004+0800][info ][gc          ] GC(2) Pause Young (Prepare Mixed) (G1 Evacuation Pause) 60M->40M(256M) 4.000ms",
+            "[2025-08-05T13:23:12.000+0800][info ][gc          ] GC(3) To-space exhausted",
+            "[2025-08-05T13:23:12.009+0800][info ][gc,heap     ] GC(3) Humongous regions: 6->1",
+            "[2025-08-05T13:23:12.009+0800][info ][gc          ] GC(3) Pause Young (Mixed) (G1 Evacuation Pause) 70M->50M(256M) 9.000ms",
+            "[2025-08-05T13:23:13.003+0800][info ][gc          ] GC(4) Pause Young (Mixed) (G1 Evacuation Pause) 60M->45M(256M) 3.000ms",
+            "[2025-08-05T13:23:14.002+0800][info ][gc          ] GC(5) Pause Young (Concurrent Start) (G1 Evacuation Pause) 80M->60M(256M) 2.000ms",
+            "[2025-08-05T13:23:14.003+0800][info ][gc          ] GC(6) Concurrent Mark Cycle",
+            "[2025-08-05T13:23:14.040+0800][info ][gc,marking  ] GC(6) Concurrent Mark Abort",
+            "[2025-08-05T13:23:14.053+0800][info ][gc          ] GC(6) Concurrent Mark Cycle 50.000ms");
+    
+    private static final List<String> G1_IHOP_LOG = List.of(
+            "[2025-08-05T13:23:10.000+0800][info ][gc,init     ] Heap Region Size: 1M",
+            "[2025-08-05T13:23:10.500+0800][debug][gc,ihop     ] GC(0) Basic information (value update), threshold: 94371840B (45.00), target occupancy: 209715200B, current occupancy: 52428800B, recent allocation size: 0B, recent allocation duration: 500.00ms, recent old gen allocation rate: 0.00B/s, recent marking phase length: 0.00ms",
+            "[2025-08-05T13:23:10.500+0800][debug][gc,ihop     ] GC(0) Adaptive IHOP information (value update), threshold: 94371840B (50.00), internal target occupancy: 188743680B, occupancy: 52428800B, additional buffer size: 20971520B, predicted old gen allocation rate: 0.00B/s, predicted marking phase length: 0.00ms, prediction active: false",
+            "[2025-08-05T13:23:10.500+0800][debug][gc,ergo,ihop] GC(0) Request concurrent cycle initiation (occupancy higher than threshold) occupancy: 99614720B allocation request: 0B threshold: 94371840B (45.00) source: end of GC",
+            "[2025-08-05T13:23:11.000+0800][info ][gc,heap     ] GC(1) Eden regions: 20->0(18)",
+            "[2025-08-05T13:23:11.000+0800][info ][gc,heap     ] GC(1) Survivor regions: 2->3(3)",
+            "[2025-08-05T13:23:11.000+0800][info ][gc,heap     ] GC(1) Old regions: 100->104",
+            "[2025-08-05T13:23:11.000+0800][info ][gc,heap     ] GC(1) Humongous regions: 5->5",
+            "[2025-08-05T13:23:11.000+0800][info ][gc          ] GC(1) Pause Young (Concurrent Start) (G1 Evacuation Pause) 127M->112M(200M) 6.000ms",
+            "[2025-08-05T13:23:11.001+0800][info ][gc          ] GC(2) Concurrent Mark Cycle",
+            "[2025-08-05T13:23:11.200+0800][info ][gc,heap     ] GC(3) Eden regions: 18->0(10)",
+            "[2025-08-05T13:23:11.200+0800][info ][gc,heap     ] GC(3) Survivor regions: 3->0(3)",
+            "[2025-08-05T13:23:11.200+0800][info ][gc,heap     ] GC(3) Old regions: 104->160",
+            "[2025-08-05T13:23:11.200+0800][info ][gc,heap     ] GC(3) Humongous regions: 5->5",
+            "[2025-08-05T13:23:11.200+0800][info ][gc          ] GC(3) To-space exhausted",
+            "[2025-08-05T13:23:11.200+0800][info ][gc          ] GC(3) Pause Young (Normal) (G1 Evacuation Pause) 190M->170M(200M) 30.000ms",
+            "[2025-08-05T13:23:11.300+0800][info ][gc          ] GC(2) Pause Remark 175M->175M(200M) 2.000ms",
+            "[2025-08-05T13:23:11.400+0800][info ][gc          ] GC(2) Concurrent Mark Cycle 399.000ms");
+    
+    @Test
+    public void testJDK8EventsParsedLineByLine() {
+        List<GCEvent> events = new ArrayList<>();
+        IncrementalEventParser parser = new G1LogParser().newIncrementalParser(events::add);
+        G1_JDK8_LOG.forEach(parser::feed);
+        parser.flush();
+        
+        assertEquals(2, events.size());
+        GCEvent young = events.get(0);
+        assertEquals("Young GC", young.getEventType());
+        assertEquals("G1 Evacuation Pause", young.getGcCause());
+        assertEquals(62.2825, young.getPauseTime(), 1e-9);
+        assertEquals(TimestampDecoder.parseDateTime("2025-08-05T13:23:20.725+0800", 0, 28), young.getTimestamp());
+        assertEquals(243L * 1024 * 1024, young.getHeapMemory().getBefore());
+        assertEquals(7168L * 1024, young.getYoungGen().getAfter());
+        assertEquals(200L * 1024 * 1024, young.getOldGen().getAfter());
+        
+        GCEvent mixed = events.get(1);
+        assertEquals("Mixed GC", mixed.getEventType());
+        assertEquals(15.0, mixed.getPauseTime(), 1e-9);
+        assertEquals(150L * 1024 * 1024, mixed.getHeapMemory().getAfter());
+    }
+    
+    @Test
+    public void testJDK8PhaseBreakdown() {
+        G1PhaseStatistics stats = LogLineCollector.collect(new G1LogParser().newPhaseCollector(), G1_JDK8_LOG);
+        
+        assertEquals(2, stats.getPauseCount());
+        assertEquals(8, stats.getGcWorkers());
+        assertEquals(G1PhaseCollector.JDK8_PHASES, new ArrayList<>(stats.getPhases().keySet()));
+        
+        G1PhaseStatistics.PhaseSummary objectCopy = stats.getPhases().get("Object Copy");
+        assertEquals(2, objectCopy.getCount());
+        assertEquals(23.7, objectCopy.getAvgTime(), 1e-9);
+        assertEquals(37.4, objectCopy.getMaxTime(), 1e-9);
+        assertEquals(8.95, objectCopy.getAvgWorkerDiff(), 1e-9);
+        
+        G1PhaseStatistics.PhaseSummary refProc = stats.getPhases().get("Ref Proc");
+        assertEquals(1, refProc.getCount());
+        assertNull(refProc.getAvgWorkerMax());
+        assertEquals(2, stats.getPhaseTrends().get("Parallel Time").size());
+    }
+    
+    @Test
+    public void testPhaseCollectorMergeMatchesSequential() {
+        G1LogParser g1 = new G1LogParser();
+        G1PhaseStatistics sequential = LogLineCollector.collect(g1.newPhaseCollector(), G1_JDK8_LOG);
+        
+        // 在两次暂停之间切开
+        LogLineCollector<G1PhaseStatistics> first = g1.newPhaseCollector();
+        LogLineCollector<G1PhaseStatistics> second = g1.newPhaseCollector();
+        G1_JDK8_LOG.subList(0, 13).forEach(first::accept);
+        G1_JDK8_LOG.subList(13, G1_JDK8_LOG.size()).forEach(second::accept);
+        first.merge(second);
+        
+        assertEquals(sequential, first.finish());
+    }
+    
+    @Test
+    public void testUnifiedPhasesAndWorkerImbalance() {
+        G1PhaseStatistics stats = LogLineCollector.collect(new G1LogParser().newPhaseCollector(), G1_UNIFIED_PHASES_LOG);
+        
+        assertEquals(2, stats.getPauseCount());
+        assertEquals(6, stats.getGcWorkers());
+        assertEquals(G1PhaseCollector.UNIFIED_PHASES, new ArrayList<>(stats.getPhases().keySet()));
+        assertEquals(11.0, stats.getPhases().get("Evacuate Collection Set").getAvgTime(), 1e-9);
+        assertEquals(9.6, stats.getPhases().get("Object Copy").getAvgWorkerMax(), 1e-9);
+        
+        // 线程不均衡度：Object Copy Max - Min；Termination 占 Evacuate Collection Set 的百分比
+        assertEquals(2, stats.getWorkerImbalanceTrend().size());
+        assertEquals(1.5, stats.getWorkerImbalanceTrend().get(0).getValue(), 1e-9);
+        assertEquals(7.0, stats.getWorkerImbalanceTrend().get(1).getValue(), 1e-9);
+        assertEquals(10.0, stats.getTerminationShareTrend().get(0).getValue(), 1e-9);
+        assertEquals(10.0, stats.getTerminationShareTrend().get(1).getValue(), 1e-9);
+        assertEquals(10.0, stats.getAvgTerminationShare(), 1e-9);
+    }
+    
+    @Test
+    public void testUnifiedPhaseMergeAtEveryLine() {
+        G1LogParser g1 = new G1LogParser();
+        G1PhaseStatistics sequential = LogLineCollector.collect(g1.newPhaseCollector(), G1_UNIFIED_PHASES_LOG);
+        
+        // 在每一行处切开（含同一GC的阶段行中间），合并后与顺序解析一致
+        for (int split = 1; split < G1_UNIFIED_PHASES_LOG.size(); split++) {
+            LogLineCollector<G1PhaseStatistics> first = g1.newPhaseCollector();
+            LogLineCollector<G1PhaseStatistics> second = g1.newPhaseCollector();
+            G1_UNIFIED_PHASES_LOG.subList(0, split).forEach(first::accept);
+            G1_UNIFIED_PHASES_LOG.subList(split, G1_UNIFIED_PHASES_LOG.size()).forEach(second::accept);
+            first.merge(second);
+            assertEquals(sequential, first.finish(), "split at " + split);
+        }
+    }
+    
+    @Test
+    public void testConcurrentCycleTracking() {
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), G1_CYCLE_LOG);
+        
+        assertEquals(2, stats.getConcurrentStartCount());
+        assertEquals(1, stats.getConcurrentCycleCount());
+        assertEquals(1, stats.getAbortedCycleCount());
+        // 中止的周期（50ms）不计入标记耗时
+        assertEquals(120.0, stats.getAvgMarkDuration(), 1e-9);
+        assertEquals(120.0, stats.getMaxMarkDuration(), 1e-9);
+        assertEquals(1, stats.getRemark().getCount());
+        assertEquals(1.5, stats.getRemark().getAvgTime(), 1e-9);
+        assertEquals(0.3, stats.getCleanup().getMaxTime(), 1e-9);
+        
+        // 完成的周期之后、下一次 Concurrent Start 之前的 Mixed GC
+        assertEquals(1, stats.getPrepareMixedCount());
+        assertEquals(2, stats.getMixedGCCount());
+        assertEquals(2.0, stats.getAvgMixedGCsPerCycle(), 1e-9);
+        assertEquals(1, stats.getMixedGCsPerCycleTrend().size());
+    }
+    
+    @Test
+    public void testUnifiedPauseEventTypes() {
+        List<GCEvent> events = new ArrayList<>();
+        IncrementalEventParser parser = new G1LogParser().newIncrementalParser(events::add);
+        G1_CYCLE_LOG.forEach(parser::feed);
+        parser.flush();
+        
+        // Young GC 带上 Concurrent Start / Prepare Mixed 子类型，Remark 与 Cleanup 是单独的 STW 事件
+        assertEquals(List.of("Young GC (Concurrent Start)", "G1 Remark", "G1 Cleanup", "Young GC (Prepare Mixed)",
+                "Mixed GC", "Mixed GC", "Young GC (Concurrent Start)"),
+                events.stream().map(GCEvent::getEventType).toList());
+        GCEvent remark = events.get(1);
+        assertEquals(1.5, remark.getPauseTime(), 1e-9);
+        assertEquals(40L * 1024 * 1024, remark.getHeapMemory().getBefore());
+        assertEquals(38L * 1024 * 1024, remark.getHeapMemory().getAfter());
+        assertFalse(remark.isFullGC());
+        GCEvent cleanup = events.get(2);
+        assertEquals(0.3, cleanup.getPauseTime(), 1e-9);
+        assertEquals(TimestampDecoder.parseDateTime("2025-08-05T13:23:10.120+0800", 0, 28), cleanup.getTimestamp());
+        assertEquals("G1 Humongous Allocation", events.get(0).getGcCause());
+        
+        // 周期之后、下一次 Concurrent Start 之前的 Mixed GC 与事件中的 Mixed GC 一致
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), G1_CYCLE_LOG);
+        assertEquals(events.stream().filter(e -> e.getEventType().equals("Mixed GC")).count(), stats.getMixedGCCount());
+        assertEquals(2.0, stats.getAvgMixedGCsPerCycle(), 1e-9);
+    }
+    
+    @Test
+    public void testCycleWithoutTimestampNotRecorded() {
+        // 只有级别和标签装饰符的行没有时间，周期的开始和结束都不记录
+        List<String> log = List.of(
+                "[info][gc] GC(0) Pause Young (Concurrent Start) (G1 Evacuation Pause) 30M->20M(256M) 5.000ms",
+                "[info][gc] GC(1) Concurrent Mark Cycle",
+                "[info][gc] GC(1) Concurrent Mark Cycle 120.000ms",
+                "[2025-08-05T13:23:11.000+0800][info][gc] GC(2) Pause Young (Concurrent Start) (G1 Evacuation Pause) 30M->20M(256M) 5.000ms");
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), log);
+        
+        assertEquals(1, stats.getConcurrentStartCount());
+        assertEquals(0, stats.getConcurrentCycleCount());
+        assertNull(stats.getAvgMarkDuration());
+    }
+    
+    @Test
+    public void testEvacuationFailureAndHumongousChurn() {
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), G1_CYCLE_LOG);
+        
+        assertEquals(1, stats.getToSpaceExhaustedCount());
+        assertEquals(1, stats.getEvacuationFailureCount());
+        assertEquals(9.0, stats.getEvacuationFailureTrend().get(0).getValue(), 1e-9);
+        
+        // 3->2, 4->4, 6->1：两次 GC 之间新分配 2 + 2，回收 1 + 0 + 5
+        assertEquals(6, stats.getMaxHumongousRegions());
+        assertEquals(4, stats.getHumongousRegionsAllocated());
+        assertEquals(6, stats.getHumongousRegionsReclaimed());
+        assertEquals(3, stats.getHumongousRegionsTrend().size());
+        assertEquals(2, stats.getHumongousAllocatedTrend().size());
+    }
+    
+    @Test
+    public void testRegionTimelineAndIhop() {
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), G1_IHOP_LOG);
+        
+        assertEquals(1024L * 1024, stats.getRegionSize());
+        assertEquals(2, stats.getEdenRegionsTrend().size());
+        assertEquals(20.0, stats.getEdenRegionsTrend().get(0).getValue(), 1e-9);
+        assertEquals(0.0, stats.getSurvivorRegionsTrend().get(1).getValue(), 1e-9);
+        assertEquals(160.0, stats.getOldRegionsTrend().get(1).getValue(), 1e-9);
+        
+        assertEquals(1, stats.getIhopUpdateCount());
+        assertEquals(45.0, stats.getLastIhopThresholdPercent(), 1e-9);
+        assertFalse(stats.getAdaptiveIhopActive());
+        assertEquals(200.0, stats.getIhopTargetOccupancyTrend().get(0).getValue(), 1e-9);
+    }
+    
+    @Test
+    public void testCycleStartMarginAndLateStart() {
+        G1CycleStatistics stats = LogLineCollector.collect(new G1LogParser().newCycleCollector(), G1_IHOP_LOG);
+        
+        // 启动时 Old + Humongous = 105 Region（105M），目标占用 200M：52.5%，阈值 45%
+        assertEquals(52.5, stats.getCycleStartOccupancyTrend().get(0).getValue(), 1e-9);
+        assertEquals(7.5, stats.getAvgCycleStartMargin(), 1e-9);
+        
+        // 标记期间 GC(3) 前堆已用 190M/200M，并发生 To-space exhausted
+        assertEquals(5.0, stats.getMinMarkingHeadroom(), 1e-9);
+        assertEquals(1, stats.getLateCycleStartCount());
+        assertEquals(1, stats.getEvacuationFailureCount());
+    }
+    
+    @Test
+    public void testCycleMergeAtEveryLine() {
+        assertMergeMatchesSequential(G1_CYCLE_LOG);
+        assertMergeMatchesSequential(G1_IHOP_LOG);
+    }
+    
+    private static void assertMergeMatchesSequential(List<String> log) {
+        G1LogParser g1 = new G1LogParser();
+        G1CycleStatistics sequential = LogLineCollector.collect(g1.newCycleCollector(), log);
+        
+        // 两段：在每一行处切开（含同一GC的 Region 行与结束行之间、周期开始与结束之间）
+        for (int split = 1; split < log.size(); split++) {
+            LogLineCollector<G1CycleStatistics> first = g1.newCycleCollector();
+            LogLineCollector<G1CycleStatistics> second = g1.newCycleCollector();
+            log.subList(0, split).forEach(first::accept);
+            log.subList(split, log.size()).forEach(second::accept);
+            first.merge(second);
+            assertEquals(sequential, first.finish(), "split at " + split);
+        }
+        
+        // 每行一段：同一GC的行跨越多段
+        LogLineCollector<G1CycleStatistics> merged = g1.newCycleCollector();
+        for (String line : log) {
+            LogLineCollector<G1CycleStatistics> chunk = g1.newCycleCollector();
+            chunk.accept(line);
+            merged.merge(chunk);
+        }
+        assertEquals(sequential, merged.finish());
+    }
+}
@@ -0,0 +1,128 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GC日志压缩包读取测试
+ */
+public class GCLogArchiveReaderTest {
+    
+    private static final byte[] LOG = TestArchives.text(List.of(
+            "1.029: [GC (Allocation Failure) 1.029: [DefNew: 70000K->8000K(78656K), 0.0041555 secs] 130000K->68000K(253440K), 0.0072263 secs]"));
+    
+    private static BufferedInputStream stream(byte[] bytes) {
+        return new BufferedInputStream(new ByteArrayInputStream(bytes));
+    }
+    
+    /**
+     * 读取压缩包中的所有分段，返回 名称 -> 内容
+     */
+    private static Map<String, String> segments(byte[] bytes, String fileName) throws IOException {
+        Map<String, String> segments = new LinkedHashMap<>();
+        GCLogArchiveReader.forEachSegment(stream(bytes), fileName,
+                (name, content) -> segments.put(name, new String(content.readAllBytes(), StandardCharsets.UTF_8)));
+        return segments;
+    }
+    
+    @Test
+    public void testDetectsArchiveByMagicBytes() throws IOException {
+        Map<String, byte[]> entries = Map.of("gc.log", LOG);
+        List<byte[]> archives = List.of(TestArchives.gzip(LOG), TestArchives.zip(entries),
+                TestArchives.tar(entries), TestArchives.tgz(entries));
+        for (byte[] archive : archives) {
+            BufferedInputStream in = stream(archive);
+            assertTrue(GCLogArchiveReader.isArchive(in));
+            // 只预读文件头，不消耗数据
+            assertArrayEquals(archive, in.readAllBytes());
+        }
+        
+        // 按内容而不是文件名判断：纯文本日志、空文件和只有一个字节的文件都不是压缩包
+        for (byte[] plain : List.of(LOG, new byte[0], new byte[] {0x1f})) {
+            BufferedInputStream in = stream(plain);
+            assertFalse(GCLogArchiveReader.isArchive(in));
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+    
+    @Test
+    public void testSegmentsInArchiveOrder() throws IOException {
+        String log = new String(LOG, StandardCharsets.UTF_8);
+        
+        // 单文件gzip按压缩包文件名推导分段名称
+        assertEquals(Map.of("gc.log.3", log), segments(TestArchives.gzip(LOG), "gc.log.3.gz"));
+        assertEquals(Map.of("gc.log", log), segments(LOG, "gc.log"));
+        
+        // 跳过目录和打包工具的元数据文件，压缩包内单独gzip的分段解压后去掉 .gz 后缀
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("logs/", new byte[0]);
+        entries.put("logs/gc.log.1.gz", TestArchives.gzip(LOG));
+        entries.put("__MACOSX/logs/._gc.log.1.gz", new byte[] {1, 2, 3});
+        entries.put("logs/.DS_Store", new byte[] {1, 2, 3});
+        entries.put("logs/gc.log.0", LOG);
+        entries.put("logs/gc.log.2.current", LOG);
+        List<String> expected = List.of("logs/gc.log.1", "logs/gc.log.0", "logs/gc.log.2.current");
+        
+        for (byte[] archive : List.of(TestArchives.zip(entries), TestArchives.tar(entries), TestArchives.tgz(entries))) {
+            Map<String, String> segments = segments(archive, "gc-logs");
+            assertEquals(expected, new ArrayList<>(segments.keySet()));
+            segments.values().forEach(content -> assertEquals(log, content));
+        }
+    }
+    
+    @Test
+    public void testRejectsArchiveExpandingBeyondLimits() {
+        // 8 MB 的重复日志压缩后只有几十 KB
+        byte[] repeated = new byte[8 * 1024 * 1024];
+        for (int i = 0; i < repeated.length; i++) {
+            repeated[i] = LOG[i % LOG.length];
+        }
+        byte[] gzip = TestArchives.gzip(repeated);
+        byte[] zip = TestArchives.zip(Map.of("gc.log.0", repeated, "gc.log.1", repeated));
+        assertTrue(gzip.length < repeated.length / 100);
+        
+        GCLogArchiveReader.Limits totalLimit = new GCLogArchiveReader.Limits(10L * 1024 * 1024, Integer.MAX_VALUE);
+        IOException tooLarge = assertThrows(IOException.class, () -> GCLogArchiveReader.forEachSegment(
+                stream(zip), "gc-logs.zip", totalLimit, (name, content) -> content.transferTo(OutputStream.nullOutputStream())));
+        assertTrue(tooLarge.getMessage().contains("10 MB"), tooLarge.getMessage());
+        
+        GCLogArchiveReader.Limits ratioLimit = new GCLogArchiveReader.Limits(Long.MAX_VALUE, 20);
+        IOException bomb = assertThrows(IOException.class, () -> GCLogArchiveReader.forEachSegment(
+                stream(gzip), "gc.log.gz", ratioLimit, (name, content) -> content.transferTo(OutputStream.nullOutputStream())));
+        assertTrue(bomb.getMessage().contains("gc.log"), bomb.getMessage());
+        
+        // 默认限制下正常的压缩包不受影响
+        assertDoesNotThrow(() -> segments(TestArchives.tgz(Map.of("gc.log", repeated)), "gc-logs.tgz"));
+    }
+    
+    @Test
+    public void testExpandedSizeFromArchiveMetadata() throws IOException {
+        byte[] repeated = new byte[3 * 1024 * 1024];
+        for (int i = 0; i < repeated.length; i++) {
+            repeated[i] = LOG[i % LOG.length];
+        }
+        byte[] gzip = TestArchives.gzip(repeated);
+        assertEquals(repeated.length, GCLogArchiveReader.expandedSize(stream(gzip), gzip.length));
+        
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("logs/", new byte[0]);
+        entries.put("logs/gc.log.0", repeated);
+        entries.put("logs/gc.log.1", LOG);
+        byte[] zip = TestArchives.zip(entries);
+        assertEquals(repeated.length + LOG.length, GCLogArchiveReader.expandedSize(stream(zip), zip.length));
+        
+        byte[] tar = TestArchives.tar(entries);
+        assertEquals(tar.length, GCLogArchiveReader.expandedSize(stream(tar), tar.length));
+    }
+}
@@ -0,0 +1,246 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.GCTypeStatistics;
+import com.gcpulse.model.TimeSeriesData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GC日志解析协调器测试
+ */
+@SpringBootTest
+public class GCLogParserTest {
+    
+    private static final List<String> PARALLEL_LOG = List.of(
+            "CommandLine flags: -XX:InitialHeapSize=1073741824 -XX:MaxHeapSize=1073741824 -XX:+UseParallelGC",
+            "2.000: [GC (Allocation Failure) [PSYoungGen: 262144K->22532K(305664K)] 562144K->322532K(1005056K), 0.0030000 secs]",
+            "3.000: [GC (Allocation Failure) [PSYoungGen: 262144K->28657K(305664K)] 562144K->328707K(1005056K), 0.0050000 secs]",
+            "5.000: [Full GC (Ergonomics) [PSYoungGen: 1000K->0K(305664K)] [ParOldGen: 690000K->300000K(699392K)] 691000K->300000K(1005056K), [Metaspace: 3000K->3000K(1056768K)], 0.3000000 secs]",
+            "6.000: [GC (Allocation Failure) [PSYoungGen: 262144K->23648K(305664K)] 562144K->323748K(1005056K), 0.0040000 secs]");
+    
+    private static final List<String> CMS_LOG = List.of(
+            "CommandLine flags: -XX:InitialHeapSize=2147483648 -XX:MaxHeapSize=2147483648 -XX:+UseConcMarkSweepGC -XX:+UseParNewGC",
+            "2025-08-05T13:23:20.659+0800: 2.251: [GC (Allocation Failure) 2.251: [ParNew",
+            "Desired survivor size 17432576 bytes, new threshold 2 (max 6)",
+            "- age   1:    8234560 bytes,    8234560 total",
+            ": 326249K->13423K(307200K), 0.0072343 secs] 826249K->515423K(2054848K), 0.0094149 secs] [Times: user=0.10 sys=0.00, real=0.03 secs] ",
+            "2025-08-05T13:23:22.878+0800: 4.469: [GC (Allocation Failure) 4.469: [ParNew",
+            ": 301413K->16262K(307200K), 0.0061254 secs] 801513K->518362K(2054848K), 0.0099804 secs] [Times: user=0.10 sys=0.00, real=0.03 secs] ",
+            "2025-08-05T13:24:18.524+0800: 60.115: [GC (CMS Initial Mark) [1 CMS-initial-mark: 600000K(1747648K)] 700000K(2054848K), 0.0123456 secs] [Times: user=0.03 sys=0.00, real=0.01 secs] ");
+    
+    private static final List<String> G1_UNIFIED_LOG = List.of(
+            "[2025-08-05T13:23:18.409+0800][info ][gc          ] Using G1",
+            "[2025-08-05T13:23:18.410+0800][info ][gc,init     ] Heap Region Size: 4M",
+            "[2025-08-05T13:23:27.197+0800][info ][gc,start    ] GC(7) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Eden regions: 19->0(19)",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Old regions: 13->13",
+            "[2025-08-05T13:23:27.198+0800][info ][gc          ] GC(7) Pause Young (Normal) (G1 Evacuation Pause) 156M->64M(256M) 28.970ms",
+            "[2025-08-05T13:23:29.300+0800][info ][gc,start    ] GC(8) Pause Young (Mixed) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:29.301+0800][info ][gc,heap     ] GC(8) Old regions: 15->11",
+            "[2025-08-05T13:23:29.301+0800][info ][gc          ] GC(8) Pause Young (Mixed) (G1 Evacuation Pause) 120M->60M(256M) 8.250ms");
+    
+    private static final List<String> ZGC_LOG = List.of(
+            "[2025-08-05T13:23:18.409+0800][info ][gc,init     ] Initializing The Z Garbage Collector",
+            "[2025-08-05T13:23:18.409+0800][info ][gc,init     ] GC Workers: 2 (dynamic)",
+            "[2025-08-05T13:23:18.409+0800][info ][gc,init     ] Max Capacity: 4096M",
+            "[2025-08-05T13:23:18.409+0800][info ][gc          ] Using The Z Garbage Collector",
+            "[2025-08-05T13:23:18.410+0800][info ][arguments   ] jvm_args: -XX:+UseZGC -Xmx4g",
+            "[2025-08-05T13:23:24.357+0800][info ][gc,start    ] GC(0) Garbage Collection (Allocation Rate)",
+            "[2025-08-05T13:23:24.359+0800][info ][gc,phases   ] GC(0) Pause Mark Start 0.084ms",
+            "[2025-08-05T13:23:24.359+0800][info ][gc,phases   ] GC(0) Concurrent Mark 229.851ms",
+            "[2025-08-05T13:23:24.359+0800][info ][gc,phases   ] GC(0) Pause Mark End 0.076ms",
+            "[2025-08-05T13:23:24.359+0800][info ][gc,phases   ] GC(0) Pause Relocate Start 0.090ms",
+            "[2025-08-05T13:23:24.360+0800][info ][gc,metaspace] GC(0) Metaspace: 40M used, 41M committed, 1088M reserved",
+            "[2025-08-05T13:23:24.360+0800][info ][gc,heap     ] GC(0) Max Capacity: 4096M(100%)",
+            "[2025-08-05T13:23:24.360+0800][info ][gc,heap     ] GC(0)      Used:     741M (5%)          764M (5%)          769M (5%)          586M (3%)          774M (6%)          586M (2%)     ",
+            "[2025-08-05T13:23:24.360+0800][info ][gc,heap     ] GC(0) Allocated:         -             12M (0%)          16M (0%)          23M (0%)             -                  -          ",
+            "[2025-08-05T13:23:24.360+0800][info ][gc,heap     ] GC(0) Reclaimed:         -                  -                4M (0%)          425M (8%)            -                  -          ",
+            "[2025-08-05T13:23:24.360+0800][info ][gc          ] GC(0) Garbage Collection (Allocation Rate) 741M(5%)->586M(3%)",
+            "[2025-08-05T13:23:26.535+0800][info ][gc,start    ] GC(1) Garbage Collection (Proactive)",
+            "[2025-08-05T13:23:26.537+0800][info ][gc,phases   ] GC(1) Pause Mark Start 0.074ms",
+            "[2025-08-05T13:23:26.537+0800][info ][gc,phases   ] GC(1) Concurrent Mark 72.354ms",
+            "[2025-08-05T13:23:26.537+0800][info ][gc,phases   ] GC(1) Pause Mark End 0.075ms",
+            "[2025-08-05T13:23:26.537+0800][info ][gc,phases   ] GC(1) Pause Relocate Start 0.079ms",
+            "[2025-08-05T13:23:26.538+0800][info ][gc,metaspace] GC(1) Metaspace: 42M used, 43M committed, 1088M reserved",
+            "[2025-08-05T13:23:26.538+0800][info ][gc,heap     ] GC(1)      Used:     800M (5%)          810M (5%)          820M (5%)          600M (3%)          830M (6%)          600M (2%)     ",
+            "[2025-08-05T13:23:26.538+0800][info ][gc,heap     ] GC(1) Allocated:         -             10M (0%)          14M (0%)          20M (0%)             -                  -          ",
+            "[2025-08-05T13:23:26.538+0800][info ][gc,heap     ] GC(1) Reclaimed:         -                  -                6M (0%)          220M (8%)            -                  -          ",
+            "[2025-08-05T13:23:26.538+0800][info ][gc          ] GC(1) Garbage Collection (Proactive) 800M(5%)->600M(3%)");
+    
+    @Autowired
+    private GCLogParser gcLogParser;
+    
+    @Autowired
+    private List<AbstractGCLogParser> parsers;
+    
+    private GCPulseResult parse(List<String> lines) throws IOException {
+        byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return gcLogParser.parse(new ByteArrayInputStream(bytes), "gc.log", bytes.length);
+    }
+    
+    private GCPulseResult parse(byte[] archive, String fileName) throws IOException {
+        return gcLogParser.parse(new ByteArrayInputStream(archive), fileName, archive.length);
+    }
+    
+    private static void assertSameAnalysis(GCPulseResult expected, GCPulseResult actual, String message) {
+        assertEquals(expected.getCollectorType(), actual.getCollectorType(), message);
+        assertEquals(expected.getGcEvents(), actual.getGcEvents(), message);
+        assertEquals(expected.getKpiMetrics(), actual.getKpiMetrics(), message);
+        assertEquals(expected.getJvmArguments(), actual.getJvmArguments(), message);
+    }
+    
+    @Test
+    public void testGCTypeStatistics() throws IOException {
+        GCPulseResult result = parse(PARALLEL_LOG);
+        Map<String, GCTypeStatistics> stats = result.getGcTypeStatistics();
+        
+        GCTypeStatistics total = stats.get(GCTypeStatistics.TOTAL);
+        assertEquals(4, total.getCount());
+        assertEquals(312.0, total.getTotalTime(), 1e-9);
+        // 首尾相隔 4 秒，共 3 个间隔
+        assertEquals(4000.0 / 3, total.getAvgInterval(), 1e-9);
+        
+        GCTypeStatistics young = stats.get(GCTypeStatistics.YOUNG);
+        assertEquals(3, young.getCount());
+        assertEquals(4.0, young.getAvgTime(), 1e-9);
+        assertEquals(3.0, young.getMinTime(), 1e-9);
+        assertEquals(5.0, young.getMaxTime(), 1e-9);
+        assertEquals(result.getGcEvents().stream()
+                .filter(event -> !event.isFullGC())
+                .mapToLong(event -> event.getHeapMemory().getBefore() - event.getHeapMemory().getAfter())
+                .sum(), young.getReclaimedBytes());
+        assertTrue(young.getReclaimedBytes() > 0);
+        
+        GCTypeStatistics full = stats.get(GCTypeStatistics.FULL);
+        assertEquals(1, full.getCount());
+        assertEquals(391000L * 1024, full.getReclaimedBytes());
+        assertEquals(0.0, full.getAvgInterval());
+        
+        // 没有发生的类型不出现
+        assertFalse(stats.containsKey(GCTypeStatistics.MIXED));
+        assertFalse(stats.containsKey(GCTypeStatistics.CMS));
+    }
+    
+    @Test
+    public void testStreamingMatchesLineListParsing(@TempDir Path directory) throws IOException {
+        for (List<String> lines : List.of(PARALLEL_LOG, CMS_LOG, G1_UNIFIED_LOG)) {
+            GCPulseResult streamed = parse(lines);
+            
+            // 整个日志读入内存后按行列表解析（流式管道之前的做法）
+            AbstractGCLogParser parser = parsers.stream()
+                    .filter(candidate -> candidate.getGCType().equals(streamed.getCollectorType()))
+                    .findFirst().orElseThrow();
+            List<GCEvent> expected = parser.parseGCEvents(lines);
+            assertFalse(expected.isEmpty(), streamed.getCollectorType());
+            assertEquals(expected, new ArrayList<>(streamed.getGcEvents()), streamed.getCollectorType());
+            assertEquals(expected.size(), streamed.getEventCount());
+            
+            // 行数据源与内存映射文件两种入口的结果与输入流一致
+            Iterator<String> iterator = lines.iterator();
+            GCPulseResult fromSource = gcLogParser.parse(() -> iterator.hasNext() ? iterator.next() : null, "gc.log", 0);
+            Path file = directory.resolve(streamed.getCollectorType() + ".log");
+            Files.write(file, lines);
+            GCPulseResult fromFile = gcLogParser.parse(file);
+            for (GCPulseResult other : List.of(fromSource, fromFile)) {
+                assertEquals(streamed.getCollectorType(), other.getCollectorType());
+                assertEquals(streamed.getGcEvents(), other.getGcEvents());
+                assertEquals(streamed.getKpiMetrics(), other.getKpiMetrics());
+                assertEquals(streamed.getJvmArguments(), other.getJvmArguments());
+                assertEquals(streamed.getGcTypeStatistics(), other.getGcTypeStatistics());
+            }
+        }
+    }
+    
+    @Test
+    public void testChunkedMatchesSequential(@TempDir Path directory) throws IOException {
+        for (List<String> lines : List.of(G1_UNIFIED_LOG, ZGC_LOG)) {
+            Path file = directory.resolve("gc.log");
+            Files.write(file, lines);
+            GCPulseResult sequential = gcLogParser.parse(file, 1);
+            assertFalse(sequential.getGcEvents().isEmpty(), sequential.getCollectorType());
+            
+            // 分块边界落在每一行（含GC中间、Region大小和JVM参数之前），合并结果与顺序解析一致
+            for (int chunkCount : new int[] {2, 3, 5, lines.size()}) {
+                GCPulseResult chunked = gcLogParser.parse(file, chunkCount);
+                assertEquals(sequential, chunked, sequential.getCollectorType() + " chunks: " + chunkCount);
+            }
+        }
+    }
+    
+    @Test
+    public void testArchiveMatchesPlainLog() throws IOException {
+        GCPulseResult plain = parse(PARALLEL_LOG);
+        byte[] log = TestArchives.text(PARALLEL_LOG);
+        Map<String, byte[]> entries = Map.of("gc.log", log);
+        
+        assertSameAnalysis(plain, parse(TestArchives.gzip(log), "gc.log.gz"), "gz");
+        assertSameAnalysis(plain, parse(TestArchives.zip(entries), "gc.zip"), "zip");
+        assertSameAnalysis(plain, parse(TestArchives.tgz(entries), "gc.tgz"), "tgz");
+    }
+    
+    @Test
+    public void testRotatedSegmentsInTimeOrder() throws IOException {
+        GCPulseResult plain = parse(PARALLEL_LOG);
+        
+        // 滚动编号循环复用：gc.log.0 是最新的分段，按分段开头的时间戳排序而不是按编号或压缩包内的顺序
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("gc.log.0", TestArchives.text(PARALLEL_LOG.subList(3, 5)));
+        entries.put("gc.log.2", TestArchives.text(PARALLEL_LOG.subList(2, 3)));
+        entries.put("gc.log.1", TestArchives.text(PARALLEL_LOG.subList(0, 2)));
+        assertSameAnalysis(plain, parse(TestArchives.zip(entries), "gc.zip"), "zip");
+        
+        Map<String, byte[]> gzipped = new LinkedHashMap<>();
+        entries.forEach((name, content) -> gzipped.put("logs/" + name + ".gz", TestArchives.gzip(content)));
+        assertSameAnalysis(plain, parse(TestArchives.tgz(gzipped), "gc.tgz"), "tgz");
+    }
+    
+    @Test
+    public void testRotatedSegmentsWithoutTimestampsInRotationOrder() throws IOException {
+        GCPulseResult plain = parse(PARALLEL_LOG);
+        
+        // gc.log.1 只有命令行参数、没有时间戳，退回按滚动编号排序，.current 是正在写入的最新分段
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("gc.log.3.current", TestArchives.text(PARALLEL_LOG.subList(3, 5)));
+        entries.put("gc.log.2", TestArchives.text(PARALLEL_LOG.subList(1, 3)));
+        entries.put("gc.log.1", TestArchives.text(PARALLEL_LOG.subList(0, 1)));
+        assertSameAnalysis(plain, parse(TestArchives.zip(entries), "gc.zip"), "zip");
+    }
+    
+    @Test
+    public void testLiveParserTrimsWindowInPlace() {
+        LiveLogParser live = gcLogParser.newLiveParser(4);
+        PARALLEL_LOG.forEach(live::accept);
+        assertEquals(4, live.drain());
+        
+        for (int second = 7; second < 10; second++) {
+            live.accept(second + ".000: [GC (Allocation Failure) [PSYoungGen: 262144K->22532K(305664K)] "
+                    + "562144K->322532K(1005056K), 0.0010000 secs]");
+        }
+        // 窗口超出 4 个事件后保留最近的 3 个，KPI 仍按全部事件计算
+        assertEquals(3, live.drain());
+        assertEquals(3, live.windowEventCount());
+        assertEquals(7, live.eventCount());
+        assertEquals(300.0, live.kpiMetrics().getLatency().getMaxPauseTime(), 1e-9);
+        List<Double> pauses = live.timeSeries(100).getPauseTimeTrend().stream()
+                .map(TimeSeriesData.DataPoint::getValue)
+                .toList();
+        assertEquals(List.of(1.0, 1.0, 1.0), pauses);
+    }
+}
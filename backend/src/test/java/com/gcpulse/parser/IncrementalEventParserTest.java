@@ -0,0 +1,132 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 增量事件解析测试
+ */
+public class IncrementalEventParserTest {
+    
+    private static final List<String> G1_UNIFIED_LOG = List.of(
+            "[2025-08-05T13:23:18.409+0800][info ][gc          ] Using G1",
+            "[2025-08-05T13:23:18.410+0800][info ][gc,init     ] Heap Region Size: 4M",
+            "[2025-08-05T13:23:27.197+0800][info ][gc,start    ] GC(7) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Eden regions: 19->0(19)",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Survivor regions: 3->3(4)",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Old regions: 13->13",
+            "[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Humongous regions: 4->4",
+            "[2025-08-05T13:23:27.198+0800][info ][gc          ] GC(7) Pause Young (Normal) (G1 Evacuation Pause) 156M->64M(256M) 28.970ms",
+            "[2025-08-05T13:23:28.101+0800][info ][gc,start    ] GC(8) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:28.102+0800][info ][gc,heap     ] GC(8) Eden regions: 22->0(20)",
+            "[2025-08-05T13:23:28.102+0800][info ][gc,heap     ] GC(8) Survivor regions: 3->2(4)",
+            "[2025-08-05T13:23:28.102+0800][info ][gc,heap     ] GC(8) Old regions: 13->15",
+            "[2025-08-05T13:23:28.102+0800][info ][gc          ] GC(8) Pause Young (Normal) (G1 Evacuation Pause) 168M->72M(256M) 12.500ms",
+            "[2025-08-05T13:23:29.300+0800][info ][gc,start    ] GC(9) Pause Young (Mixed) (G1 Evacuation Pause)",
+            "[2025-08-05T13:23:29.301+0800][info ][gc,heap     ] GC(9) Old regions: 15->11",
+            "[2025-08-05T13:23:29.301+0800][info ][gc          ] GC(9) Pause Young (Mixed) (G1 Evacuation Pause) 120M->60M(256M) 8.250ms");
+    
+    @Test
+    public void testG1UnifiedEventPushedAtPauseEnd() {
+        List<GCEvent> events = new ArrayList<>();
+        IncrementalEventParser parser = new G1LogParser().newIncrementalParser(events::add);
+        
+        for (int i = 0; i < 7; i++) {
+            parser.feed(G1_UNIFIED_LOG.get(i));
+        }
+        assertTrue(events.isEmpty());
+        assertEquals(1, parser.pendingCount());
+        
+        parser.feed(G1_UNIFIED_LOG.get(7));
+        assertEquals(1, events.size());
+        assertEquals(0, parser.pendingCount());
+        assertEquals(28.970, events.get(0).getPauseTime(), 1e-9);
+        // Old + Humongous regions 按日志开头的 4M Region 大小换算
+        assertEquals(17L * 4 * 1024 * 1024, events.get(0).getOldGen().getBefore());
+        
+        parser.flush();
+        assertEquals(1, parser.emittedCount());
+    }
+    
+    @Test
+    public void testMergedChunksMatchSequentialParsing() {
+        G1LogParser g1 = new G1LogParser();
+        List<GCEvent> sequential = LogLineCollector.collect(g1.newEventCollector(), G1_UNIFIED_LOG);
+        assertEquals(3, sequential.size());
+        
+        // 在每一行处切开（含GC中间和Region大小之前），分块解析合并后与顺序解析一致
+        for (int split = 1; split < G1_UNIFIED_LOG.size(); split++) {
+            LogLineCollector<List<GCEvent>> first = g1.newChunkEventCollector();
+            LogLineCollector<List<GCEvent>> second = g1.newChunkEventCollector();
+            G1_UNIFIED_LOG.subList(0, split).forEach(first::accept);
+            G1_UNIFIED_LOG.subList(split, G1_UNIFIED_LOG.size()).forEach(second::accept);
+            first.merge(second);
+            List<GCEvent> merged = first.finish();
+            
+            assertEquals(sequential.size(), merged.size(), "split at " + split);
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).getTimestamp(), merged.get(i).getTimestamp(), "split at " + split);
+                assertEquals(sequential.get(i).getOldGen(), merged.get(i).getOldGen(), "split at " + split);
+                assertEquals(sequential.get(i).getYoungGen(), merged.get(i).getYoungGen(), "split at " + split);
+            }
+        }
+    }
+    
+    @Test
+    public void testPendingGcIdsAreBounded() {
+        List<GCEvent> events = new ArrayList<>();
+        IncrementalEventParser parser = new G1LogParser().newIncrementalParser(events::add);
+        parser.feed(G1_UNIFIED_LOG.get(0));
+        // 只有开始行、没有结束行的GC（如 Remark）不会无限累积
+        for (int gcId = 0; gcId < PendingGCEvents.DEFAULT_MAX_PENDING * 3; gcId++) {
+            parser.feed("[2025-08-05T13:23:27.197+0800][info ][gc,start    ] GC(" + gcId + ") Pause Remark");
+        }
+        assertEquals(PendingGCEvents.DEFAULT_MAX_PENDING, parser.pendingCount());
+        assertTrue(events.isEmpty());
+    }
+    
+    @Test
+    public void testByteChunksSplitLinesAcrossChunks() {
+        String log = "2.345: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] 65536K->10728K(251392K), 0.0123456 secs]\r\n"
+                + "3.456: [GC (Allocation Failure) [PSYoungGen: 76256K->10736K(141824K)] 76264K->18536K(316928K), 0.0234567 secs]";
+        byte[] bytes = log.getBytes(StandardCharsets.UTF_8);
+        
+        List<GCEvent> events = new ArrayList<>();
+        IncrementalEventParser parser = new ParallelGCLogParser().newIncrementalParser(events::add);
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            parser.feed(bytes, offset, Math.min(7, bytes.length - offset));
+        }
+        assertEquals(1, events.size());
+        
+        // 最后一行没有换行，flush 时解析
+        parser.flush();
+        assertEquals(2, events.size());
+        assertEquals(2345, events.get(0).getTimestamp());
+        assertEquals(23.4567, events.get(1).getPauseTime(), 1e-6);
+    }
+    
+    @Test
+    public void testNonMonotonicContinuationStaysColumnar() {
+        ParallelGCLogParser parallel = new ParallelGCLogParser();
+        LogLineCollector<List<GCEvent>> first = parallel.newMergeableEventCollector();
+        LogLineCollector<List<GCEvent>> second = parallel.newMergeableEventCollector();
+        first.accept("5.000: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] 65536K->10728K(251392K), 0.0100000 secs]");
+        // 滚动日志包中 JVM 重启后的文件接在后面，时间戳从头开始
+        second.accept("1.000: [GC (Allocation Failure) [PSYoungGen: 76256K->10736K(141824K)] 76264K->18536K(316928K), 0.0200000 secs]");
+        first.merge(second);
+        
+        List<GCEvent> events = first.finish();
+        GCEventStore store = assertInstanceOf(GCEventStore.class, events);
+        // Parallel 按日志顺序推送，不重排
+        assertFalse(store.isSortedByTimestamp());
+        assertEquals(5000, store.timestamp(0));
+        assertEquals(1000, store.timestamp(1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.JVMArguments;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JVM 参数收集器测试：分块合并结果与顺序解析一致
+ */
+public class JVMArgumentsCollectorTest {
+    
+    private static final List<String> MULTI_LINE_LOG = List.of(
+            "[0.001s][info][gc] Using G1",
+            "VM Arguments:",
+            "jvm_args: -Xmx4g -XX:+UseG1GC -XX:MaxGCPauseMillis=200",
+            "java_command: com.example.Main",
+            "[0.010s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.456ms"
+    );
+    
+    private static final List<String> SINGLE_LINE_LOG = List.of(
+            "[0.001s][info][gc] Using G1",
+            "VM Arguments: -Xms1g -Xmx1g -XX:+UseG1GC",
+            "[0.010s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.456ms"
+    );
+    
+    @Test
+    public void testMultiLineVmArguments() {
+        JVMArguments args = LogLineCollector.collect(new G1LogParser().newJVMArgumentsCollector(), MULTI_LINE_LOG);
+        
+        assertEquals(List.of("-Xmx4g", "-XX:+UseG1GC", "-XX:MaxGCPauseMillis=200"), args.getAllArguments());
+    }
+    
+    @Test
+    public void testMergeAtEveryLine() {
+        assertMergeMatchesSequential(MULTI_LINE_LOG);
+        assertMergeMatchesSequential(SINGLE_LINE_LOG);
+    }
+    
+    private static void assertMergeMatchesSequential(List<String> log) {
+        G1LogParser parser = new G1LogParser();
+        JVMArguments sequential = LogLineCollector.collect(parser.newJVMArgumentsCollector(), log);
+        assertFalse(sequential.getAllArguments().isEmpty());
+        
+        // 两段：在每一行处切开（含 VM Arguments 行恰好位于分块末尾）
+        for (int split = 1; split < log.size(); split++) {
+            LogLineCollector<JVMArguments> first = parser.newJVMArgumentsCollector();
+            LogLineCollector<JVMArguments> second = parser.newJVMArgumentsCollector();
+            log.subList(0, split).forEach(first::accept);
+            log.subList(split, log.size()).forEach(second::accept);
+            first.merge(second);
+            assertEquals(sequential, first.finish(), "split at " + split);
+        }
+        
+        // 每行一段，中间夹空分块
+        LogLineCollector<JVMArguments> merged = parser.newJVMArgumentsCollector();
+        for (String line : log) {
+            merged.merge(parser.newJVMArgumentsCollector());
+            LogLineCollector<JVMArguments> chunk = parser.newJVMArgumentsCollector();
+            chunk.accept(line);
+            merged.merge(chunk);
+        }
+        assertEquals(sequential, merged.finish());
+    }
+}
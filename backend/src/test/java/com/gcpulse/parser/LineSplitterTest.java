@@ -0,0 +1,56 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字节块行切分测试
+ */
+public class LineSplitterTest {
+    
+    @Test
+    public void testLinesAcrossChunks() {
+        byte[] bytes = "first\r\nsec".getBytes(StandardCharsets.UTF_8);
+        byte[] rest = "ond\nthird".getBytes(StandardCharsets.UTF_8);
+        LineSplitter splitter = new LineSplitter();
+        List<String> lines = new ArrayList<>();
+        
+        splitter.split(bytes, 0, bytes.length, lines::add);
+        splitter.split(rest, 0, rest.length, lines::add);
+        splitter.flush(lines::add);
+        
+        assertEquals(List.of("first", "second", "third"), lines);
+    }
+    
+    @Test
+    public void testDropsOverLongLineInsideChunk() {
+        String longLine = "x".repeat(LineSplitter.MAX_LINE_BYTES + 1);
+        byte[] bytes = ("a\n" + longLine + "\nb\n").getBytes(StandardCharsets.UTF_8);
+        LineSplitter splitter = new LineSplitter();
+        List<String> lines = new ArrayList<>();
+        
+        splitter.split(bytes, 0, bytes.length, lines::add);
+        splitter.flush(lines::add);
+        
+        assertEquals(List.of("a", "b"), lines);
+    }
+    
+    @Test
+    public void testDropsOverLongLineAcrossChunks() {
+        byte[] head = ("a\n" + "x".repeat(LineSplitter.MAX_LINE_BYTES)).getBytes(StandardCharsets.UTF_8);
+        byte[] tail = "xx\nb".getBytes(StandardCharsets.UTF_8);
+        LineSplitter splitter = new LineSplitter();
+        List<String> lines = new ArrayList<>();
+        
+        splitter.split(head, 0, head.length, lines::add);
+        splitter.split(tail, 0, tail.length, lines::add);
+        splitter.flush(lines::add);
+        
+        assertEquals(List.of("a", "b"), lines);
+    }
+}
@@ -0,0 +1,81 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志文件跟踪测试
+ */
+public class LogFileFollowerTest {
+    
+    @Test
+    public void testReadsOnlyCompleteAppendedLines(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("gc.log");
+        Files.writeString(file, "line 1\r\nline 2\nline");
+        
+        List<String> lines = new ArrayList<>();
+        try (LogFileFollower follower = new LogFileFollower(file)) {
+            assertFalse(follower.poll(lines::add, Long.MAX_VALUE));
+            assertEquals(List.of("line 1", "line 2"), lines);
+            
+            append(file, " 3\nline 4\n");
+            follower.poll(lines::add, Long.MAX_VALUE);
+            assertEquals(List.of("line 1", "line 2", "line 3", "line 4"), lines);
+            
+            follower.poll(lines::add, Long.MAX_VALUE);
+            assertEquals(4, lines.size());
+            assertEquals(Files.size(file), follower.bytesRead());
+        }
+    }
+    
+    @Test
+    public void testFollowsRotationAfterDrainingRenamedFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("gc.log");
+        Files.writeString(file, "old 1\n");
+        
+        List<String> lines = new ArrayList<>();
+        try (LogFileFollower follower = new LogFileFollower(file)) {
+            follower.poll(lines::add, Long.MAX_VALUE);
+            
+            // -Xlog 滚动：写完旧文件后改名为 gc.log.0，在原路径创建新文件
+            append(file, "old 2\nold 3");
+            Files.move(file, directory.resolve("gc.log.0"));
+            Files.writeString(file, "new 1\n");
+            
+            assertTrue(follower.poll(lines::add, Long.MAX_VALUE));
+            assertEquals(List.of("old 1", "old 2", "old 3", "new 1"), lines);
+            assertEquals(1, follower.rotations());
+        }
+    }
+    
+    @Test
+    public void testReadLimitAndOverlongLines(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("gc.log");
+        String longLine = "x".repeat(LogFileFollower.MAX_LINE_BYTES + 1);
+        Files.writeString(file, "a\n" + longLine + "\nb\n");
+        
+        List<String> lines = new ArrayList<>();
+        try (LogFileFollower follower = new LogFileFollower(file)) {
+            follower.poll(lines::add, 4);
+            assertEquals(List.of("a"), lines);
+            while (follower.bytesRead() < Files.size(file)) {
+                follower.poll(lines::add, 1000);
+            }
+            assertEquals(List.of("a", "b"), lines);
+        }
+    }
+    
+    private static void append(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
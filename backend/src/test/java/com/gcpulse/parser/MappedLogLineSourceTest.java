@@ -0,0 +1,83 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内存映射日志行数据源测试
+ */
+public class MappedLogLineSourceTest {
+    
+    private static List<String> readAll(MappedLogLineSource source) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = source.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+    
+    private static Path write(Path directory, String content) throws IOException {
+        Path file = directory.resolve("gc.log");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+    
+    @Test
+    public void testReadLines(@TempDir Path directory) throws IOException {
+        Path file = write(directory, "first\r\n\nsecond\nlast");
+        try (MappedLogLineSource source = new MappedLogLineSource(file)) {
+            // 去掉 \r，保留空行，最后一行没有换行符也要返回
+            assertEquals(List.of("first", "", "second", "last"), readAll(source));
+            assertNull(source.readLine());
+        }
+        
+        try (MappedLogLineSource source = new MappedLogLineSource(write(directory, ""))) {
+            assertNull(source.readLine());
+        }
+    }
+    
+    @Test
+    public void testDropsOverLongLine(@TempDir Path directory) throws IOException {
+        String longLine = "x".repeat(LineSplitter.MAX_LINE_BYTES + 1);
+        String maxLine = "y".repeat(LineSplitter.MAX_LINE_BYTES);
+        Path file = write(directory, "first\n" + longLine + "\n" + maxLine + "\n" + longLine);
+        try (MappedLogLineSource source = new MappedLogLineSource(file)) {
+            assertEquals(List.of("first", maxLine), readAll(source));
+        }
+    }
+    
+    @Test
+    public void testLineAlignedRanges(@TempDir Path directory) throws IOException {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("line " + i);
+        }
+        Path file = write(directory, String.join("\n", expected) + "\n");
+        
+        for (int chunkCount : new int[] {1, 3, 7, 64}) {
+            long[] boundaries = MappedLogLineSource.lineAlignedBoundaries(file, chunkCount);
+            assertEquals(0, boundaries[0]);
+            assertEquals(Files.size(file), boundaries[boundaries.length - 1]);
+            
+            // 各区间依次读取拼接后与整个文件一致，没有行被切断或重复
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                assertTrue(boundaries[i] < boundaries[i + 1]);
+                try (MappedLogLineSource source = new MappedLogLineSource(file, boundaries[i], boundaries[i + 1])) {
+                    lines.addAll(readAll(source));
+                }
+            }
+            assertEquals(expected, lines, "chunks: " + chunkCount);
+        }
+    }
+}
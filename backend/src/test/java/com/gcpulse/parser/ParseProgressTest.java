@@ -0,0 +1,49 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 解析进度测试
+ */
+public class ParseProgressTest {
+    
+    @Test
+    public void testStreamBytesTakePrecedenceOverLineLengths() throws Exception {
+        ParseProgress progress = new ParseProgress();
+        progress.setStage(ParseProgress.Stage.DETECTING);
+        try (InputStream in = progress.track(new ByteArrayInputStream(new byte[10_000]))) {
+            in.readAllBytes();
+        }
+        progress.report(100, 123_456, 7);
+        
+        assertEquals(10_000, progress.getBytesRead());
+        assertEquals(100, progress.getLinesRead());
+        assertEquals(7, progress.getEventsParsed());
+        
+        // 新的读取阶段重新统计字节，没有包装输入流时按行长度累计
+        progress.setStage(ParseProgress.Stage.DETECTING);
+        progress.report(10, 500, 0);
+        assertEquals(500, progress.getBytesRead());
+        
+        progress.completeEvents(5);
+        assertEquals(5, progress.getEventsParsed());
+    }
+    
+    @Test
+    public void testCancelStopsAtNextReport() throws Exception {
+        ParseProgress progress = new ParseProgress();
+        progress.report(1, 10, 0);
+        progress.cancel();
+        
+        assertThrows(CancellationException.class, () -> progress.report(1, 10, 0));
+        try (InputStream in = progress.track(new ByteArrayInputStream(new byte[16]))) {
+            assertThrows(CancellationException.class, () -> in.read(new byte[8]));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 暂停时间分位数直方图测试
+ */
+public class PauseTimeHistogramTest {
+    
+    private static double exactPercentile(double[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    @Test
+    public void testQuantilesWithinRelativeError() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        PauseTimeHistogram histogram = new PauseTimeHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // 对数正态分布，覆盖亚毫秒到数秒的暂停
+            values[i] = Math.exp(random.nextGaussian() * 2);
+            histogram.add(values[i]);
+        }
+        Arrays.sort(values);
+        
+        for (double q : new double[]{0.5, 0.9, 0.99, 0.999, 0.9999}) {
+            double exact = exactPercentile(values, q);
+            assertEquals(exact, histogram.quantile(q), exact / 128, "q=" + q);
+        }
+        assertEquals(values[values.length - 1], histogram.quantile(1.0), 0.0);
+        assertEquals(values[0], histogram.quantile(0.0), 0.0);
+    }
+    
+    @Test
+    public void testMergeEqualsSingleHistogram() {
+        Random random = new Random(11);
+        PauseTimeHistogram whole = new PauseTimeHistogram();
+        PauseTimeHistogram first = new PauseTimeHistogram();
+        PauseTimeHistogram second = new PauseTimeHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextDouble() * (i % 2 == 0 ? 5 : 5000);
+            whole.add(value);
+            (i < 3_000 ? first : second).add(value);
+        }
+        
+        first.merge(second);
+        assertEquals(whole.count(), first.count());
+        assertEquals(whole.toPercentiles(), first.toPercentiles());
+        assertEquals(0.0, new PauseTimeHistogram().quantile(0.99));
+    }
+}
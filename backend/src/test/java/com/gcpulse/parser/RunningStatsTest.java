@@ -0,0 +1,45 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 滚动统计测试
+ */
+public class RunningStatsTest {
+    
+    @Test
+    public void testMatchesStreamStatistics() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        RunningStats stats = new RunningStats();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 100;
+            stats.add(values[i]);
+        }
+        
+        double sum = Arrays.stream(values).sum();
+        double mean = sum / values.length;
+        double variance = Arrays.stream(values).map(v -> Math.pow(v - mean, 2)).average().orElse(0);
+        
+        // 补偿求和与 DoubleStream.sum 逐位一致
+        assertEquals(sum, stats.sum(), 0.0);
+        assertEquals(mean, stats.average(), 0.0);
+        assertEquals(Arrays.stream(values).max().orElse(0), stats.max(), 0.0);
+        assertEquals(Arrays.stream(values).min().orElse(0), stats.min(), 0.0);
+        assertEquals(variance, stats.variance(), variance * 1e-12);
+    }
+    
+    @Test
+    public void testEmpty() {
+        RunningStats stats = new RunningStats();
+        assertEquals(0, stats.count());
+        assertEquals(0.0, stats.average());
+        assertEquals(0.0, stats.max());
+        assertEquals(0.0, stats.stdDev());
+    }
+}
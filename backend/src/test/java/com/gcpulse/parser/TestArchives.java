@@ -0,0 +1,94 @@
+package com.gcpulse.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 测试用的日志压缩包（条目按 Map 的迭代顺序写入，名称以 / 结尾的条目为目录）
+ */
+final class TestArchives {
+    
+    private static final int TAR_BLOCK_SIZE = 512;
+    
+    private TestArchives() {
+    }
+    
+    static byte[] text(List<String> lines) {
+        return (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    static byte[] zip(Map<String, byte[]> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * 按 ustar 格式手工拼接（commons-compress 的 TarArchiveOutputStream 依赖不在类路径上的 commons-codec）
+     */
+    static byte[] tar(Map<String, byte[]> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            byte[] content = entry.getValue();
+            byte[] header = new byte[TAR_BLOCK_SIZE];
+            putField(header, 0, entry.getKey());
+            putField(header, 100, "0000644");
+            putField(header, 108, "0000000");
+            putField(header, 116, "0000000");
+            putField(header, 124, String.format("%011o", content.length));
+            putField(header, 136, "00000000000");
+            header[156] = (byte) (entry.getKey().endsWith("/") ? '5' : '0');
+            putField(header, 257, "ustar");
+            putField(header, 263, "00");
+            
+            // 校验和按校验和字段全为空格计算
+            Arrays.fill(header, 148, 156, (byte) ' ');
+            int checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xff;
+            }
+            putField(header, 148, String.format("%06o", checksum));
+            
+            out.writeBytes(header);
+            out.writeBytes(content);
+            out.writeBytes(new byte[(TAR_BLOCK_SIZE - content.length % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE]);
+        }
+        out.writeBytes(new byte[TAR_BLOCK_SIZE * 2]);
+        return out.toByteArray();
+    }
+    
+    private static void putField(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+    
+    static byte[] tgz(Map<String, byte[]> entries) {
+        return gzip(tar(entries));
+    }
+}
@@ -0,0 +1,40 @@
+package com.gcpulse.parser;
+
+import com.gcpulse.model.TimeSeriesData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时间序列降采样测试
+ */
+public class TimeSeriesDownsamplerTest {
+    
+    @Test
+    public void testKeepsExtremesWithinPointBudget() {
+        TimeSeriesDownsampler downsampler = new TimeSeriesDownsampler(0, 99_999, 200);
+        for (int i = 0; i < 100_000; i++) {
+            double value = i == 54_321 ? 5000 : Math.sin(i / 1000.0) * 100;
+            downsampler.add(i, value);
+        }
+        
+        List<TimeSeriesData.DataPoint> points = downsampler.finish();
+        assertTrue(points.size() <= 200, "size=" + points.size());
+        assertTrue(points.stream().anyMatch(p -> p.getTimestamp() == 54_321 && p.getValue() == 5000));
+        assertEquals(-100, points.stream().mapToDouble(TimeSeriesData.DataPoint::getValue).min().orElse(0), 0.01);
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i - 1).getTimestamp() <= points.get(i).getTimestamp());
+        }
+    }
+    
+    @Test
+    public void testDisabledKeepsAllPoints() {
+        TimeSeriesDownsampler downsampler = new TimeSeriesDownsampler(0, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            downsampler.add(i, i % 3);
+        }
+        assertEquals(10, downsampler.finish().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时间装饰符解码器测试
+ */
+public class TimestampDecoderTest {
+    
+    private static long expected(String text, String pattern) {
+        return OffsetDateTime.parse(text, DateTimeFormatter.ofPattern(pattern)).toInstant().toEpochMilli();
+    }
+    
+    @Test
+    public void testDateTimeMatchesJavaTime() {
+        TimestampDecoder decoder = new TimestampDecoder();
+        String[] samples = {
+            "2025-08-05T13:23:18.409+0800",
+            "2025-08-05T23:59:59.999+0800",
+            "2024-02-29T00:00:00.001-0530",
+            "1999-12-31T16:00:00.000+0000"
+        };
+        for (String sample : samples) {
+            long millis = expected(sample, "yyyy-MM-dd'T'HH:mm:ss.SSSXX");
+            assertEquals(millis, decoder.decodeDateTime(sample, 0, sample.length()), sample);
+            assertEquals(millis, TimestampDecoder.parseDateTime(sample, 0, sample.length()), sample);
+        }
+        
+        assertEquals(expected("2025-08-05T05:23:18.409+0000", "yyyy-MM-dd'T'HH:mm:ss.SSSXX"),
+                decoder.decodeDateTime("2025-08-05T05:23:18.409Z", 0, 24));
+        assertEquals(expected("2025-08-05T13:23:18.409+0800", "yyyy-MM-dd'T'HH:mm:ss.SSSXX"),
+                decoder.decodeDateTime("[2025-08-05T13:23:18.409+08:00]", 1, 30));
+        assertEquals(-1, decoder.decodeDateTime("2025-08-05 13:23:18", 0, 19));
+    }
+    
+    @Test
+    public void testDurations() {
+        assertEquals(12345, TimestampDecoder.decodeDuration("12.345s", 0, 7));
+        assertEquals(12300, TimestampDecoder.decodeDuration("12,3s", 0, 5));
+        assertEquals(12345, TimestampDecoder.decodeDuration("12345ms", 0, 7));
+        assertEquals(12, TimestampDecoder.decodeDuration("12345678ns", 0, 10));
+        assertEquals(1754371398409L, TimestampDecoder.decodeDuration("1754371398409ms", 0, 15));
+        assertEquals(-1, TimestampDecoder.decodeDuration("12.3x", 0, 5));
+    }
+    
+    @Test
+    public void testDecorationTimestamps() {
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        TimestampDecoder decoder = new TimestampDecoder();
+        
+        assertTrue(decorations.parse("[1754371398409000000ns][1234ms][info][gc,start] GC(0) Garbage Collection (Warmup)"));
+        assertEquals(1754371398409L, decorations.epochMillis(decoder));
+        assertEquals(1234, decorations.uptimeMillis());
+        
+        assertTrue(decorations.parse("[3.098s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.456ms"));
+        assertEquals(-1, decorations.epochMillis(decoder));
+        assertEquals(3098, decorations.timestampMillis(decoder));
+    }
+}
@@ -0,0 +1,56 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unified Logging 装饰符词法分析器测试
+ */
+public class UnifiedLogDecorationsTest {
+    
+    @Test
+    public void testPaddedDecorationsWithGcId() {
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        String line = "[2025-08-05T13:23:20.725+0800][2.316s][info ][gc,phases   ] GC(12) Pause Mark Start 0.021ms";
+        
+        assertTrue(decorations.parse(line));
+        assertEquals("2025-08-05T13:23:20.725+0800", decorations.time());
+        assertTrue(decorations.hasUptime());
+        assertTrue(decorations.levelIs("info"));
+        assertTrue(decorations.tagsEqual("gc,phases"));
+        assertEquals("gc,phases".hashCode(), decorations.tagsHash());
+        assertTrue(decorations.hasTag("phases"));
+        assertFalse(decorations.hasTag("gc,phases"));
+        assertEquals(12, decorations.getGcId());
+        assertTrue(decorations.messageStartsWith("Pause Mark Start"));
+        
+        Matcher matcher = Pattern.compile("(Pause .+?)\\s+([\\d.]+)ms").matcher("");
+        assertTrue(decorations.lookingAt(matcher));
+        assertEquals("Pause Mark Start", matcher.group(1));
+        assertEquals("0.021", matcher.group(2));
+    }
+    
+    @Test
+    public void testUptimeOnlyWithoutGcId() {
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        
+        assertTrue(decorations.parse("[0.005s][info][gc] Using G1"));
+        assertFalse(decorations.hasTime());
+        assertTrue(decorations.tagsEqual("gc"));
+        assertFalse(decorations.hasGcId());
+        assertTrue(decorations.messageStartsWith("Using G1"));
+    }
+    
+    @Test
+    public void testRejectsLegacyLines() {
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        
+        assertFalse(decorations.parse("2.316: [GC pause (G1 Evacuation Pause) (young), 0.0622825 secs]"));
+        assertFalse(decorations.parse("[GC (Allocation Failure) [PSYoungGen: 262144K->22532K(305664K)] 562144K->322532K(1005056K), 0.0033004 secs]"));
+        assertFalse(decorations.parse("   [Parallel Time: 56.1 ms, GC Workers: 8]"));
+    }
+}
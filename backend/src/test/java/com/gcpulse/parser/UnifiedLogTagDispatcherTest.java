@@ -0,0 +1,72 @@
+package com.gcpulse.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unified Logging 标签分发器测试
+ */
+public class UnifiedLogTagDispatcherTest {
+    
+    @Test
+    public void testRoutesByExactTagSet() {
+        List<String> routed = new ArrayList<>();
+        UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc", d -> routed.add("gc:" + d.getGcId()))
+                .on("gc,heap", d -> routed.add("heap:" + d.getGcId()))
+                .on("gc,phases", d -> routed.add("phases:" + d.getLine().substring(d.getMessageStart())));
+        
+        assertTrue(dispatcher.dispatch("[2025-08-05T13:23:27.198+0800][info ][gc          ] GC(7) Pause Young (Normal) 156M->64M(256M) 28.970ms"));
+        assertTrue(dispatcher.dispatch("[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(7) Eden regions: 19->0(19)"));
+        // 标签集合的对齐空格不影响匹配
+        assertTrue(dispatcher.dispatch("[2.316s][info][gc,phases] GC(8) Pause Mark Start 0.021ms"));
+        assertEquals(List.of("gc:7", "heap:7", "phases:Pause Mark Start 0.021ms"), routed);
+        
+        // 只匹配完整的标签集合：子集、超集和未注册的标签集合都不分发
+        routed.clear();
+        assertFalse(dispatcher.dispatch("[2025-08-05T13:23:27.197+0800][info ][gc,start    ] GC(7) Pause Young (Normal)"));
+        assertFalse(dispatcher.dispatch("[2025-08-05T13:23:27.198+0800][info ][gc,heap,exit] Heap"));
+        assertFalse(dispatcher.dispatch("[2025-08-05T13:23:27.198+0800][info ][heap        ] Heap"));
+        // 不是 Unified Logging 格式的行
+        assertFalse(dispatcher.dispatch("2.000: [GC (Allocation Failure) [PSYoungGen: 262144K->22532K(305664K)] 562144K->322532K(1005056K), 0.0030000 secs]"));
+        assertFalse(dispatcher.dispatch(""));
+        assertTrue(routed.isEmpty());
+    }
+    
+    @Test
+    public void testHashCollisionComparesTagSet() {
+        // "gc,ao" 与 "gc,c1" 的 hashCode 相同
+        assertEquals("gc,ao".hashCode(), "gc,c1".hashCode());
+        List<String> routed = new ArrayList<>();
+        UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,ao", d -> routed.add("gc,ao"))
+                .on("gc,c1", d -> routed.add("gc,c1"));
+        
+        assertTrue(dispatcher.dispatch("[1.000s][info][gc,c1] message"));
+        assertTrue(dispatcher.dispatch("[1.000s][info][gc,ao] message"));
+        assertFalse(dispatcher.dispatch("[1.000s][info][gc,ao,c1] message"));
+        assertEquals(List.of("gc,c1", "gc,ao"), routed);
+    }
+    
+    @Test
+    public void testDispatchPreparsedDecorations() {
+        List<Integer> routed = new ArrayList<>();
+        UnifiedLogTagDispatcher dispatcher = new UnifiedLogTagDispatcher()
+                .on("gc,heap", d -> routed.add(d.getGcId()));
+        
+        // 调用方已切分的行（如事件解析器与统计收集器共用一次切分）直接按标签分发
+        UnifiedLogDecorations decorations = new UnifiedLogDecorations();
+        assertTrue(decorations.parse("[2025-08-05T13:23:27.198+0800][info ][gc,heap     ] GC(9) Old regions: 15->11"));
+        assertTrue(dispatcher.dispatch(decorations));
+        assertEquals(List.of(9), routed);
+        
+        // 分发器自己切分的结果可以通过 decorations() 读取
+        assertTrue(dispatcher.dispatch("[2025-08-05T13:23:28.102+0800][info ][gc,heap     ] GC(10) Old regions: 11->12"));
+        assertEquals(10, dispatcher.decorations().getGcId());
+        assertEquals(List.of(9, 10), routed);
+    }
+}
@@ -0,0 +1,76 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.AnalysisAdmissionConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分析准入控制测试
+ */
+public class AnalysisAdmissionServiceTest {
+    
+    private static final long MB = 1024 * 1024;
+    
+    private static AnalysisAdmissionService newService(int maxQueued) {
+        AnalysisAdmissionConfig config = new AnalysisAdmissionConfig();
+        config.setMemoryBudgetMb(100);
+        config.setMaxQueued(maxQueued);
+        config.setRetryAfterSeconds(7);
+        return new AnalysisAdmissionService(config);
+    }
+    
+    @Test
+    public void testQueuesBeyondBudgetInArrivalOrder() throws Exception {
+        AnalysisAdmissionService admission = newService(4);
+        AnalysisAdmissionService.Permit first = admission.acquire("a", 70 * MB, Duration.ZERO);
+        
+        // 队首（60MB）放不下时，后到的小分析（10MB）也不插队
+        AnalysisAdmissionService.Ticket large = admission.enqueue("b", 60 * MB);
+        AnalysisAdmissionService.Ticket small = admission.enqueue("c", 10 * MB);
+        CompletableFuture<AnalysisAdmissionService.Permit> largeAdmitted = CompletableFuture.supplyAsync(() -> await(admission, large));
+        CompletableFuture<AnalysisAdmissionService.Permit> smallAdmitted = CompletableFuture.supplyAsync(() -> await(admission, small));
+        Thread.sleep(100);
+        assertFalse(largeAdmitted.isDone());
+        assertFalse(smallAdmitted.isDone());
+        assertEquals(2, admission.stats().getQueued());
+        
+        first.close();
+        largeAdmitted.get(5, TimeUnit.SECONDS);
+        smallAdmitted.get(5, TimeUnit.SECONDS);
+        assertEquals(70 * MB, admission.stats().getMemoryInUseBytes());
+        assertEquals(2, admission.stats().getRunning());
+        assertEquals(3, admission.stats().getAdmitted());
+    }
+    
+    @Test
+    public void testRejectsWhenQueueFullOrWaitTimesOut() throws Exception {
+        AnalysisAdmissionService admission = newService(1);
+        // 超过整个预算的分析按整个预算计，单独进行
+        try (AnalysisAdmissionService.Permit whole = admission.acquire("huge", 500 * MB, Duration.ZERO)) {
+            assertEquals(100 * MB, admission.stats().getMemoryInUseBytes());
+            
+            AnalysisRejectedException timeout = assertThrows(AnalysisRejectedException.class,
+                    () -> admission.acquire("a", MB, Duration.ofMillis(50)));
+            assertEquals(7, timeout.getRetryAfterSeconds());
+            
+            admission.enqueue("b", MB);
+            assertThrows(AnalysisRejectedException.class, () -> admission.enqueue("c", MB));
+            assertEquals(2, admission.stats().getRejected());
+        }
+        assertEquals(0, admission.stats().getMemoryInUseBytes());
+    }
+    
+    private static AnalysisAdmissionService.Permit await(AnalysisAdmissionService admission, 
+                                                        AnalysisAdmissionService.Ticket ticket) {
+        try {
+            return admission.await(ticket, Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
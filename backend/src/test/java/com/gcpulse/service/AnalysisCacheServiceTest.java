@@ -0,0 +1,110 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.config.AnalysisCacheConfig;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分析结果缓存测试
+ */
+public class AnalysisCacheServiceTest {
+    
+    // 与 Spring Boot 默认的 ObjectMapper 一致：忽略派生 getter 产生的未知属性
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    @Test
+    public void testContentKeyIsStableSha256() throws Exception {
+        String key = AnalysisCacheService.contentKey(new ByteArrayInputStream("gc".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(64, key.length());
+        assertEquals(key, AnalysisCacheService.contentKey(new ByteArrayInputStream("gc".getBytes(StandardCharsets.UTF_8))));
+        assertNotEquals(key, AnalysisCacheService.contentKey(new ByteArrayInputStream("gc2".getBytes(StandardCharsets.UTF_8))));
+    }
+    
+    @Test
+    public void testContentDigestCoversUnreadAndSkippedBytes() throws Exception {
+        byte[] content = new byte[300 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String expected = AnalysisCacheService.contentKey(new ByteArrayInputStream(content));
+        
+        // 解析器只读了一部分、跳过了一部分并关闭了流，finish 仍然得到全文摘要
+        ByteArrayInputStream source = new ByteArrayInputStream(content);
+        AnalysisCacheService.ContentDigest digest = new AnalysisCacheService.ContentDigest(source);
+        try (InputStream parserView = new BufferedInputStream(digest)) {
+            parserView.readNBytes(1000);
+            parserView.skip(100 * 1024);
+            parserView.readNBytes(10);
+        }
+        assertEquals(expected, digest.finish());
+    }
+    
+    @Test
+    public void testProbeKeyReadsOnlyHeadAndTail() throws Exception {
+        byte[] content = new byte[300 * 1024];
+        String probe = AnalysisCacheService.probeKey(new ByteArrayInputStream(content), content.length);
+        
+        // 中间的内容不影响探测键，首尾和长度影响
+        byte[] middleChanged = content.clone();
+        middleChanged[150 * 1024] = 1;
+        assertEquals(probe, AnalysisCacheService.probeKey(new ByteArrayInputStream(middleChanged), content.length));
+        byte[] tailChanged = content.clone();
+        tailChanged[content.length - 1] = 1;
+        assertNotEquals(probe, AnalysisCacheService.probeKey(new ByteArrayInputStream(tailChanged), content.length));
+        assertNotEquals(probe, AnalysisCacheService.probeKey(new ByteArrayInputStream(content), content.length - 1));
+        
+        byte[] small = "gc".getBytes(StandardCharsets.UTF_8);
+        assertNotEquals(AnalysisCacheService.probeKey(new ByteArrayInputStream(small), small.length),
+                AnalysisCacheService.probeKey(new ByteArrayInputStream("gd".getBytes(StandardCharsets.UTF_8)), 2));
+        
+        AnalysisCacheService cache = new AnalysisCacheService(new AnalysisCacheConfig(), MAPPER);
+        assertTrue(cache.probe(probe).isEmpty());
+        cache.put("content-key", probe, TestResults.sample("a.log", 10));
+        assertEquals("content-key", cache.probe(probe).orElseThrow());
+        assertTrue(cache.get("content-key").isPresent());
+    }
+    
+    @Test
+    public void testEvictsByWeightAndReadsBackSpilledResult(@TempDir Path spillDirectory) {
+        AnalysisCacheConfig config = new AnalysisCacheConfig();
+        config.setMaxWeightMb(1);
+        config.setSpillEnabled(true);
+        config.setSpillDirectory(spillDirectory.toString());
+        AnalysisCacheService cache = new AnalysisCacheService(config, MAPPER);
+        
+        // 每个结果约 256KB 固定开销 + 1000 个事件的列存储，第三个放入后淘汰第一个
+        cache.put("a", TestResults.sample("a.log", 1000));
+        cache.put("b", TestResults.sample("b.log", 1000));
+        cache.put("c", TestResults.sample("c.log", 1000));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(1, cache.stats().getSpills());
+        
+        GCPulseResult restored = cache.get("a").orElseThrow();
+        assertEquals(1, cache.stats().getSpillHits());
+        assertEquals("a.log", restored.getFileName());
+        assertInstanceOf(GCEventStore.class, restored.getGcEvents());
+        assertEquals(1000, restored.getGcEvents().size());
+        assertTrue(restored.getGcEvents().get(990).isFullGC());
+        assertFalse(restored.getGcEvents().get(999).isFullGC());
+        assertEquals(200, restored.getGcEvents().get(0).getHeapMemory().getReclaimed());
+        assertEquals(TestResults.FULL_GC_PAUSE, restored.getKpiMetrics().getLatency().getMaxPauseTime());
+        assertTrue(restored.getDiagnosisReport().getFullGCInfo().isHasFullGC());
+        
+        assertTrue(cache.get("missing").isEmpty());
+        assertEquals(1, cache.stats().getMisses());
+        assertTrue(cache.stats().getWeightBytes() <= cache.stats().getMaxWeightBytes());
+    }
+}
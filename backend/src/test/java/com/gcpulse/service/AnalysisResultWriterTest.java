@@ -0,0 +1,83 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.TimeSeriesData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分析结果流式序列化测试
+ */
+public class AnalysisResultWriterTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final AnalysisResultWriter writer = new AnalysisResultWriter(MAPPER);
+    
+    private static GCPulseResult result() {
+        return TestResults.sample(2).toBuilder()
+                .timeSeriesData(TimeSeriesData.builder()
+                        .pauseTimeTrend(List.of(TimeSeriesData.DataPoint.builder().timestamp(1000).value(8.5).build()))
+                        .downsampled(true)
+                        .build())
+                .build();
+    }
+    
+    private static JsonNode write(AnalysisResultWriter.Body body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        JsonNode response = MAPPER.readTree(out.toByteArray());
+        assertTrue(response.get("success").asBoolean());
+        assertTrue(response.has("timestamp"));
+        return response.get("data");
+    }
+    
+    // 经过文本往返，数值节点类型与读取流式输出时一致
+    private static JsonNode expected(Object value) throws Exception {
+        return MAPPER.readTree(MAPPER.writeValueAsBytes(value));
+    }
+    
+    @Test
+    public void testDerivedOutputMatchesObjectMapper() throws Exception {
+        GCPulseResult result = result();
+        
+        assertEquals(expected(result), write(writer.result(result, true)));
+    }
+    
+    @Test
+    public void testDerivedFieldsOmittedByDefault() throws Exception {
+        JsonNode data = write(writer.result(result(), false));
+        
+        JsonNode heap = data.get("gcEvents").get(0).get("heapMemory");
+        assertEquals(300, heap.get("before").asLong());
+        assertEquals(1000, heap.get("total").asLong());
+        assertFalse(heap.has("reclaimed"));
+        assertFalse(heap.has("usageBeforePercent"));
+        assertTrue(data.get("gcEvents").get(0).get("youngGen").isNull());
+        assertTrue(data.get("gcEvents").get(0).get("fullGC").asBoolean());
+        assertEquals(200, data.get("gcEvents").get(1).get("youngGen").get("before").asLong());
+        assertFalse(data.get("gcEvents").get(1).get("fullGC").asBoolean());
+        assertEquals(TestResults.THROUGHPUT, data.get("kpiMetrics").get("throughput").asDouble());
+    }
+    
+    @Test
+    public void testEventPage() throws Exception {
+        GCPulseResult result = result();
+        GCEventPage page = GCEventPage.builder()
+                .events(result.getGcEvents())
+                .nextCursor("abc")
+                .hasMore(true)
+                .build();
+        
+        JsonNode data = write(writer.eventPage(page, true));
+        
+        assertEquals(expected(page), data);
+    }
+}
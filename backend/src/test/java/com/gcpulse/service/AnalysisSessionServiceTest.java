@@ -0,0 +1,69 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.config.AnalysisSessionConfig;
+import com.gcpulse.config.AnalysisStoreConfig;
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventQuery;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分析会话分页测试
+ */
+public class AnalysisSessionServiceTest {
+    
+    private static AnalysisStoreService noStore() {
+        AnalysisStoreConfig config = new AnalysisStoreConfig();
+        config.setEnabled(false);
+        return new AnalysisStoreService(config, new ObjectMapper());
+    }
+    
+    @Test
+    public void testCursorWalksAllMatchingEvents() {
+        AnalysisSessionService service = new AnalysisSessionService(new AnalysisSessionConfig(), noStore());
+        String id = service.register(TestResults.sample(1000));
+        GCEventQuery query = GCEventQuery.builder().fullGC(true).from(1000L).build();
+        
+        List<GCEvent> collected = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GCEventPage page = service.getEvents(id, query, cursor, 30);
+            // 本页按列选取，列式格式直接写出
+            assertInstanceOf(GCEventStore.class, page.getEvents());
+            collected.addAll(page.getEvents());
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.isHasMore());
+            pages++;
+        } while (cursor != null);
+        
+        // 下标 10、20 … 990 的 Full GC 共 99 个，30 个一页，最后一页不需要空页收尾
+        assertEquals(99, collected.size());
+        assertEquals(4, pages);
+        assertTrue(collected.stream().allMatch(GCEvent::isFullGC));
+        assertEquals(1000L, collected.get(0).getTimestamp());
+        assertThrows(IllegalArgumentException.class, () -> service.getEvents(id, query, "not-a-cursor", 10));
+    }
+    
+    @Test
+    public void testSummaryDropsEventsAndEvictsOldest() {
+        AnalysisSessionConfig config = new AnalysisSessionConfig();
+        config.setMaxSessions(1);
+        AnalysisSessionService service = new AnalysisSessionService(config, noStore());
+        String first = service.register(TestResults.sample(10));
+        String second = service.register(TestResults.sample(20));
+        
+        assertTrue(service.find(first).isEmpty());
+        GCPulseResult summary = service.get(second).toSummary();
+        assertNull(summary.getGcEvents());
+        assertEquals(20, summary.getEventCount());
+    }
+}
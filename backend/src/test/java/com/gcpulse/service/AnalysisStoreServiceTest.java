@@ -0,0 +1,92 @@
+package com.gcpulse.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcpulse.config.AnalysisStoreConfig;
+import com.gcpulse.model.AnalysisRecord;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分析结果持久化测试
+ */
+public class AnalysisStoreServiceTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private static AnalysisStoreConfig config(Path directory) {
+        AnalysisStoreConfig config = new AnalysisStoreConfig();
+        config.setDirectory(directory.toString());
+        return config;
+    }
+    
+    @Test
+    public void testReopenAfterRestart(@TempDir Path directory) {
+        GCPulseResult original = TestResults.sample(1000);
+        new AnalysisStoreService(config(directory), MAPPER).save(original);
+        
+        // 新实例从磁盘加载索引，相当于服务重启
+        AnalysisStoreService store = new AnalysisStoreService(config(directory), MAPPER);
+        List<AnalysisRecord> records = store.list();
+        assertEquals(1, records.size());
+        assertEquals(original.getAnalysisId(), records.get(0).getAnalysisId());
+        assertEquals(1000, records.get(0).getEventCount());
+        assertTrue(records.get(0).getStoredBytes() > 0);
+        
+        GCPulseResult reopened = store.open(original.getAnalysisId()).orElseThrow();
+        assertInstanceOf(GCEventStore.class, reopened.getGcEvents());
+        assertEquals(original.getGcEvents(), reopened.getGcEvents());
+        assertEquals(TestResults.THROUGHPUT, reopened.getKpiMetrics().getThroughput());
+        assertEquals("G1GC", reopened.getCollectorType());
+        
+        assertTrue(store.open(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(store.open("../" + original.getAnalysisId()).isEmpty());
+    }
+    
+    @Test
+    public void testRetentionKeepsNewest(@TempDir Path directory) {
+        AnalysisStoreConfig config = config(directory);
+        config.setMaxAnalyses(2);
+        AnalysisStoreService store = new AnalysisStoreService(config, MAPPER);
+        GCPulseResult first = TestResults.sample(10);
+        GCPulseResult second = TestResults.sample(10);
+        GCPulseResult third = TestResults.sample(10);
+        store.save(first);
+        store.save(second);
+        store.save(third);
+        
+        List<AnalysisRecord> records = store.list();
+        assertEquals(2, records.size());
+        assertTrue(store.open(first.getAnalysisId()).isEmpty());
+        assertTrue(store.delete(second.getAnalysisId()));
+        assertFalse(store.delete(second.getAnalysisId()));
+        assertEquals(List.of(third.getAnalysisId()), store.list().stream().map(AnalysisRecord::getAnalysisId).toList());
+    }
+    
+    @Test
+    public void testFindByContentKey(@TempDir Path directory) {
+        AnalysisStoreService store = new AnalysisStoreService(config(directory), MAPPER);
+        GCPulseResult result = TestResults.sample(10);
+        
+        // 提交后、写完之前即可按内容摘要查到
+        store.saveAsync(result, "abc");
+        assertEquals(Optional.of(result.getAnalysisId()), store.findByContentKey("abc"));
+        store.shutdown();
+        
+        AnalysisStoreService restarted = new AnalysisStoreService(config(directory), MAPPER);
+        assertEquals(Optional.of(result.getAnalysisId()), restarted.findByContentKey("abc"));
+        assertEquals("abc", restarted.list().get(0).getContentKey());
+        assertTrue(restarted.findByContentKey("def").isEmpty());
+        assertTrue(restarted.findByContentKey(null).isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package com.gcpulse.service;
+
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventPage;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.TimeSeriesData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 列式二进制格式测试
+ */
+public class ColumnarWireWriterTest {
+    
+    private final ColumnarWireWriter writer = new ColumnarWireWriter();
+    
+    private static TimeSeriesData.DataPoint point(long timestamp, double value) {
+        return TimeSeriesData.DataPoint.builder().timestamp(timestamp).value(value).build();
+    }
+    
+    private static long varint(DataInputStream in) throws IOException {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+    
+    private static long zigzag(DataInputStream in) throws IOException {
+        long value = varint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static String string(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) varint(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static void assertMagic(DataInputStream in, String magic) throws IOException {
+        byte[] bytes = new byte[4];
+        in.readFully(bytes);
+        assertEquals(magic, new String(bytes, StandardCharsets.US_ASCII));
+        assertEquals(ColumnarWireWriter.VERSION, in.readUnsignedByte());
+    }
+    
+    @Test
+    public void testTimeSeriesDeltaEncoding() throws Exception {
+        TimeSeriesData timeSeries = TimeSeriesData.builder()
+                .pauseTimeTrend(List.of(point(1_700_000_000_000L, 12.5), point(1_700_000_000_250L, 3.25),
+                        point(1_700_000_000_100L, 7)))
+                .downsampled(true)
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTimeSeries(out, timeSeries);
+        
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertMagic(in, "GCPT");
+        assertEquals(1, in.readUnsignedByte());
+        // 只输出不为 null 的序列
+        assertEquals(1, in.readUnsignedByte());
+        assertEquals("pauseTimeTrend", string(in));
+        assertEquals(3, varint(in));
+        assertEquals(1_700_000_000_000L, zigzag(in));
+        assertEquals(250, zigzag(in));
+        assertEquals(-150, zigzag(in));
+        assertEquals(12.5f, in.readFloat());
+        assertEquals(3.25f, in.readFloat());
+        assertEquals(7f, in.readFloat());
+        assertEquals(-1, in.read());
+    }
+    
+    @Test
+    public void testEventPageColumns() throws Exception {
+        GCEventStore events = new GCEventStore();
+        events.append(GCEvent.builder()
+                .timestamp(1000)
+                .eventType("Pause Young")
+                .pauseTime(8.5)
+                .heapMemory(GCEvent.MemoryChange.builder().before(300).after(100).total(1000).build())
+                .build());
+        events.append(GCEvent.builder()
+                .timestamp(900)
+                .eventType("Pause Full")
+                .gcCause("System.gc()")
+                .pauseTime(120)
+                .isFullGC(true)
+                .build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeEventPage(out, GCEventPage.builder().events(events).nextCursor("c").hasMore(true).build());
+        
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertMagic(in, "GCPE");
+        assertEquals(1, in.readUnsignedByte());
+        assertEquals(2, varint(in));
+        assertEquals('c', in.readUnsignedByte());
+        assertEquals(3, varint(in));
+        assertEquals(List.of("Pause Young", "Pause Full", "System.gc()"), List.of(string(in), string(in), string(in)));
+        assertEquals(2, varint(in));
+        assertEquals(1000, zigzag(in));
+        assertEquals(-100, zigzag(in));
+        assertEquals(1, varint(in));
+        assertEquals(2, varint(in));
+        assertEquals(0, varint(in));
+        assertEquals(3, varint(in));
+        assertEquals(8.5f, in.readFloat());
+        assertEquals(120f, in.readFloat());
+        in.readFloat();
+        in.readFloat();
+        assertEquals(1, in.readUnsignedByte());
+        assertEquals(1 << 4, in.readUnsignedByte());
+        assertEquals(300, zigzag(in));
+        assertEquals(100, zigzag(in));
+        assertEquals(1000, zigzag(in));
+        assertEquals(-1, in.read());
+    }
+}
@@ -0,0 +1,90 @@
+package com.gcpulse.service;
+
+import com.gcpulse.config.LocalAnalysisConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GC分析服务测试（本地文件白名单校验）
+ */
+public class GCPulseServiceTest {
+    
+    private static GCPulseService service(boolean enabled, Path... allowedDirectories) {
+        LocalAnalysisConfig config = new LocalAnalysisConfig();
+        config.setEnabled(enabled);
+        config.setAllowedDirectories(Arrays.stream(allowedDirectories).map(Path::toString).toList());
+        return new GCPulseService(null, config, null, null, null, null);
+    }
+    
+    @Test
+    public void testResolveLocalPath(@TempDir Path directory) throws IOException {
+        Path allowed = Files.createDirectories(directory.resolve("logs"));
+        Path file = Files.writeString(Files.createDirectories(allowed.resolve("app")).resolve("gc.log"), "log");
+        GCPulseService service = service(true, allowed);
+        
+        assertEquals(file.toRealPath(), service.resolveLocalPath(file.toString()));
+        // 路径中的 .. 在白名单内解析后仍然允许
+        assertEquals(file.toRealPath(), service.resolveLocalPath(allowed.resolve("app/../app/gc.log").toString()));
+        
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath(null));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath(" "));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath("logs/app/gc.log"));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath(allowed.toString()));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath(allowed.resolve("missing.log").toString()));
+        assertThrows(IllegalArgumentException.class, () -> service(false, allowed).resolveLocalPath(file.toString()));
+    }
+    
+    @Test
+    public void testRejectsEscapeFromAllowedDirectory(@TempDir Path directory) throws IOException {
+        Path allowed = Files.createDirectories(directory.resolve("logs"));
+        Path secret = Files.writeString(directory.resolve("secret.log"), "secret");
+        Files.writeString(directory.resolve("logs-other.log"), "other");
+        GCPulseService service = service(true, allowed);
+        
+        // .. 跳出白名单目录
+        assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(allowed.resolve("../secret.log").toString()));
+        // 目录名前缀相同但不在白名单目录内
+        assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(directory.resolve("logs-other.log").toString()));
+        
+        // 白名单目录内指向外部文件的符号链接按解析后的真实路径判断
+        Path link = Files.createSymbolicLink(allowed.resolve("link.log"), secret);
+        assertThrows(IllegalArgumentException.class, () -> service.resolveLocalPath(link.toString()));
+        Path linkedDirectory = Files.createSymbolicLink(allowed.resolve("outside"), directory);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(linkedDirectory.resolve("secret.log").toString()));
+        
+        // 白名单目录本身是符号链接时，按其真实路径比较
+        Path allowedLink = Files.createSymbolicLink(directory.resolve("logs-link"), allowed);
+        Path file = Files.writeString(allowed.resolve("gc.log"), "log");
+        assertEquals(file.toRealPath(), service(true, allowedLink).resolveLocalPath(file.toString()));
+        
+        assertThrows(IllegalArgumentException.class, () -> service(true).resolveLocalPath(file.toString()));
+    }
+    
+    @Test
+    public void testSameErrorForMissingAndForbiddenPaths(@TempDir Path directory) throws IOException {
+        Path allowed = Files.createDirectories(directory.resolve("logs"));
+        Path secret = Files.writeString(directory.resolve("secret.log"), "secret");
+        GCPulseService service = service(true, allowed);
+        
+        // 白名单外存在的文件、白名单外不存在的文件、白名单内不存在的文件报同一个错误，且不回显路径
+        String forbidden = assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(secret.toString())).getMessage();
+        String missingOutside = assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(directory.resolve("missing.log").toString())).getMessage();
+        String missingInside = assertThrows(IllegalArgumentException.class,
+                () -> service.resolveLocalPath(allowed.resolve("missing.log").toString())).getMessage();
+        assertEquals(forbidden, missingOutside);
+        assertEquals(forbidden, missingInside);
+        assertFalse(forbidden.contains(directory.toString()));
+    }
+}
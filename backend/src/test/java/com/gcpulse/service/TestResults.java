@@ -0,0 +1,67 @@
+package com.gcpulse.service;
+
+import com.gcpulse.model.DiagnosisReport;
+import com.gcpulse.model.GCEvent;
+import com.gcpulse.model.GCEventStore;
+import com.gcpulse.model.GCPulseResult;
+import com.gcpulse.model.KPIMetrics;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 测试用的分析结果
+ * 第 i 个事件的时间戳为 i * 100ms，下标为 10 的倍数的事件是 Full GC（停顿 200ms），其余为 Young GC（停顿 5ms）；
+ * 每次回收堆内存 300 -> 100（总量 1000），Young GC 带年轻代变化，偶数下标带 Metaspace 变化
+ */
+final class TestResults {
+    
+    static final double THROUGHPUT = 99.5;
+    static final double FULL_GC_PAUSE = 200;
+    static final double YOUNG_GC_PAUSE = 5;
+    
+    private TestResults() {
+    }
+    
+    static GCPulseResult sample(int eventCount) {
+        return sample("gc.log", eventCount);
+    }
+    
+    static GCPulseResult sample(String fileName, int eventCount) {
+        GCEventStore events = new GCEventStore(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            boolean fullGC = i % 10 == 0;
+            events.append(GCEvent.builder()
+                    .timestamp(i * 100L)
+                    .eventType(fullGC ? "Pause Full" : "Pause Young")
+                    .gcCause(fullGC ? "System.gc()" : "G1 Evacuation Pause")
+                    .pauseTime(fullGC ? FULL_GC_PAUSE : YOUNG_GC_PAUSE)
+                    .heapMemory(GCEvent.MemoryChange.builder().before(300).after(100).total(1000).build())
+                    .youngGen(fullGC ? null : GCEvent.MemoryChange.builder().before(200).after(0).total(400).build())
+                    .metaspace(i % 2 == 0 ? GCEvent.MemoryChange.builder().before(40).after(40).total(64).build() : null)
+                    .isFullGC(fullGC)
+                    .isLongPause(fullGC)
+                    .build());
+        }
+        int fullGCCount = (eventCount + 9) / 10;
+        return GCPulseResult.builder()
+                .analysisId(UUID.randomUUID().toString())
+                .fileName(fileName)
+                .fileSize(4096)
+                .collectorType("G1GC")
+                .gcEvents(events)
+                .eventCount(eventCount)
+                .kpiMetrics(KPIMetrics.builder()
+                        .throughput(THROUGHPUT)
+                        .latency(KPIMetrics.LatencyMetrics.builder().maxPauseTime(FULL_GC_PAUSE).build())
+                        .build())
+                .diagnosisReport(DiagnosisReport.builder()
+                        .fullGCInfo(DiagnosisReport.FullGCInfo.builder()
+                                .count(fullGCCount)
+                                .hasFullGC(fullGCCount > 0)
+                                .build())
+                        .recommendations(List.of())
+                        .build())
+                .build();
+    }
+}
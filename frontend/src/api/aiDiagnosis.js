@@ -64,7 +64,15 @@ export async function getAIOptimizationSuggestions(analysisResult, apiUrl, apiKe
       params.model = model
     }
     
-    const response = await aiApi.post('/ai/optimize', JSON.stringify(analysisResult), {
+    // 服务端保留了分析会话时直接使用服务端的完整结果，请求体只带摘要
+    let body = analysisResult
+    if (analysisResult.analysisId) {
+      params.analysisId = analysisResult.analysisId
+      const { gcEvents, ...summary } = analysisResult
+      body = summary
+    }
+    
+    const response = await aiApi.post('/ai/optimize', JSON.stringify(body), {
       params: params,
       headers: {
         'Content-Type': 'application/json'
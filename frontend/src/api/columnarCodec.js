@@ -0,0 +1,180 @@
+/**
+ * 列式二进制格式解码（格式说明见后端 ColumnarWireWriter）
+ * 时间戳解码为 Float64Array（毫秒时间戳超出 int32 范围），数值解码为 Float32Array，可直接交给 ECharts
+ */
+
+export const COLUMNAR_MEDIA_TYPE = 'application/x-gcpulse-columnar'
+
+const VERSION = 1
+const REGIONS = ['heapMemory', 'youngGen', 'oldGen', 'metaspace']
+const FULL_GC_FLAG = 1 << 4
+const LONG_PAUSE_FLAG = 1 << 5
+
+const textDecoder = new TextDecoder()
+
+class Reader {
+  constructor(buffer) {
+    this.view = new DataView(buffer)
+    this.bytes = new Uint8Array(buffer)
+    this.offset = 0
+  }
+
+  u8() {
+    return this.view.getUint8(this.offset++)
+  }
+
+  f32() {
+    const value = this.view.getFloat32(this.offset)
+    this.offset += 4
+    return value
+  }
+
+  // 无符号 varint，按乘法累加（位运算只有32位）
+  varint() {
+    let result = 0
+    let scale = 1
+    let byte
+    do {
+      byte = this.bytes[this.offset++]
+      result += (byte & 0x7f) * scale
+      scale *= 128
+    } while (byte & 0x80)
+    return result
+  }
+
+  zigzag() {
+    const value = this.varint()
+    return value % 2 === 0 ? value / 2 : -(value + 1) / 2
+  }
+
+  string() {
+    const length = this.varint()
+    const value = textDecoder.decode(this.bytes.subarray(this.offset, this.offset + length))
+    this.offset += length
+    return value
+  }
+
+  nullableString() {
+    const length = this.varint()
+    if (length === 0) return null
+    const value = textDecoder.decode(this.bytes.subarray(this.offset, this.offset + length - 1))
+    this.offset += length - 1
+    return value
+  }
+
+  header(magic) {
+    const actual = String.fromCharCode(this.u8(), this.u8(), this.u8(), this.u8())
+    if (actual !== magic) {
+      throw new Error(`无法识别的列式数据: ${actual}`)
+    }
+    const version = this.u8()
+    if (version !== VERSION) {
+      throw new Error(`不支持的列式数据版本: ${version}`)
+    }
+  }
+
+  timestamps(count) {
+    const timestamps = new Float64Array(count)
+    let previous = 0
+    for (let i = 0; i < count; i++) {
+      previous += this.zigzag()
+      timestamps[i] = previous
+    }
+    return timestamps
+  }
+
+  floats(count) {
+    const values = new Float32Array(count)
+    for (let i = 0; i < count; i++) {
+      values[i] = this.f32()
+    }
+    return values
+  }
+}
+
+/**
+ * 解码时间序列：返回 { downsampled, <序列名>: { timestamps: Float64Array, values: Float32Array } }
+ */
+export function decodeTimeSeries(buffer) {
+  const reader = new Reader(buffer)
+  reader.header('GCPT')
+  const result = { downsampled: (reader.u8() & 1) !== 0 }
+  const seriesCount = reader.u8()
+  for (let s = 0; s < seriesCount; s++) {
+    const name = reader.string()
+    const count = reader.varint()
+    const timestamps = reader.timestamps(count)
+    const values = reader.floats(count)
+    result[name] = { timestamps, values }
+  }
+  return result
+}
+
+/**
+ * 列式序列转为 [{ timestamp, value }]（与 JSON 格式的数据点一致）
+ */
+export function toDataPoints(series) {
+  if (!series) return []
+  const points = new Array(series.timestamps.length)
+  for (let i = 0; i < points.length; i++) {
+    points[i] = { timestamp: series.timestamps[i], value: series.values[i] }
+  }
+  return points
+}
+
+/**
+ * 解码一页事件：返回与 JSON 格式一致的 { events, nextCursor, hasMore }
+ * 事件的 before/after/total 按列解码后组装为对象，派生值（回收量、使用率）不包含在内
+ */
+export function decodeEventPage(buffer) {
+  const reader = new Reader(buffer)
+  reader.header('GCPE')
+  const hasMore = reader.u8() !== 0
+  const nextCursor = reader.nullableString()
+  const dictionary = new Array(reader.varint())
+  for (let c = 0; c < dictionary.length; c++) {
+    dictionary[c] = reader.string()
+  }
+  const count = reader.varint()
+
+  const timestamps = reader.timestamps(count)
+  const eventTypes = new Array(count)
+  for (let i = 0; i < count; i++) {
+    const code = reader.varint()
+    eventTypes[i] = code === 0 ? null : dictionary[code - 1]
+  }
+  const gcCauses = new Array(count)
+  for (let i = 0; i < count; i++) {
+    const code = reader.varint()
+    gcCauses[i] = code === 0 ? null : dictionary[code - 1]
+  }
+  const pauseTimes = reader.floats(count)
+  const concurrentTimes = reader.floats(count)
+  const flags = reader.bytes.slice(reader.offset, reader.offset + count)
+  reader.offset += count
+
+  const events = new Array(count)
+  for (let i = 0; i < count; i++) {
+    events[i] = {
+      timestamp: timestamps[i],
+      eventType: eventTypes[i],
+      gcCause: gcCauses[i],
+      pauseTime: pauseTimes[i],
+      concurrentTime: concurrentTimes[i],
+      heapMemory: null,
+      youngGen: null,
+      oldGen: null,
+      metaspace: null,
+      fullGC: (flags[i] & FULL_GC_FLAG) !== 0,
+      longPause: (flags[i] & LONG_PAUSE_FLAG) !== 0
+    }
+  }
+  REGIONS.forEach((region, r) => {
+    for (let i = 0; i < count; i++) {
+      if (flags[i] & (1 << r)) {
+        events[i][region] = { before: reader.zigzag(), after: reader.zigzag(), total: reader.zigzag() }
+      }
+    }
+  })
+  return { events, nextCursor, hasMore }
+}
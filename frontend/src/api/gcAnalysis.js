@@ -1,8 +1,9 @@
 import axios from 'axios'
+import { COLUMNAR_MEDIA_TYPE, decodeEventPage, decodeTimeSeries } from './columnarCodec'
 
 const api = axios.create({
   baseURL: '/api',
-  timeout: 300000, // 5分钟超时
+  timeout: 60000, // 分析在服务端异步执行，普通请求不需要长超时
   headers: {
     'Content-Type': 'multipart/form-data'
   }
@@ -29,14 +30,19 @@ api.interceptors.response.use(
   }
 )
 
+// 轮询任务进度的间隔（毫秒）
+const JOB_POLL_INTERVAL = 1000
+
 /**
- * 上传并分析GC日志
+ * 上传GC日志并提交异步分析任务，返回任务状态（含 jobId）
+ * 上传耗时取决于文件大小和网络，不设超时（onProgress 回调上传百分比）
  */
-export function analyzeGCLog(file, onProgress) {
+export function submitAnalysisJob(file, onProgress) {
   const formData = new FormData()
   formData.append('file', file)
   
-  return api.post('/gc/analyze', formData, {
+  return api.post('/gc/jobs', formData, {
+    timeout: 0,
     onUploadProgress: (progressEvent) => {
       if (onProgress && progressEvent.total) {
         const percentCompleted = Math.round((progressEvent.loaded * 100) / progressEvent.total)
@@ -46,6 +52,193 @@ export function analyzeGCLog(file, onProgress) {
   })
 }
 
+/**
+ * 提交服务器本地GC日志文件的异步分析任务
+ */
+export function submitLocalAnalysisJob(path) {
+  const formData = new FormData()
+  formData.append('path', path)
+  
+  return api.post('/gc/jobs/local', formData)
+}
+
+/**
+ * 查询分析任务状态和进度
+ */
+export function getAnalysisJob(jobId) {
+  return api.get(`/gc/jobs/${jobId}`)
+}
+
+/**
+ * 获取已完成任务的分析结果（摘要）
+ */
+export function getAnalysisJobResult(jobId) {
+  return api.get(`/gc/jobs/${jobId}/result`)
+}
+
+/**
+ * 取消分析任务
+ */
+export function cancelAnalysisJob(jobId) {
+  return api.delete(`/gc/jobs/${jobId}`)
+}
+
+/**
+ * 轮询分析任务直到结束（onJob 在每次查询后回调任务状态），完成时返回分析结果响应
+ */
+export async function waitForAnalysisJob(jobId, onJob) {
+  for (;;) {
+    const response = await getAnalysisJob(jobId)
+    if (!response.success) {
+      throw new Error(response.error)
+    }
+    const job = response.data
+    onJob?.(job)
+    if (job.status === 'COMPLETED') {
+      return getAnalysisJobResult(jobId)
+    }
+    if (job.status === 'FAILED') {
+      throw new Error(job.error || '分析失败')
+    }
+    if (job.status === 'CANCELLED') {
+      throw new Error('分析已取消')
+    }
+    await new Promise(resolve => setTimeout(resolve, JOB_POLL_INTERVAL))
+  }
+}
+
+/**
+ * 上传并分析GC日志（提交异步任务后轮询到完成）
+ * onProgress(percent) 回调上传进度，onJob(job) 回调服务端解析进度
+ */
+export async function analyzeGCLog(file, onProgress, onJob) {
+  const submitted = await submitAnalysisJob(file, onProgress)
+  if (!submitted.success) {
+    throw new Error(submitted.error)
+  }
+  onJob?.(submitted.data)
+  return waitForAnalysisJob(submitted.data.jobId, onJob)
+}
+
+/**
+ * 分析服务器本地GC日志文件（路径须在服务端白名单目录内）
+ */
+export async function analyzeLocalGCLog(path, onJob) {
+  const submitted = await submitLocalAnalysisJob(path)
+  if (!submitted.success) {
+    throw new Error(submitted.error)
+  }
+  onJob?.(submitted.data)
+  return waitForAnalysisJob(submitted.data.jobId, onJob)
+}
+
+/**
+ * 获取分析结果摘要（服务端内存中没有时从持久化存储重新打开，不需要重新上传日志）
+ */
+export function fetchAnalysis(analysisId) {
+  return api.get(`/gc/analysis/${analysisId}`)
+}
+
+/**
+ * 已持久化的分析列表（最近的在前）
+ */
+export function listStoredAnalyses() {
+  return api.get('/gc/analyses')
+}
+
+/**
+ * 删除已持久化的分析
+ */
+export function deleteStoredAnalysis(analysisId) {
+  return api.delete(`/gc/analyses/${analysisId}`)
+}
+
+/**
+ * 以列式二进制格式请求（体积和解析耗时远小于 JSON），解码后包装为与 JSON 接口一致的 { success, data }
+ * 出错时服务端返回 JSON 错误体 { success: false, error }，按 arraybuffer 接收后在这里解码
+ */
+async function getColumnar(url, params, decode) {
+  let buffer
+  try {
+    buffer = await api.get(url, {
+      params,
+      responseType: 'arraybuffer',
+      headers: { Accept: COLUMNAR_MEDIA_TYPE }
+    })
+  } catch (error) {
+    const body = decodeErrorBody(error.response?.data)
+    if (body) {
+      return body
+    }
+    throw error
+  }
+  return { success: true, data: decode(buffer) }
+}
+
+function decodeErrorBody(data) {
+  if (!(data instanceof ArrayBuffer)) {
+    return null
+  }
+  try {
+    const body = JSON.parse(new TextDecoder().decode(data))
+    return { success: false, error: body.error }
+  } catch (e) {
+    return null
+  }
+}
+
+/**
+ * 分页获取分析结果中的GC事件
+ * query 支持 from、to、type、cause、minPause、fullGC；cursor 为上一页返回的 nextCursor
+ */
+export function fetchAnalysisEvents(analysisId, query = {}, cursor = null, limit = 5000) {
+  return getColumnar(`/gc/analysis/${analysisId}/events`, { ...query, cursor, limit }, decodeEventPage)
+}
+
+/**
+ * 按游标依次获取满足条件的全部事件（onPage 在每页到达时回调已获取的事件）
+ */
+export async function fetchAllAnalysisEvents(analysisId, query = {}, onPage) {
+  const events = []
+  let cursor = null
+  do {
+    const response = await fetchAnalysisEvents(analysisId, query, cursor)
+    if (!response.success) {
+      throw new Error(response.error)
+    }
+    events.push(...response.data.events)
+    cursor = response.data.nextCursor
+    onPage?.(events)
+  } while (cursor)
+  return events
+}
+
+/**
+ * 获取分析结果在指定时间范围内的时间序列（图表缩放后按可见范围请求更细的分辨率）
+ * 每个序列为 { timestamps: Float64Array, values: Float32Array }
+ */
+export function fetchTimeSeries(analysisId, from, to, maxPoints) {
+  return getColumnar(`/gc/analysis/${analysisId}/timeseries`, { from, to, maxPoints }, decodeTimeSeries)
+}
+
+/**
+ * 实时跟踪服务器本地GC日志文件（Server-Sent Events）
+ * onUpdate 接收 KPI、时间序列和诊断的增量更新；onFailed 接收无法跟踪的原因（服务端随后关闭连接）
+ * 返回 EventSource，调用 close() 停止跟踪
+ */
+export function followLocalGCLog(path, { onUpdate, onFailed }) {
+  const source = new EventSource(`/api/gc/tail?path=${encodeURIComponent(path)}`)
+  source.addEventListener('update', (event) => {
+    onUpdate(JSON.parse(event.data))
+  })
+  source.addEventListener('failed', (event) => {
+    // 服务端主动关闭的连接不再自动重连
+    source.close()
+    onFailed(JSON.parse(event.data).error)
+  })
+  return source
+}
+
 /**
  * 健康检查
  */